@@ -0,0 +1,103 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that keys created by {@link RowKey#createRowKey(long)}, which don't hold their string, behave like keys
+ * created from the same string.
+ *
+ * @author agent
+ */
+final class RowKeyTest {
+
+    private static final long[] INDICES = {0, 1, 9, 10, 99, 100, 12345, Integer.MAX_VALUE, Long.MAX_VALUE};
+
+    /** Default keys equal string keys with the same string, also in hash code. */
+    @Test
+    void testEqualsAndHashCode() {
+        for (long index : INDICES) {
+            final RowKey defaultKey = RowKey.createRowKey(index);
+            final RowKey stringKey = new RowKey("Row" + index);
+            assertEquals("Row" + index, defaultKey.getString());
+            assertEquals(stringKey, defaultKey, "Default key vs. string key " + index);
+            assertEquals(defaultKey, stringKey, "String key vs. default key " + index);
+            assertEquals(RowKey.createRowKey(index), defaultKey, "Default keys " + index);
+            final RowKey freshKey = RowKey.createRowKey(index);
+            assertEquals(stringKey.hashCode(), freshKey.hashCode(), "Hash code " + index);
+            assertEquals(stringKey.hashCode(), freshKey.hashCode(), "Cached hash code " + index);
+        }
+        final RowKey key = RowKey.createRowKey(12L);
+        assertNotEquals(RowKey.createRowKey(21L), key);
+        assertNotEquals(new RowKey("Row012"), key);
+        assertNotEquals(new RowKey("Row1"), key);
+        assertNotEquals(new RowKey("Row123"), key);
+        assertNotEquals(new RowKey("Rox12"), key);
+        assertNotEquals(key, new RowKey("Row13"));
+        assertEquals(new RowKey("Row-1"), RowKey.createRowKey(-1L));
+    }
+
+    /** Only keys of the form "Row" + index without leading zeros have a default row index. */
+    @Test
+    void testGetDefaultRowIndex() {
+        for (long index : INDICES) {
+            assertEquals(index, RowKey.createRowKey(index).getDefaultRowIndex());
+            assertEquals(index, new RowKey("Row" + index).getDefaultRowIndex());
+        }
+        for (String id : new String[]{"Row", "Row01", "Row-1", "Row+1", "Row1a", "row1", "Row 1", "Row1_1", "",
+            "Row9223372036854775808", "Row10000000000000000000"}) {
+            assertEquals(-1, new RowKey(id).getDefaultRowIndex(), id);
+        }
+        assertEquals(-1, RowKey.createRowKey(-5L).getDefaultRowIndex());
+    }
+}
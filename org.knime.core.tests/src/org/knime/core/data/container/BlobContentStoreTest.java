@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link BlobContentStore}.
+ *
+ * @author agent
+ */
+class BlobContentStoreTest {
+
+    @TempDir
+    Path m_tempDir;
+
+    /** Files with equal content are linked, the content survives deleting the first file. */
+    @Test
+    void testDeduplicate() throws IOException {
+        final BlobContentStore store = new BlobContentStore();
+        final byte[] content = "some blob content".getBytes();
+        final File first = write("table1/0.bin", content);
+        final File second = write("table2/0.bin", content);
+        final File other = write("table2/1.bin", "other content".getBytes());
+
+        assertFalse(store.deduplicate(first.getParentFile(), first, digest(content), false), "First occurrence");
+        assertFalse(store.deduplicate(other.getParentFile(), other, digest("other content".getBytes()), false),
+            "Different content");
+        assertFalse(store.deduplicate(second.getParentFile(), second, digest(content), true), "Different compression");
+        assertTrue(store.deduplicate(second.getParentFile(), second, digest(content), false), "Same content");
+        assertEquals(1, store.getNrLinkedFiles());
+        assertEquals(content.length, store.getLinkedBytes());
+        assertTrue(Files.isSameFile(first.toPath(), second.toPath()), "Not linked");
+
+        // clearing the first table keeps the content of the second
+        Files.delete(first.toPath());
+        assertArrayEquals(content, Files.readAllBytes(second.toPath()));
+
+        // the first file is gone, so the next file with that content is not linked but takes its place
+        final File third = write("table3/0.bin", content);
+        assertFalse(store.deduplicate(third.getParentFile(), third, digest(content), false));
+        final File fourth = write("table4/0.bin", content);
+        assertTrue(store.deduplicate(fourth.getParentFile(), fourth, digest(content), false));
+        assertTrue(Files.isSameFile(third.toPath(), fourth.toPath()), "Not linked");
+    }
+
+    /** Files of a cleared table are forgotten, unless another table's file took their place. */
+    @Test
+    void testRelease() throws IOException {
+        final BlobContentStore store = new BlobContentStore();
+        final byte[] content = "some blob content".getBytes();
+        final File first = write("table1/0.bin", content);
+        final File other = write("table1/1.bin", "other content".getBytes());
+        assertFalse(store.deduplicate(first.getParentFile(), first, digest(content), false));
+        assertFalse(store.deduplicate(other.getParentFile(), other, digest("other content".getBytes()), false));
+        assertEquals(2, store.getNrContents());
+
+        // the first file is gone, the file of table 2 takes its place
+        Files.delete(first.toPath());
+        final File second = write("table2/0.bin", content);
+        assertFalse(store.deduplicate(second.getParentFile(), second, digest(content), false));
+        store.release(first.getParentFile());
+        assertEquals(1, store.getNrContents(), "Content of the second table kept");
+
+        store.release(second.getParentFile());
+        assertEquals(0, store.getNrContents());
+    }
+
+    /** Blobs copied into another table are linked, a missing source is reported. */
+    @Test
+    void testLinkOrCopy() throws IOException {
+        final BlobContentStore store = new BlobContentStore();
+        final byte[] content = "some blob content".getBytes();
+        final File source = write("table1/0.bin", content);
+        final File dest = new File(Files.createDirectories(m_tempDir.resolve("table2")).toFile(), "0.bin");
+        store.linkOrCopy(source, dest);
+        assertArrayEquals(content, Files.readAllBytes(dest.toPath()));
+        assertTrue(Files.isSameFile(source.toPath(), dest.toPath()), "Not linked");
+        Files.delete(source.toPath());
+        assertArrayEquals(content, Files.readAllBytes(dest.toPath()));
+        assertThrows(IOException.class, () -> store.linkOrCopy(source, new File(dest.getParentFile(), "1.bin")));
+    }
+
+    private File write(final String path, final byte[] content) throws IOException {
+        final Path file = m_tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content).toFile();
+    }
+
+    private static byte[] digest(final byte[] content) {
+        return BlobContentStore.newDigest().digest(content);
+    }
+}
@@ -51,6 +51,7 @@
 import org.junit.Test;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
+import org.knime.core.data.container.BufferSettings.InMemoryFormat;
 import org.knime.core.data.container.storage.TableStoreFormat;
 import org.knime.core.data.container.storage.TableStoreFormatRegistry;
 
@@ -76,6 +77,8 @@ public void testDefault() {
             settings.useLRU());
         assertEquals("Wrong default (output format)",
             TableStoreFormatRegistry.getInstance().getInstanceTableStoreFormat(), settings.getOutputFormat(spec));
+        assertEquals("Wrong default (in-memory format)", BufferSettings.DEF_IN_MEMORY_FORMAT,
+            settings.getInMemoryFormat());
     }
 
     /**
@@ -89,19 +92,24 @@ public void testChangedValues() {
         final int lruCacheSize = def.getLRUCacheSize() * -1;
         final boolean useLRU = !def.useLRU();
         final TableStoreFormat outputFormat = new DefaultTableStoreFormat();
+        final InMemoryFormat inMemoryFormat = InMemoryFormat.COMPACT_OFFHEAP;
 
         final BufferSettings settings = BufferSettings.builder() //
             .withOutputFormat(outputFormat)//
             .withLRU(useLRU)//
             .withLRUCacheSize(lruCacheSize)//
+            .withInMemoryFormat(inMemoryFormat)//
             .build();
 
         assertEquals("Modified settings created wrong LRU cache size", lruCacheSize, settings.getLRUCacheSize());
         assertEquals("Modified settings created wrong enable LRU flag", useLRU, settings.useLRU());
+        assertEquals("Modified settings created wrong in-memory format", inMemoryFormat, settings.getInMemoryFormat());
         assertTrue("Modified settings created wrong output format",
             outputFormat == settings.getOutputFormat(new DataTableSpecCreator().createSpec()));
         assertFalse("Default settings has been modified (output format)",
             def.getOutputFormat(new DataTableSpecCreator().createSpec()) == settings
                 .getOutputFormat(new DataTableSpecCreator().createSpec()));
+        assertEquals("Default settings has been modified (in-memory format)", BufferSettings.DEF_IN_MEMORY_FORMAT,
+            def.getInMemoryFormat());
     }
 }
@@ -0,0 +1,162 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.util.DuplicateKeyException;
+
+/**
+ * Writes and reads tables with compact row keys (see
+ * {@link DCObjectOutputVersion2#writeCompactRowKey(RowKey, long)}) and tests the duplicate checking of sequential
+ * keys in {@link BufferedDataContainerDelegate}.
+ *
+ * @author agent
+ */
+final class CompactRowKeyTest {
+
+    /** Several chunks, the last one incomplete. */
+    private static final int ROW_COUNT = 20 * DefaultTableStoreWriter.ROWS_PER_CHUNK + 17;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /** Mostly sequential default keys, interrupted by jumps, other keys and default keys created from strings. */
+    private static RowKey createKey(final int i) {
+        if (i % 1000 == 500) {
+            return new RowKey("custom-" + i);
+        } else if (i >= 2000 && i < 2100) {
+            return RowKey.createRowKey(i + 1_000_000L);
+        } else if (i % 777 == 0) {
+            return new RowKey("Row" + i);
+        }
+        return RowKey.createRowKey((long)i);
+    }
+
+    @SuppressWarnings("resource")
+    private static Buffer write(final boolean compactRowKeys) {
+        final var format = new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault()
+            .withCompression(CompressionFormat.NONE).withCompactRowKeys(compactRowKeys));
+        final var settings = DataContainerSettings.internalBuilder().withInitializedDomain(false)
+            .withMaxCellsInMemory(0).withBufferSettings(b -> b.withOutputFormat(format)).build();
+        final var cont = new DataContainer(SPEC, settings);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            cont.addRowToTable(new DefaultRow(createKey(i), new IntCell(i)));
+        }
+        final Buffer buffer = ((BufferedDataContainerDelegate)cont.getDataContainerDelegate()).getBuffer();
+        cont.close();
+        return buffer;
+    }
+
+    /** The keys are read back unchanged. */
+    @Test
+    void testRoundTrip() {
+        final Buffer buffer = write(true);
+        try (CloseableRowIterator it = buffer.iterator()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                assertTrue(it.hasNext(), "Iterator has row " + i);
+                final RowKey expected = createKey(i);
+                final DataRow row = it.next();
+                assertEquals(expected, row.getKey(), "Row key " + i);
+                assertEquals(expected.getString(), row.getKey().getString(), "Row key string " + i);
+                assertEquals(new IntCell(i), row.getCell(0), "Cell in row " + i);
+            }
+            assertFalse(it.hasNext(), "Iterator with more than " + ROW_COUNT + " rows");
+        }
+    }
+
+    /** The encoded file is smaller than the plain one. */
+    @Test
+    void testFileSize() {
+        final long compactSize = write(true).getBinFile().length();
+        final long plainSize = write(false).getBinFile().length();
+        assertTrue(compactSize < plainSize, "Compact size " + compactSize + " vs. plain size " + plainSize);
+    }
+
+    private static void addRows(final int count, final LongFunction<RowKey> keyFactory) {
+        final var cont = new DataContainer(SPEC);
+        for (int i = 0; i < count; i++) {
+            cont.addRowToTable(new DefaultRow(keyFactory.apply(i), new IntCell(i)));
+        }
+        cont.close();
+        assertEquals(count, cont.getTable().size());
+    }
+
+    /** Duplicates of sequential keys are found, within a run and across runs and the fallback to strings. */
+    @Test
+    void testDuplicateCheck() {
+        // a repeated run
+        assertThrows(DuplicateKeyException.class, () -> addRows(2000, i -> RowKey.createRowKey(i % 1500)));
+        // a key repeated immediately
+        assertThrows(DuplicateKeyException.class, () -> addRows(10, i -> RowKey.createRowKey(i == 5 ? 4 : i)));
+        // same key created from a string
+        assertThrows(DuplicateKeyException.class,
+            () -> addRows(100, i -> i == 50 ? new RowKey("Row7") : RowKey.createRowKey(i)));
+        // more runs (of one key each) than tracked as ranges, unique and with duplicate
+        addRows(10_000, i -> RowKey.createRowKey(2 * i));
+        assertThrows(DuplicateKeyException.class,
+            () -> addRows(10_000, i -> i == 9_999 ? new RowKey("Row10") : RowKey.createRowKey(2 * i)));
+        // mixed keys without duplicates
+        addRows(ROW_COUNT, i -> createKey((int)i));
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryLedger;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Tests {@link CompactRowList}, including its footprint and read throughput compared to an {@link ArrayList}.
+ *
+ * @author agent
+ */
+class CompactRowListTest {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompactRowListTest.class);
+
+    /** Rows read from the list equal the rows that were added, on and off the heap. */
+    @Test
+    void testRoundTrip() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            final List<BlobSupportDataRow> rows = createRows(5000);
+            final CompactRowList list = new CompactRowList(offHeap);
+            rows.forEach(list::add);
+            assertEquals(rows.size(), list.size());
+            for (int i = 0; i < rows.size(); i++) {
+                assertRowEquals(rows.get(i), list.get(i));
+            }
+            assertEquals(0, list.getNrObjectCells(), "All cells are serializable");
+        }
+    }
+
+    /** Off-heap pages are reported to the memory ledger, heap pages are not. */
+    @Test
+    void testOffHeapPagesReported() {
+        final List<BlobSupportDataRow> rows = createRows(5000);
+        final long before = MemoryLedger.getReportedOffHeapBytes();
+        final CompactRowList heapList = new CompactRowList(false);
+        rows.forEach(heapList::add);
+        assertEquals(before, MemoryLedger.getReportedOffHeapBytes(), "Heap pages reported as off-heap memory");
+
+        final CompactRowList offHeapList = new CompactRowList(true);
+        rows.forEach(offHeapList::add);
+        final long reported = MemoryLedger.getReportedOffHeapBytes() - before;
+        assertTrue(reported > 0 && reported % CompactRowList.PAGE_SIZE == 0,
+            "Reported off-heap bytes not a multiple of the page size: " + reported);
+        assertTrue(reported <= offHeapList.getSizeInBytes(), "More bytes reported than allocated: " + reported);
+    }
+
+    /** Rows larger than a page get a page of their own, subsequent rows continue on the regular page. */
+    @Test
+    void testRowLargerThanPage() {
+        final CompactRowList list = new CompactRowList(false);
+        final String large = "x".repeat(3 * CompactRowList.PAGE_SIZE);
+        final List<BlobSupportDataRow> rows = List.of(row(0, new StringCell("small")),
+            row(1, new StringCell(large)), row(2, new StringCell("small again")), row(3, new IntCell(3)));
+        rows.forEach(list::add);
+        for (int i = 0; i < rows.size(); i++) {
+            assertRowEquals(rows.get(i), list.get(i));
+        }
+    }
+
+    /** Cells without serializer (also when nested in a collection) are kept as objects. */
+    @Test
+    void testCellWithoutSerializer() {
+        final CompactRowList list = new CompactRowList(false);
+        final DataCell noSerializer = new NoSerializerCell("foo");
+        final DataCell collection = CollectionCellFactory.createListCell(List.of(new IntCell(1), noSerializer));
+        final BlobSupportDataRow row = row(0, noSerializer, collection, DataType.getMissingCell());
+        list.add(row);
+        assertRowEquals(row, list.get(0));
+        assertSame(noSerializer, list.get(0).getCell(0), "Cell kept as object");
+        assertEquals(2, list.getNrObjectCells());
+    }
+
+    /**
+     * Compares footprint and read throughput to the object list representation. The footprint of the object
+     * representation is estimated conservatively: a row object, its key, the key's string, the cell array, and three
+     * cells including the string of the string cell, at least 16 bytes each.
+     */
+    @Test
+    void testFootprintAndThroughput() {
+        final int nrRows = 100_000;
+        final List<BlobSupportDataRow> rows = createRows(nrRows);
+        final CompactRowList compact = new CompactRowList(false);
+        rows.forEach(compact::add);
+
+        final long minObjectBytes = 8L * 16 * nrRows;
+        final long compactBytes = compact.getSizeInBytes();
+        assertTrue(compactBytes < minObjectBytes / 2,
+            "Compact representation (" + compactBytes + " bytes) not smaller than half of the lower bound of the "
+                + "object representation (" + minObjectBytes + " bytes)");
+
+        final long objectNanos = timeFullScan(rows);
+        final long compactNanos = timeFullScan(compact);
+        LOGGER.infoWithFormat("%d rows: compact %d bytes (object lower bound %d bytes); full scan compact %d ms, "
+            + "object %d ms", nrRows, compactBytes, minObjectBytes, compactNanos / 1_000_000,
+            objectNanos / 1_000_000);
+    }
+
+    private static long timeFullScan(final List<BlobSupportDataRow> list) {
+        long checksum = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < list.size(); i++) {
+            checksum += ((IntCell)list.get(i).getCell(0)).getIntValue();
+        }
+        final long nanos = System.nanoTime() - start;
+        assertEquals((long)list.size() * (list.size() - 1) / 2, checksum);
+        return nanos;
+    }
+
+    private static List<BlobSupportDataRow> createRows(final int count) {
+        final List<BlobSupportDataRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DataCell string = i % 7 == 3 ? DataType.getMissingCell() : new StringCell("row " + i);
+            rows.add(row(i, new IntCell(i), string, new DoubleCell(i / 3.0)));
+        }
+        return rows;
+    }
+
+    private static BlobSupportDataRow row(final long index, final DataCell... cells) {
+        return new BlobSupportDataRow(RowKey.createRowKey(index), cells);
+    }
+
+    private static void assertRowEquals(final DataRow expected, final DataRow actual) {
+        assertEquals(expected.getKey(), actual.getKey());
+        assertEquals(expected.getNumCells(), actual.getNumCells(), "Number of cells in row " + expected.getKey());
+        for (int i = 0; i < expected.getNumCells(); i++) {
+            assertEquals(expected.getCell(i), actual.getCell(i), "Cell " + i + " in row " + expected.getKey());
+        }
+    }
+
+    /** Cell without a serializer. */
+    @SuppressWarnings("serial")
+    private static final class NoSerializerCell extends DataCell {
+
+        private final String m_value;
+
+        NoSerializerCell(final String value) {
+            m_value = value;
+        }
+
+        @Override
+        public String toString() {
+            return m_value;
+        }
+
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return m_value.equals(((NoSerializerCell)dc).m_value);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_value.hashCode();
+        }
+    }
+}
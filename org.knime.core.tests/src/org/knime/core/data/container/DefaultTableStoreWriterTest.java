@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the concurrent serialization in {@link DefaultTableStoreWriter#writeRows(List)}, also in combination with
+ * dictionary encoding and compact row keys.
+ *
+ * @author agent
+ */
+class DefaultTableStoreWriterTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(new String[]{"int", "string", "double", "list"},
+        new DataType[]{IntCell.TYPE, StringCell.TYPE, DoubleCell.TYPE,
+            DataType.getType(ListCell.class, StringCell.TYPE)});
+
+    /** Rows serialized concurrently must result in the same bytes as rows written one by one. */
+    @Test
+    void testConcurrentSerializationEqualsSequential() throws IOException {
+        // not a multiple of the chunk size, includes missing values and bytes that need to be escaped; all rows
+        // encounter the cell types in the same order so that the type identifiers are assigned deterministically
+        final List<DataRow> rows = createRows(10 * DefaultTableStoreWriter.ROWS_PER_CHUNK + 17, false);
+        for (CompressionFormat format : new CompressionFormat[]{CompressionFormat.NONE, CompressionFormat.GZIP}) {
+            final var settings = DefaultTableStoreSettings.getDefault().withCompression(format)
+                .withDictionaryEncoding(false).withCompactRowKeys(false);
+            final byte[] expected = write(rows, settings, 1, false);
+            assertArrayEquals(expected, write(rows, settings, 4, true), "Concurrent serialization, " + format);
+            assertArrayEquals(expected, write(rows, settings, 1, true), "Sequential batch, " + format);
+        }
+    }
+
+    /** Same as above with dictionary encoded string columns, whose dictionaries span multiple chunks. */
+    @Test
+    void testConcurrentSerializationWithDictionaryEncoding() throws IOException {
+        final List<DataRow> rows = createRows(2 * StringDictionary.ROWS_PER_BLOCK + 17, true);
+        final var plain = DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.NONE)
+            .withDictionaryEncoding(false).withCompactRowKeys(false);
+        final var settings = plain.withDictionaryEncoding(true);
+        final byte[] expected = write(rows, settings, 1, false);
+        assertArrayEquals(expected, write(rows, settings, 4, true), "Concurrent serialization");
+        assertArrayEquals(expected, write(rows, settings, 1, true), "Sequential batch");
+        assertTrue(expected.length < write(rows, plain, 1, false).length,
+            "Dictionary encoding should reduce the size");
+    }
+
+    /**
+     * Same as above with a dictionary encoded column exceeding the maximum number of entries in each block, whose
+     * fallback to plain encoding must not leak from one concurrently serialized chunk into another.
+     */
+    @Test
+    void testConcurrentSerializationWithHighCardinalityDictionary() throws IOException {
+        final List<DataRow> rows = createRows(4 * StringDictionary.ROWS_PER_BLOCK + 17, false);
+        final var settings = DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.NONE)
+            .withDictionaryEncoding(true).withCompactRowKeys(false);
+        final byte[] expected = write(rows, settings, 1, false);
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(expected, write(rows, settings, 4, true), "Concurrent serialization, run " + i);
+        }
+        assertArrayEquals(expected, write(rows, settings, 1, true), "Sequential batch");
+    }
+
+    /** Same as above with compact row keys, whose runs of sequential keys span multiple chunks. */
+    @Test
+    void testConcurrentSerializationWithCompactRowKeys() throws IOException {
+        final List<DataRow> rows = new ArrayList<>();
+        for (DataRow row : createRows(10 * DefaultTableStoreWriter.ROWS_PER_CHUNK + 17, false)) {
+            // runs of default keys, interrupted by a jump and other keys
+            final int i = rows.size();
+            final RowKey key = i == 300 || i % 100 == 99 ? new RowKey("key " + i)
+                : RowKey.createRowKey(i < 500 ? i : i + 1000L);
+            rows.add(new DefaultRow(key, row.getCell(0), row.getCell(1), row.getCell(2), row.getCell(3)));
+        }
+        final var plain = DefaultTableStoreSettings.getDefault().withCompression(CompressionFormat.NONE)
+            .withDictionaryEncoding(false).withCompactRowKeys(false);
+        final var settings = plain.withCompactRowKeys(true);
+        final byte[] expected = write(rows, settings, 1, false);
+        assertArrayEquals(expected, write(rows, settings, 4, true), "Concurrent serialization");
+        assertArrayEquals(expected, write(rows, settings, 1, true), "Sequential batch");
+        assertTrue(expected.length < write(rows, plain, 1, false).length,
+            "Compact row keys should reduce the size");
+    }
+
+    private static byte[] write(final List<DataRow> rows, final DefaultTableStoreSettings settings,
+        final int nrThreads, final boolean asBatch) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (var writer = new DefaultTableStoreWriter(SPEC, bytes, true, settings)) {
+            writer.setMaxSerializationThreads(nrThreads);
+            if (asBatch) {
+                // in two batches to check that batches are appended properly
+                writer.writeRows(rows.subList(0, rows.size() / 3));
+                writer.writeRows(rows.subList(rows.size() / 3, rows.size()));
+            } else {
+                for (DataRow row : rows) {
+                    writer.writeRow(row);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<DataRow> createRows(final int count, final boolean lowCardinality) {
+        final List<DataRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String value =
+                lowCardinality ? ("value " + (char)('a' + i % 13)) : ("row " + i + " " + (char)(i % 256));
+            final DataCell string = i % 7 == 3 ? DataType.getMissingCell() : new StringCell(value);
+            final DataCell list = CollectionCellFactory.createListCell(
+                List.of(new StringCell("a" + i), new StringCell(Integer.toString(i, 2))));
+            rows.add(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), string, new DoubleCell(i / 3.0),
+                list));
+        }
+        return rows;
+    }
+}
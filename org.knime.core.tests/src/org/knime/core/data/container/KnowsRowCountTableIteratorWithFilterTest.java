@@ -277,6 +277,44 @@ public void testConcatenateTable() throws Exception {
 
     }
 
+    /**
+     * Tests that nested {@link ConcatenateTable ConcatenateTables} are flattened (reference only the leaf tables) and
+     * that {@link TableFilter TableFilters} are still correctly applied, including empty tables in between.
+     *
+     * @throws Exception any kind of exception
+     */
+    @Test
+    public void testNestedConcatenateTable() throws Exception {
+
+        final BufferedDataTable fullTable = createTable(0, 16, 16, 0, 16);
+
+        final ExecutionMonitor mon = new ExecutionMonitor(PROGRESS);
+        final ExecutionContext exec = exec();
+        BufferedDataTable concatenateTable =
+            exec.createConcatenateTable(mon, createTable(0, 16, 16, 0, 4), createTable(0, 16, 16, 4, 4));
+        concatenateTable = exec.createConcatenateTable(mon, concatenateTable, createTable(0, 16, 16, 4, 8));
+        concatenateTable = exec.createConcatenateTable(mon, concatenateTable, createTable(0, 16, 16, 8, 8),
+            createTable(0, 16, 16, 8, 16));
+
+        final KnowsRowCountTable delegate = Node.invokeGetDelegate(concatenateTable);
+        assertEquals(ConcatenateTable.class, delegate.getClass());
+        assertEquals(5, delegate.getReferenceTables().length);
+        assertEquals(16, concatenateTable.size());
+
+        compareTables(fullTable, concatenateTable, createFilter(0, 15, 0, 15));
+
+        compareTables(fullTable, concatenateTable, createFilter(4, 12, 4, 12));
+
+        compareTables(fullTable, concatenateTable, createFilter(4, 12, 3, 4));
+
+        compareTables(fullTable, concatenateTable, createFilter(4, 12, 4, 4));
+
+        compareTables(fullTable, concatenateTable, createFilter(4, 12, 8, 8));
+
+        compareTables(fullTable, concatenateTable, createFilter(4, 12, 15, 15));
+
+    }
+
     private static void compareTables(final BufferedDataTable table1, final BufferedDataTable table2,
         final TableFilter filter) {
         compareTables(table1, table2, filter, filter);
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.testing.core.ExecutionContextExtension;
+
+/**
+ * Tests the parallel (range based) computation of new columns in {@link RearrangeColumnsTable}, see
+ * {@link ParallelNewColCalculator}.
+ *
+ * @author agent
+ */
+@ExtendWith({ExecutionContextExtension.class})
+class ParallelNewColCalculatorTest {
+
+    private static final DataTableSpec INPUT_SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec());
+
+    private static BufferedDataTable createTable(final ExecutionContext exec, final int rowCount) {
+        final BufferedDataContainer container = exec.createDataContainer(INPUT_SPEC);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** Appends the row index and the input value times two; fails for a designated row. */
+    private static final class IndexCellFactory extends AbstractCellFactory {
+
+        private final long m_failAtIndex;
+
+        IndexCellFactory(final int workers, final long failAtIndex) {
+            super(true, workers, workers * 10, new DataColumnSpecCreator("Index", LongCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("Times2", IntCell.TYPE).createSpec());
+            m_failAtIndex = failAtIndex;
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row) {
+            throw new IllegalStateException("Not to be called, row index required");
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row, final long rowIndex) {
+            if (rowIndex == m_failAtIndex) {
+                throw new IllegalArgumentException("Expected failure at row " + rowIndex);
+            }
+            final int value = ((IntValue)row.getCell(0)).getIntValue();
+            return new DataCell[]{new LongCell(rowIndex), new IntCell(2 * value)};
+        }
+    }
+
+    private static void runAndCheck(final ExecutionContext exec, final int rowCount, final int workers)
+        throws Exception {
+        final BufferedDataTable table = createTable(exec, rowCount);
+        final ColumnRearranger rearranger = new ColumnRearranger(INPUT_SPEC);
+        rearranger.append(new IndexCellFactory(workers, -1));
+        final BufferedDataTable result = exec.createColumnRearrangeTable(table, rearranger, exec);
+        assertEquals(rowCount, result.size(), "Row count");
+        long index = 0;
+        for (DataRow row : result) {
+            assertEquals(RowKey.createRowKey(index), row.getKey(), "Row key");
+            assertEquals(index, ((LongValue)row.getCell(1)).getLongValue(), "Row index");
+            assertEquals(2 * index, ((IntValue)row.getCell(2)).getIntValue(), "Computed value");
+            index++;
+        }
+        assertEquals(rowCount, index, "Number of iterated rows");
+    }
+
+    @Test
+    void testRangeSize() {
+        final int noLimit = Integer.MAX_VALUE;
+        assertEquals(1, ParallelNewColCalculator.getRangeSize(0, 4, noLimit));
+        assertEquals(1, ParallelNewColCalculator.getRangeSize(10, 4, noLimit));
+        assertEquals(4, ParallelNewColCalculator.getRangeSize(100, 4, noLimit));
+        assertEquals(ParallelNewColCalculator.MAX_RANGE_SIZE,
+            ParallelNewColCalculator.getRangeSize(Long.MAX_VALUE / 2, 4, noLimit));
+        // queue size limits the range size
+        assertEquals(10, ParallelNewColCalculator.getRangeSize(Long.MAX_VALUE / 2, 4, 40));
+        assertEquals(1, ParallelNewColCalculator.getRangeSize(Long.MAX_VALUE / 2, 4, 4));
+    }
+
+    @Test
+    void testRangesInFlightHonorQueueSize() {
+        // enough room for two ranges per worker
+        assertEquals(8, ParallelNewColCalculator.getMaxRangesInFlight(10, 4, 1000));
+        // queue size allows only one range per worker
+        assertEquals(4, ParallelNewColCalculator.getMaxRangesInFlight(10, 4, 40));
+        for (int queueSize = 4; queueSize < 10_000; queueSize += 7) {
+            final int rangeSize = ParallelNewColCalculator.getRangeSize(Long.MAX_VALUE / 2, 4, queueSize);
+            final int inFlight = ParallelNewColCalculator.getMaxRangesInFlight(rangeSize, 4, queueSize);
+            assertTrue((long)rangeSize * inFlight <= queueSize, "Rows in flight exceed queue size " + queueSize);
+        }
+    }
+
+    @Test
+    void testOrderIsRetained(final ExecutionContext exec) throws Exception {
+        runAndCheck(exec, 100_000, 4);
+    }
+
+    @Test
+    void testSingleWorker(final ExecutionContext exec) throws Exception {
+        runAndCheck(exec, 5_000, 1);
+    }
+
+    @Test
+    void testSmallAndEmptyTables(final ExecutionContext exec) throws Exception {
+        runAndCheck(exec, 0, 4);
+        runAndCheck(exec, 1, 4);
+        runAndCheck(exec, 7, 16);
+    }
+
+    @Test
+    void testExceptionInFactoryIsPropagated(final ExecutionContext exec) throws Exception {
+        final BufferedDataTable table = createTable(exec, 10_000);
+        final ColumnRearranger rearranger = new ColumnRearranger(INPUT_SPEC);
+        rearranger.append(new IndexCellFactory(4, 7_777));
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> exec.createColumnRearrangeTable(table, rearranger, exec));
+        assertTrue(e.getMessage().contains("7777"), "Message contains failing row index");
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Writes and reads tables with dictionary encoded string columns (see {@link StringDictionary}).
+ *
+ * @author agent
+ */
+final class StringDictionaryTest {
+
+    /** More than five blocks, the last one incomplete. */
+    private static final int ROW_COUNT = 5 * StringDictionary.ROWS_PER_BLOCK + 100;
+
+    private static final String[] COUNTRIES = {"Switzerland", "Germany", "United States", "Japan", "Brazil"};
+
+    private static final DataTableSpec SPEC = new DataTableSpec( //
+        new DataColumnSpecCreator("country", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("id", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("mixed", StringCell.TYPE).createSpec());
+
+    private static DataRow createRow(final int i) {
+        final DataCell country = i % 11 == 0 ? DataType.getMissingCell() : new StringCell(COUNTRIES[i % 5]);
+        // high cardinality, exceeds the dictionary size and falls back to plain encoding
+        final DataCell id = new StringCell("id-" + i);
+        // high cardinality in even blocks, low cardinality in odd blocks
+        final DataCell mixed = isMixedColumnHighCardinality(i) ? id : new StringCell(COUNTRIES[i % 5]);
+        return new DefaultRow(RowKey.createRowKey((long)i), country, id, new IntCell(i), mixed);
+    }
+
+    private static boolean isMixedColumnHighCardinality(final int row) {
+        return row / StringDictionary.ROWS_PER_BLOCK % 2 == 0;
+    }
+
+    private static Buffer write(final boolean dictionaryEncoding) {
+        return write(dictionaryEncoding, false);
+    }
+
+    /**
+     * @param concurrent whether the rows are handed to the buffer in batches of multiple blocks that are serialized
+     *            concurrently
+     */
+    @SuppressWarnings("resource")
+    private static Buffer write(final boolean dictionaryEncoding, final boolean concurrent) {
+        final var format = new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault()
+            .withCompression(CompressionFormat.NONE).withDictionaryEncoding(dictionaryEncoding));
+        final var builder = DataContainerSettings.internalBuilder().withInitializedDomain(false)
+            .withMaxCellsInMemory(0).withBufferSettings(b -> b.withOutputFormat(format));
+        if (concurrent) {
+            builder.withForceSequentialRowHandling(false).withMaxThreadsPerContainer(4)
+                .withRowBatchSize(2 * StringDictionary.ROWS_PER_BLOCK);
+        } else {
+            builder.withForceSequentialRowHandling(true);
+        }
+        final var cont = new DataContainer(SPEC, builder.build());
+        for (int i = 0; i < ROW_COUNT; i++) {
+            cont.addRowToTable(createRow(i));
+        }
+        final Buffer buffer = ((BufferedDataContainerDelegate)cont.getDataContainerDelegate()).getBuffer();
+        cont.close();
+        return buffer;
+    }
+
+    /** The table is read back unchanged and equal values share one cell instance. */
+    @Test
+    void testRoundTrip() {
+        assertRoundTrip(write(true));
+    }
+
+    /**
+     * Same as above with blocks serialized concurrently, including a column whose cardinality exceeds the maximum
+     * number of dictionary entries in some blocks only.
+     */
+    @Test
+    void testRoundTripConcurrent() {
+        final Buffer buffer = write(true, true);
+        assertRoundTrip(buffer);
+        // the mixed column is encoded in the low-cardinality blocks, which the reader can tell from shared instances
+        final Map<String, DataCell> blockInstances = new HashMap<>();
+        try (CloseableRowIterator it = buffer.iterator()) {
+            for (int i = 0; it.hasNext(); i++) {
+                final DataCell mixed = it.next().getCell(3);
+                if (i % StringDictionary.ROWS_PER_BLOCK == 0) {
+                    blockInstances.clear();
+                }
+                if (!isMixedColumnHighCardinality(i)) {
+                    assertSame(blockInstances.computeIfAbsent(mixed.toString(), k -> mixed), mixed,
+                        "Shared instance of mixed column in row " + i);
+                }
+            }
+        }
+        assertEquals(write(true, false).getBinFile().length(), buffer.getBinFile().length(),
+            "Size of concurrently and sequentially written file");
+    }
+
+    private static void assertRoundTrip(final Buffer buffer) {
+        final Map<String, DataCell> firstInstances = new HashMap<>();
+        try (CloseableRowIterator it = buffer.iterator()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                assertTrue(it.hasNext(), "Iterator has row " + i);
+                final DataRow expected = createRow(i);
+                final DataRow row = it.next();
+                assertEquals(expected.getKey(), row.getKey(), "Row key " + i);
+                for (int c = 0; c < expected.getNumCells(); c++) {
+                    assertEquals(expected.getCell(c), row.getCell(c), "Cell " + c + " in row " + i);
+                }
+                final DataCell country = row.getCell(0);
+                if (!country.isMissing()) {
+                    assertSame(firstInstances.computeIfAbsent(country.toString(), k -> country), country,
+                        "Shared instance in row " + i);
+                }
+            }
+            assertFalse(it.hasNext(), "Iterator with more than " + ROW_COUNT + " rows");
+        }
+        assertEquals(COUNTRIES.length, firstInstances.size());
+    }
+
+    /** The encoded file is smaller than the plain one. */
+    @Test
+    void testFileSize() {
+        final long encodedSize = write(true).getBinFile().length();
+        final long plainSize = write(false).getBinFile().length();
+        assertTrue(encodedSize < plainSize, "Encoded size " + encodedSize + " vs. plain size " + plainSize);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.container.TempStorageManager.Policy;
+import org.knime.core.data.container.TempStorageManager.VolumeStatistics;
+
+/**
+ * Tests {@link TempStorageManager}.
+ *
+ * @author agent
+ */
+class TempStorageManagerTest {
+
+    private static final long MIN_FREE = 100;
+
+    @TempDir
+    Path m_primary;
+
+    @TempDir
+    Path m_stripe1;
+
+    @TempDir
+    Path m_stripe2;
+
+    private final Map<File, Long> m_usableSpace = new HashMap<>();
+
+    private TempStorageManager create(final Policy policy, final File... stripes) {
+        return new TempStorageManager(m_primary::toFile, m_primary.toFile(), List.of(stripes), policy, MIN_FREE,
+            dir -> m_usableSpace.getOrDefault(dir.getAbsoluteFile(), Long.MAX_VALUE));
+    }
+
+    /** Without additional directories, all files go to the workflow temp directory. */
+    @Test
+    void testNoStripes() {
+        final TempStorageManager manager = create(Policy.ROUND_ROBIN);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(m_primary.toFile(), manager.nextDirectory());
+        }
+        assertEquals(5, manager.getVolumeStatistics().get(0).nrFilesPlaced());
+    }
+
+    /** Round-robin uses all directories in turn and skips the ones low on space. */
+    @Test
+    void testRoundRobin() {
+        final TempStorageManager manager = create(Policy.ROUND_ROBIN, m_stripe1.toFile(), m_stripe2.toFile());
+        final Map<File, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(manager.nextDirectory(), 1, Integer::sum);
+        }
+        assertEquals(Map.of(m_primary.toFile(), 10, m_stripe1.toFile(), 10, m_stripe2.toFile(), 10), counts);
+
+        m_usableSpace.put(m_stripe1.toFile(), MIN_FREE - 1);
+        counts.clear();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(manager.nextDirectory(), 1, Integer::sum);
+        }
+        assertEquals(Map.of(m_primary.toFile(), 15, m_stripe2.toFile(), 15), counts);
+
+        // if all are low on space, the workflow temp directory is used (and file creation fails later)
+        m_usableSpace.put(m_primary.toFile(), 0L);
+        m_usableSpace.put(m_stripe2.toFile(), 0L);
+        assertEquals(m_primary.toFile(), manager.nextDirectory());
+    }
+
+    /** The free-space policy picks the directory with the most usable space. */
+    @Test
+    void testFreeSpace() {
+        final TempStorageManager manager = create(Policy.FREE_SPACE, m_stripe1.toFile(), m_stripe2.toFile());
+        m_usableSpace.put(m_primary.toFile(), 1000L);
+        m_usableSpace.put(m_stripe1.toFile(), 3000L);
+        m_usableSpace.put(m_stripe2.toFile(), 2000L);
+        assertEquals(m_stripe1.toFile(), manager.nextDirectory());
+        m_usableSpace.put(m_stripe1.toFile(), 500L);
+        assertEquals(m_stripe2.toFile(), manager.nextDirectory());
+    }
+
+    /** Files of a workflow go to a subdirectory per workflow, which is deleted with the workflow temp directory. */
+    @Test
+    void testWorkflowDirectories() throws IOException {
+        final File workflowTempDir = Files.createDirectory(m_primary.resolve("knime_workflow_1")).toFile();
+        final TempStorageManager manager = new TempStorageManager(() -> workflowTempDir, m_primary.toFile(),
+            List.of(m_stripe1.toFile()), Policy.ROUND_ROBIN, MIN_FREE, dir -> Long.MAX_VALUE);
+        final Set<File> dirs = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            dirs.add(manager.nextDirectory());
+        }
+        assertEquals(2, dirs.size());
+        assertTrue(dirs.remove(workflowTempDir));
+        final File stripeDir = dirs.iterator().next();
+        assertEquals(m_stripe1.toFile(), stripeDir.getParentFile());
+        assertTrue(stripeDir.getName().startsWith(workflowTempDir.getName()));
+        assertTrue(stripeDir.isDirectory());
+
+        final File spillFile = new File(stripeDir, "knime_container_1.bin.snappy");
+        assertTrue(spillFile.createNewFile());
+        manager.recordBytesWritten(spillFile, 10);
+        assertEquals(10, manager.getVolumeStatistics().get(1).bytesWritten());
+
+        manager.deleteWorkflowDirectories(workflowTempDir);
+        assertFalse(stripeDir.exists());
+        assertTrue(m_stripe1.toFile().isDirectory());
+    }
+
+    /** Bytes written are accounted to the directory containing the file. */
+    @Test
+    void testStatistics() {
+        final TempStorageManager manager = create(Policy.ROUND_ROBIN, m_stripe1.toFile(), m_stripe2.toFile());
+        manager.recordBytesWritten(new File(m_stripe1.toFile(), "knime_container_1.bin.snappy"), 10);
+        manager.recordBytesWritten(new File(m_stripe1.toFile(), "knime_container_2.bin.snappy"), 5);
+        manager.recordBytesWritten(new File(m_stripe2.toFile(), "knime_container_3.bin.snappy"), 7);
+        manager.recordBytesWritten(new File(m_primary.toFile(), "knime_container_4.bin.snappy"), 3);
+        final List<VolumeStatistics> statistics = manager.getVolumeStatistics();
+        assertEquals(3, statistics.size());
+        assertEquals(3, statistics.get(0).bytesWritten());
+        assertEquals(m_stripe1.toFile(), statistics.get(1).directory());
+        assertEquals(15, statistics.get(1).bytesWritten());
+        assertEquals(7, statistics.get(2).bytesWritten());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.container.filter.ColumnPredicate;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Tests the per-block statistics of tables ({@link ZoneMaps}) and the filtering of tables by
+ * {@link ColumnPredicate column predicates}.
+ *
+ * @author agent
+ */
+final class ZoneMapsTest {
+
+    /** Several blocks, the last one incomplete. */
+    private static final int ROW_COUNT = 5 * ZoneMaps.ROWS_PER_BLOCK + 17;
+
+    private static final DataTableSpec SPEC = new DataTableSpec(new String[]{"int", "double", "string"},
+        new DataType[]{IntCell.TYPE, DoubleCell.TYPE, StringCell.TYPE});
+
+    private static final DefaultTableStoreSettings SETTINGS = DefaultTableStoreSettings.getDefault()
+        .withCompression(CompressionFormat.SNAPPY).withDictionaryEncoding(false).withCompactRowKeys(false)
+        .withZoneMaps(true);
+
+    /** Ascending ints, doubles missing in the second block, strings of low cardinality. */
+    private static List<DataRow> createRows() {
+        final List<DataRow> rows = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final DataCell dbl =
+                i / ZoneMaps.ROWS_PER_BLOCK == 1 ? DataType.getMissingCell() : new DoubleCell(i / 2.0);
+            rows.add(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), dbl, new StringCell("s" + i % 10)));
+        }
+        return rows;
+    }
+
+    private static TableFilter[] createFilters() {
+        return new TableFilter[]{
+            TableFilter.filterRows(ColumnPredicate.inRange(SPEC, "int", new IntCell(5000), new IntCell(5100))),
+            TableFilter.filterRows(ColumnPredicate.equalTo(SPEC, "int", new IntCell(ROW_COUNT - 1))),
+            TableFilter.filterRows(ColumnPredicate.inRange(SPEC, "int", new IntCell(ROW_COUNT), null)),
+            TableFilter.filterRows(ColumnPredicate.isMissing(SPEC, "double")),
+            TableFilter.filterRows(ColumnPredicate.inRange(SPEC, "double", null, new DoubleCell(3000)),
+                ColumnPredicate.equalTo(SPEC, "string", new StringCell("s3"))),
+            new TableFilter.Builder().withFromRowIndex(4000).withToRowIndex(12_000)
+                .withColumnPredicates(ColumnPredicate.inRange(SPEC, "int", new IntCell(100), new IntCell(9000)))
+                .build()};
+    }
+
+    @SuppressWarnings("resource")
+    private static Buffer write(final DefaultTableStoreSettings storeSettings) {
+        final var format = new DefaultTableStoreFormat(storeSettings);
+        final var settings = DataContainerSettings.internalBuilder().withInitializedDomain(false)
+            .withMaxCellsInMemory(0).withBufferSettings(b -> b.withOutputFormat(format)).build();
+        final var cont = new DataContainer(SPEC, settings);
+        createRows().forEach(cont::addRowToTable);
+        final Buffer buffer = ((BufferedDataContainerDelegate)cont.getDataContainerDelegate()).getBuffer();
+        cont.close();
+        return buffer;
+    }
+
+    private static List<RowKey> readKeys(final CloseableRowIterator iterator) {
+        final List<RowKey> keys = new ArrayList<>();
+        try (iterator) {
+            iterator.forEachRemaining(row -> keys.add(row.getKey()));
+        }
+        return keys;
+    }
+
+    /** Filtered iterations return the same rows as testing each row, also with dictionary encoding and compaction. */
+    @Test
+    void testFilterEqualsBruteForce() {
+        for (DefaultTableStoreSettings settings : new DefaultTableStoreSettings[]{SETTINGS,
+            SETTINGS.withDictionaryEncoding(true).withCompactRowKeys(true), SETTINGS.withZoneMaps(false)}) {
+            final Buffer buffer = write(settings);
+            for (TableFilter filter : createFilters()) {
+                final List<RowKey> expected = new ArrayList<>();
+                try (CloseableRowIterator it = buffer.iterator()) {
+                    for (long i = 0; it.hasNext(); i++) {
+                        final DataRow row = it.next();
+                        if (i >= filter.getFromRowIndex().orElse(0L)
+                            && i <= filter.getToRowIndex().orElse(Long.MAX_VALUE)
+                            && filter.matchesColumnPredicates(row)) {
+                            expected.add(row.getKey());
+                        }
+                    }
+                }
+                final CloseableRowIterator filtered = buffer.iteratorWithFilter(filter);
+                if (settings.isZoneMaps()) {
+                    assertInstanceOf(ZoneMaps.FilterIterator.class, filtered, "Iterator skipping blocks");
+                }
+                assertEquals(expected, readKeys(filtered), "Rows matching " + filter.getColumnPredicates());
+            }
+        }
+    }
+
+    private static NodeSettings writeMetaInfo(final DefaultTableStoreSettings settings, final int nrThreads)
+        throws IOException {
+        final List<DataRow> rows = createRows();
+        final var writer = new DefaultTableStoreWriter(SPEC, new ByteArrayOutputStream(), true, settings);
+        try (writer) {
+            writer.setMaxSerializationThreads(nrThreads);
+            writer.writeRows(rows.subList(0, 1000));
+            writer.writeRows(rows.subList(1000, rows.size()));
+        }
+        final var meta = new NodeSettings("meta");
+        writer.writeMetaInfoAfterWrite(meta);
+        return meta;
+    }
+
+    /** The statistics describe the blocks, independent of whether the rows are serialized concurrently. */
+    @Test
+    void testZoneMaps() throws Exception {
+        final ZoneMaps zoneMaps = ZoneMaps.load(writeMetaInfo(SETTINGS, 1), SPEC);
+        assertNotNull(zoneMaps, "Zone maps");
+        assertEquals(6, zoneMaps.getNrBlocks(), "Number of blocks");
+        final ZoneMaps concurrentZoneMaps = ZoneMaps.load(writeMetaInfo(SETTINGS, 4), SPEC);
+        assertNotNull(concurrentZoneMaps, "Zone maps of concurrently serialized rows");
+        assertEquals(6, concurrentZoneMaps.getNrBlocks(), "Number of blocks of concurrently serialized rows");
+        for (int block = 0; block < 6; block++) {
+            final long rowCount = block < 5 ? ZoneMaps.ROWS_PER_BLOCK : 17;
+            assertEquals(zoneMaps.getOffset(block), concurrentZoneMaps.getOffset(block), "Offset of block " + block);
+            for (TableFilter filter : createFilters()) {
+                assertEquals(zoneMaps.mightMatch(block, rowCount, filter.getColumnPredicates()),
+                    concurrentZoneMaps.mightMatch(block, rowCount, filter.getColumnPredicates()),
+                    "Block " + block + " of concurrently serialized rows matching " + filter.getColumnPredicates());
+            }
+        }
+        assertTrue(zoneMaps.isValidFor(ROW_COUNT), "Zone maps valid for table");
+        assertFalse(zoneMaps.isValidFor(ROW_COUNT + ZoneMaps.ROWS_PER_BLOCK), "Zone maps valid for larger table");
+        final var intRange = List.of(ColumnPredicate.inRange(SPEC, "int", new IntCell(5000), new IntCell(5100)));
+        final var missingDouble = List.of(ColumnPredicate.isMissing(SPEC, "double"));
+        for (int block = 0; block < 6; block++) {
+            final long rowCount = block < 5 ? ZoneMaps.ROWS_PER_BLOCK : 17;
+            assertEquals(block == 1, zoneMaps.mightMatch(block, rowCount, intRange), "Int range in block " + block);
+            assertEquals(block == 1, zoneMaps.mightMatch(block, rowCount, missingDouble),
+                "Missing double in block " + block);
+        }
+    }
+
+    /** Only the statistics of bounded columns count towards the maximum number of entries. */
+    @Test
+    void testMaxEntries() {
+        final var names = new String[51];
+        final var types = new DataType[51];
+        for (int col = 0; col < names.length; col++) {
+            names[col] = "col" + col;
+            types[col] = col < 2 ? IntCell.TYPE : StringCell.TYPE;
+        }
+        final var builder = new ZoneMaps.Builder(new DataTableSpec(names, types));
+        final int maxBlocks = ZoneMaps.MAX_ENTRIES / 2;
+        for (int block = 0; block < maxBlocks; block++) {
+            assertNotNull(builder.startBlock((long)block * 100), "Statistics of block " + block);
+        }
+        assertEquals(maxBlocks, builder.build().getNrBlocks(), "Number of blocks");
+        assertNull(builder.startBlock((long)maxBlocks * 100), "Statistics beyond the maximum");
+        assertNull(builder.build(), "Zone maps beyond the maximum");
+    }
+
+    /** No statistics are written if disabled, which is the default. */
+    @Test
+    void testDisabled() throws IOException {
+        assertNull(ZoneMaps.load(writeMetaInfo(SETTINGS.withZoneMaps(false), 1), SPEC), "Disabled zone maps");
+        assertFalse(DefaultTableStoreSettings.getDefault().isZoneMaps(), "Zone maps enabled by default");
+    }
+}
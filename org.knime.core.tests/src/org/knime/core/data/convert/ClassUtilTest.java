@@ -49,9 +49,13 @@
 package org.knime.core.data.convert;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
@@ -116,6 +120,68 @@ public void testEnsureObjectType() {
         }
     }
 
+    /** Public so that it can be bound via the public lookup. */
+    public static final class Accessed {
+        private final int m_value;
+
+        public Accessed(final int value) {
+            m_value = value;
+        }
+
+        public int getValue() {
+            return m_value;
+        }
+
+        public String add(final int summand) {
+            return Integer.toString(m_value + summand);
+        }
+
+        public Object fail() {
+            throw new IllegalStateException("failing accessor");
+        }
+
+        public static int staticValue() {
+            return 0;
+        }
+    }
+
+    @Test
+    public void testBindInstanceMethod() throws Exception {
+        final Function<Object, Object> getValue = ClassUtil.bindInstanceMethod(Accessed.class.getMethod("getValue"));
+        assertEquals(Integer.valueOf(42), getValue.apply(new Accessed(42)));
+        assertEquals(Integer.valueOf(-1), getValue.apply(new Accessed(-1)));
+
+        // method of a class in a different module (java.base) - bound via method handle
+        final Function<Object, Object> length = ClassUtil.bindInstanceMethod(String.class.getMethod("length"));
+        assertEquals(Integer.valueOf(3), length.apply("abc"));
+
+        // exceptions are not wrapped
+        final Function<Object, Object> fail = ClassUtil.bindInstanceMethod(Accessed.class.getMethod("fail"));
+        final IllegalStateException ise = assertThrows(IllegalStateException.class, () -> fail.apply(new Accessed(1)));
+        assertEquals("failing accessor", ise.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> ClassUtil.bindInstanceMethod(Accessed.class.getMethod("staticValue")));
+        assertThrows(IllegalArgumentException.class,
+            () -> ClassUtil.bindInstanceMethod(Accessed.class.getMethod("add", int.class)));
+    }
+
+    @Test
+    public void testBindInstanceMethodWithArgument() throws Exception {
+        final BiFunction<Object, Object, Object> add =
+            ClassUtil.bindInstanceMethodWithArgument(Accessed.class.getMethod("add", int.class));
+        assertEquals("45", add.apply(new Accessed(42), Integer.valueOf(3)));
+
+        final BiFunction<Object, Object, Object> concat =
+            ClassUtil.bindInstanceMethodWithArgument(String.class.getMethod("concat", String.class));
+        assertEquals("ab", concat.apply("a", "b"));
+        final Object same = "x";
+        assertSame(same, concat.apply(same, ""));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> ClassUtil.bindInstanceMethodWithArgument(Accessed.class.getMethod("getValue")));
+    }
+
     @Test
     public void testGetArrayType() {
         String[] strArray = {};
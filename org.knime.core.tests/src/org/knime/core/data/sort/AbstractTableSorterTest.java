@@ -52,7 +52,9 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
@@ -78,7 +80,7 @@
 import org.knime.testing.util.TableTestUtil;
 
 /**
- * Tests for the merge phase of {@link AbstractTableSorter}.
+ * Tests for the merge phase of {@link AbstractTableSorter} and for sorting with a limit.
  *
  * @author Leonard Wörteler, KNIME GmbH, Konstanz, Germany
  */
@@ -149,6 +151,49 @@ void testMergePhase(final ExecutionContext exec) throws CanceledExecutionExcepti
         }
     }
 
+    /**
+     * Sorting with a limit returns the first rows of the fully sorted table, including the order of rows comparing
+     * equal, whether sorted in memory, in one chunk or in many chunks merged in several rounds.
+     */
+    @Test
+    void testSortWithLimit(final ExecutionContext exec) throws CanceledExecutionException {
+        final var n = 1_000;
+        final var container = exec.createDataContainer(SPEC);
+        final Random rng = new Random(4711L);
+        for (var i = 0; i < n; i++) {
+            // few distinct values, so that many rows compare equal
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), TableTestUtil.cellify("foo_" + i),
+                TableTestUtil.cellify((double)rng.nextInt(50))));
+        }
+        container.close();
+        final var table = container.getTable();
+        final var comp = RowComparator.on(SPEC).thenComparingColumn(1, DoubleCell.TYPE.getComparator()).build();
+        final var sorted = getKeys(new BufferedDataTableSorter(table, comp).sort(exec).iterator());
+
+        for (final long limit : new long[] { 0, 1, 7, 100, n, 2L * n }) {
+            final var expected = sorted.subList(0, (int)Math.min(limit, n));
+            for (final int maxRows : new int[] { Integer.MAX_VALUE, 64 }) {
+                final var sorter = new BufferedDataTableSorter(table, comp);
+                sorter.setMaxRows(maxRows);
+                sorter.setMaxOpenContainers(3);
+                assertEquals(expected, getKeys(sorter.sort(exec, limit).iterator()),
+                    "Table, limit " + limit + ", chunk size " + maxRows);
+                try (final var iter = sorter.sortedIterator(exec, limit)) {
+                    assertEquals(expected, getKeys(iter), "Iterator, limit " + limit + ", chunk size " + maxRows);
+                }
+            }
+            final var sorter = new BufferedDataTableSorter(table, comp);
+            sorter.setSortInMemory(true);
+            assertEquals(expected, getKeys(sorter.sort(exec, limit).iterator()), "In memory, limit " + limit);
+        }
+    }
+
+    private static List<RowKey> getKeys(final Iterator<DataRow> rows) {
+        final var keys = new ArrayList<RowKey>();
+        rows.forEachRemaining(row -> keys.add(row.getKey()));
+        return keys;
+    }
+
     /**
      * Creates a specified number of rows, distributed over a given number of chunks. Each row has one duplicate.
      *
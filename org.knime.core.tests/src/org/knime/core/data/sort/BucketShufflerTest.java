@@ -0,0 +1,195 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link BucketShuffler}.
+ *
+ * @author agent
+ */
+class BucketShufflerTest {
+
+    private ExecutionContext m_exec;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @BeforeEach
+    void setUp() {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /** Table fits into a single bucket, shuffled in memory. */
+    @Test
+    void testShuffleInMemory() throws Exception {
+        testShuffle(500, BucketShuffler.DEFAULT_MAX_BUCKET_SIZE);
+    }
+
+    /** Table is scattered into buckets. */
+    @Test
+    void testShuffleScattered() throws Exception {
+        testShuffle(1000, 20);
+    }
+
+    /** Buckets are too large to be shuffled in memory and need to be shuffled recursively. */
+    @Test
+    void testShuffleRecursive() throws Exception {
+        testShuffle(3000, 4);
+    }
+
+    /** Each row is counted once, although it's scattered twice when shuffled recursively. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void testProgressCountsEachRowOnce() throws Exception {
+        final BufferedDataTable table = createTable(3000);
+        final List<Double> progressValues = new ArrayList<>();
+        final var progressMonitor = new DefaultNodeProgressMonitor() {
+            @Override
+            public synchronized void setProgress(final double progress, final Supplier<String> message) {
+                progressValues.add(progress);
+                super.setProgress(progress, message);
+            }
+        };
+        final var exec = new ExecutionContext(progressMonitor,
+            new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        try (var shuffler = new BucketShuffler(table, exec, 42L, 4)) {
+            shuffler.getShuffled();
+        }
+        assertEquals(3000, progressValues.size(), "Progress not reported once per row");
+        for (int i = 1; i < progressValues.size(); i++) {
+            assertTrue(progressValues.get(i) > progressValues.get(i - 1), "Progress not increasing at row " + i);
+        }
+        assertEquals(1.0, progressValues.get(progressValues.size() - 1), 1e-9);
+    }
+
+    @Test
+    void testEmptyTable() throws Exception {
+        final BufferedDataTable table = createTable(0);
+        try (var shuffler = new BucketShuffler(table, m_exec, 1L, 4)) {
+            assertEquals(0, shuffler.getShuffled().size());
+        }
+    }
+
+    private void testShuffle(final int nrRows, final int maxBucketSize) throws Exception {
+        final BufferedDataTable table = createTable(nrRows);
+        final List<Long> original = values(table);
+        final List<Long> shuffled;
+        try (var shuffler = new BucketShuffler(table, m_exec, 42L, maxBucketSize)) {
+            final BufferedDataTable result = shuffler.getShuffled();
+            assertEquals(table.getDataTableSpec(), result.getDataTableSpec());
+            shuffled = values(result);
+            assertKeysMatchValues(result);
+        }
+        assertNotEquals(original, shuffled, "Table not shuffled");
+        assertEquals(original, shuffled.stream().sorted().collect(Collectors.toList()), "Not a permutation");
+
+        try (var shuffler = new BucketShuffler(table, m_exec, 42L, maxBucketSize)) {
+            assertEquals(shuffled, values(shuffler.getShuffled()), "Not reproducible with the same seed");
+        }
+        try (var shuffler = new BucketShuffler(table, m_exec, 43L, maxBucketSize)) {
+            assertNotEquals(shuffled, values(shuffler.getShuffled()), "Same order for different seeds");
+        }
+    }
+
+    private BufferedDataTable createTable(final int nrRows) {
+        final var spec = new DataTableSpec(new DataColumnSpecCreator("value", LongCell.TYPE).createSpec());
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        LongStream.range(0, nrRows)
+            .forEach(i -> container.addRowToTable(new DefaultRow(RowKey.createRowKey(i), new LongCell(i))));
+        container.close();
+        return container.getTable();
+    }
+
+    private static List<Long> values(final BufferedDataTable table) {
+        final List<Long> values = new ArrayList<>();
+        for (DataRow row : table) {
+            values.add(((LongCell)row.getCell(0)).getLongValue());
+        }
+        return values;
+    }
+
+    private static void assertKeysMatchValues(final BufferedDataTable table) {
+        for (DataRow row : table) {
+            assertEquals(RowKey.createRowKey(((LongCell)row.getCell(0)).getLongValue()), row.getKey());
+        }
+    }
+}
@@ -13,6 +13,7 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.knime.core.data.DataColumnSpec;
@@ -122,6 +123,49 @@ void testMemoryAwareTransposer(final BooleanSupplier alertSystemMock) throws Can
         assertThat(dataRowsEqual(result.get(1), transposed123456)).isTrue();
     }
 
+    @Test
+    void testMinTileWidth() {
+        assertThrows(IllegalArgumentException.class, () -> new SpillingTransposer(testTable, m_exec, 0));
+    }
+
+    /**
+     * Test transposing the table via column tiles of different widths, with chunk sizes that react to available memory.
+     * @param tileWidth number of columns per tile
+     * @param alertSystemMock provider for the memory low condition
+     * @throws CanceledExecutionException
+     */
+    @ParameterizedTest
+    @MethodSource("tileWidthsAndMemoryAlertSystemMocks")
+    void testSpillingTransposer(final int tileWidth, final BooleanSupplier alertSystemMock)
+        throws CanceledExecutionException {
+        var transposer = new SpillingTransposer(testTable, m_exec, tileWidth, alertSystemMock);
+        transposer.transpose();
+        var resultTable = transposer.getTransposedTable();
+        List<DataRow> result = StreamSupport.stream(resultTable.spliterator(), false).collect(Collectors.toList());
+
+        assertThat(result).hasSize(2);
+        assertThat(dataRowsEqual(result.get(0), transposedABCDEF)).isTrue();
+        assertThat(dataRowsEqual(result.get(1), transposed123456)).isTrue();
+    }
+
+    /** Test the default constructor (tile count derived from number of columns). */
+    @Test
+    void testSpillingTransposerDefaultTiles() throws CanceledExecutionException {
+        var transposer = new SpillingTransposer(testTable, m_exec);
+        transposer.transpose();
+        List<DataRow> result =
+            StreamSupport.stream(transposer.getTransposedTable().spliterator(), false).collect(Collectors.toList());
+
+        assertThat(result).hasSize(2);
+        assertThat(dataRowsEqual(result.get(0), transposedABCDEF)).isTrue();
+        assertThat(dataRowsEqual(result.get(1), transposed123456)).isTrue();
+    }
+
+    /** Combines the tile widths 1, 2 and 3 with all {@link #memoryAlertSystemMocks()}. */
+    private static Stream<Arguments> tileWidthsAndMemoryAlertSystemMocks() {
+        return Stream.of(1, 2, 3).flatMap(w -> memoryAlertSystemMocks().map(m -> Arguments.of(w, m)));
+    }
+
     /** Provides the memory alert system stubs that simulate different low memory scenarios. */
     private static Stream<BooleanSupplier> memoryAlertSystemMocks() {
         return Stream.of(
@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.util.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.util.memory.ExternalProcessMemoryWatchdog.ProcessMemoryUsage;
+import org.knime.core.data.util.memory.MemoryLedger.MemorySnapshot;
+import org.knime.core.data.util.memory.MemoryLedger.Stage;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Tests for {@link MemoryLedger} and {@link CGroupUtil} using a fake cgroup file system.
+ *
+ * @author agent
+ */
+final class MemoryLedgerTest {
+
+    private static final long MB = 1 << 20;
+
+    private static final NodeID ROOT = new NodeID(0);
+
+    @TempDir
+    Path m_tempDir;
+
+    private Path createCGroup(final String relativePath, final String max, final long current) throws IOException {
+        var dir = Files.createDirectories(m_tempDir.resolve(relativePath));
+        if (max != null) {
+            Files.writeString(dir.resolve("memory.max"), max + "\n");
+        }
+        Files.writeString(dir.resolve("memory.current"), current + "\n");
+        return dir;
+    }
+
+    /** The nearest ancestor with a limit is found, the file cache is not counted. */
+    @Test
+    void testFindLimitingCGroupAndReadWorkingSet() throws IOException {
+        Files.writeString(m_tempDir.resolve("cgroup.controllers"), "cpu memory pids\n");
+        var pod = createCGroup("kubepods/pod1", Long.toString(1024 * MB), 600 * MB);
+        createCGroup("kubepods/pod1/container", "max", 500 * MB);
+        Files.writeString(pod.resolve("memory.stat"), "anon 400000\nfile 200000\ninactive_file " + (100 * MB) + "\n");
+        var procSelfCgroup = Files.writeString(m_tempDir.resolve("self-cgroup"), "0::/kubepods/pod1/container\n");
+
+        assertEquals(Optional.of(pod), CGroupUtil.findLimitingCGroup(m_tempDir, procSelfCgroup));
+        assertEquals(1024 * MB, CGroupUtil.readLimit(pod));
+        assertEquals(500 * MB, CGroupUtil.readWorkingSet(pod));
+        assertEquals(-1, CGroupUtil.readLimit(pod.resolve("container")));
+    }
+
+    /** Without a limit or without the unified hierarchy there is no limiting cgroup. */
+    @Test
+    void testNoLimitingCGroup() throws IOException {
+        createCGroup("app", "max", 10 * MB);
+        var procSelfCgroup = Files.writeString(m_tempDir.resolve("self-cgroup"), "0::/app\n");
+        assertEquals(Optional.empty(), CGroupUtil.findLimitingCGroup(m_tempDir, procSelfCgroup),
+            "Not a cgroup v2 hierarchy");
+        Files.writeString(m_tempDir.resolve("cgroup.controllers"), "memory\n");
+        assertEquals(Optional.empty(), CGroupUtil.findLimitingCGroup(m_tempDir, procSelfCgroup), "No limit");
+    }
+
+    /** Usage is combined from all sources, attributed per node and the stages escalate with the usage. */
+    @Test
+    void testSnapshotAndStagedReactions() throws IOException {
+        var cgroup = createCGroup("knime", Long.toString(1000 * MB), 500 * MB);
+        var node1 = new NodeID(ROOT, 1);
+        var node2 = new NodeID(ROOT, 2);
+        var processes = List.of( //
+            new ProcessMemoryUsage(ProcessHandle.current(), node1, 100 << 10), //
+            new ProcessMemoryUsage(ProcessHandle.current(), node1, 50 << 10), //
+            new ProcessMemoryUsage(ProcessHandle.current(), node2, 20 << 10), //
+            new ProcessMemoryUsage(ProcessHandle.current(), null, 10 << 10));
+        var reactions = new ArrayList<Stage>();
+        var ledger = new MemoryLedger(cgroup, () -> 200 * MB, () -> 0, () -> 64 * MB, () -> processes, true,
+            reactions::add);
+
+        MemorySnapshot snapshot = ledger.update().orElseThrow();
+        assertEquals(1000 * MB, snapshot.limitBytes());
+        assertEquals(500 * MB, snapshot.workingSetBytes());
+        assertEquals(180 * MB, snapshot.externalProcessBytes());
+        assertEquals(150 * MB, snapshot.externalProcessBytesByNode().get(node1));
+        assertEquals(20 * MB, snapshot.externalProcessBytesByNode().get(node2));
+        assertEquals(56 * MB, snapshot.getUnaccountedBytes());
+        assertEquals(Stage.NORMAL, snapshot.stage());
+        assertEquals(snapshot, ledger.getLastSnapshot().orElseThrow());
+        assertTrue(reactions.isEmpty(), "No reaction below thresholds");
+
+        setCurrent(cgroup, 850 * MB);
+        ledger.update();
+        setCurrent(cgroup, 920 * MB);
+        ledger.update();
+        assertEquals(List.of(Stage.FLUSH_CACHES, Stage.SPILL_BUFFERS), reactions);
+    }
+
+    /** After a process has been killed, the ledger waits a few polls before killing the next one. */
+    @Test
+    void testKillGracePeriod() throws IOException {
+        var cgroup = createCGroup("knime", Long.toString(1000 * MB), 990 * MB);
+        var reactions = new ArrayList<Stage>();
+        var ledger = new MemoryLedger(cgroup, () -> 0, () -> 0, () -> 0, List::of, true, reactions::add);
+        for (var i = 0; i < MemoryLedger.KILL_GRACE_POLLS + 2; i++) {
+            ledger.update();
+        }
+        var expected = new ArrayList<Stage>();
+        expected.add(Stage.KILL_EXTERNAL_PROCESS);
+        for (var i = 0; i < MemoryLedger.KILL_GRACE_POLLS; i++) {
+            expected.add(Stage.SPILL_BUFFERS);
+        }
+        expected.add(Stage.KILL_EXTERNAL_PROCESS);
+        assertEquals(expected, reactions);
+    }
+
+    /** Committed but free heap does not count towards the usage that determines the stage. */
+    @Test
+    void testFreeHeapIsNotCounted() throws IOException {
+        var cgroup = createCGroup("knime", Long.toString(1000 * MB), 960 * MB);
+        var reactions = new ArrayList<Stage>();
+        var ledger = new MemoryLedger(cgroup, () -> 800 * MB, () -> 300 * MB, () -> 0, List::of, true,
+            reactions::add);
+        MemorySnapshot snapshot = ledger.update().orElseThrow();
+        assertEquals(0.66, snapshot.getUsage(), 1e-9);
+        assertEquals(Stage.NORMAL, snapshot.stage());
+        assertEquals(160 * MB, snapshot.getUnaccountedBytes());
+        assertTrue(reactions.isEmpty(), "Free heap must not trigger reactions");
+    }
+
+    /** Unless enabled, the ledger does not escalate to killing external processes. */
+    @Test
+    void testKillingIsOptIn() throws IOException {
+        var cgroup = createCGroup("knime", Long.toString(1000 * MB), 990 * MB);
+        var reactions = new ArrayList<Stage>();
+        var ledger = new MemoryLedger(cgroup, () -> 0, () -> 0, () -> 0, List::of, false, reactions::add);
+        assertEquals(Stage.SPILL_BUFFERS, ledger.update().orElseThrow().stage());
+        ledger.update();
+        assertEquals(List.of(Stage.SPILL_BUFFERS, Stage.SPILL_BUFFERS), reactions);
+    }
+
+    /** Without a cgroup the ledger never reports anything. */
+    @Test
+    void testWithoutCGroup() {
+        var ledger = new MemoryLedger(null, () -> 0, () -> 0, () -> 0, List::of, true, s -> {
+            throw new AssertionError("No reaction expected");
+        });
+        assertEquals(Optional.empty(), ledger.update());
+        assertEquals(Optional.empty(), ledger.getLastSnapshot());
+    }
+
+    private static void setCurrent(final Path cgroup, final long current) throws IOException {
+        Files.writeString(cgroup.resolve("memory.current"), current + "\n");
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.knime.core.data.vector.bitvector.BitVectorSimilarityIndex.Hit;
+
+/**
+ * Tests {@link BitVectorSimilarity} and {@link BitVectorSimilarityIndex} against a brute force search.
+ *
+ * @author agent
+ */
+public class BitVectorSimilarityIndexTest {
+
+    private static final Random RANDOM = new Random(42);
+
+    private static BitVectorValue randomVector(final int length, final double density, final boolean sparse) {
+        if (sparse) {
+            SparseBitVectorCellFactory factory = new SparseBitVectorCellFactory(length);
+            for (int i = 0; i < length; i++) {
+                if (RANDOM.nextDouble() < density) {
+                    factory.set(i);
+                }
+            }
+            return factory.createDataCell();
+        }
+        DenseBitVectorCellFactory factory = new DenseBitVectorCellFactory(length);
+        for (int i = 0; i < length; i++) {
+            if (RANDOM.nextDouble() < density) {
+                factory.set(i);
+            }
+        }
+        return factory.createDataCell();
+    }
+
+    /** Vectors of different length, density and implementation, including missing values. */
+    private static List<BitVectorValue> randomVectors(final int count) {
+        List<BitVectorValue> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 97 == 13) {
+                result.add(null);
+            } else {
+                result.add(randomVector(i % 5 == 0 ? 100 : 256, 0.02 + RANDOM.nextDouble() * 0.3, i % 7 == 0));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> bruteForce(final List<BitVectorValue> vectors, final BitVectorValue query,
+        final BitVectorSimilarity measure, final double threshold, final int maxHits) {
+        List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            if (vectors.get(i) != null) {
+                double similarity = measure.similarity(query, vectors.get(i));
+                if (similarity >= threshold) {
+                    hits.add(new Hit(i, similarity));
+                }
+            }
+        }
+        return hits.stream()
+            .sorted(Comparator.comparingDouble(Hit::getSimilarity).reversed().thenComparingInt(Hit::getIndex))
+            .limit(maxHits).map(Hit::toString).collect(Collectors.toList());
+    }
+
+    private static List<String> toStrings(final List<Hit> hits) {
+        return hits.stream().map(Hit::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests the similarity measures against their definitions.
+     */
+    @Test
+    public void testSimilarity() {
+        BitVectorValue a = new DenseBitVectorCellFactory("F0").createDataCell(); // 4 bits
+        BitVectorValue b = new SparseBitVectorCellFactory("3C").createDataCell(); // 4 bits, 2 shared
+        assertEquals(2.0 / 6, BitVectorSimilarity.TANIMOTO.similarity(a, b), 1e-12);
+        assertEquals(4.0 / 8, BitVectorSimilarity.DICE.similarity(a, b), 1e-12);
+        assertEquals(2.0 / 4, BitVectorSimilarity.COSINE.similarity(a, b), 1e-12);
+        BitVectorValue empty = new DenseBitVectorCellFactory(8).createDataCell();
+        for (BitVectorSimilarity measure : BitVectorSimilarity.values()) {
+            assertEquals(0.0, measure.similarity(empty, empty), 0.0);
+            assertEquals(0.0, measure.similarity(a, empty), 0.0);
+            assertEquals(1.0, measure.similarity(a, a), 1e-12);
+            for (int c1 = 0; c1 < 20; c1++) {
+                for (int c2 = 0; c2 < 20; c2++) {
+                    for (int i = 0; i <= Math.min(c1, c2); i++) {
+                        assertTrue(measure.similarity(i, c1, c2) <= measure.upperBound(c1, c2) + 1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the word kernels against the cell implementation.
+     */
+    @Test
+    public void testKernels() {
+        for (int i = 0; i < 50; i++) {
+            DenseBitVector v1 = ((DenseBitVectorCell)randomVector(1000, 0.3, false)).getBitVectorCopy();
+            DenseBitVector v2 = ((DenseBitVectorCell)randomVector(1000, 0.3, false)).getBitVectorCopy();
+            long[] w1 = v1.getAllBits();
+            long[] w2 = v2.getAllBits();
+            assertEquals(v1.cardinality(), BitVectorUtil.cardinality(w1, 0, w1.length));
+            assertEquals(v1.and(v2).cardinality(), BitVectorUtil.cardinalityOfIntersection(w1, 0, w2, 0, w1.length));
+            assertEquals(v1.subSequence(64, 1000).and(v2.subSequence(64, 1000)).cardinality(),
+                BitVectorUtil.cardinalityOfIntersection(w1, 1, w2, 1, w1.length - 1));
+        }
+    }
+
+    /**
+     * Compares threshold and top-k queries with a brute force search, large enough to be run in parallel.
+     */
+    @Test
+    public void testQueries() {
+        List<BitVectorValue> vectors = randomVectors(20000);
+        BitVectorSimilarityIndex.Builder builder = BitVectorSimilarityIndex.builder();
+        vectors.forEach(builder::add);
+        BitVectorSimilarityIndex index = builder.build();
+        assertEquals(vectors.size(), index.size());
+        for (int q = 0; q < 10; q++) {
+            BitVectorValue query = q < 5 ? vectors.get(q * 31 + 1) : randomVector(200 + q, 0.2, q % 2 == 0);
+            for (BitVectorSimilarity measure : BitVectorSimilarity.values()) {
+                assertEquals(bruteForce(vectors, query, measure, 0.4, Integer.MAX_VALUE),
+                    toStrings(index.findAbove(query, measure, 0.4)));
+                assertEquals(bruteForce(vectors, query, measure, 0.0, 25),
+                    toStrings(index.findNearest(query, measure, 25)));
+                assertEquals(bruteForce(vectors, query, measure, 0.3, 3),
+                    toStrings(index.search(query, measure, 0.3, 3)));
+            }
+        }
+    }
+
+    /**
+     * Tests an empty index and an empty query.
+     */
+    @Test
+    public void testEmpty() {
+        BitVectorSimilarityIndex index = BitVectorSimilarityIndex.builder().add(null).build();
+        BitVectorValue query = randomVector(64, 0.5, false);
+        assertEquals(1, index.size());
+        assertTrue(index.findNearest(query, BitVectorSimilarity.TANIMOTO, 10).isEmpty());
+
+        List<BitVectorValue> vectors = randomVectors(100);
+        BitVectorSimilarityIndex.Builder builder = BitVectorSimilarityIndex.builder();
+        vectors.forEach(builder::add);
+        BitVectorValue empty = new DenseBitVectorCellFactory(256).createDataCell();
+        assertTrue(builder.build().findAbove(empty, BitVectorSimilarity.TANIMOTO, 0.1).isEmpty());
+    }
+}
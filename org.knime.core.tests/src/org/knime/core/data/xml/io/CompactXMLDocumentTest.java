@@ -0,0 +1,234 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.xml.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests for {@link CompactXMLDocument} and the stream reader on it.
+ *
+ * @author agent
+ */
+class CompactXMLDocumentTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<!-- leading comment --><?app before root?>"
+        + "<r:root xmlns:r=\"urn:root\" xmlns=\"urn:default\" id=\"1\" r:kind=\"outer\">"
+        + "<item xml:space=\"preserve\" name=\"first\">  some text &amp; more  </item>"
+        + "<item name=\"second\">a<![CDATA[<cdata>]]>b<!--inner comment--><?pi data?></item>"
+        + "<other xmlns=\"\" xmlns:o=\"urn:other\" o:attr=\"x\"><o:child/><child>text</child></other>"
+        + "<r:empty/></r:root>";
+
+    private static Document parse(final String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static String toString(final Document doc) throws Exception {
+        StringWriter writer = new StringWriter();
+        var transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.transform(new DOMSource(doc), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Checks that the document restored from the compact form equals the original one.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void testRestoreDocument() throws Exception {
+        Document doc = parse(XML);
+        CompactXMLDocument compact = CompactXMLDocument.encode(doc).orElseThrow();
+        Document restored = compact.createDocument();
+        assertEquals(toString(doc), toString(restored), "Restored document differs");
+        assertTrue(restored.getDocumentElement().isEqualNode(doc.getDocumentElement()), "Restored root differs");
+        assertTrue(compact.getTokenSize() < XML.length(), "Token stream not smaller than XML text");
+
+        // restored documents are independent from each other
+        ((Element)restored.getDocumentElement().getFirstChild()).setAttribute("name", "changed");
+        assertEquals(toString(doc), toString(compact.createDocument()), "Modification leaked into compact form");
+    }
+
+    /**
+     * Checks that documents that were built without namespace support are restored as such.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void testDOMLevel1Nodes() throws Exception {
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element root = doc.createElement("root");
+        doc.appendChild(root);
+        root.setAttributeNS("http://ns", "ns:ok", "value");
+        root.setAttribute("ns:bad", "value");
+        root.appendChild(doc.createElement("child")).appendChild(doc.createTextNode("text"));
+
+        Element restoredRoot = CompactXMLDocument.encode(doc).orElseThrow().createDocument().getDocumentElement();
+        assertTrue(restoredRoot.isEqualNode(root), "Restored root differs");
+        assertEquals(null, restoredRoot.getLocalName(), "Unexpected local name of level 1 element");
+        assertEquals(null, restoredRoot.getAttributeNode("ns:bad").getLocalName(),
+            "Unexpected local name of level 1 attribute");
+        assertEquals("ok", restoredRoot.getAttributeNodeNS("http://ns", "ok").getLocalName(),
+            "Unexpected local name of level 2 attribute");
+    }
+
+    /**
+     * Checks that documents with a document type declaration are rejected.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void testDocumentTypeNotSupported() throws Exception {
+        Document doc = parse("<!DOCTYPE root [<!ELEMENT root (#PCDATA)>]><root>text</root>");
+        assertFalse(CompactXMLDocument.encode(doc).isPresent(), "Document type declaration not rejected");
+    }
+
+    /**
+     * Checks that the stream reader on the compact form reports the same events as a stream reader on the XML text
+     * (the DOM doesn't retain the order of attributes, hence they are compared in sorted order).
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void testStreamReader() throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        List<String> expected = events(factory.createXMLStreamReader(new StringReader(XML)));
+        List<String> actual =
+            events(CompactXMLDocument.encode(parse(XML)).orElseThrow().createStreamReader());
+        assertEquals(expected, actual, "Different events");
+    }
+
+    /**
+     * Checks the namespace context and the convenience methods of the stream reader.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    void testStreamReaderNavigation() throws Exception {
+        XMLStreamReader reader = CompactXMLDocument.encode(parse(XML)).orElseThrow().createStreamReader();
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag(), "Root element expected");
+        assertEquals("urn:root", reader.getNamespaceURI("r"), "Wrong namespace for prefix");
+        assertEquals("outer", reader.getAttributeValue("urn:root", "kind"), "Wrong attribute value");
+        assertEquals("1", reader.getAttributeValue(null, "id"), "Wrong attribute value");
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag(), "Item element expected");
+        assertEquals("urn:default", reader.getNamespaceURI(), "Wrong default namespace");
+        assertEquals("  some text & more  ", reader.getElementText(), "Wrong element text");
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag(), "Second item expected");
+        assertEquals("a<cdata>b", reader.getElementText(), "Wrong element text");
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag(), "Other element expected");
+        assertEquals(null, reader.getNamespaceURI(), "Default namespace not undeclared");
+        assertEquals("r", reader.getNamespaceContext().getPrefix("urn:root"), "Wrong prefix for namespace");
+        reader.nextTag();
+        assertEquals("urn:other", reader.getNamespaceURI(), "Wrong namespace");
+        assertEquals("o", reader.getPrefix(), "Wrong prefix");
+    }
+
+    private static List<String> events(final XMLStreamReader reader) throws Exception {
+        List<String> events = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            StringBuilder b = new StringBuilder().append(event);
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    b.append(' ').append(reader.getName()).append(" prefix=").append(reader.getPrefix());
+                    List<String> attributes = new ArrayList<>();
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        attributes.add("ns:" + reader.getNamespacePrefix(i) + "=" + reader.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes.add(reader.getAttributeName(i) + "=" + reader.getAttributeValue(i));
+                    }
+                    Collections.sort(attributes);
+                    b.append(' ').append(attributes);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    b.append(' ').append(reader.getName());
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.COMMENT:
+                    b.append(' ').append(reader.getText()).append(' ').append(reader.isWhiteSpace());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    b.append(' ').append(reader.getPITarget()).append(' ').append(reader.getPIData());
+                    break;
+                default:
+                    break;
+            }
+            events.add(b.toString());
+        }
+        return events;
+    }
+}
@@ -52,6 +52,8 @@
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.io.IOException;
+
 import org.apache.xmlbeans.SchemaType;
 import org.apache.xmlbeans.XmlException;
 import org.apache.xmlbeans.XmlObject;
@@ -81,6 +83,7 @@
 import org.knime.core.node.testfactories.v41.XSD_v41_ungrouped;
 import org.knime.core.node.testfactories.v53.XSD_v53;
 import org.knime.core.node.testfactories.v53.XSD_v53_invalid;
+import org.xml.sax.SAXException;
 
 /**
  * Testcases for the new node description implementation of 2.8.
@@ -289,6 +292,36 @@ private static NodeDescription testValidateDescription(final Class<? extends Nod
         return description;
     }
 
+    /**
+     * Tests that the node description read from the default XML file is parsed once and shared by all instances of
+     * a factory class, whereas factories creating their own description are left alone.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testSharedDescription() throws Exception {
+        NodeFactory<?> f1 = new XSD_v53();
+        NodeFactory<?> f2 = new XSD_v53();
+        assertThat("Node description not shared", f2.getNodeDescription() == f1.getNodeDescription(), is(true));
+        assertThat("Wrong icon", f2.getIcon(), is(f1.getIcon()));
+        assertThat("Bundle information added more than once",
+            f2.getXMLDescription().getElementsByTagName("osgi-info").getLength() <= 1, is(true));
+
+        NodeFactory<?> o1 = new OwnDescriptionFactory();
+        NodeFactory<?> o2 = new OwnDescriptionFactory();
+        assertThat("Node description created by factory must not be shared",
+            o2.getNodeDescription() == o1.getNodeDescription(), is(false));
+        assertThat("Wrong node name", o2.getNodeName(), is(f1.getNodeName()));
+    }
+
+    /** Factory that creates its description on its own (by parsing the XML file of its superclass). */
+    private static final class OwnDescriptionFactory extends XSD_v53 {
+        @Override
+        protected NodeDescription createNodeDescription() throws SAXException, IOException, XmlException {
+            return super.createNodeDescription();
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private void testInvalidDescription(final Class<? extends NodeFactory> factoryClass,
                                         final Class<? extends NodeDescription> expectedProxyClass) throws Exception {
@@ -0,0 +1,175 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.apache.log4j.varia.LevelRangeFilter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AsyncLogAppender}.
+ *
+ * @author agent
+ */
+class AsyncLogAppenderTest {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogAppenderTest.class);
+
+    /** Appender recording the messages, optionally blocking in the first call until released. */
+    private static final class RecordingAppender extends AppenderSkeleton {
+
+        private final List<String> m_messages = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch m_entered = new CountDownLatch(1);
+
+        private final CountDownLatch m_release;
+
+        private boolean m_isClosed;
+
+        RecordingAppender(final boolean block) {
+            m_release = new CountDownLatch(block ? 1 : 0);
+            setName("recording");
+        }
+
+        @Override
+        protected void append(final LoggingEvent event) {
+            m_entered.countDown();
+            try {
+                m_release.await();
+            } catch (InterruptedException e) { // NOSONAR
+                Thread.currentThread().interrupt();
+            }
+            m_messages.add(event.getLevel() + ": " + event.getRenderedMessage());
+        }
+
+        @Override
+        public void close() {
+            m_isClosed = true;
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+
+    private static LoggingEvent event(final Level level, final String msg) {
+        return new LoggingEvent(LOGGER.getName(), LOGGER, level, msg, null);
+    }
+
+    /** Events are passed on in the order they were appended; warnings are not dropped even if the buffer is small. */
+    @Test
+    void testOrderPreserved() {
+        final var target = new RecordingAppender(false);
+        final var async = new AsyncLogAppender(target, 16);
+        final var expected = new ArrayList<String>();
+        for (var i = 0; i < 1000; i++) {
+            async.doAppend(event(Level.WARN, "msg " + i));
+            expected.add("WARN: msg " + i);
+        }
+        assertThat(async.flush(10, TimeUnit.SECONDS)).as("Flushed in time").isTrue();
+        assertThat(target.m_messages).containsExactlyElementsOf(expected);
+        async.close();
+        assertThat(target.m_isClosed).as("Target closed").isTrue();
+    }
+
+    /** Debug messages are discarded on overflow and reported, warnings are never lost. */
+    @Test
+    void testOverflowPolicy() throws InterruptedException {
+        final var target = new RecordingAppender(true);
+        final var async = new AsyncLogAppender(target, 2);
+        async.doAppend(event(Level.DEBUG, "first"));
+        // dispatcher has taken "first" out of the buffer and is now stuck in the target
+        assertThat(target.m_entered.await(10, TimeUnit.SECONDS)).isTrue();
+        async.doAppend(event(Level.DEBUG, "second"));
+        async.doAppend(event(Level.DEBUG, "third"));
+        async.doAppend(event(Level.DEBUG, "dropped 1")); // buffer full
+        async.doAppend(event(Level.INFO, "dropped 2"));
+
+        final var warnThread = new Thread(() -> async.doAppend(event(Level.WARN, "important")));
+        warnThread.start();
+        warnThread.join(200);
+        assertThat(warnThread.isAlive()).as("Warning blocks while buffer is full").isTrue();
+
+        target.m_release.countDown();
+        warnThread.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(async.flush(10, TimeUnit.SECONDS)).as("Flushed in time").isTrue();
+        assertThat(target.m_messages).containsExactly("DEBUG: first", "DEBUG: second", "DEBUG: third",
+            "WARN: Discarded 2 log message(s) since the log buffer was full", "WARN: important");
+        async.close();
+    }
+
+    /** Filters are shared with the target, rejected events don't reach the buffer. */
+    @Test
+    void testFiltersDelegated() {
+        final var target = new RecordingAppender(false);
+        final var async = new AsyncLogAppender(target, 16);
+        final var filter = new LevelRangeFilter();
+        filter.setLevelMin(Level.INFO);
+        async.addFilter(filter);
+        assertThat(target.getFilter()).isSameAs(filter);
+        assertThat(async.getName()).isEqualTo("recording");
+
+        async.doAppend(event(Level.DEBUG, "filtered"));
+        async.doAppend(event(Level.INFO, "passed"));
+        async.close(); // close writes out pending events
+        assertThat(target.m_messages).containsExactly("INFO: passed");
+    }
+}
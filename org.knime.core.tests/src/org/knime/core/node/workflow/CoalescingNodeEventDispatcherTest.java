@@ -0,0 +1,254 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.node.workflow.CoalescingNodeEventDispatcher.NodeEventBatch;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests {@link CoalescingNodeEventDispatcher}.
+ *
+ * @author agent
+ */
+class CoalescingNodeEventDispatcherTest {
+
+    private static final NodeID ROOT = new NodeID(0);
+
+    private static final InternalNodeContainerState[] STATES = {InternalNodeContainerState.CONFIGURED,
+        InternalNodeContainerState.CONFIGURED_MARKEDFOREXEC, InternalNodeContainerState.EXECUTING};
+
+    /** Only the latest event per node and type is delivered, and the listeners see the latest state in the end. */
+    @Test
+    void testLatestStateWins() throws InterruptedException {
+        final int nrNodes = 5;
+        final int nrEventsPerNode = 10_000;
+        try (var dispatcher = new CoalescingNodeEventDispatcher(20)) {
+            final Map<NodeID, InternalNodeContainerState> lastStates = new ConcurrentHashMap<>();
+            final Map<NodeID, Double> lastProgress = new ConcurrentHashMap<>();
+            dispatcher.addNodeStateChangeListener(e -> lastStates.put(e.getSource(), e.getInternalNCState()));
+            dispatcher.addProgressListener(e -> lastProgress.put(e.getSource(), e.getNodeProgress().getProgress()));
+            final var counter = new BatchCounter();
+            dispatcher.addBatchListener(counter);
+            final AtomicBoolean moreThanOneEventPerNode = new AtomicBoolean();
+            dispatcher.addBatchListener(batch -> {
+                moreThanOneEventPerNode.compareAndSet(false,
+                    batch.stateEvents().stream().map(NodeStateEvent::getSource).distinct().count() < batch
+                        .stateEvents().size());
+            });
+
+            for (int i = 0; i < nrEventsPerNode; i++) {
+                for (int n = 1; n <= nrNodes; n++) {
+                    final NodeID id = new NodeID(ROOT, n);
+                    dispatcher.stateChanged(new NodeStateEvent(id, STATES[i % STATES.length]));
+                    dispatcher.progressChanged(new NodeProgressEvent(id, new NodeProgress((double)i, "step " + i)));
+                }
+            }
+            dispatcher.stateChanged(new NodeStateEvent(new NodeID(ROOT, 1), InternalNodeContainerState.EXECUTED));
+            final long nrFired = 2L * nrNodes * nrEventsPerNode + 1;
+
+            counter.await(dispatcher, nrFired);
+            assertEquals(nrFired, dispatcher.getNrReceivedEvents());
+            assertTrue(dispatcher.getNrDeliveredEvents() < nrFired / 10,
+                "Events not coalesced, delivered " + dispatcher.getNrDeliveredEvents() + " of " + nrFired);
+            assertFalse(moreThanOneEventPerNode.get(), "More than one state event per node in a batch");
+            assertEquals(InternalNodeContainerState.EXECUTED, lastStates.get(new NodeID(ROOT, 1)));
+            for (int n = 2; n <= nrNodes; n++) {
+                assertEquals(STATES[(nrEventsPerNode - 1) % STATES.length], lastStates.get(new NodeID(ROOT, n)));
+                assertEquals(nrEventsPerNode - 1, lastProgress.get(new NodeID(ROOT, n)), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Deliveries are at least the minimum interval apart, never overlap, and a slow listener lowers the delivery rate
+     * without blocking the producer.
+     */
+    @Test
+    void testBoundedRateAndBackPressure() throws InterruptedException {
+        final long intervalMillis = 30;
+        final long listenerMillis = 60;
+        try (var dispatcher = new CoalescingNodeEventDispatcher(intervalMillis)) {
+            final List<long[]> deliveries = new CopyOnWriteArrayList<>(); // start and end of each delivery
+            final var counter = new BatchCounter();
+            dispatcher.addBatchListener(batch -> {
+                final long start = System.nanoTime();
+                try {
+                    Thread.sleep(listenerMillis);
+                } catch (InterruptedException e) { // NOSONAR
+                    return;
+                }
+                counter.accept(batch);
+                deliveries.add(new long[]{start, System.nanoTime()});
+            });
+
+            final NodeID id = new NodeID(ROOT, 1);
+            long nrFired = 0;
+            final long producerEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+            long maxFireNanos = 0;
+            while (System.nanoTime() < producerEnd) {
+                final long start = System.nanoTime();
+                dispatcher.stateChanged(new NodeStateEvent(id, STATES[(int)(nrFired % STATES.length)]));
+                maxFireNanos = Math.max(maxFireNanos, System.nanoTime() - start);
+                nrFired++;
+            }
+            counter.await(dispatcher, nrFired);
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(maxFireNanos) < listenerMillis,
+                "Producer blocked by slow listener for " + TimeUnit.NANOSECONDS.toMillis(maxFireNanos) + "ms");
+            // 500ms of events, each delivery takes 60ms plus the 30ms interval
+            assertTrue(deliveries.size() <= 500 / (listenerMillis + intervalMillis) + 2,
+                "Too many deliveries: " + deliveries.size());
+            final List<long[]> sorted = new ArrayList<>(deliveries);
+            sorted.sort((a, b) -> Long.compare(a[0], b[0]));
+            for (int i = 1; i < sorted.size(); i++) {
+                final long gapMillis = TimeUnit.NANOSECONDS.toMillis(sorted.get(i)[0] - sorted.get(i - 1)[1]);
+                // some tolerance for the timer granularity
+                assertTrue(gapMillis >= intervalMillis - 5, "Deliveries only " + gapMillis + "ms apart");
+            }
+        }
+    }
+
+    /** A failing listener doesn't prevent the delivery to other listeners; closing discards pending events. */
+    @Test
+    void testFailingListenerAndClose() throws InterruptedException {
+        final var dispatcher = new CoalescingNodeEventDispatcher(0);
+        final var counter = new BatchCounter();
+        final List<NodeStateEvent> delivered = new CopyOnWriteArrayList<>();
+        dispatcher.addNodeStateChangeListener(e -> {
+            throw new IllegalStateException("Failing listener, expected as part of the test");
+        });
+        dispatcher.addNodeStateChangeListener(delivered::add);
+        dispatcher.addBatchListener(counter);
+
+        dispatcher.stateChanged(new NodeStateEvent(new NodeID(ROOT, 1), InternalNodeContainerState.EXECUTED));
+        counter.await(dispatcher, 1);
+        assertEquals(1, delivered.size());
+
+        dispatcher.close();
+        dispatcher.stateChanged(new NodeStateEvent(new NodeID(ROOT, 1), InternalNodeContainerState.IDLE));
+        Thread.sleep(50);
+        assertEquals(1, delivered.size(), "Event delivered after close");
+        assertEquals(1, dispatcher.getNrReceivedEvents());
+    }
+
+    /** Node containers deliver to listeners registered for coalesced delivery until they are removed. */
+    @Test
+    void testCoalescedListenerOnNodeContainer() throws Exception {
+        final WorkflowManager wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        try {
+            final List<NodeMessageEvent> coalesced = new CopyOnWriteArrayList<>();
+            final List<NodeMessageEvent> direct = new CopyOnWriteArrayList<>();
+            final NodeMessageListener coalescedListener = coalesced::add;
+            assertTrue(wfm.addNodeMessageListener(coalescedListener, true));
+            assertFalse(wfm.addNodeMessageListener(coalescedListener, true));
+            wfm.addNodeMessageListener(direct::add, false);
+            for (int i = 0; i < 100; i++) {
+                wfm.setNodeMessage(NodeMessage.newWarning("Warning " + i));
+            }
+            assertEquals(100, direct.size(), "Events not delivered directly");
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (!isLastMessage(coalesced, "Warning 99") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(isLastMessage(coalesced, "Warning 99"), "Latest message not delivered");
+
+            assertTrue(wfm.removeNodeMessageListener(coalescedListener));
+            wfm.setNodeMessage(NodeMessage.newWarning("After removal"));
+            Thread.sleep(2 * CoalescingNodeEventDispatcher.DEFAULT_MIN_DELIVERY_INTERVAL);
+            assertTrue(isLastMessage(coalesced, "Warning 99"), "Event delivered after removal");
+        } finally {
+            WorkflowManagerUtil.disposeWorkflow(wfm);
+        }
+    }
+
+    private static boolean isLastMessage(final List<NodeMessageEvent> events, final String message) {
+        return !events.isEmpty() && events.get(events.size() - 1).getMessage().getMessage().equals(message);
+    }
+
+    /** Counts the events in the batches, to await the completion of deliveries. */
+    private static final class BatchCounter implements Consumer<NodeEventBatch> {
+
+        private final AtomicLong m_nrReceived = new AtomicLong();
+
+        private final AtomicLong m_nrDelivered = new AtomicLong();
+
+        @Override
+        public void accept(final NodeEventBatch batch) {
+            m_nrReceived.addAndGet(batch.nrReceivedEvents());
+            m_nrDelivered.addAndGet(batch.size());
+        }
+
+        /** Waits until the given number of events is accounted for and all listeners have been notified. */
+        void await(final CoalescingNodeEventDispatcher dispatcher, final long nrReceived)
+            throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while ((m_nrReceived.get() < nrReceived || dispatcher.getNrDeliveredEvents() < m_nrDelivered.get())
+                && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(nrReceived, m_nrReceived.get(), "Number of events accounted for in delivered batches");
+            assertEquals(m_nrDelivered.get(), dispatcher.getNrDeliveredEvents(), "Number of delivered events");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link NodeResourceTracker} and {@link NodeResourceUsage}.
+ *
+ * @author agent
+ */
+class NodeResourceTrackerTest {
+
+    /** Counters are reported as difference between start and end of execution. */
+    @Test
+    void testExecutionDeltas() {
+        final var tracker = new NodeResourceTracker();
+        tracker.addRowsWritten(5); // before execution, not to be reported
+        tracker.startExecution();
+        tracker.addRowsWritten(100);
+        tracker.addSpilled(40, 4096);
+        tracker.addBytesRead(1234);
+        final var garbage = new long[1 << 20]; // 8MB
+        final var usage = tracker.endExecution(42);
+        assertThat(garbage).hasSize(1 << 20);
+
+        assertThat(usage.wallTimeMillis()).isEqualTo(42);
+        assertThat(usage.rowsWritten()).isEqualTo(100);
+        assertThat(usage.rowsSpilled()).isEqualTo(40);
+        assertThat(usage.bytesSpilled()).isEqualTo(4096);
+        assertThat(usage.bytesRead()).isEqualTo(1234);
+        assertThat(usage.cpuTimeNanos()).isGreaterThanOrEqualTo(-1);
+        if (usage.allocatedBytes() >= 0) {
+            assertThat(usage.allocatedBytes()).isGreaterThanOrEqualTo(8L << 20);
+        }
+    }
+
+    /** No (or a repeated) end without start yields empty usage. */
+    @Test
+    void testEndWithoutStart() {
+        final var tracker = new NodeResourceTracker();
+        assertThat(tracker.endExecution(10)).isSameAs(NodeResourceUsage.EMPTY);
+        tracker.startExecution();
+        tracker.endExecution(10);
+        assertThat(tracker.endExecution(10)).isSameAs(NodeResourceUsage.EMPTY);
+    }
+
+    /** Summation propagates unknown (-1) thread measures. */
+    @Test
+    void testPlus() {
+        final var a = new NodeResourceUsage(1, 10, -1, 3, 4, 5, 6);
+        final var b = new NodeResourceUsage(2, 20, 30, 4, 5, 6, 7);
+        assertThat(a.plus(b)).isEqualTo(new NodeResourceUsage(3, 30, -1, 7, 9, 11, 13));
+        assertThat(NodeResourceUsage.EMPTY.plus(b)).isEqualTo(b);
+    }
+
+    /** Without node context streams are not wrapped. */
+    @Test
+    void testCountBytesReadWithoutContext() {
+        final var in = new ByteArrayInputStream(new byte[10]);
+        assertThat(NodeResourceTracker.current()).isNull();
+        assertThat(NodeResourceTracker.countBytesRead(in)).isSameAs(in);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow.capture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.workflow.capture.WorkflowSegmentExecutorPool.LatencyRecorder;
+import org.knime.core.node.workflow.capture.WorkflowSegmentExecutorPool.LatencyStatistics;
+import org.knime.core.node.workflow.capture.WorkflowSegmentExecutorPool.Pool;
+
+/**
+ * Tests the pooling and latency bookkeeping of {@link WorkflowSegmentExecutorPool}.
+ *
+ * @author agent
+ */
+class WorkflowSegmentExecutorPoolTest {
+
+    @Test
+    void testEmptyStatistics() {
+        assertEquals(new LatencyStatistics(0, 0, 0, 0, 0), new LatencyRecorder().getStatistics());
+    }
+
+    @Test
+    void testPercentiles() {
+        final var recorder = new LatencyRecorder();
+        // record in reverse order to make sure samples get sorted
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i);
+        }
+        assertEquals(new LatencyStatistics(100, 50, 90, 99, 100), recorder.getStatistics());
+    }
+
+    @Test
+    void testPercentilesOnlyConsiderRecentSamples() {
+        final var recorder = new LatencyRecorder(10);
+        recorder.record(1000);
+        for (int i = 1; i <= 10; i++) {
+            recorder.record(i);
+        }
+        // the outlier is overwritten in the ring buffer but still counts for count and max
+        assertEquals(new LatencyStatistics(11, 5, 9, 10, 1000), recorder.getStatistics());
+    }
+
+    /** Borrowing creates objects on demand and reuses idle ones. */
+    @Test
+    void testBorrowAndGiveBack() throws Exception {
+        final var pool = newPool(3);
+        pool.addIdle();
+        assertEquals(1, pool.getNrCreated());
+        final var exec = new ExecutionMonitor();
+        final var first = pool.borrow(exec);
+        assertEquals(1, pool.getNrCreated(), "Idle object not reused");
+        final var second = pool.borrow(exec);
+        assertNotSame(first, second);
+        assertEquals(2, pool.getNrCreated());
+        pool.giveBack(first);
+        assertSame(first, pool.borrow(exec));
+        assertEquals(2, pool.getNrCreated());
+    }
+
+    /** Objects are reset when given back; objects whose reset fails are disposed and replaced. */
+    @Test
+    void testResetOnReturn() throws Exception {
+        final var pool = newPool(1);
+        final var exec = new ExecutionMonitor();
+        final var executor = pool.borrow(exec);
+        assertEquals(0, executor.m_resetCount.get());
+        pool.giveBack(executor);
+        assertEquals(1, executor.m_resetCount.get());
+        assertSame(executor, pool.borrow(exec));
+
+        executor.m_failReset = true;
+        pool.giveBack(executor);
+        assertTrue(executor.m_isDisposed.get(), "Executor not disposed after failed reset");
+        assertEquals(0, pool.getNrCreated());
+        final var replacement = pool.borrow(exec);
+        assertNotSame(executor, replacement);
+        assertEquals(1, pool.getNrCreated());
+    }
+
+    /** If all objects are borrowed, borrowers wait until an object is given back or they are canceled. */
+    @Test
+    void testExhaustion() throws Exception {
+        final var pool = newPool(1);
+        final var executor = pool.borrow(new ExecutionMonitor());
+
+        final var progress = new DefaultNodeProgressMonitor();
+        progress.setExecuteCanceled();
+        assertThrows(CanceledExecutionException.class, () -> pool.borrow(new ExecutionMonitor(progress)));
+        assertEquals(1, pool.getNrCreated());
+
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final Future<TestExecutor> waiting = service.submit(() -> pool.borrow(new ExecutionMonitor()));
+            Thread.sleep(3 * WorkflowSegmentExecutorPool.POLL_INTERVAL_MS);
+            assertFalse(waiting.isDone(), "Borrower didn't wait for the exhausted pool");
+            pool.giveBack(executor);
+            assertSame(executor, waiting.get(10, TimeUnit.SECONDS));
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    /** A waiting borrower gets a replacement if the reset of the object given back fails. */
+    @Test
+    void testWaitingBorrowerGetsReplacement() throws Exception {
+        final var pool = newPool(1);
+        final var executor = pool.borrow(new ExecutionMonitor());
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final Future<TestExecutor> waiting = service.submit(() -> pool.borrow(new ExecutionMonitor()));
+            Thread.sleep(3 * WorkflowSegmentExecutorPool.POLL_INTERVAL_MS);
+            assertFalse(waiting.isDone(), "Borrower didn't wait for the exhausted pool");
+            executor.m_failReset = true;
+            pool.giveBack(executor);
+            assertTrue(executor.m_isDisposed.get(), "Executor not disposed after failed reset");
+            final var replacement = waiting.get(10, TimeUnit.SECONDS);
+            assertNotSame(executor, replacement);
+            assertEquals(1, pool.getNrCreated());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    /** Closing disposes all objects and fails waiting and future borrowers. */
+    @Test
+    void testClose() throws Exception {
+        final var pool = newPool(1);
+        final var executor = pool.borrow(new ExecutionMonitor());
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            final Future<TestExecutor> waiting = service.submit(() -> pool.borrow(new ExecutionMonitor()));
+            assertTrue(pool.close());
+            assertFalse(pool.close());
+            assertTrue(executor.m_isDisposed.get());
+            final var ex = assertThrows(Exception.class, () -> waiting.get(10, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof IllegalStateException, "Unexpected exception: " + ex);
+        } finally {
+            service.shutdownNow();
+        }
+        pool.giveBack(executor);
+        assertEquals(0, pool.getNrCreated());
+        assertThrows(IllegalStateException.class, () -> pool.borrow(new ExecutionMonitor()));
+    }
+
+    /** Concurrent borrowers never share an object and never create more objects than the pool size. */
+    @Test
+    void testConcurrentBorrowers() throws Exception {
+        final int size = 4;
+        final var pool = newPool(size);
+        final var maxInUse = new AtomicInteger();
+        final var inUse = new AtomicInteger();
+        final var shared = new AtomicBoolean();
+        final ExecutorService service = Executors.newFixedThreadPool(4 * size);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4 * size; i++) {
+                futures.add(service.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        final var executor = pool.borrow(new ExecutionMonitor());
+                        if (!executor.m_isBorrowed.compareAndSet(false, true)) {
+                            shared.set(true);
+                        }
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        inUse.decrementAndGet();
+                        executor.m_isBorrowed.set(false);
+                        pool.giveBack(executor);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            service.shutdownNow();
+        }
+        assertFalse(shared.get(), "Object borrowed by two borrowers at the same time");
+        assertTrue(maxInUse.get() <= size, "More concurrent borrowers than pool size: " + maxInUse.get());
+        assertTrue(pool.getNrCreated() <= size, "Too many objects created: " + pool.getNrCreated());
+    }
+
+    private static Pool<TestExecutor> newPool(final int size) {
+        return new Pool<>(size, TestExecutor::new, TestExecutor::reset, e -> e.m_isDisposed.set(true));
+    }
+
+    /** Stands in for a {@link WorkflowSegmentExecutor}. */
+    private static final class TestExecutor {
+
+        private final AtomicInteger m_resetCount = new AtomicInteger();
+
+        private final AtomicBoolean m_isDisposed = new AtomicBoolean();
+
+        private final AtomicBoolean m_isBorrowed = new AtomicBoolean();
+
+        private volatile boolean m_failReset;
+
+        void reset() {
+            if (m_failReset) {
+                throw new IllegalStateException("Reset failed");
+            }
+            m_resetCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.util.tokenizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests {@link ParallelTokenizer} by comparing it to the sequential {@link Tokenizer}, using tiny chunks so that the
+ * input is split at every possible position.
+ *
+ * @author agent
+ */
+class ParallelTokenizerTest {
+
+    private static ThreadPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ThreadPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /** Typical CSV reader settings: comma separated, double quotes with escape, line comments. */
+    private static TokenizerSettings csvSettings() {
+        TokenizerSettings settings = new TokenizerSettings();
+        settings.addDelimiterPattern(",", false, false, false);
+        settings.addDelimiterPattern("\n", true, true, false);
+        settings.addQuotePattern("\"", "\"", '\\');
+        settings.addSingleLineCommentPattern("#", false, false);
+        settings.addWhiteSpaceCharacter(" ");
+        settings.addWhiteSpaceCharacter("\t");
+        return settings;
+    }
+
+    /** Tokens of the sequential tokenizer, rows separated by "\n", quoted tokens prefixed with "Q:". */
+    private static List<String> sequentialTokens(final String input, final TokenizerSettings settings)
+        throws TokenizerException {
+        Tokenizer tokenizer = new Tokenizer(new StringReader(input));
+        tokenizer.setSettings(settings);
+        List<String> result = new ArrayList<>();
+        String token;
+        boolean rowOpen = false;
+        while ((token = tokenizer.nextToken()) != null) {
+            if (tokenizer.lastTokenWasDelimiter() && "\n".equals(token)) {
+                result.add("\n");
+                rowOpen = false;
+            } else {
+                result.add(tokenizer.lastTokenWasQuoted() ? "Q:" + token : token);
+                rowOpen = true;
+            }
+        }
+        if (rowOpen) {
+            result.add("\n");
+        }
+        return result;
+    }
+
+    private static List<String> parallelTokens(final String input, final TokenizerSettings settings,
+        final int chunkSize) throws TokenizerException, IOException {
+        List<String> result = new ArrayList<>();
+        try (ParallelTokenizer tokenizer = new ParallelTokenizer(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), settings, pool, chunkSize)) {
+            TokenizedRow row;
+            while ((row = tokenizer.nextRow()) != null) {
+                for (int i = 0; i < row.getNumberOfTokens(); i++) {
+                    result.add(row.wasQuoted(i) ? "Q:" + row.getToken(i) : row.getToken(i));
+                }
+                result.add("\n");
+            }
+        }
+        return result;
+    }
+
+    private static void assertSameTokens(final String input, final TokenizerSettings settings) throws Exception {
+        List<String> expected = sequentialTokens(input, settings);
+        for (int chunkSize : new int[]{1, 2, 5, 64, ParallelTokenizer.DEFAULT_CHUNK_SIZE}) {
+            assertEquals(expected, parallelTokens(input, settings, chunkSize),
+                "Different tokens for chunk size " + chunkSize + " and input: " + input);
+        }
+    }
+
+    /**
+     * Quoted line breaks, escapes, comments, CR/LF and multi-byte characters.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testCSV() throws Exception {
+        TokenizerSettings settings = csvSettings();
+        settings.allowLFinQuotes(true);
+        assertSameTokens("a,b,c\n1,2,3\n", settings);
+        assertSameTokens("a,b,c\n1,2,3", settings);
+        assertSameTokens("\"a\nb\",c\n\"x\\\"\n,y\",z\n", settings);
+        assertSameTokens("# header\n# more\n\n a , b \r\n\r\n\"ä\",ö€\n#tail", settings);
+        assertSameTokens("a,b # comment\nc,d\n  \n\ne", settings);
+        assertSameTokens("", settings);
+        assertSameTokens("\n\n\n", settings);
+    }
+
+    /**
+     * Block comments, line continuation, combined delimiters and skipped lines.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testSpecialSettings() throws Exception {
+        TokenizerSettings settings = new TokenizerSettings();
+        settings.addDelimiterPattern(";", true, false, false);
+        settings.addDelimiterPattern("\n", true, true, false);
+        settings.addBlockCommentPattern("/*", "*/", false, false);
+        settings.addQuotePattern("'", "'");
+        settings.setLineContinuationCharacter('\\');
+        settings.setSkipFirstLines(2);
+        assertSameTokens("skip 'me\nskip;me\na;;b\\\nc;/* x\ny */d\n\n;e\n'f;\\\n  g'\n", settings);
+
+        settings.setCombineMultipleDelimiters(true);
+        assertSameTokens("s\ns\na;\n;b\n\n;c;;\nd", settings);
+    }
+
+    /**
+     * Randomly generated inputs for different settings.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testRandomInput() throws Exception {
+        String[] alphabet = {"a", "b", "1", " ", ",", ";", "\n", "\n", "\r\n", "\"", "'", "\\", "#", "/*", "*/", "ü",
+            "€", "\t"};
+        Random random = new Random(42);
+        for (int s = 0; s < 4; s++) {
+            TokenizerSettings settings = csvSettings();
+            settings.addBlockCommentPattern("/*", "*/", s % 2 == 0, false);
+            settings.addQuotePattern("'", "'");
+            settings.allowLFinQuotes(s != 3);
+            settings.setCombineMultipleDelimiters(s == 1);
+            if (s == 2) {
+                settings.setLineContinuationCharacter('\\');
+                settings.addDelimiterPattern(";", true, true, false);
+            }
+            for (int i = 0; i < 200; i++) {
+                StringBuilder input = new StringBuilder();
+                int length = random.nextInt(60);
+                for (int c = 0; c < length; c++) {
+                    input.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                List<String> expected;
+                try {
+                    expected = sequentialTokens(input.toString(), settings);
+                } catch (TokenizerException e) {
+                    assertThrows(TokenizerException.class, () -> parallelTokens(input.toString(), settings, 3),
+                        "Expected failure for input: " + input);
+                    continue;
+                }
+                assertEquals(expected, parallelTokens(input.toString(), settings, 3),
+                    "Different tokens for settings " + s + " and input: " + input);
+            }
+        }
+    }
+
+    /**
+     * Line numbers of rows and in error messages refer to the entire input.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testLineNumbers() throws Exception {
+        TokenizerSettings settings = csvSettings();
+        settings.setSkipFirstLines(1);
+        String input = "header\na,b\n\"c\",d\n# comment\ne\n\"unterminated\nf\n";
+        try (ParallelTokenizer tokenizer = new ParallelTokenizer(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), settings, pool, 2)) {
+            assertEquals(2, tokenizer.nextRow().getLineNumber());
+            TokenizedRow row = tokenizer.nextRow();
+            assertEquals(3, row.getLineNumber());
+            assertTrue(row.wasQuoted(0));
+            assertEquals(4, tokenizer.nextRow().getLineNumber());
+            TokenizerException e = assertThrows(TokenizerException.class, tokenizer::nextRow);
+            assertTrue(e.getMessage().contains("line 6"), e.getMessage());
+        }
+    }
+
+    /**
+     * Settings that don't allow splitting are tokenized sequentially.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testSequentialFallback() throws Exception {
+        TokenizerSettings settings = csvSettings();
+        settings.addQuotePattern("«", "»");
+        settings.allowLFinQuotes(true);
+        assertTrue(!ChunkBoundaryScanner.supports(settings));
+        assertSameTokens("a,«b\n»\nc,d\n", settings);
+
+        TokenizerSettings noRows = new TokenizerSettings();
+        noRows.addDelimiterPattern(",", false, false, false);
+        try (ParallelTokenizer tokenizer = new ParallelTokenizer(
+            new ByteArrayInputStream("a,b\nc".getBytes(StandardCharsets.UTF_8)), noRows, pool)) {
+            assertEquals(2, tokenizer.nextRow().getNumberOfTokens());
+            assertNull(tokenizer.nextRow());
+        }
+    }
+
+    /**
+     * Tokenizes in a worker of a pool with a single thread, which must not block the pool while waiting for the
+     * chunks tokenized in the same pool.
+     *
+     * @throws Exception if that fails
+     */
+    @Test
+    void testCalledFromPoolThread() throws Exception {
+        String input = "a,b,c\n1,2,3\n4,5,6\n7,8,9\n";
+        TokenizerSettings settings = csvSettings();
+        List<String> expected = sequentialTokens(input, settings);
+        ThreadPool singleThreadPool = new ThreadPool(1);
+        try {
+            Future<List<String>> tokens = singleThreadPool.submit(() -> {
+                List<String> result = new ArrayList<>();
+                try (ParallelTokenizer tokenizer = new ParallelTokenizer(
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), settings,
+                    ThreadPool.currentPool(), 5)) {
+                    TokenizedRow row;
+                    while ((row = tokenizer.nextRow()) != null) {
+                        for (int i = 0; i < row.getNumberOfTokens(); i++) {
+                            result.add(row.getToken(i));
+                        }
+                        result.add("\n");
+                    }
+                }
+                return result;
+            });
+            assertEquals(expected, tokens.get(30, TimeUnit.SECONDS));
+        } finally {
+            singleThreadPool.shutdown();
+        }
+    }
+}
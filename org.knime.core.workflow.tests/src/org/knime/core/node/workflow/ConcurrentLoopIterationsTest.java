@@ -0,0 +1,306 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.knime.core.node.workflow.InternalNodeContainerState.CONFIGURED;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettings;
+import org.knime.testing.node.blocking.BlockingNodeFactory;
+import org.knime.testing.node.blocking.BlockingRepository;
+import org.knime.testing.node.blocking.BlockingRepository.LockedMethod;
+import org.knime.testing.node.executioncount.ExecutionCountNodeFactory;
+import org.knime.testing.node.executioncount.ExecutionCountNodeModel;
+import org.knime.testing.node.loop.CollectingLoopEndNodeFactory;
+import org.knime.testing.node.loop.IndependentIterationsLoopStartNodeFactory;
+import org.knime.testing.node.loop.IndependentIterationsLoopStartNodeModel;
+import org.knime.testing.node.loop.IterationFailureNodeFactory;
+import org.knime.testing.node.loop.IterationFailureNodeModel;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests loops with independent iterations that are run concurrently in copies of the loop body, see
+ * {@link ConcurrentLoopIterations}. The loop is Start -&gt; Fail in Iteration -&gt; Blocking -&gt; Count Execution
+ * -&gt; End, all created programmatically.
+ *
+ * @author agent
+ */
+public class ConcurrentLoopIterationsTest extends WorkflowTestCase {
+
+    private static final int NR_ITERATIONS = 10;
+
+    private static final int ROWS_PER_ITERATION = 4;
+
+    private static final int CONCURRENCY = 3;
+
+    private static final String LOCK_ID = "concurrentLoopIterations";
+
+    private String m_previousConcurrency;
+
+    private ReentrantLock m_blockingLock;
+
+    private NodeID m_loopStart;
+
+    private NodeID m_failure;
+
+    private NodeID m_blocking;
+
+    private NodeID m_counter;
+
+    private NodeID m_loopEnd;
+
+    @Before
+    public void setUp() throws Exception {
+        m_previousConcurrency = System.setProperty(KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS,
+            Integer.toString(CONCURRENCY));
+        m_blockingLock = new ReentrantLock();
+        BlockingRepository.put(LOCK_ID, LockedMethod.EXECUTE, m_blockingLock);
+        WorkflowManager wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        setManager(wfm);
+        m_loopStart =
+            WorkflowManagerUtil.createAndAddNode(wfm, new IndependentIterationsLoopStartNodeFactory()).getID();
+        m_failure = WorkflowManagerUtil.createAndAddNode(wfm, new IterationFailureNodeFactory()).getID();
+        m_blocking = WorkflowManagerUtil.createAndAddNode(wfm, new BlockingNodeFactory()).getID();
+        m_counter = WorkflowManagerUtil.createAndAddNode(wfm, new ExecutionCountNodeFactory()).getID();
+        m_loopEnd = WorkflowManagerUtil.createAndAddNode(wfm, new CollectingLoopEndNodeFactory()).getID();
+        NodeSettings startSettings = getModelSettings(m_loopStart);
+        startSettings.getNodeSettings("model").addInt(IndependentIterationsLoopStartNodeModel.CFG_NR_ITERATIONS,
+            NR_ITERATIONS);
+        startSettings.getNodeSettings("model")
+            .addInt(IndependentIterationsLoopStartNodeModel.CFG_ROWS_PER_ITERATION, ROWS_PER_ITERATION);
+        wfm.loadNodeSettings(m_loopStart, startSettings);
+        NodeSettings blockingSettings = getModelSettings(m_blocking);
+        blockingSettings.getNodeSettings("model").addString("lock_id", LOCK_ID);
+        wfm.loadNodeSettings(m_blocking, blockingSettings);
+        wfm.addConnection(m_loopStart, 1, m_failure, 1);
+        wfm.addConnection(m_failure, 1, m_blocking, 1);
+        wfm.addConnection(m_blocking, 1, m_counter, 1);
+        wfm.addConnection(m_counter, 1, m_loopEnd, 1);
+        checkStateOfMany(CONFIGURED, m_loopStart, m_failure, m_blocking, m_counter, m_loopEnd);
+    }
+
+    @After
+    public void restoreConcurrencyAndLocks() {
+        if (m_blockingLock.isHeldByCurrentThread()) {
+            m_blockingLock.unlock();
+        }
+        BlockingRepository.removeAll(LOCK_ID);
+        if (m_previousConcurrency == null) {
+            System.clearProperty(KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS);
+        } else {
+            System.setProperty(KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS, m_previousConcurrency);
+        }
+    }
+
+    private NodeSettings getModelSettings(final NodeID id) {
+        NodeSettings settings = new NodeSettings("settings");
+        getManager().saveNodeSettings(id, settings);
+        return settings;
+    }
+
+    /**
+     * Iterations run concurrently in hidden copies, the loop end receives them in order; the original body only runs
+     * iteration 0. The workflow structure does not change visibly.
+     */
+    @Test
+    public void testResultInIterationOrder() throws Exception {
+        final List<WorkflowEvent> structureEvents = new CopyOnWriteArrayList<>();
+        getManager().addListener(e -> {
+            if (e.getType() == WorkflowEvent.Type.NODE_ADDED || e.getType() == WorkflowEvent.Type.NODE_REMOVED) {
+                structureEvents.add(e);
+            }
+        }, false);
+        m_blockingLock.lock();
+        try {
+            executeDontWait(m_loopEnd);
+            // iteration 0 in the original body and the next iterations in copies
+            Awaitility.await().atMost(30, TimeUnit.SECONDS).pollInterval(50, TimeUnit.MILLISECONDS)
+                .until(() -> m_blockingLock.getQueueLength() == CONCURRENCY);
+            assertThat("Copies of loop body hidden", findCopies().map(WorkflowManager::isHiddenInUI),
+                is(Optional.of(true)));
+        } finally {
+            m_blockingLock.unlock();
+        }
+        waitWhileInExecution();
+        checkState(m_loopEnd, EXECUTED);
+        assertResultInIterationOrder();
+        assertThat("Executions of original loop body", getExecutionCount(), is(1));
+        // the original body is reset after the first iteration, it does not show the data of iteration 0
+        checkStateOfMany(CONFIGURED, m_failure, m_blocking, m_counter);
+        awaitCopiesRemoved();
+        assertThat("Nodes added or removed", structureEvents, is(empty()));
+    }
+
+    /** Same result if iterations are run one after another. */
+    @Test
+    public void testSequentialExecution() throws Exception {
+        System.clearProperty(KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS);
+        executeAllAndWait();
+        checkState(m_loopEnd, EXECUTED);
+        assertResultInIterationOrder();
+        assertThat("Executions of loop body", getExecutionCount(), is(NR_ITERATIONS));
+        assertThat("Copies of loop body", findCopies().isPresent(), is(false));
+    }
+
+    /** A failing copy fails the loop end (naming the iteration) and removes all copies. */
+    @Test
+    public void testFailingCopy() throws Exception {
+        final int failIteration = 5;
+        NodeSettings failSettings = getModelSettings(m_failure);
+        failSettings.getNodeSettings("model").addInt(IterationFailureNodeModel.CFG_FAIL_ITERATION, failIteration);
+        getManager().loadNodeSettings(m_failure, failSettings);
+        executeAllAndWait();
+        NodeContainer loopEnd = getManager().getNodeContainer(m_loopEnd);
+        assertThat("Loop end executed", loopEnd.getInternalState().equals(EXECUTED), is(false));
+        assertThat("Loop end message", loopEnd.getNodeMessage().getMessageType(), is(NodeMessage.Type.ERROR));
+        assertThat("Loop end message", loopEnd.getNodeMessage().getMessage(),
+            containsString("iteration " + failIteration));
+        awaitCopiesRemoved();
+    }
+
+    /** Canceling while copies are executing removes the copies; the loop can be executed again. */
+    @Test
+    public void testCancel() throws Exception {
+        m_blockingLock.lock();
+        try {
+            executeDontWait(m_loopEnd);
+            // iteration 0 in the original body and the next iterations in copies
+            Awaitility.await().atMost(30, TimeUnit.SECONDS).pollInterval(50, TimeUnit.MILLISECONDS)
+                .until(() -> m_blockingLock.getQueueLength() == CONCURRENCY);
+            assertThat("Copies of loop body", findCopies().isPresent(), is(true));
+            getManager().cancelExecution();
+        } finally {
+            m_blockingLock.unlock();
+        }
+        waitWhileInExecution();
+        assertThat("Loop end executed",
+            getManager().getNodeContainer(m_loopEnd).getInternalState().equals(EXECUTED), is(false));
+        awaitCopiesRemoved();
+
+        executeAllAndWait();
+        checkState(m_loopEnd, EXECUTED);
+        assertResultInIterationOrder();
+        awaitCopiesRemoved();
+    }
+
+    /** Resetting the loop start resets the loop, a new execution gives the same result. */
+    @Test
+    public void testResetAndReexecute() throws Exception {
+        executeAllAndWait();
+        checkState(m_loopEnd, EXECUTED);
+        reset(m_loopStart);
+        checkStateOfMany(CONFIGURED, m_loopStart, m_failure, m_blocking, m_counter, m_loopEnd);
+        assertThat("Loop end output after reset",
+            getManager().getNodeContainer(m_loopEnd).getOutPort(1).getPortObject(), is(nullValue()));
+        awaitCopiesRemoved();
+
+        executeAllAndWait();
+        checkState(m_loopEnd, EXECUTED);
+        assertResultInIterationOrder();
+        assertThat("Executions of original loop body (2 runs)", getExecutionCount(), is(2));
+        awaitCopiesRemoved();
+    }
+
+    private void assertResultInIterationOrder() throws Exception {
+        BufferedDataTable table =
+            (BufferedDataTable)getManager().getNodeContainer(m_loopEnd).getOutPort(1).getPortObject();
+        assertThat("Loop end output", table, is(notNullValue()));
+        assertThat("Row count", table.size(), is((long)NR_ITERATIONS * ROWS_PER_ITERATION));
+        int index = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                DataRow row = it.next();
+                int iteration = index / ROWS_PER_ITERATION;
+                int rowInIteration = index % ROWS_PER_ITERATION;
+                assertThat("Row key", row.getKey().getString(),
+                    is("Iteration" + iteration + "_Row" + rowInIteration));
+                assertThat("Iteration", ((IntValue)row.getCell(0)).getIntValue(), is(iteration));
+                assertThat("Row", ((IntValue)row.getCell(1)).getIntValue(), is(rowInIteration));
+                index++;
+            }
+        }
+    }
+
+    private int getExecutionCount() {
+        return getManager().castNodeModel(m_counter, ExecutionCountNodeModel.class).getCounter();
+    }
+
+    private Optional<WorkflowManager> findCopies() {
+        return getManager().getNodeContainers().stream() //
+            .filter(WorkflowManager.class::isInstance).map(WorkflowManager.class::cast) //
+            .filter(wfm -> "Concurrent Iterations".equals(wfm.getName())).findFirst();
+    }
+
+    private void awaitCopiesRemoved() {
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).pollInterval(50, TimeUnit.MILLISECONDS)
+            .until(() -> !findCopies().isPresent());
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.exec.dataexchange.in.PortObjectInNodeFactory;
+import org.knime.core.node.extension.NodeFactoryProvider;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.contextv2.WorkflowContextV2;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests the incrementally maintained node state counts used to derive the state of a workflow (see
+ * {@link NodeStateCounter}).
+ *
+ * @author agent
+ */
+public class WorkflowStateAggregationTest {
+
+    private static final int NR_NODES = 1000;
+
+    private WorkflowManager m_project;
+
+    private NodeFactory<? extends NodeModel> m_factory;
+
+    @Before
+    public void setUp() throws Exception {
+        File dir = FileUtil.createTempDir("workflow");
+        File workflowFile = new File(dir, WorkflowPersistor.WORKFLOW_FILE);
+        if (!workflowFile.createNewFile()) {
+            throw new IOException("Creating empty workflow failed");
+        }
+        m_project = WorkflowManager.ROOT.createAndAddProject("workflow",
+            new WorkflowCreationHelper(WorkflowContextV2.forTemporaryWorkflow(dir.toPath(), null)));
+        m_factory = NodeFactoryProvider.getInstance()
+            .getNodeFactory(PortObjectInNodeFactory.class.getCanonicalName()).get();
+    }
+
+    @After
+    public void tearDown() {
+        WorkflowManager.ROOT.removeProject(m_project.getID());
+    }
+
+    /** Counts must follow additions, removals, state and message changes. */
+    @Test
+    public void testCountsFollowChanges() {
+        List<NodeID> ids = addNodes(m_project, 10);
+        WorkflowManager metanode = m_project.createAndAddSubWorkflow(new PortType[0], new PortType[0], "metanode");
+        addNodes(metanode, 5);
+        assertCountsMatch(m_project);
+        assertCountsMatch(metanode);
+
+        NodeContainer nc = m_project.getNodeContainer(ids.get(0));
+        try (WorkflowLock lock = m_project.lock()) {
+            nc.setInternalState(InternalNodeContainerState.EXECUTING);
+            lock.queueCheckForNodeStateChangeNotification(true);
+        }
+        assertCountsMatch(m_project);
+        assertThat("workflow state", m_project.getNodeContainerState().isExecutionInProgress(), is(true));
+        try (WorkflowLock lock = m_project.lock()) {
+            nc.setInternalState(InternalNodeContainerState.IDLE);
+            lock.queueCheckForNodeStateChangeNotification(true);
+        }
+        assertThat("workflow state", m_project.getNodeContainerState().isExecutionInProgress(), is(false));
+
+        NodeContainer inMetanode = metanode.getNodeContainers().iterator().next();
+        try (WorkflowLock lock = metanode.lock()) {
+            inMetanode.setNodeMessage(NodeMessage.newError("Failure"));
+            lock.queueCheckForNodeStateChangeNotification(true);
+        }
+        checkState(m_project);
+        assertCountsMatch(m_project);
+        assertThat("error propagated to metanode", metanode.getNodeMessage().getMessageType(),
+            is(NodeMessage.Type.ERROR));
+        assertThat("error propagated to project", m_project.getNodeMessage().getMessageType(),
+            is(NodeMessage.Type.ERROR));
+        try (WorkflowLock lock = metanode.lock()) {
+            inMetanode.setNodeMessage(NodeMessage.NONE);
+            lock.queueCheckForNodeStateChangeNotification(true);
+        }
+        checkState(m_project);
+        assertThat("error cleared in project", m_project.getNodeMessage().getMessageType(),
+            is(NodeMessage.Type.RESET));
+
+        ids.subList(0, 5).forEach(m_project::removeNode);
+        m_project.removeNode(metanode.getID());
+        assertCountsMatch(m_project);
+        assertThat("number of counted nodes", sum(m_project.getWorkflow().getStateCounter().getNrNodesInState()),
+            is(5));
+    }
+
+    /** Counts must also match in a workflow with {@value #NR_NODES} nodes after bulk changes and removals. */
+    @Test
+    public void testCountsInLargeWorkflow() {
+        List<NodeID> ids = addNodes(m_project, NR_NODES);
+        assertCountsMatch(m_project);
+        assertThat("number of counted nodes", sum(m_project.getWorkflow().getStateCounter().getNrNodesInState()),
+            is(NR_NODES));
+
+        try (WorkflowLock lock = m_project.lock()) {
+            for (int i = 0; i < NR_NODES; i += 2) {
+                m_project.getNodeContainer(ids.get(i)).setInternalState(InternalNodeContainerState.EXECUTED);
+            }
+            lock.queueCheckForNodeStateChangeNotification(false);
+        }
+        assertCountsMatch(m_project);
+        int[] counts = m_project.getWorkflow().getStateCounter().getNrNodesInState();
+        assertThat("number of executed nodes", counts[InternalNodeContainerState.EXECUTED.ordinal()],
+            is(NR_NODES / 2));
+
+        try (WorkflowLock lock = m_project.lock()) {
+            for (int i = 0; i < NR_NODES; i += 4) {
+                m_project.getNodeContainer(ids.get(i)).setInternalState(InternalNodeContainerState.CONFIGURED);
+            }
+            lock.queueCheckForNodeStateChangeNotification(false);
+        }
+        assertCountsMatch(m_project);
+        counts = m_project.getWorkflow().getStateCounter().getNrNodesInState();
+        assertThat("number of executed nodes", counts[InternalNodeContainerState.EXECUTED.ordinal()],
+            is(NR_NODES / 4));
+
+        // removes the first half, i.e. executed as well as non-executed nodes
+        ids.subList(0, NR_NODES / 2).forEach(m_project::removeNode);
+        assertCountsMatch(m_project);
+        assertThat("number of counted nodes", sum(m_project.getWorkflow().getStateCounter().getNrNodesInState()),
+            is(NR_NODES / 2));
+    }
+
+    /** A message change of a metanode doesn't trigger a state check in its parent, enforce it. */
+    private static void checkState(final WorkflowManager wfm) {
+        try (WorkflowLock lock = wfm.lock()) {
+            lock.queueCheckForNodeStateChangeNotification(true);
+        }
+    }
+
+    private List<NodeID> addNodes(final WorkflowManager wfm, final int count) {
+        List<NodeID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(wfm.createAndAddNode(m_factory));
+        }
+        return ids;
+    }
+
+    private static void assertCountsMatch(final WorkflowManager wfm) {
+        int[] expected = new int[InternalNodeContainerState.values().length];
+        int nrDerived = 0;
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            if (nc.isInternalStateDerived()) {
+                nrDerived++;
+            } else {
+                expected[nc.getInternalState().ordinal()]++;
+            }
+        }
+        Workflow workflow = wfm.getWorkflow();
+        assertThat("counts per state", workflow.getStateCounter().getNrNodesInState(), is(expected));
+        assertThat("number of metanodes", workflow.getNodesWithDerivedState().size(), is(nrDerived));
+        boolean hasError = wfm.getNodeContainers().stream()
+            .anyMatch(nc -> nc.getNodeMessage().getMessageType() == NodeMessage.Type.ERROR);
+        assertThat("error count", workflow.getStateCounter().hasNodeWithError(), is(hasError));
+    }
+
+    private static int sum(final int[] values) {
+        int sum = 0;
+        for (int v : values) {
+            sum += v;
+        }
+        return sum;
+    }
+}
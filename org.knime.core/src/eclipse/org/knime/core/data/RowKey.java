@@ -55,14 +55,39 @@
 /**
  * Key for a specific row which holds an identifier of type {@link String}.
  *
+ * <p>
+ * Keys created by {@link #createRowKey(long)} (&quot;Row&quot; + index) only hold the index; their string is created
+ * when it's first requested. {@link #equals(Object)} and {@link #hashCode()} of such keys don't create the string.
+ *
  * @see DataRow
  * @author Michael Berthold, University of Konstanz
  */
 public final class RowKey implements RowKeyValue {
 
-    /** Private member holding non-null row id. */
+    /** Prefix of the keys created by {@link #createRowKey(long)}. */
+    private static final String DEFAULT_PREFIX = "Row";
+
+    /** The maximum number of digits of a non-negative long. */
+    private static final int MAX_INDEX_DIGITS = 19;
+
+    /** Private member holding the row id, <code>null</code> for default keys ({@link #m_index} &gt;= 0). */
     private final String m_id;
 
+    /** Index of a default key (&quot;Row&quot; + index), -1 if this key holds its string ({@link #m_id}). */
+    private final long m_index;
+
+    /**
+     * String of a default key, created on demand. Strings are immutable, so concurrent (racy) initialization is
+     * harmless.
+     */
+    private String m_defaultId;
+
+    /**
+     * Hash code of a default key, computed on demand (0 if not computed yet), racy initialization as in
+     * {@link String#hashCode()}.
+     */
+    private int m_defaultHash;
+
     /**
      * Creates a row key based on a {@link String}.
      *
@@ -74,12 +99,44 @@ public RowKey(final String id) {
             throw new NullPointerException("Argument must not be null.");
         }
         m_id = id;
+        m_index = -1;
+    }
+
+    /**
+     * Creates a default row key (&quot;Row&quot; + index).
+     *
+     * @param index the non-negative index
+     */
+    private RowKey(final long index) {
+        m_id = null;
+        m_index = index;
     }
 
     /** @return Underlying string of this row key. */
     @Override
     public String getString() {
-        return m_id;
+        if (m_id != null) {
+            return m_id;
+        }
+        String id = m_defaultId;
+        if (id == null) {
+            id = DEFAULT_PREFIX + m_index;
+            m_defaultId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index if this key has the form of the keys created by {@link #createRowKey(long)}, i.e.
+     * &quot;Row&quot; followed by a non-negative number without leading zeros. Used by the table store and the
+     * duplicate checking to handle runs of such keys without creating strings.
+     *
+     * @return the index or -1 if this key has a different form
+     * @since 5.4
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public long getDefaultRowIndex() {
+        return m_index >= 0 ? m_index : parseDefaultRowIndex(m_id);
     }
 
     @Override
@@ -100,9 +157,14 @@ public boolean equals(final Object obj) {
             return true;
         }
         if (obj instanceof RowKey) {
-            return ((RowKey)obj).m_id.equals(m_id);
+            final RowKey other = (RowKey)obj;
+            if (m_index >= 0) {
+                return other.m_index >= 0 ? other.m_index == m_index : isDefaultKey(other.m_id, m_index);
+            }
+            return other.m_index >= 0 ? isDefaultKey(m_id, other.m_index) : other.m_id.equals(m_id);
         } else if (obj instanceof RowKeyValue) {
-            return ((RowKeyValue)obj).getString().equals(m_id);
+            final String otherId = ((RowKeyValue)obj).getString();
+            return m_index >= 0 ? isDefaultKey(otherId, m_index) : otherId.equals(m_id);
         }
         return false;
     }
@@ -112,7 +174,72 @@ public boolean equals(final Object obj) {
      */
     @Override
     public int hashCode() {
-        return m_id.hashCode();
+        if (m_id != null) {
+            return m_id.hashCode();
+        }
+        int hash = m_defaultHash;
+        if (hash == 0) {
+            hash = computeDefaultHash(m_index);
+            m_defaultHash = hash;
+        }
+        return hash;
+    }
+
+    /** @return the same as (&quot;Row&quot; + index).hashCode(), {@link String#hashCode()} is specified. */
+    private static int computeDefaultHash(final long index) {
+        int hash = DEFAULT_PREFIX.hashCode();
+        for (long divisor = getDivisorOfFirstDigit(index); divisor > 0; divisor /= 10) {
+            hash = 31 * hash + ('0' + (int)(index / divisor % 10));
+        }
+        return hash;
+    }
+
+    /** @return the power of 10 that has the same number of digits as the argument (non-negative) index. */
+    private static long getDivisorOfFirstDigit(final long index) {
+        long divisor = 1;
+        while (index / divisor >= 10) {
+            divisor *= 10;
+        }
+        return divisor;
+    }
+
+    /** @return whether the argument string equals &quot;Row&quot; + index, without creating that string. */
+    private static boolean isDefaultKey(final String id, final long index) {
+        final int prefixLength = DEFAULT_PREFIX.length();
+        int nrDigits = 1;
+        for (long divisor = getDivisorOfFirstDigit(index); divisor >= 10; divisor /= 10) {
+            nrDigits++;
+        }
+        if (id.length() != prefixLength + nrDigits || !id.startsWith(DEFAULT_PREFIX)) {
+            return false;
+        }
+        long rest = index;
+        for (int i = id.length() - 1; i >= prefixLength; i--) {
+            if (id.charAt(i) != '0' + (int)(rest % 10)) {
+                return false;
+            }
+            rest /= 10;
+        }
+        return true;
+    }
+
+    /** @return the index of a string of the form &quot;Row&quot; + index (canonical, no leading zeros) or -1. */
+    private static long parseDefaultRowIndex(final String id) {
+        final int prefixLength = DEFAULT_PREFIX.length();
+        final int length = id.length();
+        if (length == prefixLength || length > prefixLength + MAX_INDEX_DIGITS || !id.startsWith(DEFAULT_PREFIX)
+            || (id.charAt(prefixLength) == '0' && length > prefixLength + 1)) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = prefixLength; i < length; i++) {
+            final int digit = id.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || index > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            index = 10 * index + digit;
+        }
+        return index;
     }
 
     /**
@@ -181,6 +308,6 @@ public static RowKey createRowKey(final int rowIndex) {
      * @since 3.0
      */
     public static RowKey createRowKey(final long rowIndex) {
-        return new RowKey("Row" + rowIndex);
+        return rowIndex >= 0 ? new RowKey(rowIndex) : new RowKey(DEFAULT_PREFIX + rowIndex);
     }
 }
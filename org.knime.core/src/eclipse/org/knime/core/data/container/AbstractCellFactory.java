@@ -62,7 +62,9 @@
  * <p>As of v2.5 the input table can be processed concurrently. This property
  * should only be set if (i) the processing of an individual row is expensive,
  * i.e. takes significantly longer than pure I/O and (ii) there are no
- * interdependency between the row calculations.
+ * interdependency between the row calculations. As of v5.4 the rows are handed
+ * to the workers in contiguous ranges (batches), which makes parallel
+ * processing also worthwhile for cheap calculations.
  *
  * @see SingleCellFactory
  * @author Bernd Wiswedel, University of Konstanz
@@ -186,7 +188,9 @@ public final boolean isParallelProcessing() {
      * certain row computation takes long the framework needs to temporarily
      * cache the results of the following rows - the cache size is determined
      * by this parameter. If this cache is full, no further row computations
-     * are queued until the long-running task finishes.)
+     * are queued until the long-running task finishes.) As of v5.4 the
+     * framework processes the input in ranges of rows; this value bounds the
+     * number of rows in pending ranges (and with it the range size).
      * @since 2.5
      */
     public final void setParallelProcessing(final boolean value,
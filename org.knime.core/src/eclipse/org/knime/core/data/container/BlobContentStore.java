@@ -0,0 +1,292 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.IDataRepository;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Deduplicates blob files by their content within the tables of a data repository (i.e. a workflow). Each blob
+ * {@link Buffer} keeps writing its blobs to the files determined by their {@link BlobDataCell.BlobAddress}, but a file
+ * whose content equals that of a file written before is replaced by a hard link to that file. Blobs copied from one
+ * table into another (e.g. by loop end nodes) are hard-linked rather than copied in the first place.
+ *
+ * <p>
+ * Hard links make the file system do the reference counting: when a table is cleared and its blob directory deleted,
+ * the content stays available as long as other tables still link to it. If hard links are not supported (or source
+ * and destination are on different volumes), files are copied as before.
+ *
+ * <p>
+ * Deduplicating written blobs requires hashing their content and is therefore only done if enabled via
+ * {@link KNIMEConstants#PROPERTY_TABLE_BLOB_DEDUPLICATION}. Copied blobs are always linked.
+ *
+ * @author agent
+ */
+final class BlobContentStore {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BlobContentStore.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** The store of each data repository, weakly referenced so that stores vanish with their workflow. */
+    private static final Map<IDataRepository, BlobContentStore> STORES = new WeakHashMap<>();
+
+    /** Whether written blob files are deduplicated, see {@link KNIMEConstants#PROPERTY_TABLE_BLOB_DEDUPLICATION}. */
+    private static final boolean IS_DEDUPLICATION_ENABLED =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_BLOB_DEDUPLICATION);
+
+    /** The first file written for each content. Guarded by itself, as is {@link #m_keysByBlobDir}. */
+    private final Map<ContentKey, File> m_files = new HashMap<>();
+
+    /** The keys whose file in {@link #m_files} is located in a blob directory, to forget them once it's deleted. */
+    private final Map<File, Set<ContentKey>> m_keysByBlobDir = new HashMap<>();
+
+    private final AtomicLong m_nrLinkedFiles = new AtomicLong();
+
+    private final AtomicLong m_linkedBytes = new AtomicLong();
+
+    BlobContentStore() {
+    }
+
+    /**
+     * @param dataRepository the repository of the buffer writing blobs, may be null
+     * @return the store shared by all buffers of the given repository, a new store if the repository is null
+     */
+    static BlobContentStore get(final IDataRepository dataRepository) {
+        if (dataRepository == null) {
+            return new BlobContentStore();
+        }
+        synchronized (STORES) {
+            return STORES.computeIfAbsent(dataRepository, r -> new BlobContentStore());
+        }
+    }
+
+    /**
+     * @return whether blob files written are to be deduplicated by {@link #deduplicate(File, File, byte[], boolean)}
+     */
+    static boolean isDeduplicationEnabled() {
+        return IS_DEDUPLICATION_ENABLED;
+    }
+
+    /**
+     * @return a new digest for the content of a blob file
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the given, just written blob file by a hard link to a file with the same content, if any. Otherwise the
+     * file is registered for later deduplication.
+     *
+     * @param blobDir the blob directory of the table the file belongs to, see {@link #release(File)}
+     * @param file the blob file
+     * @param digest the digest of the blob's (uncompressed) content, see {@link #newDigest()}
+     * @param isCompressed whether the file is compressed
+     * @return whether the file was replaced by a hard link
+     */
+    boolean deduplicate(final File blobDir, final File file, final byte[] digest, final boolean isCompressed) {
+        final ContentKey key = new ContentKey(digest, isCompressed);
+        final File existing;
+        synchronized (m_files) {
+            existing = m_files.putIfAbsent(key, file);
+            if (existing == null) {
+                m_keysByBlobDir.computeIfAbsent(blobDir, d -> new HashSet<>()).add(key);
+                return false;
+            } else if (existing.equals(file)) {
+                return false;
+            } else if (!existing.isFile()) {
+                // the table owning the first file has been cleared, the new file takes its place
+                m_files.put(key, file);
+                m_keysByBlobDir.computeIfAbsent(blobDir, d -> new HashSet<>()).add(key);
+                return false;
+            }
+        }
+        final Path tempLink = file.toPath().resolveSibling(file.getName() + ".link");
+        try {
+            final long size = Files.size(file.toPath());
+            if (size != Files.size(existing.toPath())) {
+                throw new IOException("Size of blob files with equal digest differ (" + existing + ", " + file + ")");
+            }
+            Files.createLink(tempLink, existing.toPath());
+            Files.move(tempLink, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            m_nrLinkedFiles.incrementAndGet();
+            m_linkedBytes.addAndGet(size);
+            return true;
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            LOGGER.debug("Unable to link blob file \"" + file + "\" to \"" + existing + "\": " + e.getMessage(), e);
+            deleteQuietly(tempLink);
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the files in the given blob directory, called before the directory is deleted.
+     *
+     * @param blobDir the blob directory of a table that is cleared
+     */
+    void release(final File blobDir) {
+        synchronized (m_files) {
+            final Set<ContentKey> keys = m_keysByBlobDir.remove(blobDir);
+            if (keys != null) {
+                final String dirPath = blobDir.getAbsolutePath() + File.separator;
+                // the files of a table may have been replaced by those of another table (#deduplicate)
+                keys.forEach(k -> m_files.computeIfPresent(k,
+                    (key, file) -> file.getAbsolutePath().startsWith(dirPath) ? null : file));
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct contents known to this store
+     */
+    int getNrContents() {
+        synchronized (m_files) {
+            return m_files.size();
+        }
+    }
+
+    /**
+     * Makes the destination refer to the content of the source file, by a hard link if possible, otherwise by a copy.
+     *
+     * @param source the existing blob file
+     * @param dest the blob file to create
+     * @throws IOException if the source file doesn't exist or copying fails
+     */
+    void linkOrCopy(final File source, final File dest) throws IOException {
+        if (!source.isFile()) {
+            throw new IOException("Blob file \"" + source.getAbsolutePath() + "\" does not exist");
+        }
+        try {
+            Files.createLink(dest.toPath(), source.toPath());
+            m_nrLinkedFiles.incrementAndGet();
+            m_linkedBytes.addAndGet(source.length());
+            return;
+        } catch (FileSystemException | UnsupportedOperationException | SecurityException e) {
+            LOGGER.debug("Unable to link blob file \"" + dest + "\" to \"" + source + "\", copying it: "
+                + e.getMessage(), e);
+        }
+        FileUtil.copy(source, dest);
+    }
+
+    /**
+     * @return the number of blob files that are hard links to a file with the same content
+     */
+    long getNrLinkedFiles() {
+        return m_nrLinkedFiles.get();
+    }
+
+    /**
+     * @return the number of bytes that were linked rather than stored again
+     */
+    long getLinkedBytes() {
+        return m_linkedBytes.get();
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) { // NOSONAR
+            LOGGER.debug("Unable to delete \"" + path + "\": " + e.getMessage());
+        }
+    }
+
+    /** Digest of the content plus the compression flag, as compressed and uncompressed files differ. */
+    private static final class ContentKey {
+
+        private final byte[] m_digest;
+
+        private final boolean m_isCompressed;
+
+        ContentKey(final byte[] digest, final boolean isCompressed) {
+            m_digest = digest;
+            m_isCompressed = isCompressed;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(m_digest) + Boolean.hashCode(m_isCompressed);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof ContentKey)) {
+                return false;
+            }
+            final ContentKey other = (ContentKey)obj;
+            return m_isCompressed == other.m_isCompressed && Arrays.equals(m_digest, other.m_digest);
+        }
+    }
+}
@@ -59,6 +59,8 @@
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -139,6 +141,7 @@
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeResourceTracker;
 import org.knime.core.node.workflow.WorkflowContext;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.util.FileUtil;
@@ -174,7 +177,7 @@ public class Buffer implements KNIMEStreamConstants {
      *
      * @since 2.8
      */
-    private static final int MIN_FREE_DISC_SPACE_IN_TEMP_IN_MB;
+    static final int MIN_FREE_DISC_SPACE_IN_TEMP_IN_MB;
 
     static {
         // initialize the min free disc in temp
@@ -312,6 +315,9 @@ public class Buffer implements KNIMEStreamConstants {
     /** Number of dirs/files per directory when blobs are saved. */
     private static final int BLOB_ENTRIES_PER_DIRECTORY = 1000;
 
+    /** Number of rows handed to the output writer at once when writing the in-memory rows to disk. */
+    private static final int WRITE_BATCH_SIZE = 4096;
+
     /**
      * Is executing the shutdown hook? If so, no logging is done, bug fix #862.
      */
@@ -523,6 +529,9 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
 
     private AbstractTableStoreWriter m_outputWriter;
 
+    /** The number of threads the output writer may use to serialize rows, see {@link #setMaxWriteThreads(int)}. */
+    private int m_maxWriteThreads = 1;
+
     private AbstractTableStoreReader m_outputReader;
 
     /**
@@ -544,6 +553,9 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
     /** The lifecycle of this buffer, which specifies when and how tables are cached and flushed to disk. */
     private final Lifecycle m_lifecycle;
 
+    /** Resource accounting of the node that created this buffer for writing, null if none or if read from file. */
+    private final NodeResourceTracker m_resourceTracker;
+
     /** A flag that is set when this buffer has been flushed to disk (for whatever reason). */
     private boolean m_flushedToDisk;
 
@@ -661,7 +673,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
          * independent of the lifecycle, if maxRowsInMemory is zero, the buffer is expected to flush to disk (e.g, see
          * {@link org.knime.core.data.sort.DataTableSorter#createDataContainer(DataTableSpec, boolean)}).
          */
-        m_listWhileAddRow = maxRowsInMemory > 0 ? new ArrayList<BlobSupportDataRow>() : null;
+        m_listWhileAddRow = maxRowsInMemory > 0 ? createInMemoryList(0) : null;
         m_size = 0;
         m_bufferID = bufferID;
         m_localRepository = localRep;
@@ -669,6 +681,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_dataRepository = dataRepository;
         m_spec = spec;
         m_outputFormat = m_bufferSettings.getOutputFormat(m_spec);
+        m_resourceTracker = NodeResourceTracker.current();
         BufferTracker.getInstance().bufferCreated(this);
     }
 
@@ -730,6 +743,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_flushedToDisk = true;
         m_bufferSettings = settings;
         m_maxRowsInMem = 0;
+        m_resourceTracker = null;
         m_lifecycle = m_bufferSettings.useLRU() ? new SoftRefLRULifecycle() : new MemorizeIfSmallLifecycle();
         CACHE.setLRUCacheSize(m_bufferSettings.getLRUCacheSize());
         try {
@@ -830,14 +844,26 @@ synchronized void addRow(final DataRow r, final boolean isCopyOfExisting, final
         }
     }
 
-    synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOException {
-        if (getAndIncrementSize() == Integer.MAX_VALUE) {
-            /**
-             * Since m_list is an ArrayList, it cannot hold more than Integer.MAX_VALUE rows, so we have to flush
-             * independent of the lifecycle.
-             */
-            flushBuffer();
+    /**
+     * Creates the list that holds the rows of this buffer while the table is kept in memory, its representation
+     * being determined by {@link BufferSettings#getInMemoryFormat()}.
+     *
+     * @param expectedSize the expected number of rows
+     * @return a new, empty list
+     */
+    private List<BlobSupportDataRow> createInMemoryList(final int expectedSize) {
+        switch (m_bufferSettings.getInMemoryFormat()) {
+            case COMPACT:
+                return new CompactRowList(false);
+            case COMPACT_OFFHEAP:
+                return new CompactRowList(true);
+            default:
+                return new ArrayList<>(expectedSize);
         }
+    }
+
+    synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOException {
+        incrementSize(1);
         if (m_listWhileAddRow != null) {
             m_listWhileAddRow.add(row);
             if (m_listWhileAddRow.size() > m_maxRowsInMem) {
@@ -849,6 +875,40 @@ synchronized void addBlobSupportDataRow(final BlobSupportDataRow row) throws IOE
         }
     }
 
+    /**
+     * Adds a batch of rows, the equivalent of calling {@link #addBlobSupportDataRow(BlobSupportDataRow)} for each of
+     * them. Rows that go to disk are handed to the output writer as a whole, which allows it to serialize them
+     * concurrently.
+     *
+     * @param rows the rows to add
+     * @throws IOException If writing the rows fails.
+     */
+    synchronized void addBlobSupportDataRows(final List<BlobSupportDataRow> rows) throws IOException {
+        int i = 0;
+        // rows kept in memory are added one by one as adding a row may trigger flushing the buffer
+        while (i < rows.size() && m_listWhileAddRow != null) {
+            addBlobSupportDataRow(rows.get(i++));
+        }
+        if (i < rows.size()) {
+            incrementSize(rows.size() - i);
+            ensureWriterIsOpen();
+            m_outputWriter.writeRows(i == 0 ? rows : rows.subList(i, rows.size()));
+        }
+    }
+
+    /**
+     * Sets the number of threads the output writer may use to serialize the rows of a batch (see
+     * {@link #addBlobSupportDataRows(List)}).
+     *
+     * @param maxWriteThreads the number of threads, 1 for sequential serialization
+     */
+    synchronized void setMaxWriteThreads(final int maxWriteThreads) {
+        m_maxWriteThreads = maxWriteThreads;
+        if (m_outputWriter instanceof DefaultTableStoreWriter defaultWriter) {
+            defaultWriter.setMaxSerializationThreads(maxWriteThreads);
+        }
+    }
+
     /**
      * @throws IOException
      */
@@ -856,6 +916,9 @@ private void initOutputWriter(final Supplier<OutputStream> output)
         throws IOException, UnsupportedOperationException {
         m_outputWriter = m_outputFormat.createWriter(output.get(), m_spec, !shouldSkipRowKey());
         m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)m_fileStoreHandler);
+        if (m_outputWriter instanceof DefaultTableStoreWriter defaultWriter) {
+            defaultWriter.setMaxSerializationThreads(m_maxWriteThreads);
+        }
     }
 
     /**
@@ -864,6 +927,9 @@ private void initOutputWriter(final Supplier<OutputStream> output)
     private void initOutputWriter(final File binFile) throws IOException {
         m_outputWriter = m_outputFormat.createWriter(binFile, m_spec, !shouldSkipRowKey());
         m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)m_fileStoreHandler);
+        if (m_outputWriter instanceof DefaultTableStoreWriter defaultWriter) {
+            defaultWriter.setMaxSerializationThreads(m_maxWriteThreads);
+        }
     }
 
     BlobSupportDataRow saveBlobsAndFileStores(final DataRow row, final boolean forceCopyOfBlobs) throws IOException {
@@ -1085,7 +1151,7 @@ private DataCell handleIncomingBlob(final DataCell cell, final int col, final in
                     File source =
                         b.getBlobFile(ad.getIndexOfBlobInColumn(), ad.getColumn(), false, ad.isUseCompression());
                     File dest = getBlobFile(indexBlobInCol, col, true, ad.isUseCompression());
-                    FileUtil.copy(source, dest);
+                    BlobContentStore.get(m_dataRepository).linkOrCopy(source, dest);
                     wc = new BlobWrapperDataCell(this, rewrite, cl);
                 } else {
                     BlobDataCell bc;
@@ -1159,14 +1225,18 @@ private void writeBlobDataCell(final BlobDataCell cell, final BlobAddress a) thr
                 int col = originalBA.getColumn();
                 boolean compress = originalBA.isUseCompression();
                 File source = originalBuffer.getBlobFile(index, col, false, compress);
-                FileUtil.copy(source, outFile);
+                BlobContentStore.get(getDataRepository()).linkOrCopy(source, outFile);
                 return;
             }
         }
 
+        // the digest of the uncompressed content identifies blobs written before, see BlobContentStore
+        final MessageDigest digest = BlobContentStore.isDeduplicationEnabled() ? BlobContentStore.newDigest() : null;
         try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(outFile));
+                final OutputStream contentOut =
+                    isToCompress ? new BufferedOutputStream(new GZIPOutputStream(out)) : out;
                 final BlockableDCObjectOutputVersion2 outStream = new BlockableDCObjectOutputVersion2(
-                    isToCompress ? new BufferedOutputStream(new GZIPOutputStream(out)) : out)) {
+                    digest == null ? contentOut : new DigestOutputStream(contentOut, digest))) {
             // buffering the gzip stream brings another performance boost
             // (in one case from 5mins down to 2 mins)
             Buffer.onFileCreated(outFile);
@@ -1176,6 +1246,9 @@ private void writeBlobDataCell(final BlobDataCell cell, final BlobAddress a) thr
                 outStream.writeDataCellPerJavaSerialization(cell);
             }
         }
+        if (digest != null) {
+            BlobContentStore.get(getDataRepository()).deduplicate(m_blobDir, outFile, digest.digest(), isToCompress);
+        }
     }
 
     private boolean mustBeFlushedPriorSave(final DataCell cell, final boolean isWrapperCell,
@@ -1215,12 +1288,21 @@ private void ensureTempFileExists() throws IOException {
     }
 
     /**
-     * Increments the row counter by one, used in addRow.
+     * Increments the row counter by the number of added rows, used in addRow and when adding a batch of rows. Flushes
+     * the buffer once the size exceeds {@link Integer#MAX_VALUE}.
      *
-     * @return previous size (before incrementing it).
+     * @param nrRows the number of added rows
      */
-    private long getAndIncrementSize() {
-        return m_size++;
+    private void incrementSize(final int nrRows) {
+        final long oldSize = m_size;
+        m_size += nrRows;
+        if (oldSize <= Integer.MAX_VALUE && m_size > Integer.MAX_VALUE) {
+            /**
+             * Since m_list is a List, it cannot hold more than Integer.MAX_VALUE rows, so we have to flush
+             * independent of the lifecycle.
+             */
+            flushBuffer();
+        }
     }
 
     /**
@@ -1238,6 +1320,9 @@ synchronized void close(final DataTableSpec spec) {
     /** Closes by creating shortcut array for file access. */
     void closeInternal() {
         assert Thread.holdsLock(this);
+        if (m_resourceTracker != null) {
+            m_resourceTracker.addRowsWritten(m_size);
+        }
         if (m_listWhileAddRow != null) {
             // buffer still held in memory; can be cached
             CACHE.put(Buffer.this, m_listWhileAddRow);
@@ -1274,7 +1359,12 @@ private void closeWriterAndWriteMeta() {
             m_outputWriter.writeMetaInfoAfterWrite(formatSettings);
             m_formatSettings = formatSettings;
             if (m_hasTempFile) {
-                double sizeInMB = m_binFile.length() / (double)(1 << 20);
+                final long sizeInBytes = m_binFile.length();
+                TempStorageManager.getInstance().recordBytesWritten(m_binFile, sizeInBytes);
+                if (m_resourceTracker != null) {
+                    m_resourceTracker.addSpilled(m_size, sizeInBytes);
+                }
+                double sizeInMB = sizeInBytes / (double)(1 << 20);
                 String size = NumberFormat.getInstance().format(sizeInMB);
                 LOGGER.debug("Buffer file (" + m_binFile.getAbsolutePath() + ") is " + size + "MB in size");
                 initOutputReader(formatSettings, IVERSION);
@@ -2025,6 +2115,9 @@ synchronized void clear() {
                         }
                     }
                     if (m_blobDir != null) {
+                        if (BlobContentStore.isDeduplicationEnabled()) {
+                            BlobContentStore.get(m_dataRepository).release(m_blobDir);
+                        }
                         DeleteInBackgroundThread.delete(m_binFile, m_blobDir);
                     } else {
                         DeleteInBackgroundThread.delete(m_binFile);
@@ -2097,9 +2190,7 @@ private void writeList(final List<BlobSupportDataRow> list) {
         try {
             ensureWriterIsOpen();
             if (list != null) {
-                for (BlobSupportDataRow row : list) {
-                    m_outputWriter.writeRow(row);
-                }
+                m_outputWriter.writeRows(list);
             }
         } catch (IOException ioe) {
             LOGGER.error("Failed to write rows from buffer to file.", ioe);
@@ -2167,7 +2258,7 @@ private final class BackIntoMemoryIterator extends CloseableRowIterator {
          */
         private BackIntoMemoryIterator(final CloseableRowIterator iterator, final long size) {
             m_iterator = iterator;
-            m_listWhileBackIntoMemory = new ArrayList<>((int)size);
+            m_listWhileBackIntoMemory = createInMemoryList((int)size);
         }
 
         @Override
@@ -2979,13 +3070,13 @@ public final Void call() throws Exception {
                 buffer = null;
 
                 if (list != null) {
-                    for (BlobSupportDataRow rowInList : list) {
+                    for (int from = 0; from < list.size(); from += WRITE_BATCH_SIZE) {
                         /** Writer thread has been cancelled during clear(). */
                         if (Thread.currentThread().isInterrupted()) {
                             return null;
                         }
 
-                        outputWriter.writeRow(rowInList);
+                        outputWriter.writeRows(list.subList(from, Math.min(from + WRITE_BATCH_SIZE, list.size())));
                     }
                 }
 
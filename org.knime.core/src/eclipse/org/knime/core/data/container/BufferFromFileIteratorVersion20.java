@@ -56,6 +56,7 @@
 import java.util.NoSuchElementException;
 import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataType;
@@ -98,9 +99,18 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Stream to read from. */
     private BlockableDCObjectInputVersion2 m_inStream;
 
+    /** The (decompressed) stream underneath m_inStream, used to skip rows in {@link #skipRows(int, long)}. */
+    private final InputStream m_rawInStream;
+
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /** Decodes dictionary encoded string cells, null if the table is not dictionary encoded. */
+    private final StringDictionary.Decoder m_dictionaryDecoder;
+
+    /** Default row index of the previous key if row keys are stored in the compact encoding, -1 if none. */
+    private long m_previousRowIndex = -1;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
      * @throws IOException If stream reading fails.
@@ -121,7 +131,10 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
 
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
-        m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+        m_rawInStream = getInputStream(tableFormatReader);
+        m_inStream = new BlockableDCObjectInputVersion2(m_rawInStream, m_dataCellStreamReader);
+        m_dictionaryDecoder = tableFormatReader.isDictionaryEncoded()
+            ? new StringDictionary.Decoder(tableFormatReader.getTableSpec().getNumColumns()) : null;
     }
 
 
@@ -164,12 +177,16 @@ public synchronized BlobSupportDataRow next() {
             String keyS = "Read_failed__auto_generated_key_" + m_pointer;
             key = new RowKey(keyS);
         }
+        if (m_dictionaryDecoder != null) {
+            m_dictionaryDecoder.nextRow();
+        }
         DataCell[] cells = new DataCell[colCount];
         for (int i = 0; i < colCount; i++) {
             DataCell nextCell;
             try {
                 try {
-                    nextCell = m_dataCellStreamReader.readDataCell(m_inStream);
+                    nextCell = m_dictionaryDecoder == null ? m_dataCellStreamReader.readDataCell(m_inStream)
+                        : m_dictionaryDecoder.readDataCell(i, m_inStream, m_dataCellStreamReader);
                 } finally {
                     m_inStream.endBlock();
                 }
@@ -192,6 +209,24 @@ public synchronized BlobSupportDataRow next() {
         return new BlobSupportDataRow(key, cells);
     }
 
+    /**
+     * Skips rows without deserializing them. Used to skip blocks of a table's {@link ZoneMaps} and hence only to be
+     * called at the start of a block, where the state carried from one row to the next is reset.
+     *
+     * @param nrRows the number of rows to skip
+     * @param nrBytes the length of these rows in the (uncompressed) stream
+     * @throws IOException if skipping fails, e.g. because the stream ends
+     */
+    synchronized void skipRows(final int nrRows, final long nrBytes) throws IOException {
+        if (m_inStream == null) { // iterator was closed
+            m_pointer += nrRows;
+            return;
+        }
+        IOUtils.skipFully(m_rawInStream, nrBytes);
+        m_pointer += nrRows;
+        m_previousRowIndex = -1;
+    }
+
     /** Reads a row key from the stream and ends the block. In case of buffers
      * that don't persist their row keys ({@link NoKeyBuffer}), it returns
      * a static key.
@@ -205,6 +240,14 @@ private RowKey readRowKeyAndEndBlock(
             return DUMMY_ROW_KEY;
         }
         try {
+            if (m_tableFormatReader.isCompactRowKeys()) {
+                // reset first, a failure must not propagate to the following keys
+                final long previousIndex = m_previousRowIndex;
+                m_previousRowIndex = -1;
+                final RowKey key = inStream.readCompactRowKey(previousIndex);
+                m_previousRowIndex = key.getDefaultRowIndex();
+                return key;
+            }
             return inStream.readRowKey();
         } finally {
             inStream.endBlock();
@@ -319,9 +362,21 @@ public DataCellStreamReader(final AbstractTableStoreReader tableFormatReader) {
          * @throws IOException If exceptions occur.
          */
         public DataCell readDataCell(final DCObjectInputVersion2 inStream) throws IOException {
+            return readDataCell(inStream, inStream.readControlByte());
+        }
+
+        /**
+         * Reads a data cell from the argument stream whose first control byte has already been read.
+         *
+         * @param inStream To read from.
+         * @param controlByte the first control byte of the cell
+         * @return the data cell being read
+         * @throws IOException If exceptions occur.
+         */
+        DataCell readDataCell(final DCObjectInputVersion2 inStream, final byte controlByte) throws IOException {
             inStream.setCurrentClassLoader(null);
 
-            byte identifier = inStream.readControlByte();
+            byte identifier = controlByte;
             if (identifier == BYTE_TYPE_MISSING) {
                 return DataType.getMissingCell();
             }
@@ -78,6 +78,9 @@ public final class BufferSettings {
     /** The default number of tables that can be kept in the soft-references LRU cache before being weak-referenced. */
     static final int DEF_LRU_CACHE_SIZE = 32;
 
+    /** The default representation of tables kept in memory. */
+    static final InMemoryFormat DEF_IN_MEMORY_FORMAT = InMemoryFormat.OBJECTS;
+
     /** The enable LRU caching flag. */
     private final boolean m_enableLRU;
 
@@ -87,6 +90,9 @@ public final class BufferSettings {
     /** The output table store format. */
     private final TableStoreFormat m_outputFormat;
 
+    /** The representation of tables kept in memory. */
+    private final InMemoryFormat m_inMemoryFormat;
+
     /**
      * Default constructor.
      */
@@ -94,6 +100,7 @@ public final class BufferSettings {
         m_enableLRU = bufferSettingsBuilder.m_enableLRU;
         m_lruCacheSize = bufferSettingsBuilder.m_lruCacheSize;
         m_outputFormat = bufferSettingsBuilder.m_outputFormat;
+        m_inMemoryFormat = bufferSettingsBuilder.m_inMemoryFormat;
     }
 
     /**
@@ -132,6 +139,15 @@ TableStoreFormat getOutputFormat(final DataTableSpec spec) {
         return storeFormat;
     }
 
+    /**
+     * Returns how the rows of a {@link Buffer} are represented while the table is kept in memory.
+     *
+     * @return the in-memory format
+     */
+    InMemoryFormat getInMemoryFormat() {
+        return m_inMemoryFormat;
+    }
+
     /**
      * Returns the default {@link BufferSettings}.
      *
@@ -145,6 +161,21 @@ static BufferSettingsBuilder builder() {
         return new BufferSettingsBuilder();
     }
 
+    /**
+     * The representations of tables that are kept in memory.
+     *
+     * @since 5.4
+     * @noreference This enum is not intended to be referenced by clients.
+     */
+    public enum InMemoryFormat {
+            /** Rows are kept as a list of materialized {@link org.knime.core.data.DataCell DataCells}. */
+            OBJECTS,
+            /** Rows are kept serialized in byte pages on the heap and decoded when accessed. */
+            COMPACT,
+            /** Rows are kept serialized in direct (off-heap) byte pages and decoded when accessed. */
+            COMPACT_OFFHEAP;
+    }
+
     /**
      * @since 5.3
      * @noreference This class is not intended to be referenced by clients.
@@ -160,10 +191,14 @@ public static final class BufferSettingsBuilder {
         /** The output table store format. */
         private TableStoreFormat m_outputFormat;
 
+        /** The representation of tables kept in memory. */
+        private InMemoryFormat m_inMemoryFormat;
+
         private BufferSettingsBuilder() {
             m_enableLRU = initLRU();
             m_lruCacheSize = DEF_LRU_CACHE_SIZE;
             m_outputFormat = TableStoreFormatRegistry.getInstance().getInstanceTableStoreFormat();
+            m_inMemoryFormat = initInMemoryFormat();
         }
 
         /**
@@ -199,6 +234,18 @@ public BufferSettingsBuilder withOutputFormat(final TableStoreFormat outputForma
             return this;
         }
 
+        /**
+         * Changes the representation of tables kept in memory.
+         *
+         * @param inMemoryFormat the new in-memory format
+         * @return this
+         * @since 5.4
+         */
+        public BufferSettingsBuilder withInMemoryFormat(final InMemoryFormat inMemoryFormat) {
+            m_inMemoryFormat = CheckUtils.checkArgumentNotNull(inMemoryFormat);
+            return this;
+        }
+
         BufferSettings build() {
             return new BufferSettings(this);
         }
@@ -224,6 +271,24 @@ private static boolean initLRU() {
             return DEF_TABLE_CACHE.equals("LRU");
         }
 
+        /**
+         * Initializes the in-memory format w.r.t. the defined properties.
+         *
+         * @return the in-memory format
+         */
+        private static InMemoryFormat initInMemoryFormat() {
+            final String valInMemoryFormat = System.getProperty(KNIMEConstants.PROPERTY_TABLE_IN_MEMORY_FORMAT);
+            if (valInMemoryFormat != null) {
+                try {
+                    return InMemoryFormat.valueOf(valInMemoryFormat.trim().toUpperCase());
+                } catch (IllegalArgumentException e) { // NOSONAR
+                    LOGGER.warn("Unknown setting for in-memory table format: " + valInMemoryFormat
+                        + ". Using default: " + DEF_IN_MEMORY_FORMAT + ".");
+                }
+            }
+            return DEF_IN_MEMORY_FORMAT;
+        }
+
     }
 
 }
@@ -55,6 +55,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -577,6 +578,8 @@ private void initBufferIfRequired() {
             if (m_buffer == null) {
                 throw new NullPointerException("Implementation error, must not return a null buffer.");
             }
+            // serialize rows on as many threads as are used for handling them
+            m_buffer.setMaxWriteThreads(Math.max(1, m_maxNumThreads));
         }
     }
 
@@ -712,15 +715,15 @@ final Buffer getBuffer() {
      * This method may be overridden to disable duplicate checks. The overriding class must ensure that there are no
      * duplicates being added whatsoever.
      *
-     * @param key Key being added. This implementation extracts the string representation from it and adds it to an
-     *            internal {@link DuplicateChecker} instance.
+     * @param key Key being added. This implementation adds it to an internal {@link DuplicateChecker} instance, keys of
+     *            the form &quot;Row&quot; + index are tracked as ranges of indices instead.
      * @throws DataContainerException This implementation may throw a <code>DataContainerException</code> when
      *             {@link DuplicateChecker#addKey(String)} throws an {@link IOException}.
      * @throws DuplicateKeyException If a duplicate is encountered.
      */
     private void addRowKeyForDuplicateCheck(final RowKey key) {
         try {
-            m_duplicateChecker.addKey(key.toString());
+            m_duplicateChecker.addKey(key);
         } catch (IOException ioe) {
             throw new DataContainerException(
                 ioe.getClass().getSimpleName() + " while checking for duplicate row IDs: " + ioe.getMessage(), ioe);
@@ -841,9 +844,7 @@ public final void run() {
          * @throws IOException - if the buffer cannot write the rows to disc
          */
         private void addRows(final List<BlobSupportDataRow> blobRows) throws IOException {
-            for (final BlobSupportDataRow row : blobRows) {
-                m_buffer.addBlobSupportDataRow(row);
-            }
+            m_buffer.addBlobSupportDataRows(blobRows);
         }
 
         /**
@@ -1078,19 +1079,104 @@ private sealed interface InternalDuplicateChecker {
 
         void flushIfNecessary() throws IOException;
 
-        void addKey(String string) throws DuplicateKeyException, IOException;
+        void addKey(RowKey key) throws DuplicateKeyException, IOException;
 
         void clear();
 
     }
 
-    /** A "real" duplicate checker whose implementation is all in the super class. */
+    /**
+     * A "real" duplicate checker. Keys of the form "Row" + index ({@link RowKey#getDefaultRowIndex()}) are tracked as
+     * ranges of consecutive indices, so tables with (mostly) sequential keys need neither their strings nor a hash set
+     * entry per key. All other keys -- and all keys once there are too many ranges -- are checked by the super class.
+     */
     private static final class WrappedDuplicateChecker extends DuplicateChecker implements InternalDuplicateChecker {
 
+        /** The maximum number of ranges before their keys are added to the super class. */
+        private static final int MAX_RANGES = 4096;
+
+        private static final boolean DISABLE_DUPLICATE_CHECK =
+            Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK);
+
+        /** Start and (inclusive) end index of the ranges, alternating; null once the ranges are disabled. */
+        private long[] m_ranges = new long[16];
+
+        private int m_nrRanges;
+
         WrappedDuplicateChecker() {
             super(Integer.MAX_VALUE);
         }
 
+        @Override
+        public synchronized void addKey(final RowKey key) throws DuplicateKeyException, IOException {
+            if (DISABLE_DUPLICATE_CHECK) {
+                return;
+            }
+            final long index = m_ranges == null ? -1 : key.getDefaultRowIndex();
+            if (index < 0) {
+                addKey(key.getString());
+                return;
+            }
+            if (m_nrRanges > 0) {
+                final int last = 2 * (m_nrRanges - 1);
+                if (index >= m_ranges[last] && index <= m_ranges[last + 1]) {
+                    throw new DuplicateKeyException(key.getString());
+                } else if (index == m_ranges[last + 1] + 1) {
+                    m_ranges[last + 1] = index;
+                    return;
+                }
+            }
+            if (m_nrRanges == MAX_RANGES) {
+                addRangesAsStrings();
+                addKey(key.getString());
+                return;
+            }
+            if (2 * m_nrRanges == m_ranges.length) {
+                m_ranges = Arrays.copyOf(m_ranges, 2 * m_ranges.length);
+            }
+            m_ranges[2 * m_nrRanges] = index;
+            m_ranges[2 * m_nrRanges + 1] = index;
+            m_nrRanges++;
+        }
+
+        /** Adds the keys of all ranges to the super class and disables the ranges. */
+        private void addRangesAsStrings() throws DuplicateKeyException, IOException {
+            final long[] ranges = m_ranges;
+            final int nrRanges = m_nrRanges;
+            m_ranges = null;
+            m_nrRanges = 0;
+            for (int r = 0; r < nrRanges; r++) {
+                for (long i = ranges[2 * r]; i <= ranges[2 * r + 1]; i++) {
+                    addKey(RowKey.createRowKey(i).getString());
+                    flushIfNecessary();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void checkForDuplicates() throws DuplicateKeyException, IOException {
+            if (m_nrRanges > 1) {
+                final long[][] ranges = new long[m_nrRanges][];
+                for (int r = 0; r < m_nrRanges; r++) {
+                    ranges[r] = new long[]{m_ranges[2 * r], m_ranges[2 * r + 1]};
+                }
+                Arrays.sort(ranges, (a, b) -> Long.compare(a[0], b[0]));
+                for (int r = 1; r < ranges.length; r++) {
+                    if (ranges[r][0] <= ranges[r - 1][1]) {
+                        throw new DuplicateKeyException(RowKey.createRowKey(ranges[r][0]).getString());
+                    }
+                }
+            }
+            super.checkForDuplicates();
+        }
+
+        @Override
+        public synchronized void clear() {
+            m_ranges = null;
+            m_nrRanges = 0;
+            super.clear();
+        }
+
     }
 
     /** A "noop" duplicate checker ignoring all invocations. */
@@ -1104,7 +1190,7 @@ public void checkForDuplicates() {
         }
 
         @Override
-        public void addKey(final String string) {
+        public void addKey(final RowKey key) {
         }
 
         @Override
@@ -0,0 +1,414 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.filestore.FileStoreCell;
+import org.knime.core.data.util.memory.MemoryLedger;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadUtils;
+
+/**
+ * A list of {@link BlobSupportDataRow} that keeps its rows in serialized form in byte pages rather than as
+ * materialized {@link DataCell} objects. A row is decoded each time it is accessed via {@link #get(int)}. Compared to
+ * an {@link ArrayList} this trades some read throughput for a much smaller footprint and far fewer objects the garbage
+ * collector has to trace, which matters for servers that keep many mid-size tables in memory.
+ *
+ * <p>
+ * Cells are written with their {@link DataCellSerializer}, which is referenced from the byte pages by a one-byte
+ * index. Cells whose content lives outside the table (blobs and file store cells), cells without a
+ * serializer, and cells whose serialization fails are not serialized but kept as objects and referenced from the byte
+ * pages instead. That way rows returned from this list are equivalent to the rows that were added.
+ *
+ * <p>
+ * Pages are {@value #PAGE_SIZE} bytes large (rows larger than that get a page of their own) and are either allocated
+ * on the heap or as direct (off-heap) memory. Direct pages are released when the list is garbage collected; as the
+ * {@link org.knime.core.data.util.memory.MemoryAlertSystem} only watches the heap, their memory is reported to the
+ * {@link MemoryLedger} instead (see {@link MemoryLedger#reportOffHeapAllocation(long)}).
+ *
+ * <p>
+ * The list is append-only. Rows can be read while other rows are added.
+ *
+ * @author agent
+ * @see BufferSettings.InMemoryFormat
+ */
+final class CompactRowList extends AbstractList<BlobSupportDataRow> implements RandomAccess {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompactRowList.class);
+
+    /** Size of a regular page in bytes. */
+    static final int PAGE_SIZE = 1 << 16;
+
+    /** Tag of the singleton missing cell. */
+    private static final int TAG_MISSING = 0;
+
+    /** Tag of a cell kept as object, followed by its index in {@link #m_objectCells}. */
+    private static final int TAG_OBJECT = 1;
+
+    /** Tag of the first serializer; all tags from here on encode the index of the serializer. */
+    private static final int TAG_FIRST_SERIALIZER = 2;
+
+    /** Maximum number of distinct serializers, such that tags fit into a single byte. */
+    private static final int MAX_SERIALIZERS = 256 - TAG_FIRST_SERIALIZER;
+
+    /** Marker in {@link #m_serializerIndices} for cell classes that are kept as objects. */
+    private static final int NOT_SERIALIZED = -1;
+
+    /** Whether pages are allocated off-heap. */
+    private final boolean m_offHeap;
+
+    /** All pages, the last regular one being {@link #m_currentPage}. */
+    private final List<ByteBuffer> m_pages = new ArrayList<>();
+
+    /** The page that rows are currently appended to, null before the first row. */
+    private ByteBuffer m_currentPage;
+
+    /** Index of {@link #m_currentPage}, which is not the last page if a large row was added after it. */
+    private int m_currentPageIndex;
+
+    /** Address of each row, the page index in the upper and the offset in the page in the lower 32 bits. */
+    private long[] m_rowAddresses = new long[16];
+
+    /** Number of rows in this list. */
+    private int m_size;
+
+    /** Bytes allocated for pages. */
+    private long m_pageBytes;
+
+    /** Bytes allocated for off-heap pages, shared with the cleaner that reports their release; null if on-heap. */
+    private final AtomicLong m_offHeapBytes;
+
+    /** Cells that are not serialized, referenced by index from the pages. */
+    private final List<DataCell> m_objectCells = new ArrayList<>();
+
+    /** Index of the serializer (or {@link #NOT_SERIALIZED}) per cell class. */
+    private final Map<Class<? extends DataCell>, Integer> m_serializerIndices = new HashMap<>();
+
+    /** Serializers by index, replaced (not modified) when a serializer is added so that readers need no lock. */
+    private volatile DataCellSerializer<DataCell>[] m_serializers; // NOSONAR (array is never modified)
+
+    /** Scratch buffer a row is encoded into before it is copied to a page. */
+    private final ScratchOutputStream m_scratch = new ScratchOutputStream();
+
+    /** Output writing to {@link #m_scratch}. */
+    private final CellOutput m_scratchOut = new CellOutput(m_scratch);
+
+    /**
+     * Creates a new, empty list.
+     *
+     * @param offHeap whether to allocate pages as direct (off-heap) memory
+     */
+    @SuppressWarnings("unchecked")
+    CompactRowList(final boolean offHeap) {
+        m_offHeap = offHeap;
+        m_serializers = new DataCellSerializer[0];
+        if (offHeap) {
+            final var offHeapBytes = new AtomicLong();
+            m_offHeapBytes = offHeapBytes;
+            // direct pages are freed once this list is unreachable, the cleaner must not reference the list
+            ThreadUtils.cleaner().register(this, () -> MemoryLedger.reportOffHeapAllocation(-offHeapBytes.get()));
+        } else {
+            m_offHeapBytes = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean add(final BlobSupportDataRow row) {
+        final int objectCellsMark = m_objectCells.size();
+        m_scratch.reset();
+        try {
+            writeRow(row, false);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to serialize row \"" + row.getKey() + "\", keeping its cells as objects", e);
+            m_objectCells.subList(objectCellsMark, m_objectCells.size()).clear();
+            m_scratch.reset();
+            try {
+                writeRow(row, true);
+            } catch (IOException ioe) {
+                // can't happen, only writes to the scratch buffer
+                throw new IllegalStateException(ioe.getMessage(), ioe);
+            }
+        }
+        append(m_scratch.getBuffer(), m_scratch.size());
+        return true;
+    }
+
+    @Override
+    public BlobSupportDataRow get(final int index) {
+        final ByteBuffer page;
+        final int offset;
+        synchronized (this) {
+            Objects.checkIndex(index, m_size);
+            final long address = m_rowAddresses[index];
+            page = m_pages.get((int)(address >>> 32));
+            offset = (int)address;
+        }
+        final ByteBuffer view = page.duplicate();
+        view.limit(view.capacity()).position(offset);
+        try {
+            return readRow(new CellInput(new ByteBufferInputStream(view)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to decode row " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return m_size;
+    }
+
+    /**
+     * Returns the number of bytes held by this list, excluding the cells kept as objects.
+     *
+     * @return the bytes allocated for pages and row addresses
+     */
+    synchronized long getSizeInBytes() {
+        return m_pageBytes + 8L * m_rowAddresses.length;
+    }
+
+    /**
+     * @return the number of cells kept as objects rather than in serialized form
+     */
+    synchronized int getNrObjectCells() {
+        return m_objectCells.size();
+    }
+
+    private void writeRow(final BlobSupportDataRow row, final boolean cellsAsObjects) throws IOException {
+        m_scratchOut.writeUTF(row.getKey().getString());
+        final int nrCells = row.getNumCells();
+        m_scratchOut.writeInt(nrCells);
+        for (int i = 0; i < nrCells; i++) {
+            // the raw cell as we must not unwrap blobs
+            writeCell(row.getRawCell(i), cellsAsObjects);
+        }
+    }
+
+    private void writeCell(final DataCell cell, final boolean asObject) throws IOException {
+        if (cell == DataType.getMissingCell()) {
+            m_scratchOut.writeByte(TAG_MISSING);
+            return;
+        }
+        final int serializerIndex = asObject ? NOT_SERIALIZED : getSerializerIndex(cell.getClass());
+        if (serializerIndex == NOT_SERIALIZED) {
+            m_scratchOut.writeByte(TAG_OBJECT);
+            m_scratchOut.writeInt(m_objectCells.size());
+            m_objectCells.add(cell);
+        } else {
+            m_scratchOut.writeByte(TAG_FIRST_SERIALIZER + serializerIndex);
+            m_serializers[serializerIndex].serialize(cell, m_scratchOut);
+        }
+    }
+
+    private int getSerializerIndex(final Class<? extends DataCell> cellClass) {
+        return m_serializerIndices.computeIfAbsent(cellClass, c -> {
+            if (BlobWrapperDataCell.class.isAssignableFrom(c) || BlobDataCell.class.isAssignableFrom(c)
+                || FileStoreCell.class.isAssignableFrom(c)) {
+                return NOT_SERIALIZED;
+            }
+            final DataCellSerializer<DataCell>[] serializers = m_serializers;
+            if (serializers.length >= MAX_SERIALIZERS) {
+                return NOT_SERIALIZED;
+            }
+            return DataTypeRegistry.getInstance().getSerializer(c).map(s -> {
+                final DataCellSerializer<DataCell>[] newSerializers =
+                    Arrays.copyOf(serializers, serializers.length + 1);
+                newSerializers[serializers.length] = s;
+                m_serializers = newSerializers;
+                return serializers.length;
+            }).orElse(NOT_SERIALIZED);
+        });
+    }
+
+    private void append(final byte[] bytes, final int length) {
+        final int pageIndex;
+        final int offset;
+        if (length > PAGE_SIZE) {
+            final ByteBuffer page = allocatePage(length);
+            page.put(bytes, 0, length);
+            pageIndex = m_pages.size() - 1;
+            offset = 0;
+        } else {
+            if (m_currentPage == null || m_currentPage.remaining() < length) {
+                m_currentPage = allocatePage(PAGE_SIZE);
+                m_currentPageIndex = m_pages.size() - 1;
+            }
+            pageIndex = m_currentPageIndex;
+            offset = m_currentPage.position();
+            m_currentPage.put(bytes, 0, length);
+        }
+        if (m_size == m_rowAddresses.length) {
+            m_rowAddresses = Arrays.copyOf(m_rowAddresses, m_size + (m_size >> 1));
+        }
+        m_rowAddresses[m_size++] = ((long)pageIndex << 32) | offset;
+    }
+
+    private ByteBuffer allocatePage(final int capacity) {
+        final ByteBuffer page = m_offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        m_pages.add(page);
+        m_pageBytes += capacity;
+        if (m_offHeap) {
+            m_offHeapBytes.addAndGet(capacity);
+            MemoryLedger.reportOffHeapAllocation(capacity);
+        }
+        return page;
+    }
+
+    private BlobSupportDataRow readRow(final CellInput in) throws IOException {
+        final RowKey key = new RowKey(in.readUTF());
+        final DataCell[] cells = new DataCell[in.readInt()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = readCell(in);
+        }
+        return new BlobSupportDataRow(key, cells);
+    }
+
+    private DataCell readCell(final CellInput in) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_MISSING:
+                return DataType.getMissingCell();
+            case TAG_OBJECT:
+                return getObjectCell(in.readInt());
+            default:
+                return m_serializers[tag - TAG_FIRST_SERIALIZER].deserialize(in);
+        }
+    }
+
+    private synchronized DataCell getObjectCell(final int index) {
+        return m_objectCells.get(index);
+    }
+
+    /** Byte array output stream giving access to its buffer, which saves a copy per row. */
+    private static final class ScratchOutputStream extends ByteArrayOutputStream {
+
+        ScratchOutputStream() {
+            super(1024);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    /** Input stream reading from a byte buffer, starting at its current position. */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer m_buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            m_buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return m_buffer.hasRemaining() ? (m_buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!m_buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, m_buffer.remaining());
+            m_buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /** Output for serializers, nested cells are written like top-level cells. */
+    private final class CellOutput extends LongUTFDataOutputStream implements DataCellDataOutput {
+
+        CellOutput(final ByteArrayOutputStream out) {
+            super(new DataOutputStream(out));
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            writeCell(cell, false);
+        }
+    }
+
+    /** Input for serializers, nested cells are read like top-level cells. */
+    private final class CellInput extends LongUTFDataInputStream implements DataCellDataInput {
+
+        CellInput(final InputStream in) {
+            super(new DataInputStream(in));
+        }
+
+        @Override
+        public DataCell readDataCell() throws IOException {
+            return readCell(this);
+        }
+    }
+}
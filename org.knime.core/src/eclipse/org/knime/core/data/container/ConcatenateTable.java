@@ -46,6 +46,9 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -64,6 +67,7 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.Node;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
@@ -72,6 +76,10 @@
 import org.knime.core.util.DuplicateKeyException;
 
 /**
+ * A table concatenating the rows of its reference tables. Concatenations of concatenations (as often created by loop
+ * end nodes) are flattened on creation so that the table only ever references the &quot;leaf&quot; tables, i.e. it
+ * does not grow into a deep chain of wrappers. Row ranges (as per {@link TableFilter}) are routed to the
+ * corresponding reference tables via a binary search on the cumulative row counts.
  *
  * @author Bernd Wiswedel, University of Konstanz
  *
@@ -90,6 +98,8 @@ public final class ConcatenateTable implements KnowsRowCountTable {
     private DataTableSpec m_spec;
     private String m_rowKeyDuplicateSuffix;
     private DuplicatePolicy m_duplicatePolicy;
+    /** Cumulative row counts, i.e. element i is the index of the first row of table i; length is #tables + 1. */
+    private long[] m_rowOffsets;
 
     private ConcatenateTable(final BufferedDataTable[] tables,
         final String rowKeyDuplicateSuffix, final long rowCount, final DuplicatePolicy duplicatePolicy) {
@@ -120,6 +130,63 @@ private ConcatenateTable(final BufferedDataTable[] tables,
             m_spec = m_tablesWrapper.getDataTableSpec();
         }
         m_tables = tables;
+        m_rowOffsets = new long[tables.length + 1];
+        for (int i = 0; i < tables.length; i++) {
+            m_rowOffsets[i + 1] = m_rowOffsets[i] + tables[i].size();
+        }
+    }
+
+    /**
+     * Replaces argument tables that are themselves concatenations by the tables they concatenate, provided the result
+     * is identical (same row keys, same columns).
+     *
+     * @param tables the tables to concatenate
+     * @param duplicatePolicy the policy of the new (outer) table
+     * @return the argument array if nothing is flattened or a new array with the flattened tables
+     */
+    static BufferedDataTable[] flatten(final BufferedDataTable[] tables, final DuplicatePolicy duplicatePolicy) {
+        if (Stream.of(tables).noneMatch(t -> isFlattenable(t, duplicatePolicy))) {
+            return tables;
+        }
+        final List<BufferedDataTable> result = new ArrayList<>();
+        for (BufferedDataTable table : tables) {
+            if (isFlattenable(table, duplicatePolicy)) {
+                // the inner table was flattened on creation, its reference tables are 'leaves'
+                result.addAll(Arrays.asList(((ConcatenateTable)Node.invokeGetDelegate(table)).m_tables));
+            } else {
+                result.add(table);
+            }
+        }
+        return result.toArray(new BufferedDataTable[result.size()]);
+    }
+
+    private static boolean isFlattenable(final BufferedDataTable table, final DuplicatePolicy outerPolicy) {
+        if (!(Node.invokeGetDelegate(table) instanceof ConcatenateTable inner) || inner.m_tables.length == 0
+            || !allTableSpecsMatch(inner.m_tables)) {
+            return false;
+        }
+        // the inner table must retain the keys of its tables - unless the outer table generates new keys anyway
+        return outerPolicy == DuplicatePolicy.CreateNew
+            || (inner.m_duplicatePolicy == DuplicatePolicy.Fail && inner.m_rowKeyDuplicateSuffix == null);
+    }
+
+    /**
+     * Finds the index of the table containing the row with the given (global) index.
+     *
+     * @param rowIndex index of the row in this table, 0 &lt;= rowIndex &lt; size()
+     * @return the index of the table in {@link #getReferenceTables()}; empty tables are skipped
+     */
+    int getTableIndexForRow(final long rowIndex) {
+        int index = Arrays.binarySearch(m_rowOffsets, rowIndex);
+        if (index < 0) {
+            // insertion point is the first offset larger than rowIndex, the table before contains the row
+            return -index - 2;
+        }
+        // rowIndex is the first row of some table - skip empty tables that have the same offset
+        while (index < m_tables.length - 1 && m_rowOffsets[index + 1] == rowIndex) {
+            index++;
+        }
+        return index;
     }
 
     private static boolean allTableSpecsMatch(final BufferedDataTable[] tables) {
@@ -320,8 +387,8 @@ public static ConcatenateTable create(final ExecutionMonitor mon, final Optional
         if (duplicatesPreCheck && rowKeyDuplicateSuffix.isEmpty()) {
             checkForDuplicates(mon, tables, rowCount);
         }
-        return new ConcatenateTable(tables, rowKeyDuplicateSuffix.orElse(null), rowCount,
-            rowKeyDuplicateSuffix.isPresent() ? DuplicatePolicy.AppendSuffix : DuplicatePolicy.Fail);
+        final var policy = rowKeyDuplicateSuffix.isPresent() ? DuplicatePolicy.AppendSuffix : DuplicatePolicy.Fail;
+        return new ConcatenateTable(flatten(tables, policy), rowKeyDuplicateSuffix.orElse(null), rowCount, policy);
     }
 
     /**
@@ -340,7 +407,7 @@ public static ConcatenateTable create(final ExecutionMonitor mon, final Buffered
             rowCount += tables[i].size();
         }
         checkForDuplicates(mon, tables, rowCount);
-        return new ConcatenateTable(tables, null, rowCount, DuplicatePolicy.Fail);
+        return new ConcatenateTable(flatten(tables, DuplicatePolicy.Fail), null, rowCount, DuplicatePolicy.Fail);
     }
 
     /**
@@ -351,8 +418,8 @@ public static ConcatenateTable create(final ExecutionMonitor mon, final Buffered
      * @since 5.1
      */
     public static ConcatenateTable createWithNewRowIDs(final BufferedDataTable... tables) {
-        return new ConcatenateTable(tables, null, Stream.of(tables).mapToLong(BufferedDataTable::size).sum(),
-            DuplicatePolicy.CreateNew);
+        return new ConcatenateTable(flatten(tables, DuplicatePolicy.CreateNew), null,
+            Stream.of(tables).mapToLong(BufferedDataTable::size).sum(), DuplicatePolicy.CreateNew);
     }
 
     private static void checkForDuplicates(final ExecutionMonitor mon, final BufferedDataTable[] tables,
@@ -421,16 +488,16 @@ public DataRow next() {
         }
 
         DataRow internalNext() {
-            if (m_curIterator.hasNext()) {
-                return m_curIterator.next();
-            }
-            if (m_tableIndex < m_tables.length - 1) {
+            // iterative (not recursive) as there might be thousands of (empty) tables
+            while (!m_curIterator.hasNext()) {
+                if (m_tableIndex >= m_tables.length - 1) {
+                    return null;
+                }
                 m_curIterator.close();
                 m_tableIndex++;
                 m_curIterator = m_tables[m_tableIndex].iterator();
-                return internalNext();
             }
-            return null;
+            return m_curIterator.next();
         }
 
         @Override
@@ -466,20 +533,10 @@ private final class ConcatenateTableIteratorWithFilter extends ContatenateTableI
             m_toRowIndex = Math.min(m_filter.getToRowIndex().orElse(size() - 1), size() - 1);
             assert m_toRowIndex >= m_fromRowIndex;
 
-            // determine index of first table to iterate over
-            int tableIndex = 0;
-            long rowIndexOffset = 0L;
-            while (rowIndexOffset + m_tables[tableIndex].size() <= m_fromRowIndex) {
-                rowIndexOffset += m_tables[tableIndex++].size();
-            }
-            int firstTableIndex = tableIndex;
-            m_rowIndexOffset = rowIndexOffset;
-
-            // determine index of last table to iterate over
-            while (rowIndexOffset + m_tables[tableIndex].size() <= m_toRowIndex) {
-                rowIndexOffset += m_tables[tableIndex++].size();
-            }
-            m_lastTableIndex = tableIndex;
+            // determine index of first and last table to iterate over (binary search, there might be many tables)
+            final int firstTableIndex = m_fromRowIndex < 0 ? 0 : getTableIndexForRow(m_fromRowIndex);
+            m_rowIndexOffset = m_rowOffsets[firstTableIndex];
+            m_lastTableIndex = m_toRowIndex < 0 ? firstTableIndex : getTableIndexForRow(m_toRowIndex);
             m_numTables = m_lastTableIndex - firstTableIndex + 1;
 
             m_tableIndex = firstTableIndex;
@@ -511,18 +568,16 @@ private ExecutionMonitor createSubExecutionMonitor() {
 
         @Override
         DataRow internalNext() {
-            if (m_curIterator.hasNext()) {
-                return m_curIterator.next();
-            }
-            if (m_tableIndex < m_lastTableIndex) {
+            while (!m_curIterator.hasNext()) {
+                if (m_tableIndex >= m_lastTableIndex) {
+                    return null;
+                }
                 m_curIterator.close();
                 m_rowIndexOffset += m_tables[m_tableIndex].size();
                 m_tableIndex++;
-
                 m_curIterator = buildOffsetAdjustedIterator();
-                return internalNext();
             }
-            return null;
+            return m_curIterator.next();
         }
 
     }
@@ -158,6 +158,58 @@ RowKey readRowKey() throws IOException {
         return new RowKey(m_dataIn.readUTF());
     }
 
+    /** Reads a row key written by {@link DCObjectOutputVersion2#writeCompactRowKey(RowKey, long)}. Default keys are
+     * created without their string. Must be called on a blockable stream at the start of the row key block.
+     * @param previousIndex The {@linkplain RowKey#getDefaultRowIndex() default row index} of the previous key or -1.
+     * @return A new row key instance.
+     * @throws IOException If IO problems occur or the key is corrupt.
+     */
+    RowKey readCompactRowKey(final long previousIndex) throws IOException {
+        final int tag = m_dataIn.read();
+        switch (tag) {
+            case -1: // empty block
+                if (previousIndex < 0) {
+                    throw new IOException("Missing row key, previous key is not a default key");
+                }
+                return RowKey.createRowKey(previousIndex + 1);
+            case DCObjectOutputVersion2.ROW_KEY_STRING:
+                return new RowKey(m_dataIn.readUTF());
+            case DCObjectOutputVersion2.ROW_KEY_INDEX:
+                return RowKey.createRowKey(readUnsignedVarLong(Long.SIZE));
+            default:
+                throw new IOException("Invalid row key tag: " + tag);
+        }
+    }
+
+    /** Reads a string written by {@link DCObjectOutputVersion2#writeDictionaryString(String)}.
+     * @return The string.
+     * @throws IOException If IO problems occur.
+     */
+    String readDictionaryString() throws IOException {
+        return m_dataIn.readUTF();
+    }
+
+    /** Reads a code written by {@link DCObjectOutputVersion2#writeDictionaryCode(int)}.
+     * @return The code.
+     * @throws IOException If IO problems occur or the code is corrupt.
+     */
+    int readDictionaryCode() throws IOException {
+        return (int)readUnsignedVarLong(Integer.SIZE);
+    }
+
+    /** Reads a non-negative number written using one byte per 7 bits, the argument limits the number of bits. */
+    private long readUnsignedVarLong(final int maxBits) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < maxBits; shift += 7) {
+            final int b = m_dataIn.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number");
+    }
+
     /** Reads a single byte from the stream.
      * @return That byte.
      * @throws IOException If IO problems occur. */
@@ -74,6 +74,12 @@
  */
 public class DCObjectOutputVersion2 implements KNIMEStreamConstants, AutoCloseable {
 
+    /** Tag of a compact row key stored as string, see {@link #writeCompactRowKey(RowKey, long)}. */
+    static final int ROW_KEY_STRING = 0;
+
+    /** Tag of a compact row key stored as default row index, see {@link #writeCompactRowKey(RowKey, long)}. */
+    static final int ROW_KEY_INDEX = 1;
+
     /** This stream writes to m_out and is passed to the DataCellSerializer. */
     private DCLongUTFDataOutputStream m_dataOut;
 
@@ -137,6 +143,53 @@ void writeRowKey(final RowKey key) throws IOException {
         m_dataOut.writeUTF(key.getString());
     }
 
+    /** Writes a row key in the compact encoding, which stores nothing for a default key
+     * ({@link RowKey#createRowKey(long)}) that follows the previous key of the stream, the index for any other default
+     * key and the string otherwise. Must be followed by the end of the row key block.
+     * @param key The key to write.
+     * @param previousIndex The {@linkplain RowKey#getDefaultRowIndex() default row index} of the previous key or -1
+     *            if there is no previous key (or it isn't a default key).
+     * @return The default row index of the key, -1 if it isn't a default key.
+     * @throws IOException In case of stream corruption.
+     */
+    long writeCompactRowKey(final RowKey key, final long previousIndex) throws IOException {
+        final long index = key.getDefaultRowIndex();
+        if (index < 0) {
+            m_dataOut.write(ROW_KEY_STRING);
+            m_dataOut.writeUTF(key.getString());
+        } else if (previousIndex < 0 || index != previousIndex + 1) {
+            m_dataOut.write(ROW_KEY_INDEX);
+            writeUnsignedVarLong(index);
+        }
+        return index;
+    }
+
+    /** Writes a string that is added to a dictionary (see {@link StringDictionary}).
+     * @param value The string to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeDictionaryString(final String value) throws IOException {
+        m_dataOut.writeUTF(value);
+    }
+
+    /** Writes a dictionary code (see {@link StringDictionary}) using one byte per 7 bits.
+     * @param code The non-negative code to write.
+     * @throws IOException In case of stream corruption.
+     */
+    void writeDictionaryCode(final int code) throws IOException {
+        writeUnsignedVarLong(code);
+    }
+
+    /** Writes a non-negative number using one byte per 7 bits. */
+    private void writeUnsignedVarLong(final long number) throws IOException {
+        long value = number;
+        while ((value & ~0x7FL) != 0) {
+            m_dataOut.write((int)(value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        m_dataOut.write((int)value);
+    }
+
     /** Writes the argument byte.
      * @param controlByte The byte to write.
      * @throws IOException In case of stream corruption.
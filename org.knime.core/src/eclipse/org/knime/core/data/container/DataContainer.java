@@ -580,7 +580,7 @@ public static final File createTempFile() throws IOException {
      * @since 3.6
      */
     public static final File createTempFile(final String suffix) throws IOException {
-        return createTempFile(FileUtil.getWorkflowTempDir(), suffix);
+        return createTempFile(TempStorageManager.getInstance().nextDirectory(), suffix);
     }
 
     static final File createTempFile(final File dir, final String suffix) throws IOException {
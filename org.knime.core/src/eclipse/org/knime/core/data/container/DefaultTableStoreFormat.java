@@ -71,6 +71,7 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.workflow.NodeResourceTracker;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
 
@@ -94,6 +95,12 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     /** Compression format. */
     private static final String CFG_COMPRESSION = "container.compression";
 
+    /** Whether string columns are dictionary encoded (only present if true). */
+    static final String CFG_DICTIONARY_ENCODING = "container.dictionaryEncoding";
+
+    /** Whether row keys are stored in the compact encoding (only present if true). */
+    static final String CFG_COMPACT_ROW_KEYS = "container.compactRowKeys";
+
     /**
      * Checked function interface throwing an IOException.
      *
@@ -204,7 +211,7 @@ OutputStream getOutputStream(final OutputStream out) throws IOException {
          */
         @SuppressWarnings("resource")
         InputStream getInputStream(final File file) throws IOException {
-            final FileInputStream fis = new FileInputStream(file);
+            final InputStream fis = NodeResourceTracker.countBytesRead(new FileInputStream(file));
             try {
                 return m_inFunc.apply(fis);
             } catch (final IOException e) {
@@ -305,7 +312,7 @@ public AbstractTableStoreWriter createWriter(final File binFile, final DataTable
     @Override
     public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
         final boolean writeRowKey) throws IOException {
-        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings.getCompressionFormat());
+        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings);
     }
 
     @Override
@@ -363,6 +370,15 @@ public static final class DefaultTableStoreSettings {
         /** The compression format. */
         private final CompressionFormat m_compType;
 
+        /** Whether string columns are dictionary encoded. */
+        private final boolean m_dictionaryEncoding;
+
+        /** Whether row keys are stored in the compact encoding. */
+        private final boolean m_compactRowKeys;
+
+        /** Whether per-block statistics are recorded, see {@link ZoneMaps}. */
+        private final boolean m_zoneMaps;
+
         /** The default instance. */
         private static final DefaultTableStoreSettings DEFAULT_INSTANCE = new DefaultTableStoreSettings();
 
@@ -382,7 +398,18 @@ private DefaultTableStoreSettings() {
                 }
                 m_compType = compFormat;
             }
-
+            m_dictionaryEncoding = Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_DICTIONARY_ENCODING);
+            if (m_dictionaryEncoding) {
+                LOGGER.debug("Enabling dictionary encoding of string columns");
+            }
+            m_compactRowKeys = Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_COMPACT_ROW_KEYS);
+            if (m_compactRowKeys) {
+                LOGGER.debug("Enabling compact encoding of row keys");
+            }
+            m_zoneMaps = Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_ZONE_MAPS);
+            if (m_zoneMaps) {
+                LOGGER.debug("Enabling zone maps of tables");
+            }
         }
 
         /**
@@ -398,9 +425,16 @@ public static DefaultTableStoreSettings getDefault() {
          * Constructor.
          *
          * @param compFormat the compression format
+         * @param dictionaryEncoding whether string columns are dictionary encoded
+         * @param compactRowKeys whether row keys are stored in the compact encoding
+         * @param zoneMaps whether per-block statistics are recorded
          */
-        private DefaultTableStoreSettings(final CompressionFormat compFormat) {
+        private DefaultTableStoreSettings(final CompressionFormat compFormat, final boolean dictionaryEncoding,
+            final boolean compactRowKeys, final boolean zoneMaps) {
             m_compType = compFormat;
+            m_dictionaryEncoding = dictionaryEncoding;
+            m_compactRowKeys = compactRowKeys;
+            m_zoneMaps = zoneMaps;
         }
 
         /**
@@ -412,15 +446,74 @@ CompressionFormat getCompressionFormat() {
             return m_compType;
         }
 
+        /**
+         * Returns whether string columns are dictionary encoded.
+         *
+         * @return whether string columns are dictionary encoded
+         */
+        boolean isDictionaryEncoding() {
+            return m_dictionaryEncoding;
+        }
+
+        /**
+         * Returns whether row keys are stored in the compact encoding.
+         *
+         * @return whether row keys are stored in the compact encoding
+         */
+        boolean isCompactRowKeys() {
+            return m_compactRowKeys;
+        }
+
+        /**
+         * Returns whether per-block statistics are recorded.
+         *
+         * @return whether per-block statistics are recorded
+         */
+        boolean isZoneMaps() {
+            return m_zoneMaps;
+        }
+
         /**
          * Returns a copy using the new compression format.
          *
          * @param compFormat the compression format to be used
          * @return a copy using the new compression format
          */
-        @SuppressWarnings("static-method")
         public DefaultTableStoreSettings withCompression(final CompressionFormat compFormat) {
-            return new DefaultTableStoreSettings(compFormat);
+            return new DefaultTableStoreSettings(compFormat, m_dictionaryEncoding, m_compactRowKeys, m_zoneMaps);
+        }
+
+        /**
+         * Returns a copy using the new dictionary encoding setting.
+         *
+         * @param dictionaryEncoding whether string columns are to be dictionary encoded
+         * @return a copy using the new dictionary encoding setting
+         * @since 5.4
+         */
+        public DefaultTableStoreSettings withDictionaryEncoding(final boolean dictionaryEncoding) {
+            return new DefaultTableStoreSettings(m_compType, dictionaryEncoding, m_compactRowKeys, m_zoneMaps);
+        }
+
+        /**
+         * Returns a copy using the new row key encoding setting.
+         *
+         * @param compactRowKeys whether row keys are to be stored in the compact encoding
+         * @return a copy using the new row key encoding setting
+         * @since 5.4
+         */
+        public DefaultTableStoreSettings withCompactRowKeys(final boolean compactRowKeys) {
+            return new DefaultTableStoreSettings(m_compType, m_dictionaryEncoding, compactRowKeys, m_zoneMaps);
+        }
+
+        /**
+         * Returns a copy using the new zone map setting.
+         *
+         * @param zoneMaps whether per-block statistics are to be recorded
+         * @return a copy using the new zone map setting
+         * @since 5.4
+         */
+        public DefaultTableStoreSettings withZoneMaps(final boolean zoneMaps) {
+            return new DefaultTableStoreSettings(m_compType, m_dictionaryEncoding, m_compactRowKeys, zoneMaps);
         }
     }
 
@@ -53,8 +53,10 @@
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 
@@ -72,6 +74,13 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     private final boolean m_isReadRowKey;
 
+    private final boolean m_isDictionaryEncoded;
+
+    private final boolean m_isCompactRowKeys;
+
+    /** The per-block statistics of the table, null if not available. */
+    private final ZoneMaps m_zoneMaps;
+
     /**
      * Constructs a reader for materializing serialized KNIME tables.
      *
@@ -108,6 +117,9 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
             cF = CompressionFormat.GZIP;
         }
         m_compressionFormat = cF;
+        m_isDictionaryEncoded = settings.getBoolean(DefaultTableStoreFormat.CFG_DICTIONARY_ENCODING, false);
+        m_isCompactRowKeys = settings.getBoolean(DefaultTableStoreFormat.CFG_COMPACT_ROW_KEYS, false);
+        m_zoneMaps = ZoneMaps.load(settings, spec);
     }
 
     @Override
@@ -127,6 +139,23 @@ public TableStoreCloseableRowIterator iterator() {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * If the filter has column predicates and the table has {@link ZoneMaps}, blocks of rows that can't match are
+     * skipped without deserializing them.
+     */
+    @SuppressWarnings("resource")
+    @Override
+    public TableStoreCloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
+        if (m_zoneMaps != null && getReadVersion() > 5 && !filter.getColumnPredicates().isEmpty()
+            && getBuffer() != null && m_zoneMaps.isValidFor(size())) {
+            return new ZoneMaps.FilterIterator((BufferFromFileIteratorVersion20)iterator(), m_zoneMaps, filter,
+                size(), exec);
+        }
+        return super.iteratorWithFilter(filter, exec);
+    }
+
     /** @return Whether stream is zipped. */
     CompressionFormat getBinFileCompressionFormat() {
         return m_compressionFormat;
@@ -146,6 +175,17 @@ boolean isReadRowKey() {
         return m_isReadRowKey;
     }
 
+    /** @return whether string columns are dictionary encoded, see {@link StringDictionary}. */
+    boolean isDictionaryEncoded() {
+        return m_isDictionaryEncoded;
+    }
+
+    /** @return whether row keys are stored in the compact encoding, see
+     *          {@link DCObjectOutputVersion2#writeCompactRowKey(org.knime.core.data.RowKey, long)}. */
+    boolean isCompactRowKeys() {
+        return m_isCompactRowKeys;
+    }
+
     /**
      * @return number of records
      * @see org.knime.core.data.container.Buffer#size()
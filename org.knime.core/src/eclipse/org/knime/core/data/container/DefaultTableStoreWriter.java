@@ -48,17 +48,28 @@
 package org.knime.core.data.container;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.apache.commons.io.output.CountingOutputStream;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.workflow.NodeContext;
 
 /**
  * The default table store writer used to write tables to disc.
@@ -66,15 +77,42 @@
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
+    /**
+     * The number of rows serialized as one block in {@link #writeRows(List)}. The state carried from one row to the
+     * next (see {@link StreamState}) is reset at multiples of it.
+     */
+    static final int ROWS_PER_CHUNK = 128;
+
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
      * (to figure out when a cell implementation reads too many or too few bytes).
      */
     private final BlockableDCObjectOutputVersion2 m_outStream;
 
+    /**
+     * The (compressing) stream underneath m_outStream. Rows serialized concurrently into separate blocks (which are
+     * already escaped) are appended to this stream directly. None of the streams in between buffer any data, so its
+     * count is the offset of the next row in the uncompressed stream.
+     */
+    private CountingOutputStream m_rawOutStream;
+
+    /** The number of threads used to serialize rows in {@link #writeRows(List)}, 1 for sequential writing. */
+    private int m_maxSerializationThreads = 1;
+
     /** The compression format. */
     private final CompressionFormat m_compFormat;
 
+    /** Whether row keys are stored in the compact encoding. */
+    private final boolean m_compactRowKeys;
+
+    /** Collects the per-block statistics of the table, null if disabled. */
+    private final ZoneMaps.Builder m_zoneMaps;
+
+    /**
+     * The state of m_outStream. Replaced by the state of the last chunk when rows are serialized concurrently.
+     */
+    private StreamState m_state;
+
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
      *
@@ -86,8 +124,31 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
      */
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
         final CompressionFormat compFormat) throws IOException {
+        this(spec, outputStream, writeRowKey, DefaultTableStoreSettings.getDefault().withCompression(compFormat)
+            .withDictionaryEncoding(false).withCompactRowKeys(false));
+    }
+
+    /**
+     * Constructs a writer for writing KNIME tables to disk using the given settings, which determine the compression
+     * format and optionally enable dictionary encoding of string columns (see {@link StringDictionary}) and the
+     * compact encoding of row keys (see {@link DCObjectOutputVersion2#writeCompactRowKey(RowKey, long)}) and
+     * whether per-block statistics are recorded (see {@link ZoneMaps}).
+     *
+     * @param spec the specification of the KNIME table to write to disk
+     * @param outputStream
+     * @param writeRowKey a flag that determines whether to store the row keys in the Parquet file
+     * @param settings the table store settings
+     * @throws IOException any type of I/O problem
+     */
+    DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
+        final DefaultTableStoreSettings settings) throws IOException {
         super(spec, writeRowKey);
-        m_compFormat = compFormat;
+        m_compFormat = settings.getCompressionFormat();
+        m_compactRowKeys = writeRowKey && settings.isCompactRowKeys();
+        final boolean[] encodedColumns =
+            settings.isDictionaryEncoding() ? StringDictionary.getEncodedColumns(spec) : null;
+        m_state = new StreamState(0, encodedColumns == null ? null : new StringDictionary.Encoder(encodedColumns));
+        m_zoneMaps = settings.isZoneMaps() && spec.getNumColumns() > 0 ? new ZoneMaps.Builder(spec) : null;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
     }
 
@@ -98,28 +159,136 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
      */
     @Override
     public void writeRow(final DataRow row) throws IOException {
+        if (m_zoneMaps != null && m_state.m_rowIndex % ZoneMaps.ROWS_PER_BLOCK == 0) {
+            m_state.m_statistics = m_zoneMaps.startBlock(m_rawOutStream.getByteCount());
+        }
+        writeRow(row, m_outStream, m_state);
+    }
+
+    private void writeRow(final DataRow row, final BlockableDCObjectOutputVersion2 outStream,
+        final StreamState state) throws IOException {
+        if (state.m_rowIndex % ROWS_PER_CHUNK == 0) {
+            state.m_previousKeyIndex = -1;
+        }
         RowKey id = row.getKey();
-        writeRowKey(id, m_outStream);
+        writeRowKey(id, outStream, state);
+        final StringDictionary.Encoder dictionaryEncoder = state.m_dictionaryEncoder;
+        if (dictionaryEncoder != null) {
+            dictionaryEncoder.nextRow();
+        }
         for (int i = 0; i < row.getNumCells(); i++) {
             DataCell cell =
                 row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
-            writeDataCell(cell, m_outStream);
-            m_outStream.endBlock();
+            if (dictionaryEncoder == null || !dictionaryEncoder.writeDataCell(i, cell, outStream)) {
+                writeDataCell(cell, outStream);
+            }
+            outStream.endBlock();
+            if (state.m_statistics != null) {
+                state.m_statistics.add(i, cell);
+            }
+        }
+        outStream.endRow();
+        state.m_rowIndex++;
+    }
+
+    /**
+     * Sets the number of threads used to serialize the rows passed to {@link #writeRows(List)}.
+     *
+     * @param maxSerializationThreads the number of threads, values smaller than 2 disable concurrent serialization
+     */
+    void setMaxSerializationThreads(final int maxSerializationThreads) {
+        m_maxSerializationThreads = Math.max(1, maxSerializationThreads);
+    }
+
+    /**
+     * Serializes chunks of rows concurrently into separate byte blocks (on the container's
+     * {@linkplain BufferedDataContainerDelegate#ASYNC_EXECUTORS executor}) and appends the blocks in order. The state
+     * carried from one row to the next (compact row keys and the dictionaries of dictionary encoded tables) is reset
+     * at multiples of the chunk size (in terms of the whole table; the {@linkplain StringDictionary#ROWS_PER_BLOCK
+     * dictionary block size} is a multiple of {@link #ROWS_PER_CHUNK}) and chunks are aligned to these boundaries, so
+     * the result equals writing the rows one by one, except that the identifiers of cell types encountered for the
+     * first time may be assigned in a different order. The statistics of the chunks are merged into the
+     * {@linkplain ZoneMaps zone maps} as the chunks are appended.
+     */
+    @Override
+    public void writeRows(final List<? extends DataRow> rows) throws IOException {
+        final int chunkSize = m_state.m_dictionaryEncoder == null ? ROWS_PER_CHUNK : StringDictionary.ROWS_PER_BLOCK;
+        // rows up to the next chunk boundary are written sequentially
+        final int head = (int)Math.min(rows.size(), (chunkSize - m_state.m_rowIndex % chunkSize) % chunkSize);
+        final int nrChunks = (rows.size() - head + chunkSize - 1) / chunkSize;
+        if (m_maxSerializationThreads < 2 || nrChunks < 2) {
+            super.writeRows(rows);
+            return;
+        }
+        super.writeRows(rows.subList(0, head));
+        final int maxChunksInFlight = 2 * m_maxSerializationThreads;
+        final NodeContext nodeContext = NodeContext.getContext();
+        final Deque<SerializedChunk> pending = new ArrayDeque<>(maxChunksInFlight);
+        StreamState lastState = m_state;
+        ZoneMaps.Statistics blockStatistics = null;
+        int nextChunk = 0;
+        try {
+            for (int i = 0; i < nrChunks; i++) {
+                while (nextChunk < nrChunks && pending.size() < maxChunksInFlight) {
+                    final int from = head + nextChunk * chunkSize;
+                    final var chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+                    final long firstRowIndex = m_state.m_rowIndex + from - head;
+                    final var state = lastState.newChunkState(firstRowIndex,
+                        m_zoneMaps == null ? null : m_zoneMaps.newStatistics());
+                    pending.add(new SerializedChunk(() -> serialize(chunk, state, nodeContext), firstRowIndex,
+                        state.m_statistics));
+                    lastState = state;
+                    nextChunk++;
+                }
+                final SerializedChunk chunk = pending.poll();
+                if (m_zoneMaps != null && chunk.m_firstRowIndex % ZoneMaps.ROWS_PER_BLOCK == 0) {
+                    m_zoneMaps.startBlock(m_rawOutStream.getByteCount());
+                }
+                chunk.writeTo(m_rawOutStream);
+                if (m_zoneMaps != null) {
+                    blockStatistics = m_zoneMaps.merge(chunk.m_statistics);
+                }
+            }
+        } finally {
+            pending.forEach(SerializedChunk::cancel);
+        }
+        // subsequent rows continue the (possibly incomplete) last chunk
+        m_state = lastState;
+        m_state.m_statistics = blockStatistics;
+    }
+
+    private byte[] serialize(final List<? extends DataRow> rows, final StreamState state,
+        final NodeContext nodeContext) throws IOException {
+        NodeContext.pushContext(nodeContext);
+        try {
+            final var bytes = new ByteArrayOutputStream();
+            try (var chunkStream = new BlockableDCObjectOutputVersion2(bytes, this)) {
+                for (DataRow row : rows) {
+                    writeRow(row, chunkStream, state);
+                }
+            }
+            return bytes.toByteArray();
+        } finally {
+            NodeContext.removeLastContext();
         }
-        m_outStream.endRow();
     }
 
     /**
-     * Writes the row key to the out stream. This method is overridden in {@link NoKeyBuffer} in order to skip the row
-     * key.
+     * Writes the row key to the out stream, unless row keys are skipped (as in {@link NoKeyBuffer}).
      *
      * @param key The key to write.
      * @param outStream To write to.
+     * @param state The state of the stream, tracks the previous key in the compact encoding.
      * @throws IOException If that fails.
      */
-    void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStream) throws IOException {
+    private void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStream,
+        final StreamState state) throws IOException {
         if (isWriteRowKey()) {
-            outStream.writeRowKey(key);
+            if (m_compactRowKeys) {
+                state.m_previousKeyIndex = outStream.writeCompactRowKey(key, state.m_previousKeyIndex);
+            } else {
+                outStream.writeRowKey(key);
+            }
             outStream.endBlock();
         }
     }
@@ -129,14 +298,30 @@ void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStre
      */
     @SuppressWarnings("resource")
     private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream) throws IOException {
-        final OutputStream out = m_compFormat.getOutputStream(outStream);
+        final var out = new CountingOutputStream(m_compFormat.getOutputStream(outStream));
+        m_rawOutStream = out;
         return new BlockableDCObjectOutputVersion2(out, this);
     }
 
+    @Override
+    protected boolean isDictionaryEncoding() {
+        return m_state.m_dictionaryEncoder != null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
         m_compFormat.saveSettings(settings);
+        if (m_state.m_dictionaryEncoder != null) {
+            settings.addBoolean(DefaultTableStoreFormat.CFG_DICTIONARY_ENCODING, true);
+        }
+        if (m_compactRowKeys) {
+            settings.addBoolean(DefaultTableStoreFormat.CFG_COMPACT_ROW_KEYS, true);
+        }
+        final ZoneMaps zoneMaps = m_zoneMaps == null ? null : m_zoneMaps.build();
+        if (zoneMaps != null) {
+            zoneMaps.save(settings);
+        }
         super.writeMetaInfoAfterWrite(settings);
     }
 
@@ -146,4 +331,94 @@ public void close() throws IOException {
         m_outStream.close();
     }
 
+    /**
+     * The state carried from one row to the next within a stream or a concurrently serialized chunk of rows. Not
+     * thread-safe.
+     */
+    private static final class StreamState {
+
+        /** Index (in the whole table) of the next row written. */
+        private long m_rowIndex;
+
+        /** Default row index of the previous key (compact row keys only), -1 if none or reset. */
+        private long m_previousKeyIndex = -1;
+
+        /** Encodes the string columns, null if dictionary encoding is disabled or there are no string columns. */
+        private final StringDictionary.Encoder m_dictionaryEncoder;
+
+        /** The statistics the written cells are added to, null if zone maps are disabled. */
+        private ZoneMaps.Statistics m_statistics;
+
+        StreamState(final long rowIndex, final StringDictionary.Encoder dictionaryEncoder) {
+            m_rowIndex = rowIndex;
+            m_dictionaryEncoder = dictionaryEncoder;
+        }
+
+        /**
+         * @param rowIndex the index of the first row of the chunk, a multiple of the chunk size
+         * @param statistics the statistics of the chunk, null if zone maps are disabled
+         * @return the (reset) state of a chunk starting at the given row
+         */
+        StreamState newChunkState(final long rowIndex, final ZoneMaps.Statistics statistics) {
+            final var state =
+                new StreamState(rowIndex, m_dictionaryEncoder == null ? null : m_dictionaryEncoder.newEncoder());
+            state.m_statistics = statistics;
+            return state;
+        }
+    }
+
+    /**
+     * A chunk of rows serialized by the container's executor. If the serialization hasn't been started when the
+     * result is needed (e.g. because all threads are busy, possibly with waiting for this very chunk) it's done by the
+     * calling thread.
+     */
+    private static final class SerializedChunk {
+
+        private final Callable<byte[]> m_task;
+
+        private final Future<byte[]> m_future;
+
+        /** Index (in the whole table) of the first row of the chunk. */
+        private final long m_firstRowIndex;
+
+        /** The statistics of the rows of the chunk, null if zone maps are disabled. */
+        private final ZoneMaps.Statistics m_statistics;
+
+        SerializedChunk(final Callable<byte[]> task, final long firstRowIndex, final ZoneMaps.Statistics statistics) {
+            m_task = task;
+            m_firstRowIndex = firstRowIndex;
+            m_statistics = statistics;
+            m_future = BufferedDataContainerDelegate.ASYNC_EXECUTORS.submit(task);
+        }
+
+        void writeTo(final OutputStream out) throws IOException {
+            final byte[] bytes;
+            try {
+                bytes = m_future.cancel(false) ? m_task.call() : m_future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for serialized rows");
+            } catch (ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                } else if (cause instanceof RuntimeException re) {
+                    throw re;
+                } else if (cause instanceof Error e) {
+                    throw e;
+                }
+                throw new IOException(cause.getMessage(), cause);
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) { // NOSONAR Callable#call declares Exception
+                throw new IOException(e.getMessage(), e);
+            }
+            out.write(bytes);
+        }
+
+        void cancel() {
+            m_future.cancel(false);
+        }
+    }
+
 }
@@ -55,6 +55,8 @@
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.filter.ColumnPredicate;
+import org.knime.core.data.container.filter.FilterDelegateRowIterator;
 import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.v2.RowCursor;
 import org.knime.core.node.BufferedDataTable;
@@ -131,9 +133,10 @@ public CloseableRowIterator iterator() {
 
     @Override
     public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final ExecutionMonitor exec) {
-        // apply row index filter to left and right tables
-        final TableFilter.Builder leftFilterBuilder = new TableFilter.Builder(filter);
-        final TableFilter.Builder rightFilterBuilder = new TableFilter.Builder(filter);
+        // apply row index filter to left and right tables; column predicates are evaluated on the joined rows since
+        // the rows of both tables need to stay aligned
+        final TableFilter.Builder leftFilterBuilder = new TableFilter.Builder(filter).withoutColumnPredicates();
+        final TableFilter.Builder rightFilterBuilder = new TableFilter.Builder(filter).withoutColumnPredicates();
 
         // split column indec filters across left and right tables
         final Optional<Set<Integer>> optionalIndices = filter.getMaterializeColumnIndices();
@@ -146,10 +149,16 @@ public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final E
             rightFilterBuilder.withMaterializeColumnIndices(rightIndices);
         }
 
-        return new JoinTableIterator(//
+        final CloseableRowIterator joinedIt = new JoinTableIterator(//
             m_leftTable.filter(leftFilterBuilder.build(), exec).iterator(), //
             m_rightTable.filter(rightFilterBuilder.build()).iterator(), //
             m_map, m_flags);
+        if (filter.getColumnPredicates().isEmpty()) {
+            return joinedIt;
+        }
+        final TableFilter predicateFilter =
+            TableFilter.filterRows(filter.getColumnPredicates().toArray(ColumnPredicate[]::new));
+        return new FilterDelegateRowIterator(joinedIt, predicateFilter, size(), null);
     }
 
     /**
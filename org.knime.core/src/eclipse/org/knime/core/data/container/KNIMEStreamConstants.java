@@ -81,5 +81,18 @@ public interface KNIMEStreamConstants {
     /** Separator for different rows. */
     static final byte BYTE_ROW_SEPARATOR = BYTE_TYPE_MISSING + 3;
 
+    /**
+     * The char for a string that is added to the dictionary of its column (only in dictionary encoded tables). The
+     * type identifiers end right before it.
+     * @since 5.4
+     */
+    static final byte BYTE_TYPE_DICTIONARY_ENTRY = Byte.MAX_VALUE - 1;
+
+    /**
+     * The char for a reference to an entry in the dictionary of a column (only in dictionary encoded tables).
+     * @since 5.4
+     */
+    static final byte BYTE_TYPE_DICTIONARY_REFERENCE = Byte.MAX_VALUE;
+
 
 }
@@ -0,0 +1,300 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.RearrangeColumnsTable.NewColumnsProducerMapping;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Computes the new columns of a {@link RearrangeColumnsTable} concurrently by splitting the input table into
+ * contiguous row ranges. The calling thread reads the input sequentially and hands each range as a whole to a task in
+ * the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool}, which computes the appended rows into a range-local
+ * batch. The calling thread appends the batches to the output container in range order, i.e. there is no per-row task
+ * handoff and no reordering cache (as in {@link org.knime.core.util.MultiThreadWorker}).
+ *
+ * <p>
+ * The number of rows in flight (queued, computed or finished but not yet appended) is bounded by the queue size of the
+ * cell factories (see {@link AbstractCellFactory#getMaxQueueSize()}); ranges are made smaller if needed.
+ *
+ * @author agent
+ */
+final class ParallelNewColCalculator {
+
+    /** Upper bound for the number of rows in a single range. Small enough so that a batch stays in memory. */
+    static final int MAX_RANGE_SIZE = 1024;
+
+    /** Number of ranges per worker (if the table is small enough) - allows some load balancing between workers. */
+    private static final int RANGES_PER_WORKER = 8;
+
+    /** Interval in which the calling thread updates the progress while waiting for the next batch. */
+    private static final long PROGRESS_INTERVAL_MS = 500;
+
+    /** Workers flush their local row count into the shared counter every that many rows. */
+    private static final int PROGRESS_FLUSH_INTERVAL = 64;
+
+    private final BufferedDataTable m_table;
+
+    private final NewColumnsProducerMapping m_producerMapping;
+
+    private final RowAppender m_container;
+
+    private final ExecutionMonitor m_subProgress;
+
+    private final CellFactory m_facForProgress;
+
+    private final int m_maxWorkers;
+
+    private final int m_maxQueueSize;
+
+    private final AtomicLong m_processedRowCount = new AtomicLong();
+
+    private volatile RowKey m_lastProcessedKey;
+
+    private volatile boolean m_isCanceled;
+
+    /**
+     * @param table the input table
+     * @param producerMapping the new columns producers, passed to
+     *            {@link RearrangeColumnsTable#calcNewCellsForRow(DataRow, NewColumnsProducerMapping, long)}
+     * @param container the container to add the new (appended) rows to
+     * @param subProgress for progress and cancelation
+     * @param facForProgress the factory whose {@link CellFactory#setProgress(long, long, RowKey, ExecutionMonitor)}
+     *            method is called
+     * @param maxWorkers the number of workers the ranges are sized for, &gt; 0; up to twice as many ranges may be
+     *            submitted at a time (see {@link #getMaxRangesInFlight(int, int, int)}) to keep the workers busy
+     * @param maxQueueSize the maximum number of rows in flight, &gt;= maxWorkers
+     */
+    ParallelNewColCalculator(final BufferedDataTable table, final NewColumnsProducerMapping producerMapping,
+        final RowAppender container, final ExecutionMonitor subProgress, final CellFactory facForProgress,
+        final int maxWorkers, final int maxQueueSize) {
+        if (maxWorkers <= 0) {
+            throw new IllegalArgumentException("Worker count must be larger than 0: " + maxWorkers);
+        }
+        if (maxQueueSize < maxWorkers) {
+            throw new IllegalArgumentException(
+                "Queue size must not be smaller than worker count: " + maxQueueSize + " < " + maxWorkers);
+        }
+        m_table = table;
+        m_producerMapping = producerMapping;
+        m_container = container;
+        m_subProgress = subProgress;
+        m_facForProgress = facForProgress;
+        m_maxWorkers = maxWorkers;
+        m_maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Determines the number of rows per range for a table of the given size.
+     *
+     * @param rowCount the number of rows in the input table
+     * @param workers the number of workers
+     * @param queueSize the maximum number of rows in flight
+     * @return the range size, at least 1 and at most {@link #MAX_RANGE_SIZE} and <code>queueSize / workers</code>
+     */
+    static int getRangeSize(final long rowCount, final int workers, final int queueSize) {
+        final long nrRanges = (long)workers * RANGES_PER_WORKER;
+        final long rangeSize = (rowCount + nrRanges - 1) / nrRanges;
+        final int maxRangeSize = Math.min(MAX_RANGE_SIZE, queueSize / workers);
+        return (int)Math.max(1, Math.min(maxRangeSize, rangeSize));
+    }
+
+    /**
+     * Determines the number of ranges that are submitted but not yet appended to the output.
+     *
+     * @param rangeSize the range size as per {@link #getRangeSize(long, int, int)}
+     * @param workers the number of workers
+     * @param queueSize the maximum number of rows in flight
+     * @return the number of ranges, between <code>workers</code> and <code>2 * workers</code>
+     */
+    static int getMaxRangesInFlight(final int rangeSize, final int workers, final int queueSize) {
+        return Math.max(workers, Math.min(2 * workers, queueSize / rangeSize));
+    }
+
+    /**
+     * Processes the entire input table and adds the new rows to the container in input order.
+     *
+     * @throws CanceledExecutionException if canceled via the execution monitor
+     */
+    void run() throws CanceledExecutionException {
+        final ThreadPool currentPool = ThreadPool.currentPool();
+        if (currentPool == null) {
+            innerRun();
+            return;
+        }
+        // the calling thread mostly waits for ranges queued to the same pool -- don't let it block a slot in the pool
+        try {
+            currentPool.runInvisible(() -> {
+                innerRun();
+                return null;
+            });
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new RuntimeException(cause == null ? e : cause);
+        }
+    }
+
+    private void innerRun() throws CanceledExecutionException {
+        final long rowCount = m_table.size();
+        final int rangeSize = getRangeSize(rowCount, m_maxWorkers, m_maxQueueSize);
+        final int maxRangesInFlight = getMaxRangesInFlight(rangeSize, m_maxWorkers, m_maxQueueSize);
+        final ArrayDeque<Future<List<DataRow>>> pendingRanges = new ArrayDeque<>(maxRangesInFlight);
+        long nextRangeStart = 0;
+        long rowsAdded = 0;
+        try (CloseableRowIterator it = m_table.iterator()) {
+            while (it.hasNext() || !pendingRanges.isEmpty()) {
+                while (it.hasNext() && pendingRanges.size() < maxRangesInFlight) {
+                    final List<DataRow> range = new ArrayList<>(rangeSize);
+                    for (int i = 0; i < rangeSize && it.hasNext(); i++) {
+                        range.add(it.next());
+                    }
+                    final long from = nextRangeStart;
+                    pendingRanges.add(KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> processRange(range, from)));
+                    nextRangeStart += range.size();
+                }
+                final List<DataRow> batch = waitFor(pendingRanges.peekFirst(), rowCount);
+                pendingRanges.removeFirst();
+                for (DataRow row : batch) {
+                    m_container.addRowToTable(row);
+                }
+                rowsAdded += batch.size();
+                if (!batch.isEmpty()) {
+                    m_facForProgress.setProgress(rowsAdded, rowCount, batch.get(batch.size() - 1).getKey(),
+                        m_subProgress);
+                }
+                m_subProgress.checkCanceled();
+            }
+        } finally {
+            if (!pendingRanges.isEmpty()) {
+                m_isCanceled = true;
+                pendingRanges.forEach(f -> f.cancel(true));
+            }
+        }
+    }
+
+    /** Waits for the argument future and updates the progress while waiting. Unwraps exceptions. */
+    private List<DataRow> waitFor(final Future<List<DataRow>> future, final long rowCount)
+        throws CanceledExecutionException {
+        while (true) {
+            try {
+                return future.get(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException te) { // NOSONAR timeout is expected, used to update progress
+                m_subProgress.checkCanceled();
+                final RowKey lastKey = m_lastProcessedKey;
+                if (lastKey != null) {
+                    m_facForProgress.setProgress(m_processedRowCount.get(), rowCount, lastKey, m_subProgress);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
+                cee.initCause(e);
+                throw cee;
+            } catch (CancellationException e) {
+                CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
+                cee.initCause(e);
+                throw cee;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause == null) {
+                    cause = e;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    /** Computes the new cells for all rows in the range (first row has index <code>from</code>), called in a worker
+     * thread. The result list replaces the input rows in place to avoid a second list allocation. */
+    private List<DataRow> processRange(final List<DataRow> range, final long from) {
+        int unflushedCount = 0;
+        final int size = range.size();
+        for (int i = 0; i < size; i++) {
+            if (m_isCanceled) {
+                throw new CancellationException();
+            }
+            final DataRow row = range.get(i);
+            range.set(i, RearrangeColumnsTable.calcNewCellsForRow(row, m_producerMapping, from + i));
+            if (++unflushedCount == PROGRESS_FLUSH_INTERVAL) {
+                m_processedRowCount.addAndGet(unflushedCount);
+                m_lastProcessedKey = row.getKey();
+                unflushedCount = 0;
+            }
+        }
+        m_processedRowCount.addAndGet(unflushedCount);
+        return range;
+    }
+
+}
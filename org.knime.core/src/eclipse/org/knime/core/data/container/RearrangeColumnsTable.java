@@ -59,8 +59,6 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.CancellationException;
-import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -71,6 +69,8 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.ColumnRearranger.SpecAndFactoryObject;
+import org.knime.core.data.container.filter.ColumnPredicate;
+import org.knime.core.data.container.filter.FilterDelegateRowIterator;
 import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.filestore.FileStoreFactory;
@@ -88,7 +88,6 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.workflow.WorkflowDataRepository;
-import org.knime.core.util.MultiThreadWorker;
 import org.knime.core.util.Pair;
 
 /**
@@ -339,22 +338,29 @@ public CloseableRowIterator iteratorWithFilter(final TableFilter filter, final E
         final Supplier<IntStream> indicesSup = () -> filter.getMaterializeColumnIndices()
             .map(o -> o.stream().mapToInt(i -> i)).orElse(IntStream.range(0, m_map.length));
 
-         // determine iterator for appended table
+        // column predicates are evaluated on the rearranged rows since the rows of both tables need to stay aligned
+        // determine iterator for appended table
         CloseableRowIterator appendIt = EMPTY_ITERATOR;
         if (m_appendTable != null) {
-            final TableFilter.Builder appendFilterBuilder = new TableFilter.Builder(filter);
+            final TableFilter.Builder appendFilterBuilder = new TableFilter.Builder(filter).withoutColumnPredicates();
             final int[] appendIndices = indicesSup.get().filter(i -> !m_isFromRefTable[i]).map(i -> m_map[i]).toArray();
             appendFilterBuilder.withMaterializeColumnIndices(appendIndices);
             appendIt = m_appendTable.iteratorWithFilter(appendFilterBuilder.build());
         }
 
         // determine iterator for reference table
-        final TableFilter.Builder referenceFilterBuilder = new TableFilter.Builder(filter);
+        final TableFilter.Builder referenceFilterBuilder = new TableFilter.Builder(filter).withoutColumnPredicates();
         final int[] refIndices = indicesSup.get().filter(i -> m_isFromRefTable[i]).map(i -> m_map[i]).toArray();
         referenceFilterBuilder.withMaterializeColumnIndices(refIndices);
         final CloseableRowIterator refIt = m_reference.filter(referenceFilterBuilder.build(), exec).iterator();
 
-        return new JoinTableIterator(refIt, appendIt, m_map, m_isFromRefTable);
+        final CloseableRowIterator joinedIt = new JoinTableIterator(refIt, appendIt, m_map, m_isFromRefTable);
+        if (filter.getColumnPredicates().isEmpty()) {
+            return joinedIt;
+        }
+        final TableFilter predicateFilter =
+            TableFilter.filterRows(filter.getColumnPredicates().toArray(ColumnPredicate[]::new));
+        return new FilterDelegateRowIterator(joinedIt, predicateFilter, size(), null);
     }
 
     /**
@@ -495,12 +501,11 @@ private static void calcNewColsSynchronously(final BufferedDataTable table, fina
     }
 
     /**
-     * Processes input concurrently using a {@link ConcurrentNewColCalculator}.
+     * Processes input concurrently using a {@link ParallelNewColCalculator}, i.e. in contiguous row ranges.
      */
     private static void calcNewColsASynchronously(final BufferedDataTable table, final ExecutionMonitor subProgress,
         final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container)
         throws CanceledExecutionException {
-        long finalRowCount = table.size();
         CellFactory facForProgress = null;
         int workers = Integer.MAX_VALUE;
         int queueSize = Integer.MAX_VALUE;
@@ -520,26 +525,9 @@ private static void calcNewColsASynchronously(final BufferedDataTable table, fin
         }
         assert facForProgress != null;
         assert workers > 0 : "Nr workers <= 0: " + workers;
-        assert queueSize > 0 : "queue size <= 0: " + queueSize;
-        ConcurrentNewColCalculator calculator =
-            new ConcurrentNewColCalculator(queueSize, workers, container, subProgress, finalRowCount,
-                newColsProducerMapping, facForProgress);
-        try {
-            calculator.run(table);
-        } catch (InterruptedException e) {
-            CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
-            cee.initCause(e);
-            throw cee;
-        } catch (ExecutionException e) {
-            Throwable cause = e.getCause();
-            if (cause == null) {
-                cause = e;
-            }
-            if (cause instanceof RuntimeException) {
-                throw (RuntimeException)cause;
-            }
-            throw new RuntimeException(cause);
-        }
+        assert queueSize >= workers : "Queue size < nr workers: " + queueSize + " < " + workers;
+        new ParallelNewColCalculator(table, newColsProducerMapping, container, subProgress, facForProgress, workers,
+            queueSize).run();
     }
 
     private static Set<Class<? extends CellFactory>> codingProblemsCellFactoryClasses;
@@ -741,67 +729,6 @@ public boolean removeFromTableRepository(final WorkflowDataRepository dataReposi
         return false;
     }
 
-    /**
-     * The MultiThreadWorker that processes the input rows concurrently. Only used if the cell factory is an
-     * {@link AbstractCellFactory} with parallel processing ( {@link AbstractCellFactory#setParallelProcessing(boolean)}
-     * )
-     */
-    private static final class ConcurrentNewColCalculator extends MultiThreadWorker<DataRow, DataRow> {
-
-        private final ExecutionMonitor m_subProgress;
-
-        private NewColumnsProducerMapping m_reducedList;
-
-        private DataContainer m_container;
-
-        private final long m_totalRowCount;
-
-        private final CellFactory m_facForProgress;
-
-        /**
-         * @param maxQueueSize
-         * @param maxActiveInstanceSize
-         * @param table
-         * @param subProgress
-         * @param reducedList
-         * @param newColCount
-         * @param container
-         */
-        private ConcurrentNewColCalculator(final int maxQueueSize, final int maxActiveInstanceSize,
-            final DataContainer container, final ExecutionMonitor subProgress, final long totalRowCount,
-            final NewColumnsProducerMapping reducedList, final CellFactory facForProgress) {
-            super(maxQueueSize, maxActiveInstanceSize);
-            m_container = container;
-            m_subProgress = subProgress;
-            m_totalRowCount = totalRowCount;
-            m_reducedList = reducedList;
-            m_facForProgress = facForProgress;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        protected DataRow compute(final DataRow in, final long index) throws Exception {
-            return calcNewCellsForRow(in, m_reducedList, index);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        protected void processFinished(final ComputationTask task) throws ExecutionException, CancellationException,
-            InterruptedException {
-            int r = (int)task.getIndex(); // row count in table is integer
-            RowKey key = task.getInput().getKey();
-            DataRow append = task.get(); // exception falls through
-            m_container.addRowToTable(append);
-            m_facForProgress.setProgress(r + 1, m_totalRowCount, key, m_subProgress);
-            try {
-                m_subProgress.checkCanceled();
-            } catch (CanceledExecutionException cee) {
-                throw new CancellationException();
-            }
-        }
-
-    }
-
     /**
      * A class that helps to distinguish SpecAndFactoryObjects. There are three kinds: representing input columns,
      * created with a cell factory, created with a converter (often molecular type adapter)
@@ -0,0 +1,270 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Dictionary encoding of string columns in the {@link DefaultTableStoreFormat}. Rows are grouped into blocks of
+ * {@link #ROWS_PER_BLOCK} rows; within a block each string column has its own dictionary. The first occurrence of a
+ * value in a block is written as {@link KNIMEStreamConstants#BYTE_TYPE_DICTIONARY_ENTRY} followed by the string (the
+ * entry implicitly gets the next code), later occurrences as
+ * {@link KNIMEStreamConstants#BYTE_TYPE_DICTIONARY_REFERENCE} followed by the (variable length) code. Columns with
+ * more than {@link #MAX_ENTRIES_PER_BLOCK} distinct values in a block fall back to the plain cell encoding for the rest
+ * of the block, which is self-describing, so the reader doesn't need to know about it.
+ * <p>
+ * Blocks are independent of each other -- also the decision whether a column is encoded is made per block -- which
+ * allows writers to serialize whole blocks concurrently with the same result as writing them in sequence. Readers share
+ * one {@link StringCell} instance per distinct value (also across blocks, up to {@link #MAX_SHARED_CELLS} values per
+ * column).
+ *
+ * @author agent
+ */
+final class StringDictionary {
+
+    /** The number of rows sharing one dictionary. Writer and reader must agree on it. */
+    static final int ROWS_PER_BLOCK = 4096;
+
+    /** The maximum number of distinct values per column in a block before falling back to plain encoding. */
+    static final int MAX_ENTRIES_PER_BLOCK = 256;
+
+    /** The maximum number of distinct cell instances per column a reader keeps for sharing across blocks. */
+    static final int MAX_SHARED_CELLS = 1024;
+
+    private StringDictionary() {
+    }
+
+    /**
+     * Determines the columns to be encoded, which are all columns of type {@link StringCell#TYPE}. The domain can't be
+     * used as hint as it's usually not known when the table is written (the encoder adapts instead).
+     *
+     * @param spec the spec of the table
+     * @return the flags of the columns to be encoded, <code>null</code> if there are none
+     */
+    static boolean[] getEncodedColumns(final DataTableSpec spec) {
+        final boolean[] result = new boolean[spec.getNumColumns()];
+        boolean hasStringColumn = false;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = StringCell.TYPE.equals(spec.getColumnSpec(i).getType());
+            hasStringColumn |= result[i];
+        }
+        return hasStringColumn ? result : null;
+    }
+
+    /** Writer side, one instance per stream (or per concurrently serialized block). Not thread-safe. */
+    static final class Encoder {
+
+        /** The columns to be encoded, not modified. */
+        private final boolean[] m_columnsToEncode;
+
+        /** The columns encoded in the current block, columns exceeding the maximum number of entries are disabled. */
+        private final boolean[] m_encodedColumns;
+
+        private final Map<String, Integer>[] m_dictionaries;
+
+        private int m_rowsInBlock;
+
+        /**
+         * @param columnsToEncode the flags of the columns to be encoded, see {@link #getEncodedColumns(DataTableSpec)};
+         *            not modified
+         */
+        @SuppressWarnings("unchecked")
+        Encoder(final boolean[] columnsToEncode) {
+            m_columnsToEncode = columnsToEncode;
+            m_encodedColumns = columnsToEncode.clone();
+            m_dictionaries = new Map[columnsToEncode.length];
+        }
+
+        /**
+         * @return a new encoder for the same columns starting with an empty block
+         */
+        Encoder newEncoder() {
+            return new Encoder(m_columnsToEncode);
+        }
+
+        /** Called before the cells of a row are written, starts a new block if needed. */
+        void nextRow() {
+            if (m_rowsInBlock == ROWS_PER_BLOCK) {
+                for (Map<String, Integer> dictionary : m_dictionaries) {
+                    if (dictionary != null) {
+                        dictionary.clear();
+                    }
+                }
+                System.arraycopy(m_columnsToEncode, 0, m_encodedColumns, 0, m_encodedColumns.length);
+                m_rowsInBlock = 0;
+            }
+            m_rowsInBlock++;
+        }
+
+        /**
+         * Writes the cell of the given column dictionary encoded, if possible.
+         *
+         * @param column the column index
+         * @param cell the cell to write
+         * @param outStream to write to
+         * @return <code>true</code> if the cell was written, <code>false</code> if it needs to be written as usual
+         * @throws IOException If writing fails.
+         */
+        boolean writeDataCell(final int column, final DataCell cell, final DCObjectOutputVersion2 outStream)
+            throws IOException {
+            // only plain string cells -- not subclasses and not missing cells
+            if (!m_encodedColumns[column] || cell.getClass() != StringCell.class) {
+                return false;
+            }
+            Map<String, Integer> dictionary = m_dictionaries[column];
+            if (dictionary == null) {
+                dictionary = new HashMap<>();
+                m_dictionaries[column] = dictionary;
+            }
+            final String value = ((StringCell)cell).getStringValue();
+            final Integer code = dictionary.get(value);
+            if (code != null) {
+                outStream.writeControlByte(KNIMEStreamConstants.BYTE_TYPE_DICTIONARY_REFERENCE);
+                outStream.writeDictionaryCode(code);
+            } else if (dictionary.size() < MAX_ENTRIES_PER_BLOCK) {
+                dictionary.put(value, dictionary.size());
+                outStream.writeControlByte(KNIMEStreamConstants.BYTE_TYPE_DICTIONARY_ENTRY);
+                outStream.writeDictionaryString(value);
+            } else {
+                // not a low-cardinality column (at least in this block), don't try again until the next block
+                m_encodedColumns[column] = false;
+                m_dictionaries[column] = null;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** Reader side, one instance per stream. Not thread-safe. */
+    static final class Decoder {
+
+        private final List<DataCell>[] m_dictionaries;
+
+        private final Map<String, DataCell>[] m_sharedCells;
+
+        private int m_rowsInBlock;
+
+        /**
+         * @param nrColumns the number of columns of the table
+         */
+        @SuppressWarnings("unchecked")
+        Decoder(final int nrColumns) {
+            m_dictionaries = new List[nrColumns];
+            m_sharedCells = new Map[nrColumns];
+        }
+
+        /** Called before the cells of a row are read, starts a new block if needed. */
+        void nextRow() {
+            if (m_rowsInBlock == ROWS_PER_BLOCK) {
+                for (List<DataCell> dictionary : m_dictionaries) {
+                    if (dictionary != null) {
+                        dictionary.clear();
+                    }
+                }
+                m_rowsInBlock = 0;
+            }
+            m_rowsInBlock++;
+        }
+
+        /**
+         * Reads the next cell of the given column, which is either dictionary encoded or read by the argument reader.
+         *
+         * @param column the column index
+         * @param inStream to read from
+         * @param cellReader reads cells that are not dictionary encoded
+         * @return the cell
+         * @throws IOException If reading fails or the stream is corrupt.
+         */
+        DataCell readDataCell(final int column, final DCObjectInputVersion2 inStream,
+            final DataCellStreamReader cellReader) throws IOException {
+            final byte identifier = inStream.readControlByte();
+            if (identifier == KNIMEStreamConstants.BYTE_TYPE_DICTIONARY_ENTRY) {
+                final DataCell cell = getSharedCell(column, inStream.readDictionaryString());
+                if (m_dictionaries[column] == null) {
+                    m_dictionaries[column] = new ArrayList<>();
+                }
+                m_dictionaries[column].add(cell);
+                return cell;
+            } else if (identifier == KNIMEStreamConstants.BYTE_TYPE_DICTIONARY_REFERENCE) {
+                final int code = inStream.readDictionaryCode();
+                final List<DataCell> dictionary = m_dictionaries[column];
+                if (dictionary == null || code < 0 || code >= dictionary.size()) {
+                    throw new IOException("Invalid dictionary code " + code + " in column " + column);
+                }
+                return dictionary.get(code);
+            }
+            return cellReader.readDataCell(inStream, identifier);
+        }
+
+        private DataCell getSharedCell(final int column, final String value) {
+            Map<String, DataCell> sharedCells = m_sharedCells[column];
+            if (sharedCells == null) {
+                sharedCells = new HashMap<>();
+                m_sharedCells[column] = sharedCells;
+            }
+            DataCell cell = sharedCells.get(value);
+            if (cell == null) {
+                cell = new StringCell(value);
+                if (sharedCells.size() < MAX_SHARED_CELLS) {
+                    sharedCells.put(value, cell);
+                }
+            }
+            return cell;
+        }
+    }
+}
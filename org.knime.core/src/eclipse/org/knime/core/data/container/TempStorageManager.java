@@ -0,0 +1,342 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Decides in which directory new spill files (table files and their blob directories, sorter runs, file stores) are
+ * created. By default this is the temp directory of the current workflow (see {@link FileUtil#getWorkflowTempDir()}).
+ * If additional directories are configured via {@link KNIMEConstants#PROPERTY_TEMP_DIR_STRIPES}, typically on
+ * different local volumes, new files are distributed over all of them, either round-robin or to the directory with
+ * the most usable space ({@link KNIMEConstants#PROPERTY_TEMP_DIR_STRIPES_POLICY}). Directories with less usable space
+ * than {@link KNIMEConstants#PROPERTY_MIN_FREE_DISC_SPACE_IN_TEMP_IN_MB} are skipped.
+ *
+ * <p>
+ * As consecutive files go to different volumes, so do the runs of an external sort, and merging them reads from all
+ * volumes in parallel.
+ *
+ * <p>
+ * Files of a workflow are not placed directly in the additional directories but in a subdirectory per workflow, named
+ * after the workflow temp directory. These subdirectories are deleted together with the workflow temp directory (see
+ * {@link #deleteWorkflowDirectories(File)}) and otherwise on JVM shutdown.
+ *
+ * @author agent
+ * @since 5.4
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class TempStorageManager {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TempStorageManager.class);
+
+    /** How new files are distributed. */
+    enum Policy {
+            /** The directories are used in turn. */
+            ROUND_ROBIN,
+            /** The directory with the most usable space is used. */
+            FREE_SPACE;
+    }
+
+    /**
+     * Statistics of a directory.
+     *
+     * @param directory the directory, the global KNIME temp directory representing the workflow temp directories
+     * @param nrFilesPlaced the number of spill files (or directories) placed in the directory
+     * @param bytesWritten the number of bytes written to table files in the directory
+     * @param usableSpace the usable space on the volume in bytes
+     */
+    public record VolumeStatistics(File directory, long nrFilesPlaced, long bytesWritten, long usableSpace) {
+    }
+
+    /** Statistics for the workflow temp directories. */
+    private final Volume m_primary;
+
+    /** The additional directories, possibly empty. */
+    private final List<Volume> m_stripes;
+
+    private final Supplier<File> m_primaryDirSupplier;
+
+    private final Policy m_policy;
+
+    private final long m_minFreeBytes;
+
+    private final ToLongFunction<File> m_usableSpaceFunction;
+
+    private final AtomicInteger m_nextIndex = new AtomicInteger();
+
+    /** Workflow temp directory -&gt; (additional directory -&gt; subdirectory for the workflow). */
+    private final Map<File, Map<File, File>> m_workflowDirectories = new ConcurrentHashMap<>();
+
+    /**
+     * @param primaryDirSupplier supplies the directory of the current workflow
+     * @param primaryStatsDir the directory representing the workflow directories in the statistics
+     * @param stripes the additional directories
+     * @param policy the policy
+     * @param minFreeBytes the minimum usable space for a directory to be used
+     * @param usableSpaceFunction determines the usable space of a directory
+     */
+    TempStorageManager(final Supplier<File> primaryDirSupplier, final File primaryStatsDir, final List<File> stripes,
+        final Policy policy, final long minFreeBytes, final ToLongFunction<File> usableSpaceFunction) {
+        m_primaryDirSupplier = primaryDirSupplier;
+        m_primary = new Volume(primaryStatsDir);
+        final List<Volume> volumes = new ArrayList<>();
+        for (File stripe : stripes) {
+            volumes.add(new Volume(stripe.getAbsoluteFile()));
+        }
+        m_stripes = Collections.unmodifiableList(volumes);
+        m_policy = policy;
+        m_minFreeBytes = minFreeBytes;
+        m_usableSpaceFunction = usableSpaceFunction;
+    }
+
+    /**
+     * @return the singleton instance, configured by the java properties
+     */
+    public static TempStorageManager getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /** Initializes the instance on first access. */
+    private static final class InstanceHolder {
+        private static final TempStorageManager INSTANCE = createFromProperties();
+    }
+
+    private static TempStorageManager createFromProperties() {
+        final List<File> stripes = new ArrayList<>();
+        final String stripesProperty = System.getProperty(KNIMEConstants.PROPERTY_TEMP_DIR_STRIPES);
+        if (stripesProperty != null) {
+            for (String path : stripesProperty.split(File.pathSeparator)) {
+                if (path.isBlank()) {
+                    continue;
+                }
+                final File dir = new File(path.trim());
+                if (dir.isDirectory() || dir.mkdirs()) {
+                    stripes.add(dir);
+                } else {
+                    LOGGER.warn("Unable to create temp directory \"" + dir.getAbsolutePath() + "\" (property \""
+                        + KNIMEConstants.PROPERTY_TEMP_DIR_STRIPES + "\"), ignoring it.");
+                }
+            }
+        }
+        Policy policy = Policy.ROUND_ROBIN;
+        final String policyProperty = System.getProperty(KNIMEConstants.PROPERTY_TEMP_DIR_STRIPES_POLICY);
+        if (policyProperty != null) {
+            try {
+                policy = Policy.valueOf(policyProperty.trim().toUpperCase());
+            } catch (IllegalArgumentException e) { // NOSONAR
+                LOGGER.warn("Unknown setting for temp directory policy: " + policyProperty + ". Using default: "
+                    + policy + ".");
+            }
+        }
+        if (!stripes.isEmpty()) {
+            LOGGER.debug("Distributing spill files " + policy + " over workflow temp directory and " + stripes);
+        }
+        return new TempStorageManager(FileUtil::getWorkflowTempDir, KNIMEConstants.getKNIMETempPath().toFile(),
+            stripes, policy, Buffer.MIN_FREE_DISC_SPACE_IN_TEMP_IN_MB * (1024L * 1024L), File::getUsableSpace);
+    }
+
+    /**
+     * Returns the directory for the next spill file or directory. If no additional directories are configured, this is
+     * the temp directory of the current workflow. Otherwise it may also be the subdirectory for the current workflow in
+     * one of the additional directories.
+     *
+     * @return the directory to create the next file in
+     */
+    public File nextDirectory() {
+        final File primaryDir = m_primaryDirSupplier.get();
+        if (m_stripes.isEmpty()) {
+            m_primary.m_nrFilesPlaced.incrementAndGet();
+            return primaryDir;
+        }
+        final int nrVolumes = m_stripes.size() + 1;
+        int chosen = -1;
+        if (m_policy == Policy.FREE_SPACE) {
+            long maxUsable = -1;
+            for (int i = 0; i < nrVolumes; i++) {
+                final long usable = m_usableSpaceFunction.applyAsLong(getDirectory(i, primaryDir));
+                if (usable >= m_minFreeBytes && usable > maxUsable) {
+                    maxUsable = usable;
+                    chosen = i;
+                }
+            }
+        } else {
+            // skipped volumes consume a turn so that the others continue to be used evenly
+            for (int k = 0; k < nrVolumes && chosen < 0; k++) {
+                final int i = Math.floorMod(m_nextIndex.getAndIncrement(), nrVolumes);
+                if (m_usableSpaceFunction.applyAsLong(getDirectory(i, primaryDir)) >= m_minFreeBytes) {
+                    chosen = i;
+                }
+            }
+        }
+        if (chosen < 0) {
+            // all volumes are low on space, the primary one will fail with a proper message (see Buffer#onFileCreated)
+            chosen = 0;
+        }
+        getVolume(chosen).m_nrFilesPlaced.incrementAndGet();
+        return chosen == 0 ? primaryDir : getWorkflowDirectory(m_stripes.get(chosen - 1).m_directory, primaryDir);
+    }
+
+    /**
+     * Returns the subdirectory for a workflow in an additional directory, creating it on first use. Without workflow
+     * (i.e. if the global temp directory is used), the additional directory itself is returned.
+     */
+    private File getWorkflowDirectory(final File stripeDir, final File workflowTempDir) {
+        if (workflowTempDir.getAbsoluteFile().equals(m_primary.m_directory.getAbsoluteFile())) {
+            return stripeDir;
+        }
+        return m_workflowDirectories.computeIfAbsent(workflowTempDir, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(stripeDir, k -> createWorkflowDirectory(stripeDir, workflowTempDir));
+    }
+
+    private static File createWorkflowDirectory(final File stripeDir, final File workflowTempDir) {
+        try {
+            // the workflow temp directory has a unique name in the global temp directory, the suffix makes it unique
+            // in the additional directory, which may be shared by multiple KNIME instances
+            return FileUtil.createTempDir(workflowTempDir.getName() + "_", stripeDir, true);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create directory for workflow in \"" + stripeDir.getAbsolutePath()
+                + "\", using the directory itself: " + e.getMessage(), e);
+            return stripeDir;
+        }
+    }
+
+    /**
+     * Deletes the subdirectories created for a workflow in the additional directories. Called when the workflow temp
+     * directory is deleted.
+     *
+     * @param workflowTempDir the temp directory of the workflow
+     */
+    public void deleteWorkflowDirectories(final File workflowTempDir) {
+        final Map<File, File> dirs = m_workflowDirectories.remove(workflowTempDir);
+        if (dirs == null) {
+            return;
+        }
+        for (Map.Entry<File, File> e : dirs.entrySet()) {
+            final File dir = e.getValue();
+            // if the subdirectory could not be created, the additional directory itself was used (and is kept)
+            if (!dir.equals(e.getKey()) && dir.isDirectory() && !FileUtil.deleteRecursively(dir)) {
+                LOGGER.info("Could not delete temporary directory " + dir.getAbsolutePath());
+            }
+        }
+    }
+
+    private File getDirectory(final int index, final File primaryDir) {
+        return index == 0 ? primaryDir : m_stripes.get(index - 1).m_directory;
+    }
+
+    private Volume getVolume(final int index) {
+        return index == 0 ? m_primary : m_stripes.get(index - 1);
+    }
+
+    /**
+     * Accounts the bytes written to a spill file to the directory it is located in.
+     *
+     * @param file the file, created in a directory returned by {@link #nextDirectory()}
+     * @param bytes the number of bytes written
+     */
+    public void recordBytesWritten(final File file, final long bytes) {
+        final String path = file.getAbsolutePath();
+        for (Volume stripe : m_stripes) {
+            if (path.startsWith(stripe.m_directoryPath)) {
+                stripe.m_bytesWritten.addAndGet(bytes);
+                return;
+            }
+        }
+        m_primary.m_bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * @return the statistics of all directories, starting with the one representing the workflow temp directories
+     */
+    public List<VolumeStatistics> getVolumeStatistics() {
+        final List<VolumeStatistics> result = new ArrayList<>(m_stripes.size() + 1);
+        result.add(m_primary.toStatistics());
+        for (Volume stripe : m_stripes) {
+            result.add(stripe.toStatistics());
+        }
+        return result;
+    }
+
+    /** Mutable statistics of a directory. */
+    private final class Volume {
+
+        private final File m_directory;
+
+        /** Prefix of the absolute paths of the files in the directory. */
+        private final String m_directoryPath;
+
+        private final AtomicLong m_nrFilesPlaced = new AtomicLong();
+
+        private final AtomicLong m_bytesWritten = new AtomicLong();
+
+        Volume(final File directory) {
+            m_directory = directory;
+            m_directoryPath = directory.getAbsolutePath() + File.separator;
+        }
+
+        VolumeStatistics toStatistics() {
+            return new VolumeStatistics(m_directory, m_nrFilesPlaced.get(), m_bytesWritten.get(),
+                m_usableSpaceFunction.applyAsLong(m_directory));
+        }
+    }
+}
@@ -0,0 +1,568 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.BoundedValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.container.filter.ColumnPredicate;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Per-block statistics (&quot;zone maps&quot;) of a table written in the {@link DefaultTableStoreFormat}. For each
+ * block of {@link #ROWS_PER_BLOCK} rows they record the offset of the block in the (uncompressed) stream, the number of
+ * missing cells per column and the smallest and largest cell of each {@link BoundedValue} column. Iterators filtering
+ * the table by {@link ColumnPredicate column predicates} use them to skip blocks that can't contain a match (see
+ * {@link FilterIterator}).
+ * <p>
+ * Blocks are aligned with the blocks of the {@link StringDictionary}, so that the state of the reader is reset at the
+ * start of each block and whole blocks can be skipped without decoding them. Zone maps are stored in the meta
+ * information of the table; readers not knowing about them ignore that entry. They are only recorded if enabled via
+ * {@link org.knime.core.node.KNIMEConstants#PROPERTY_TABLE_ZONE_MAPS}.
+ *
+ * @author agent
+ */
+final class ZoneMaps {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ZoneMaps.class);
+
+    /** The number of rows per block. */
+    static final int ROWS_PER_BLOCK = StringDictionary.ROWS_PER_BLOCK;
+
+    /**
+     * The maximum number of stored minimum/maximum pairs (blocks times {@link BoundedValue} columns, at least the
+     * number of blocks). Zone maps of larger tables are dropped to keep the meta information of the table small. With
+     * one bounded column this covers about 400 million rows.
+     */
+    static final int MAX_ENTRIES = 100_000;
+
+    /** Config key of the zone maps in the meta information of the table (only present if zone maps exist). */
+    static final String CFG_ZONE_MAPS = "container.zoneMaps";
+
+    private static final String CFG_ROWS_PER_BLOCK = "rowsPerBlock";
+
+    private static final String CFG_OFFSETS = "offsets";
+
+    private static final String CFG_MISSING_COUNTS = "missingCounts";
+
+    private static final String CFG_MIN_PREFIX = "min_";
+
+    private static final String CFG_MAX_PREFIX = "max_";
+
+    private final DataTableSpec m_spec;
+
+    private final int m_rowsPerBlock;
+
+    /** Offset of each block in the uncompressed stream. */
+    private final long[] m_offsets;
+
+    /** Number of missing cells, indexed by block * number of columns + column. */
+    private final int[] m_missingCounts;
+
+    /** Smallest cell per column and block, the array of a column is null if the column is not bounded. */
+    private final DataCell[][] m_mins;
+
+    /** Largest cell per column and block, the array of a column is null if the column is not bounded. */
+    private final DataCell[][] m_maxs;
+
+    private ZoneMaps(final DataTableSpec spec, final int rowsPerBlock, final long[] offsets,
+        final int[] missingCounts, final DataCell[][] mins, final DataCell[][] maxs) {
+        m_spec = spec;
+        m_rowsPerBlock = rowsPerBlock;
+        m_offsets = offsets;
+        m_missingCounts = missingCounts;
+        m_mins = mins;
+        m_maxs = maxs;
+    }
+
+    /** @return the number of blocks */
+    int getNrBlocks() {
+        return m_offsets.length;
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the offset of the block in the uncompressed stream
+     */
+    long getOffset(final int block) {
+        return m_offsets[block];
+    }
+
+    /**
+     * @param tableSize the number of rows in the table
+     * @return whether these zone maps describe a table of the given size
+     */
+    boolean isValidFor(final long tableSize) {
+        return (tableSize + m_rowsPerBlock - 1) / m_rowsPerBlock == m_offsets.length;
+    }
+
+    /**
+     * @param block the index of a block
+     * @param rowCount the number of rows in the block
+     * @param predicates the column predicates, all of which a row must match
+     * @return <code>false</code> if no row of the block can match all predicates, <code>true</code> otherwise
+     */
+    boolean mightMatch(final int block, final long rowCount, final List<ColumnPredicate> predicates) {
+        final int nrColumns = m_spec.getNumColumns();
+        for (ColumnPredicate predicate : predicates) {
+            final int col = predicate.getColumnIndex();
+            final DataCell min = m_mins[col] == null ? null : m_mins[col][block];
+            final DataCell max = m_maxs[col] == null ? null : m_maxs[col][block];
+            if (!predicate.mightMatch(m_spec.getColumnSpec(col).getType(), min, max,
+                m_missingCounts[block * nrColumns + col], rowCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Saves the zone maps to the meta information of the table.
+     *
+     * @param settings to save to
+     */
+    void save(final NodeSettingsWO settings) {
+        final NodeSettingsWO sub = settings.addNodeSettings(CFG_ZONE_MAPS);
+        sub.addInt(CFG_ROWS_PER_BLOCK, m_rowsPerBlock);
+        sub.addLongArray(CFG_OFFSETS, m_offsets);
+        sub.addIntArray(CFG_MISSING_COUNTS, m_missingCounts);
+        for (int col = 0; col < m_mins.length; col++) {
+            if (m_mins[col] != null) {
+                sub.addDataCellArray(CFG_MIN_PREFIX + col, m_mins[col]);
+                sub.addDataCellArray(CFG_MAX_PREFIX + col, m_maxs[col]);
+            }
+        }
+    }
+
+    /**
+     * Loads the zone maps from the meta information of a table.
+     *
+     * @param settings the meta information as written by {@link #save(NodeSettingsWO)}
+     * @param spec the spec of the table
+     * @return the zone maps or <code>null</code> if the table has none or they can't be used
+     */
+    static ZoneMaps load(final NodeSettingsRO settings, final DataTableSpec spec) {
+        if (!settings.containsKey(CFG_ZONE_MAPS)) {
+            return null;
+        }
+        try {
+            final NodeSettingsRO sub = settings.getNodeSettings(CFG_ZONE_MAPS);
+            final int rowsPerBlock = sub.getInt(CFG_ROWS_PER_BLOCK);
+            if (rowsPerBlock <= 0 || rowsPerBlock % StringDictionary.ROWS_PER_BLOCK != 0) {
+                // blocks must start with a reset dictionary (and row key) state to be skipped
+                return null;
+            }
+            final int nrColumns = spec.getNumColumns();
+            final long[] offsets = sub.getLongArray(CFG_OFFSETS);
+            final int[] missingCounts = sub.getIntArray(CFG_MISSING_COUNTS);
+            if (missingCounts.length != offsets.length * nrColumns) {
+                throw new InvalidSettingsException("Invalid number of missing counts: " + missingCounts.length);
+            }
+            final DataCell[][] mins = new DataCell[nrColumns][];
+            final DataCell[][] maxs = new DataCell[nrColumns][];
+            for (int col = 0; col < nrColumns; col++) {
+                if (sub.containsKey(CFG_MIN_PREFIX + col)) {
+                    mins[col] = sub.getDataCellArray(CFG_MIN_PREFIX + col);
+                    maxs[col] = sub.getDataCellArray(CFG_MAX_PREFIX + col);
+                    if (mins[col].length != offsets.length || maxs[col].length != offsets.length) {
+                        throw new InvalidSettingsException("Invalid number of statistics for column " + col);
+                    }
+                }
+            }
+            return new ZoneMaps(spec, rowsPerBlock, offsets, missingCounts, mins, maxs);
+        } catch (InvalidSettingsException | RuntimeException e) {
+            LOGGER.debug("Unable to read zone maps, ignoring them: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Statistics on the cells of a block, or of a chunk of rows within a block that is serialized concurrently. Not
+     * thread-safe.
+     */
+    static final class Statistics {
+
+        /** The comparators of the bounded columns, null for other columns. */
+        private final DataValueComparator[] m_comparators;
+
+        private final int[] m_missingCounts;
+
+        private final DataCell[] m_mins;
+
+        private final DataCell[] m_maxs;
+
+        /** Whether the minimum and maximum of a column are unknown, e.g. because it contains a blob. */
+        private final boolean[] m_unknown;
+
+        private Statistics(final DataValueComparator[] comparators) {
+            m_comparators = comparators;
+            m_missingCounts = new int[comparators.length];
+            m_mins = new DataCell[comparators.length];
+            m_maxs = new DataCell[comparators.length];
+            m_unknown = new boolean[comparators.length];
+        }
+
+        /**
+         * Adds a cell as it is written to the stream. Unlike the domain, the statistics include NaN values, so that
+         * blocks are never skipped for cells matching a {@link ColumnPredicate}.
+         *
+         * @param column the column of the cell
+         * @param cell the (raw) cell, possibly a {@link BlobWrapperDataCell}
+         */
+        void add(final int column, final DataCell cell) {
+            if (cell.isMissing()) {
+                m_missingCounts[column]++;
+                return;
+            }
+            final DataValueComparator comparator = m_comparators[column];
+            if (comparator == null || m_unknown[column]) {
+                return;
+            }
+            if (cell instanceof BlobWrapperDataCell) {
+                // don't load the blob just for the statistics
+                m_unknown[column] = true;
+                m_mins[column] = null;
+                m_maxs[column] = null;
+            } else if (m_mins[column] == null) {
+                m_mins[column] = cell;
+                m_maxs[column] = cell;
+            } else if (comparator.compare(cell, m_mins[column]) < 0) {
+                m_mins[column] = cell;
+            } else if (comparator.compare(cell, m_maxs[column]) > 0) {
+                m_maxs[column] = cell;
+            }
+        }
+
+        /**
+         * Adds the statistics of the subsequent rows of the block.
+         *
+         * @param other the statistics of a chunk of rows
+         */
+        void merge(final Statistics other) {
+            for (int col = 0; col < m_comparators.length; col++) {
+                m_missingCounts[col] += other.m_missingCounts[col];
+                if (m_comparators[col] == null || m_unknown[col]) {
+                    continue;
+                }
+                if (other.m_unknown[col]) {
+                    m_unknown[col] = true;
+                    m_mins[col] = null;
+                    m_maxs[col] = null;
+                } else if (m_mins[col] == null) {
+                    m_mins[col] = other.m_mins[col];
+                    m_maxs[col] = other.m_maxs[col];
+                } else if (other.m_mins[col] != null) {
+                    if (m_comparators[col].compare(other.m_mins[col], m_mins[col]) < 0) {
+                        m_mins[col] = other.m_mins[col];
+                    }
+                    if (m_comparators[col].compare(other.m_maxs[col], m_maxs[col]) > 0) {
+                        m_maxs[col] = other.m_maxs[col];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the statistics of the blocks while a table is written. Gives up (and returns no zone maps) if the table
+     * exceeds {@link #MAX_ENTRIES}. Not thread-safe.
+     */
+    static final class Builder {
+
+        private final DataTableSpec m_spec;
+
+        private final DataValueComparator[] m_comparators;
+
+        /** The number of columns whose minimum and maximum are stored per block, at least 1. */
+        private final int m_entriesPerBlock;
+
+        private final List<Long> m_offsets = new ArrayList<>();
+
+        private final List<Statistics> m_blocks = new ArrayList<>();
+
+        private boolean m_isDisabled;
+
+        /** @param spec the spec of the table written */
+        Builder(final DataTableSpec spec) {
+            m_spec = spec;
+            m_comparators = new DataValueComparator[spec.getNumColumns()];
+            int nrBoundedColumns = 0;
+            for (int col = 0; col < m_comparators.length; col++) {
+                final var type = spec.getColumnSpec(col).getType();
+                if (type.isCompatible(BoundedValue.class)) {
+                    m_comparators[col] = type.getComparator();
+                }
+                if (m_comparators[col] != null) {
+                    nrBoundedColumns++;
+                }
+            }
+            m_entriesPerBlock = Math.max(1, nrBoundedColumns);
+        }
+
+        /**
+         * Starts the next block.
+         *
+         * @param offset the offset of the first row of the block in the uncompressed stream
+         * @return the statistics of the new block, to which the cells of its rows are to be added, <code>null</code>
+         *         if zone maps are disabled for this table (the rows of the block need not be recorded)
+         */
+        Statistics startBlock(final long offset) {
+            if (!m_isDisabled && (m_blocks.size() + 1L) * m_entriesPerBlock > MAX_ENTRIES) {
+                m_isDisabled = true;
+                m_offsets.clear();
+                m_blocks.clear();
+            }
+            if (m_isDisabled) {
+                return null;
+            }
+            final var statistics = newStatistics();
+            m_offsets.add(offset);
+            m_blocks.add(statistics);
+            return statistics;
+        }
+
+        /**
+         * @return empty statistics for a chunk of rows, to be {@linkplain #merge(Statistics) merged} into the current
+         *         block once the chunk is written, <code>null</code> if zone maps are disabled for this table
+         */
+        Statistics newStatistics() {
+            return m_isDisabled ? null : new Statistics(m_comparators);
+        }
+
+        /**
+         * Adds the statistics of a chunk of rows to the current block.
+         *
+         * @param chunkStatistics the statistics of a chunk of rows, may be <code>null</code>
+         * @return the statistics of the current block, <code>null</code> if zone maps are disabled
+         */
+        Statistics merge(final Statistics chunkStatistics) {
+            if (m_isDisabled || m_blocks.isEmpty()) {
+                return null;
+            }
+            final Statistics current = m_blocks.get(m_blocks.size() - 1);
+            if (chunkStatistics != null) {
+                current.merge(chunkStatistics);
+            }
+            return current;
+        }
+
+        /** @return the zone maps of the table or <code>null</code> if disabled */
+        ZoneMaps build() {
+            if (m_isDisabled) {
+                return null;
+            }
+            final int nrColumns = m_comparators.length;
+            final int nrBlocks = m_blocks.size();
+            final long[] offsets = m_offsets.stream().mapToLong(Long::longValue).toArray();
+            final int[] missingCounts = new int[nrBlocks * nrColumns];
+            final DataCell[][] mins = new DataCell[nrColumns][];
+            final DataCell[][] maxs = new DataCell[nrColumns][];
+            for (int col = 0; col < nrColumns; col++) {
+                if (m_comparators[col] != null) {
+                    mins[col] = new DataCell[nrBlocks];
+                    maxs[col] = new DataCell[nrBlocks];
+                }
+            }
+            for (int block = 0; block < nrBlocks; block++) {
+                final Statistics statistics = m_blocks.get(block);
+                System.arraycopy(statistics.m_missingCounts, 0, missingCounts, block * nrColumns, nrColumns);
+                for (int col = 0; col < nrColumns; col++) {
+                    if (mins[col] != null) {
+                        mins[col][block] = statistics.m_mins[col];
+                        maxs[col][block] = statistics.m_maxs[col];
+                    }
+                }
+            }
+            return new ZoneMaps(m_spec, ROWS_PER_BLOCK, offsets, missingCounts, mins, maxs);
+        }
+    }
+
+    /**
+     * Iterator over a table filtered by a {@link TableFilter} with column predicates. Skips blocks outside the row
+     * range of the filter and blocks that can't contain a row matching all predicates; the rows of the other blocks
+     * are tested individually.
+     */
+    static final class FilterIterator extends TableStoreCloseableRowIterator {
+
+        private final BufferFromFileIteratorVersion20 m_delegate;
+
+        private final ZoneMaps m_zoneMaps;
+
+        private final TableFilter m_filter;
+
+        private final long m_size;
+
+        private final long m_fromIndex;
+
+        private final long m_toIndex;
+
+        private final ExecutionMonitor m_exec;
+
+        /** Index of the next row returned by the delegate. */
+        private long m_index;
+
+        private DataRow m_nextRow;
+
+        /**
+         * @param delegate the iterator over all rows of the table
+         * @param zoneMaps the zone maps of the table
+         * @param filter the filter, with column predicates
+         * @param size the number of rows in the table
+         * @param exec for progress reporting, may be <code>null</code>
+         */
+        FilterIterator(final BufferFromFileIteratorVersion20 delegate, final ZoneMaps zoneMaps,
+            final TableFilter filter, final long size, final ExecutionMonitor exec) {
+            m_delegate = delegate;
+            m_zoneMaps = zoneMaps;
+            m_filter = filter;
+            m_size = size;
+            m_fromIndex = filter.getFromRowIndex().orElse(0L);
+            m_toIndex = Math.min(filter.getToRowIndex().orElse(size - 1), size - 1);
+            m_exec = exec;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (m_nextRow == null) {
+                m_nextRow = internalNext();
+            }
+            return m_nextRow != null;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final DataRow row = m_nextRow;
+            m_nextRow = null;
+            return row;
+        }
+
+        private DataRow internalNext() {
+            while (m_index <= m_toIndex) {
+                if (m_index % m_zoneMaps.m_rowsPerBlock == 0 && !skipBlocks()) {
+                    break;
+                }
+                if (!m_delegate.hasNext()) {
+                    break;
+                }
+                final DataRow row = m_delegate.next();
+                final long index = m_index++;
+                if (m_exec != null) {
+                    final long rowNumber = m_index;
+                    m_exec.setProgress((double)rowNumber / m_size,
+                        () -> String.format("Row %,d/%,d (%s)", rowNumber, m_size, row.getKey()));
+                }
+                if (index >= m_fromIndex && m_filter.matchesColumnPredicates(row)) {
+                    return row;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Called at the start of a block, skips it and the following blocks that can't contain a match.
+         *
+         * @return <code>false</code> if there are no more blocks that might contain a match
+         */
+        private boolean skipBlocks() {
+            final int rowsPerBlock = m_zoneMaps.m_rowsPerBlock;
+            final int block = (int)(m_index / rowsPerBlock);
+            int target = block;
+            while (true) {
+                final long start = (long)target * rowsPerBlock;
+                if (target >= m_zoneMaps.getNrBlocks() || start > m_toIndex) {
+                    m_index = m_toIndex + 1;
+                    return false;
+                }
+                final long rowCount = Math.min(rowsPerBlock, m_size - start);
+                if (start + rowCount > m_fromIndex
+                    && m_zoneMaps.mightMatch(target, rowCount, m_filter.getColumnPredicates())) {
+                    break;
+                }
+                target++;
+            }
+            if (target > block) {
+                try {
+                    m_delegate.skipRows((target - block) * rowsPerBlock,
+                        m_zoneMaps.getOffset(target) - m_zoneMaps.getOffset(block));
+                } catch (IOException ioe) {
+                    throw new RuntimeException("Unable to skip rows: " + ioe.getMessage(), ioe);
+                }
+                m_index = (long)target * rowsPerBlock;
+            }
+            return true;
+        }
+
+        @Override
+        public void setBuffer(final Buffer buffer) {
+            super.setBuffer(buffer);
+            m_delegate.setBuffer(buffer);
+        }
+
+        @Override
+        public boolean performClose() throws IOException {
+            return m_delegate.performClose();
+        }
+    }
+}
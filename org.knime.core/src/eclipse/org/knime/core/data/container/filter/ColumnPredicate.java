@@ -0,0 +1,209 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.container.filter;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A simple condition on the cells of a single column, used in a {@link TableFilter} to retain only the rows whose cell
+ * in that column matches. Range and equality conditions compare cells using the comparator of the column's type and
+ * never match missing cells.
+ *
+ * <p>
+ * Table stores may use the predicates to skip entire blocks of rows that can't match, based on statistics recorded
+ * when the table was written (e.g. the minimum and maximum per block).
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class ColumnPredicate {
+
+    private final int m_columnIndex;
+
+    private final String m_columnName;
+
+    private final DataType m_columnType;
+
+    private final DataValueComparator m_comparator;
+
+    /** Inclusive lower bound of a range condition, null if unbounded. */
+    private final DataCell m_lowerBound;
+
+    /** Inclusive upper bound of a range condition, null if unbounded. */
+    private final DataCell m_upperBound;
+
+    /** Whether this condition matches missing cells (and only those) instead of a range. */
+    private final boolean m_isMissing;
+
+    private ColumnPredicate(final DataTableSpec spec, final String columnName, final DataCell lowerBound,
+        final DataCell upperBound, final boolean isMissing) {
+        CheckUtils.checkArgumentNotNull(spec, "Spec must not be null");
+        m_columnIndex = spec.findColumnIndex(CheckUtils.checkArgumentNotNull(columnName, "Column must not be null"));
+        CheckUtils.checkArgument(m_columnIndex >= 0, "No such column \"%s\"", columnName);
+        m_columnName = columnName;
+        m_columnType = spec.getColumnSpec(m_columnIndex).getType();
+        m_comparator = m_columnType.getComparator();
+        CheckUtils.checkArgument(lowerBound == null || !lowerBound.isMissing(), "Lower bound must not be missing");
+        CheckUtils.checkArgument(upperBound == null || !upperBound.isMissing(), "Upper bound must not be missing");
+        CheckUtils.checkArgument(
+            lowerBound == null || upperBound == null || m_comparator.compare(lowerBound, upperBound) <= 0,
+            "Lower bound (%s) must not be larger than upper bound (%s)", lowerBound, upperBound);
+        m_lowerBound = lowerBound;
+        m_upperBound = upperBound;
+        m_isMissing = isMissing;
+    }
+
+    /**
+     * Creates a predicate matching the (non-missing) cells within a range. The bounds must be comparable by the
+     * comparator of the column's type.
+     *
+     * @param spec the spec of the table to filter
+     * @param columnName the name of the column
+     * @param lowerBound the inclusive lower bound or <code>null</code> if unbounded
+     * @param upperBound the inclusive upper bound or <code>null</code> if unbounded
+     * @return a new predicate
+     * @throws IllegalArgumentException if the column doesn't exist, a bound is missing or the lower bound is larger
+     *             than the upper bound
+     */
+    public static ColumnPredicate inRange(final DataTableSpec spec, final String columnName,
+        final DataCell lowerBound, final DataCell upperBound) {
+        return new ColumnPredicate(spec, columnName, lowerBound, upperBound, false);
+    }
+
+    /**
+     * Creates a predicate matching the cells equal to the given value according to the comparator of the column's
+     * type.
+     *
+     * @param spec the spec of the table to filter
+     * @param columnName the name of the column
+     * @param value the (non-missing) value
+     * @return a new predicate
+     * @throws IllegalArgumentException if the column doesn't exist or the value is <code>null</code> or missing
+     */
+    public static ColumnPredicate equalTo(final DataTableSpec spec, final String columnName, final DataCell value) {
+        CheckUtils.checkArgumentNotNull(value, "Value must not be null");
+        return new ColumnPredicate(spec, columnName, value, value, false);
+    }
+
+    /**
+     * Creates a predicate matching the missing cells.
+     *
+     * @param spec the spec of the table to filter
+     * @param columnName the name of the column
+     * @return a new predicate
+     * @throws IllegalArgumentException if the column doesn't exist
+     */
+    public static ColumnPredicate isMissing(final DataTableSpec spec, final String columnName) {
+        return new ColumnPredicate(spec, columnName, null, null, true);
+    }
+
+    /**
+     * @return the index of the column in the spec the predicate was created with
+     */
+    public int getColumnIndex() {
+        return m_columnIndex;
+    }
+
+    /**
+     * @param row a row of the filtered table
+     * @return whether the cell of the row matches this predicate
+     */
+    public boolean test(final DataRow row) {
+        final DataCell cell = row.getCell(m_columnIndex);
+        if (m_isMissing || cell.isMissing()) {
+            return m_isMissing == cell.isMissing();
+        }
+        return (m_lowerBound == null || m_comparator.compare(cell, m_lowerBound) >= 0)
+            && (m_upperBound == null || m_comparator.compare(cell, m_upperBound) <= 0);
+    }
+
+    /**
+     * Determines whether a block of rows might contain a match, given statistics on the cells of the column in the
+     * block.
+     *
+     * @param columnType the type of the column when the statistics were recorded; the minimum and maximum are only
+     *            used if it equals the type of the column in the spec this predicate was created with
+     * @param min the smallest non-missing cell according to the comparator of the column type, <code>null</code> if
+     *            unknown
+     * @param max the largest non-missing cell, <code>null</code> if unknown
+     * @param missingCount the number of missing cells in the block
+     * @param rowCount the number of rows in the block
+     * @return <code>false</code> if no row of the block can match, <code>true</code> otherwise
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public boolean mightMatch(final DataType columnType, final DataCell min, final DataCell max,
+        final long missingCount, final long rowCount) {
+        if (m_isMissing) {
+            return missingCount > 0;
+        } else if (missingCount >= rowCount) {
+            return false;
+        } else if (min == null || max == null || !m_columnType.equals(columnType)) {
+            return true;
+        }
+        return (m_lowerBound == null || m_comparator.compare(max, m_lowerBound) >= 0)
+            && (m_upperBound == null || m_comparator.compare(min, m_upperBound) <= 0);
+    }
+
+    @Override
+    public String toString() {
+        if (m_isMissing) {
+            return "\"" + m_columnName + "\" is missing";
+        } else if (m_lowerBound != null && m_lowerBound == m_upperBound) {
+            return "\"" + m_columnName + "\" = " + m_lowerBound;
+        }
+        return (m_lowerBound == null ? "" : (m_lowerBound + " <= ")) + "\"" + m_columnName + "\""
+            + (m_upperBound == null ? "" : (" <= " + m_upperBound));
+    }
+
+}
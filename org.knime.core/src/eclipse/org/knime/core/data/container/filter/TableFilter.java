@@ -46,7 +46,9 @@
  */
 package org.knime.core.data.container.filter;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -67,6 +69,11 @@
  * and order of rows of the table unchanged, but might reduce the amount of {@link DataRow DataRows} retrieved by a
  * filtered iterator obtained via {@link BufferedDataTable#filter(TableFilter)}.
  *
+ * <p>
+ * Rows are retained if their index is within the (optional) row range and if they match all
+ * {@linkplain ColumnPredicate column predicates}. Table stores may use the predicates to skip entire blocks of rows
+ * without reading them.
+ *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  * @since 4.0
  */
@@ -74,10 +81,11 @@ public final class TableFilter {
 
     // Additional filter options are planned for the future, see AP-11805
     private TableFilter(final Optional<Set<Integer>> columnIndices, final Optional<Long> fromRowIndex,
-        final Optional<Long> toRowIndex) {
+        final Optional<Long> toRowIndex, final List<ColumnPredicate> columnPredicates) {
         m_columnIndices = columnIndices;
         m_fromRowIndex = fromRowIndex;
         m_toRowIndex = toRowIndex;
+        m_columnPredicates = columnPredicates;
     }
 
     private final Optional<Set<Integer>> m_columnIndices;
@@ -86,6 +94,8 @@ private TableFilter(final Optional<Set<Integer>> columnIndices, final Optional<L
 
     private final Optional<Long> m_toRowIndex;
 
+    private final List<ColumnPredicate> m_columnPredicates;
+
     /**
      * A method that can be used to obtain the indices of columns that should be materialized. The returned
      * {@link Optional} will be empty if all indices are to be materialized.
@@ -116,6 +126,34 @@ public Optional<Long> getToRowIndex() {
         return m_toRowIndex;
     }
 
+    /**
+     * A method that can be used to obtain the predicates all retained rows must match. The returned list will be
+     * empty if rows are not filtered by their content.
+     *
+     * @return an unmodifiable list of column predicates
+     * @since 5.4
+     */
+    public List<ColumnPredicate> getColumnPredicates() {
+        return m_columnPredicates;
+    }
+
+    /**
+     * Determines whether a row matches all {@linkplain #getColumnPredicates() column predicates}, disregarding the row
+     * range.
+     *
+     * @param row a row of the filtered table
+     * @return whether the row is to be retained according to the column predicates
+     * @since 5.4
+     */
+    public boolean matchesColumnPredicates(final DataRow row) {
+        for (ColumnPredicate predicate : m_columnPredicates) {
+            if (!predicate.test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Validates this {@link TableFilter} against a {@link DataTableSpec}.
      *
@@ -133,6 +171,7 @@ public void validate(final DataTableSpec spec, final long size) {
         if (m_columnIndices.isPresent()) {
             spec.verifyIndices(m_columnIndices.get().stream().mapToInt(i -> i).toArray());
         }
+        spec.verifyIndices(m_columnPredicates.stream().mapToInt(ColumnPredicate::getColumnIndex).toArray());
     }
 
     /**
@@ -194,6 +233,17 @@ public static TableFilter filterRangeOfRows(final long fromIndex, final long toI
         return (new Builder()).withFromRowIndex(fromIndex).withToRowIndex(toIndex).build();
     }
 
+    /**
+     * Static factory method for creating a {@link TableFilter} that retains only rows matching all given predicates.
+     *
+     * @param predicates the column predicates
+     * @return a new table filter
+     * @since 5.4
+     */
+    public static TableFilter filterRows(final ColumnPredicate... predicates) {
+        return (new Builder()).withColumnPredicates(predicates).build();
+    }
+
     /**
      * Create a new {@link TableFilter} corresponding to the given {@link Selection}.
      * <p>
@@ -239,6 +289,8 @@ public final static class Builder {
 
         private Optional<Long> m_toRowIndex;
 
+        private final List<ColumnPredicate> m_columnPredicates;
+
         /**
          * Constructs a new builder.
          */
@@ -246,6 +298,7 @@ public Builder() {
             m_columnIndices = Optional.empty();
             m_fromRowIndex = Optional.empty();
             m_toRowIndex = Optional.empty();
+            m_columnPredicates = new ArrayList<>();
         }
 
         /**
@@ -257,6 +310,7 @@ public Builder(final TableFilter filter) {
             m_columnIndices = filter.getMaterializeColumnIndices();
             m_fromRowIndex = filter.getFromRowIndex();
             m_toRowIndex = filter.getToRowIndex();
+            m_columnPredicates = new ArrayList<>(filter.getColumnPredicates());
         }
 
         /**
@@ -320,13 +374,48 @@ public Builder withToRowIndex(final long index) {
             return this;
         }
 
+        /**
+         * Configure the builder to provide {@link TableFilter TableFilters} that retain only rows matching the given
+         * predicates (in addition to the predicates configured so far). Columns referenced by predicates are always
+         * materialized.
+         *
+         * @param predicates the column predicates
+         * @return the same builder with updated parameters
+         * @since 5.4
+         */
+        public Builder withColumnPredicates(final ColumnPredicate... predicates) {
+            CheckUtils.checkArgumentNotNull(predicates);
+            for (ColumnPredicate predicate : predicates) {
+                m_columnPredicates.add(CheckUtils.checkArgumentNotNull(predicate));
+            }
+            return this;
+        }
+
+        /**
+         * Configure the builder to provide {@link TableFilter TableFilters} that don't filter rows by their content,
+         * e.g. because the predicates are evaluated elsewhere.
+         *
+         * @return the same builder with updated parameters
+         * @since 5.4
+         */
+        public Builder withoutColumnPredicates() {
+            m_columnPredicates.clear();
+            return this;
+        }
+
         /**
          * Builds a new table filter with the paramaters configured in this builder.
          *
          * @return a new table filter
          */
         public TableFilter build() {
-            return new TableFilter(m_columnIndices, m_fromRowIndex, m_toRowIndex);
+            Optional<Set<Integer>> columnIndices = m_columnIndices;
+            if (columnIndices.isPresent() && !m_columnPredicates.isEmpty()) {
+                final Set<Integer> indices = new HashSet<>(columnIndices.get());
+                m_columnPredicates.forEach(p -> indices.add(p.getColumnIndex()));
+                columnIndices = Optional.of(indices);
+            }
+            return new TableFilter(columnIndices, m_fromRowIndex, m_toRowIndex, List.copyOf(m_columnPredicates));
         }
 
     }
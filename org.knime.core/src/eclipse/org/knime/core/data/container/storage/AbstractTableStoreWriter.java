@@ -49,6 +49,7 @@
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.knime.core.data.DataCell;
@@ -129,6 +130,21 @@ protected final DataTableSpec getSpec() {
 
     public abstract void writeRow(final DataRow row) throws IOException;
 
+    /**
+     * Writes the given rows in the given order. This implementation calls {@link #writeRow(DataRow)} for each row,
+     * subclasses may serialize the rows concurrently. Implementations of {@link #writeDataCell(DataCell,
+     * DCObjectOutputVersion2)} and the methods it uses must therefore be thread-safe.
+     *
+     * @param rows the rows to write
+     * @throws IOException If an IO error occurs while writing.
+     * @since 5.4
+     */
+    public void writeRows(final List<? extends DataRow> rows) throws IOException {
+        for (DataRow row : rows) {
+            writeRow(row);
+        }
+    }
+
     /**
      * Writes meta information, such as the classes of serialized {@link DataCell} instances.
      *
@@ -165,7 +181,7 @@ public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
      * @param type the type for which the shortcut is to be retrieved
      * @return the identifier / shortcut of the passed type
      */
-    public Byte getTypeShortCut(final CellClassInfo cellClass) {
+    synchronized public Byte getTypeShortCut(final CellClassInfo cellClass) {
         return m_typeShortCuts.get(cellClass);
     }
 
@@ -176,7 +192,7 @@ public Byte getTypeShortCut(final CellClassInfo cellClass) {
      * @param cellClass The cell's class to write out.
      * @return The serializer to use or <code>null</code>.
      * @throws IOException If there are too many different cell implementations (currently 253 are theoretically
-     *             supported)
+     *             supported, 251 if the table is dictionary encoded)
      */
     synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final CellClassInfo cellClass) throws IOException {
         if (m_typeShortCuts == null) {
@@ -186,7 +202,9 @@ synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final
         DataCellSerializer<DataCell> serializer = (DataCellSerializer<DataCell>)cellClass.getSerializer();
         if (!m_typeShortCuts.containsKey(cellClass)) {
             int size = m_typeShortCuts.size();
-            if (size + BYTE_TYPE_START > Byte.MAX_VALUE) {
+            // the last two type bytes are reserved for the dictionary control bytes if the table is encoded
+            int maxTypeByte = isDictionaryEncoding() ? (BYTE_TYPE_DICTIONARY_ENTRY - 1) : Byte.MAX_VALUE;
+            if (size + BYTE_TYPE_START > maxTypeByte) {
                 throw new IOException("Too many different cell implementations");
             }
             Byte identifier = (byte)(size + BYTE_TYPE_START);
@@ -195,6 +213,16 @@ synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final
         return serializer;
     }
 
+    /**
+     * @return <code>true</code> if the writer dictionary-encodes columns, which uses the bytes
+     *         {@link #BYTE_TYPE_DICTIONARY_ENTRY} and {@link #BYTE_TYPE_DICTIONARY_REFERENCE} that are otherwise
+     *         available as type shortcuts; this implementation returns <code>false</code>
+     * @since 5.4
+     */
+    protected boolean isDictionaryEncoding() {
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override
     public abstract void close() throws IOException;
@@ -209,6 +237,16 @@ synchronized public DataCellSerializer<DataCell> getSerializerForDataCell(final
      * @throws IOException
      */
     public FileStoreKey[] getFileStoreKeysAndFlush(final DataCell cell) throws IOException {
+        if (!(cell instanceof FileStoreCell)) {
+            return null;
+        }
+        // cells might be written concurrently (see writeRows), the file store handler isn't thread-safe
+        synchronized (this) {
+            return getFileStoreKeysAndFlushInternal(cell);
+        }
+    }
+
+    private FileStoreKey[] getFileStoreKeysAndFlushInternal(final DataCell cell) throws IOException {
         FileStoreKey[] fileStoreKeys = null;
         if (cell instanceof FileStoreCell) {
             final FileStoreCell fsCell = (FileStoreCell)cell;
@@ -48,13 +48,16 @@
 package org.knime.core.data.convert.datacell;
 
 import java.lang.reflect.Method;
+import java.util.function.BiFunction;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellFactory;
 import org.knime.core.data.DataType;
 import org.knime.core.data.MissingCell;
 import org.knime.core.data.convert.DataCellFactoryMethod;
+import org.knime.core.data.convert.util.ClassUtil;
 import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.node.NodeLogger;
 
 /**
  * Implementation of {@link JavaToDataCellConverterFactory} using a {@link DataCellFactory} and one of its methods which
@@ -72,6 +75,9 @@
 
     private final Method m_method;
 
+    /** {@link #m_method} bound via {@link ClassUtil#bindInstanceMethodWithArgument(Method)}, null if that failed. */
+    private final BiFunction<Object, Object, Object> m_boundMethod;
+
     private final Class<S> m_srcType;
 
     private final DataType m_destDataType;
@@ -103,6 +109,7 @@
         assert DataCell.class.isAssignableFrom(method.getReturnType());
 
         m_method = method;
+        m_boundMethod = bind(method);
         m_srcType = sourceType;
         m_destDataType = destDataType;
         m_metaType = type;
@@ -119,6 +126,11 @@ public JavaToDataCellConverter<S> create(final FileStoreFactory fileStoreFactory
         final F finalFactory = (F)m_destDataType.getCellFactoryFor(fileStoreFactory).orElseThrow(
             () -> new RuntimeException("No DataCellFactory found for DataType: " + m_destDataType.getName()));
 
+        final BiFunction<Object, Object, Object> boundMethod = m_boundMethod;
+        if (boundMethod != null) {
+            // equivalent to finalFactory.factoryMethod(source), without reflection
+            return source -> source == null ? MISSING : (DataCell)boundMethod.apply(finalFactory, source);
+        }
         return new JavaToDataCellConverter<S>() {
             @Override
             public DataCell convert(final S source) throws Exception {
@@ -140,6 +152,16 @@ public DataCell convert(final S source) throws Exception {
         };
     }
 
+    private static BiFunction<Object, Object, Object> bind(final Method method) {
+        try {
+            return ClassUtil.bindInstanceMethodWithArgument(method);
+        } catch (ReflectiveOperationException | RuntimeException e) { // NOSONAR
+            NodeLogger.getLogger(FactoryMethodToDataCellConverterFactory.class)
+                .debug("Unable to bind " + method + ", using reflection", e);
+            return null;
+        }
+    }
+
     @Override
     public Class<S> getSourceType() {
         return m_srcType;
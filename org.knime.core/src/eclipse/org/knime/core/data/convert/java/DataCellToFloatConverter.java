@@ -48,6 +48,7 @@
  */
 package org.knime.core.data.convert.java;
 
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataValue;
 
 /**
@@ -78,4 +79,22 @@
     default Float convert(final S source) throws Exception {
         return convertIntoFloat(source);
     }
+
+    /**
+     * Converts the first {@code length} cells of a column batch into {@code float}s, calling
+     * {@link #convertIntoFloat(DataValue)} for each of them. The cells must implement {@code S}; missing cells are not
+     * allowed (the same contract as for {@link #convertUnsafe(DataCell)}).
+     *
+     * @param cells Cells to convert.
+     * @param dest Array the converted values are written to, starting at index 0.
+     * @param length Number of cells to convert, at most the length of either array.
+     * @throws Exception If something went wrong during conversion.
+     * @since 5.4
+     */
+    @SuppressWarnings("unchecked")
+    default void convertIntoFloats(final DataCell[] cells, final float[] dest, final int length) throws Exception {
+        for (int i = 0; i < length; i++) {
+            dest[i] = convertIntoFloat((S)cells[i]);
+        }
+    }
 }
@@ -58,6 +58,7 @@
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -502,14 +503,26 @@ private void parseAnnotations() {
         }
     }
 
+    /* bind the method once at registration time rather than calling Method#invoke on every cell */
+    private static DataCellToJavaConverter<DataValue, Object> createAccessMethodConverter(final Method method) {
+        try {
+            final Function<Object, Object> accessor = ClassUtil.bindInstanceMethod(method);
+            return accessor::apply;
+        } catch (ReflectiveOperationException | RuntimeException e) { // NOSONAR
+            LOGGER.debug("Unable to bind " + method + ", using reflection", e);
+            return method::invoke;
+        }
+    }
+
     private <T> void parseAnnotation(final Class<? extends DataValue> valueClass, final Method method,
         final DataValueAccessMethod annotation) {
 
         try {
             final Class<T> javaType = (Class<T>)ClassUtil.ensureObjectType(method.getReturnType());
             final String name = annotation.name();
+            final DataCellToJavaConverter<DataValue, Object> accessor = createAccessMethodConverter(method);
             final DataCellToJavaConverterFactory<?, ?> factory = new SimpleDataCellToJavaConverterFactory<>(valueClass,
-                javaType, (value) -> (T)method.invoke(value), name);
+                javaType, (value) -> (T)accessor.convert(value), name);
 
             // Check name of factory
             if (!validateFactoryName(factory)) {
@@ -72,4 +72,22 @@
      * @throws Exception If consuming the data row failed.
      */
     void consumeDataRow(DataRow row, CP[] params) throws Exception;
+
+    /**
+     * Consumes a batch of data rows using the same parameters for all of them. Equivalent to (and by default
+     * implemented as) calling {@link #consumeDataRow(DataRow, ConsumerParameters[])} for each row in order;
+     * implementations may override it to write to the underlying destination column-wise.
+     *
+     * @param rows The rows to consume.
+     * @param params The per-{@link DataCell cell} {@link ConsumerParameters parameters}, see
+     *            {@link #consumeDataRow(DataRow, ConsumerParameters[])}.
+     * @param length The number of rows to consume, at most the length of the array.
+     * @throws Exception If consuming any of the data rows failed.
+     * @since 5.4
+     */
+    default void consumeDataRows(final DataRow[] rows, final CP[] params, final int length) throws Exception {
+        for (int i = 0; i < length; i++) {
+            consumeDataRow(rows[i], params);
+        }
+    }
 }
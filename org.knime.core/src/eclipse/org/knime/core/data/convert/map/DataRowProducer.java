@@ -74,4 +74,24 @@
      * @throws Exception If producing the data row failed.
      */
     DataRow produceDataRow(final RowKey rowKey, PP[] params) throws Exception;
+
+    /**
+     * Creates a batch of data rows, one per row key, using the same parameters for all of them. Equivalent to (and by
+     * default implemented as) calling {@link #produceDataRow(RowKey, ProducerParameters[])} for each row key;
+     * implementations may override it to read the underlying source column-wise.
+     *
+     * @param rowKeys The row keys for the created rows.
+     * @param params The per-{@link DataCell cell} {@link ProducerParameters parameters}, see
+     *            {@link #produceDataRow(RowKey, ProducerParameters[])}.
+     * @param dest The array the produced rows are written to, starting at index 0.
+     * @param length The number of rows to produce, at most the length of either array.
+     * @throws Exception If producing any of the data rows failed.
+     * @since 5.4
+     */
+    default void produceDataRows(final RowKey[] rowKeys, final PP[] params, final DataRow[] dest, final int length)
+        throws Exception {
+        for (int i = 0; i < length; i++) {
+            dest[i] = produceDataRow(rowKeys[i], params);
+        }
+    }
 }
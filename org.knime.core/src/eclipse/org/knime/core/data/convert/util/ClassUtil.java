@@ -48,15 +48,24 @@
 package org.knime.core.data.convert.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.knime.core.data.DataType;
@@ -209,6 +218,104 @@ public static Class<? extends Object> ensureObjectType(final Class<?> in) {
         return PRIMITIVE_TO_BOXING_TYPE.get(in);
     }
 
+    /**
+     * Binds a public, non-static method without parameters (e.g. a
+     * {@link org.knime.core.data.convert.DataValueAccessMethod}) to a {@link Function} that invokes the method on its
+     * argument. Primitive return values are boxed. Unlike {@link Method#invoke(Object, Object...)} the function does
+     * not allocate an argument array or check access on each call, and exceptions thrown by the method are propagated
+     * as is (not wrapped in an {@link java.lang.reflect.InvocationTargetException}).
+     *
+     * @param method the method to bind
+     * @return a function calling {@code method} on its argument
+     * @throws ReflectiveOperationException if the method cannot be accessed
+     * @throws IllegalArgumentException if the method is static or has parameters
+     * @since 5.4
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> bindInstanceMethod(final Method method)
+        throws ReflectiveOperationException {
+        final MethodHandle target = unreflectInstanceMethod(method, 0);
+        final Function<Object, Object> lambda = spinLambda(method, target, Function.class, "apply");
+        if (lambda != null) {
+            return lambda;
+        }
+        final MethodHandle generic = target.asType(MethodType.methodType(Object.class, Object.class));
+        return receiver -> {
+            try {
+                return generic.invokeExact(receiver);
+            } catch (RuntimeException | Error e) { // NOSONAR
+                throw e;
+            } catch (Throwable t) { // NOSONAR
+                throw new UndeclaredThrowableException(t);
+            }
+        };
+    }
+
+    /**
+     * Binds a public, non-static method with exactly one parameter (e.g. a
+     * {@link org.knime.core.data.convert.DataCellFactoryMethod}) to a {@link BiFunction} that invokes the method on
+     * its first argument, passing the second argument. Primitive parameter and return types are unboxed/boxed. See
+     * {@link #bindInstanceMethod(Method)} for the differences to {@link Method#invoke(Object, Object...)}.
+     *
+     * @param method the method to bind
+     * @return a function calling {@code method} on its first argument
+     * @throws ReflectiveOperationException if the method cannot be accessed
+     * @throws IllegalArgumentException if the method is static or does not have exactly one parameter
+     * @since 5.4
+     */
+    @SuppressWarnings("unchecked")
+    public static BiFunction<Object, Object, Object> bindInstanceMethodWithArgument(final Method method)
+        throws ReflectiveOperationException {
+        final MethodHandle target = unreflectInstanceMethod(method, 1);
+        final BiFunction<Object, Object, Object> lambda = spinLambda(method, target, BiFunction.class, "apply");
+        if (lambda != null) {
+            return lambda;
+        }
+        final MethodHandle generic =
+            target.asType(MethodType.methodType(Object.class, Object.class, Object.class));
+        return (receiver, argument) -> {
+            try {
+                return generic.invokeExact(receiver, argument);
+            } catch (RuntimeException | Error e) { // NOSONAR
+                throw e;
+            } catch (Throwable t) { // NOSONAR
+                throw new UndeclaredThrowableException(t);
+            }
+        };
+    }
+
+    private static MethodHandle unreflectInstanceMethod(final Method method, final int parameterCount)
+        throws IllegalAccessException {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != parameterCount) {
+            throw new IllegalArgumentException(String.format("Method %s must not be static and needs %d parameter(s)",
+                method, parameterCount));
+        }
+        return MethodHandles.publicLookup().unreflect(method);
+    }
+
+    /**
+     * Implements the functional interface with a generated class calling the target directly. This needs full
+     * privilege access to the declaring class, which is only available if it's in the same module as this class
+     * (e.g. not for classes of other bundles). Returns null if that's not possible; the caller then invokes the
+     * method handle (still faster than reflection but not inlined).
+     */
+    private static <T> T spinLambda(final Method method, final MethodHandle target, final Class<T> functionalInterface,
+        final String interfaceMethodName) {
+        try {
+            final MethodHandles.Lookup lookup =
+                MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            if (!lookup.hasFullPrivilegeAccess()) {
+                return null;
+            }
+            final MethodType instantiatedType = target.type().wrap();
+            final CallSite site = LambdaMetafactory.metafactory(lookup, interfaceMethodName,
+                MethodType.methodType(functionalInterface), instantiatedType.erase(), target, instantiatedType);
+            return functionalInterface.cast(site.getTarget().invoke());
+        } catch (Throwable t) { // NOSONAR - binding is an optimization only, caller falls back to the method handle
+            return null;
+        }
+    }
+
     /**
      * Get the class of an array with given element type.
      *
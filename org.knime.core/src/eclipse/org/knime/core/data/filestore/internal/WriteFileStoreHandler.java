@@ -52,6 +52,7 @@
 import java.util.UUID;
 
 import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.TempStorageManager;
 import org.knime.core.data.filestore.FileStore;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
@@ -342,7 +343,8 @@ private void ensureInitBaseDirectory() throws IOException {
             // this will cut "Create FileStore Column 0-6-4" to "Creat0-6-4" ("0-6-4" is the node id)
             nodeName = nodeName.replaceAll("^(.{5}).*?(\\d+(?:-\\d+)+)", "$1_$2");
             baseDirName.append(nodeName).append("-");
-            m_baseDir = FileUtil.createTempDir(baseDirName.toString());
+            m_baseDir =
+                FileUtil.createTempDir(baseDirName.toString(), TempStorageManager.getInstance().nextDirectory());
             LOGGER.debug("Assigning temp directory to file store \"" + toString() + "\"");
         }
     }
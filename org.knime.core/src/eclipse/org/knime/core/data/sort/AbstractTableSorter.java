@@ -105,6 +105,9 @@ abstract class AbstractTableSorter { // NOSONAR has to be abstract so the class
     @SuppressWarnings("javadoc")
     public static final int DEF_MAX_OPENCONTAINER = 40;
 
+    /** Limit of the number of output rows meaning that all rows are returned. */
+    static final long NO_LIMIT = Long.MAX_VALUE;
+
     /** Pattern matching a single numeric digit. */
     private static final Pattern ANY_DIGIT = Pattern.compile("\\d");
 
@@ -381,24 +384,45 @@ ChunksWriter newChunksWriter(final TableIOHandler tableIOHandler) {
      */
     DataTable sortInternal(final ExecutionMonitor exec, final TableIOHandler dataHandler)
             throws CanceledExecutionException {
+        return sortInternal(exec, dataHandler, NO_LIMIT);
+    }
+
+    /**
+     * Sorts the table passed in the constructor according to the settings and returns the first <code>limit</code>
+     * rows of the sorted output table. The result is the same as sorting the whole table and truncating it, including
+     * the order of rows comparing equal, but only (roughly) twice the limit of rows are kept in memory and rows that
+     * can't be part of the result are dropped as early as possible; temporary tables are only written if these rows
+     * don't fit into memory.
+     *
+     * @param exec To report progress
+     * @param limit The maximum number of rows in the output, {@link #NO_LIMIT} to sort the whole table
+     * @return The sorted output.
+     * @throws CanceledExecutionException If canceled.
+     */
+    DataTable sortInternal(final ExecutionMonitor exec, final TableIOHandler dataHandler, final long limit)
+            throws CanceledExecutionException {
         DataTable result;
         final var fitsIntoJavaArray = m_rowsInInputTable <= Integer.MAX_VALUE;
-        if (m_sortInMemory && fitsIntoJavaArray) {
-            result = sortInMemory(exec, dataHandler);
+        if (limit == 0) {
+            final var dc = dataHandler.createDataContainer(m_dataTableSpec, false);
+            dc.close();
+            result = dc.getTable();
+        } else if (m_sortInMemory && fitsIntoJavaArray) {
+            result = sortInMemory(exec, dataHandler, limit);
         } else {
             if (m_sortInMemory) {
                 LOGGER.info("Not sorting table in memory, because it has more than " + Integer.MAX_VALUE + " rows.");
             }
-            result = sortOnDisk(exec, dataHandler);
+            result = sortOnDisk(exec, dataHandler, limit);
         }
         exec.setProgress(1.0, (String)null);
         return result;
     }
 
-    private DataTable sortInMemory(final ExecutionMonitor exec, final TableIOHandler dataHandler)
+    private DataTable sortInMemory(final ExecutionMonitor exec, final TableIOHandler dataHandler, final long limit)
             throws CanceledExecutionException {
 
-        final var optSorted = memSort(exec);
+        final var optSorted = memSort(exec, limit);
         if (optSorted.isEmpty()) {
             // input table has fewer than two rows, so it is trivially sorted
             return m_inputTable;
@@ -408,11 +432,12 @@ private DataTable sortInMemory(final ExecutionMonitor exec, final TableIOHandler
 
         final var dc = dataHandler.createDataContainer(m_inputTable.getDataTableSpec(), false);
         final var writeExec = exec.createSubProgress(0.5);
+        final var sorted = optSorted.get();
         var progress = 0;
-        for (DataRow r : optSorted.get()) {
+        for (DataRow r : sorted) {
             exec.checkCanceled();
             if (m_rowsInInputTable > 0) {
-                writeExec.setProgress(progress / (double)m_rowsInInputTable, r.getKey()::getString);
+                writeExec.setProgress(progress / (double)sorted.size(), r.getKey()::getString);
             } else {
                 final var rowNo = progress;
                 writeExec.setMessage(() -> r.getKey() + " (row " + rowNo + ")");
@@ -424,10 +449,11 @@ private DataTable sortInMemory(final ExecutionMonitor exec, final TableIOHandler
         return dc.getTable();
     }
 
-    private final Optional<List<DataRow>> memSort(final ExecutionMonitor exec) throws CanceledExecutionException {
+    private final Optional<List<DataRow>> memSort(final ExecutionMonitor exec, final long limit)
+            throws CanceledExecutionException {
         var progress = 0;
         exec.setMessage("Reading data");
-        final var rowList = new ArrayList<DataRow>();
+        final var rowList = new LimitedBuffer(m_rowComparator, limit);
         ExecutionMonitor readExec = exec.createSubProgress(0.5);
         for (final DataRow r : m_inputTable) {
             readExec.checkCanceled();
@@ -441,13 +467,13 @@ private final Optional<List<DataRow>> memSort(final ExecutionMonitor exec) throw
             progress++;
         }
         // if there is 0 or 1 row only, return immediately (can't rely on "rowCount" as it might not be set)
-        if (rowList.size() <= 1) {
+        if (progress <= 1) {
             return Optional.empty();
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
-        return Optional.of(rowList);
+        rowList.sortAndTruncate();
+        return Optional.of(rowList.getRows());
     }
 
     /**
@@ -458,7 +484,7 @@ private final Optional<List<DataRow>> memSort(final ExecutionMonitor exec) throw
      * @param dataHandler
      * @throws CanceledExecutionException if the user has canceled execution
      */
-    private DataTable sortOnDisk(final ExecutionMonitor exec, final TableIOHandler tableIOHandler)
+    private DataTable sortOnDisk(final ExecutionMonitor exec, final TableIOHandler tableIOHandler, final long limit)
             throws CanceledExecutionException {
         if (m_rowsInInputTable <= 0) {
             // potentially unknown input size
@@ -477,12 +503,12 @@ private DataTable sortOnDisk(final ExecutionMonitor exec, final TableIOHandler t
 
         final var initialPhaseExec = exec.createSubProgress(0.5);
         try (final var mergePhase =
-                createInitialChunks(initialPhaseExec, tableIOHandler, m_inputTable, ticker, numberFormat)) {
-            long numRows = mergePhase.getNumRows();
+                createInitialChunks(initialPhaseExec, tableIOHandler, m_inputTable, ticker, numberFormat, limit)) {
             // no or one row only in input table, can exit immediately (can't rely on global rowCount, might not be set)
-            if (numRows <= 1) {
+            if (mergePhase.getNumRows() <= 1) {
                 return m_inputTable;
             }
+            final long numRows = Math.min(mergePhase.getNumRows(), limit);
 
             exec.setMessage("Merging temporary tables");
             final var numLevels = Math.max(mergePhase.computeNumLevels(false), 1);
@@ -514,6 +540,19 @@ private DataTable sortOnDisk(final ExecutionMonitor exec, final TableIOHandler t
 
     CloseableRowIterator sortedIteratorInternal(final ExecutionContext exec, final TableIOHandler dataHandler)
             throws CanceledExecutionException {
+        return sortedIteratorInternal(exec, dataHandler, NO_LIMIT);
+    }
+
+    /**
+     * Sorts the table passed in the constructor according to the settings and returns an iterator over the first
+     * <code>limit</code> rows of the sorted output, see {@link #sortInternal(ExecutionMonitor, TableIOHandler, long)}.
+     */
+    CloseableRowIterator sortedIteratorInternal(final ExecutionContext exec, final TableIOHandler dataHandler,
+            final long limit) throws CanceledExecutionException {
+        if (limit == 0) {
+            exec.setProgress(1.0, (String)null);
+            return CloseableRowIterator.empty();
+        }
         if (m_rowsInInputTable <= 0) {
             // potentially unknown input size
             exec.setProgress(-1);
@@ -522,7 +561,7 @@ CloseableRowIterator sortedIteratorInternal(final ExecutionContext exec, final T
         final var fitsIntoJavaArray = m_rowsInInputTable <= Integer.MAX_VALUE;
         try {
             if (m_sortInMemory && fitsIntoJavaArray) {
-                final var optSorted = memSort(exec);
+                final var optSorted = memSort(exec, limit);
                 return CloseableRowIterator.from(optSorted.map(List::iterator).orElse(m_inputTable.iterator()));
             } else {
                 final var numberFormat = newProgressNumberFormat();
@@ -542,8 +581,8 @@ CloseableRowIterator sortedIteratorInternal(final ExecutionContext exec, final T
                 }
 
                 final var initialPhaseExec = exec.createSubProgress(0.5);
-                try (final var mergePhase =
-                        createInitialChunks(initialPhaseExec, dataHandler, m_inputTable, ticker, numberFormat)) {
+                try (final var mergePhase = createInitialChunks(initialPhaseExec, dataHandler, m_inputTable, ticker,
+                        numberFormat, limit)) {
                     // no or one row only in input table, can exit immediately (can't rely on global rowCount)
                     if (mergePhase.getNumRows() <= 1) { // NOSONAR
                         return CloseableRowIterator.from(m_inputTable.iterator());
@@ -561,11 +600,11 @@ CloseableRowIterator sortedIteratorInternal(final ExecutionContext exec, final T
     }
 
     private MergePhase createInitialChunks(final ExecutionMonitor initialPhaseExec, final TableIOHandler tableIOHandler,
-            final DataTable dataTable, final AtomicLong rowsRead, final NumberFormatter numFormat)
+            final DataTable dataTable, final AtomicLong rowsRead, final NumberFormatter numFormat, final long limit)
             throws CanceledExecutionException {
-        final var buffer = new ArrayList<DataRow>();
+        // rows that can't be among the first `limit` rows aren't even buffered
+        final var buffer = new LimitedBuffer(m_rowComparator, limit);
         long chunkStartRow = 0;
-        var rowsInCurrentChunk = 0;
 
         MemoryActionIndicator memObservable = m_memService.newIndicator();
 
@@ -574,7 +613,6 @@ private MergePhase createInitialChunks(final ExecutionMonitor initialPhaseExec,
                 final var inputIter = CloseableRowIterator.from(dataTable.iterator())) {
             while (inputIter.hasNext()) {
                 final var rowNo = rowsRead.incrementAndGet();
-                rowsInCurrentChunk++;
                 initialPhaseExec.checkCanceled();
                 if (m_rowsInInputTable > 0) {
                     initialPhaseExec.setProgress(1.0 * rowNo / m_rowsInInputTable, "Filling in-memory buffer");
@@ -583,17 +621,18 @@ private MergePhase createInitialChunks(final ExecutionMonitor initialPhaseExec,
                 }
                 buffer.add(inputIter.next());
 
-                if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
-                        || (rowNo % m_maxRowsPerChunk == 0)) {
+                // count the buffered rows, not the rows read: with a limit, most rows are dropped without buffering
+                final var bufferedRows = buffer.getRows().size();
+                if (((memObservable.lowMemoryActionRequired() && (bufferedRows >= m_maxOpenContainers))
+                        || (rowNo % m_maxRowsPerChunk == 0)) && bufferedRows > 0) {
                     LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + rowNo + "] - mem usage: " + getMemUsage());
                     initialPhaseExec.setMessage("Sorting in-memory buffer");
                     // sort buffer
-                    Collections.sort(buffer, m_rowComparator);
+                    buffer.sortAndTruncate();
                     // write buffer to disk
-                    writeChunk(initialPhaseExec, chunksWriter, buffer, numFormat);
+                    writeChunk(initialPhaseExec, chunksWriter, buffer.getRows(), numFormat);
                     LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + rowNo + "] - mem usage: " + getMemUsage());
                     chunkStartRow = rowNo + 1;
-                    rowsInCurrentChunk = 0;
                 }
             }
 
@@ -602,15 +641,15 @@ private MergePhase createInitialChunks(final ExecutionMonitor initialPhaseExec,
         }
 
         // Add buffer to the chunks
-        if (!buffer.isEmpty()) {
+        if (!buffer.getRows().isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
-            chunksContainer.add(buffer);
+            buffer.sortAndTruncate();
+            chunksContainer.add(buffer.getRows());
         }
 
         initialPhaseExec.setProgress(1.0, (String)null);
 
-        return createMergePhase(tableIOHandler, chunksContainer, rowsRead.get());
+        return createMergePhase(tableIOHandler, chunksContainer, rowsRead.get(), limit);
     }
 
     private static void writeChunk(final ExecutionMonitor exec, final ChunksWriter chunksWriter,
@@ -671,7 +710,22 @@ private static UnaryOperator<StringBuilder> progressFractionBuilder(final Number
      */
     MergePhase createMergePhase(final TableIOHandler tableIOHandler, final Deque<Iterable<DataRow>> chunks,
             final long numRows) {
-        return new MergePhase(m_dataTableSpec, tableIOHandler, m_rowComparator, m_maxOpenContainers, chunks, numRows);
+        return createMergePhase(tableIOHandler, chunks, numRows, NO_LIMIT);
+    }
+
+    /**
+     * Creates a merge phase configured for this sorter, which only returns the first rows of the merged chunks.
+     *
+     * @param tableIOHandler table I/O handler
+     * @param chunks chunks to be merged
+     * @param numRows number of rows in the input
+     * @param limit maximum number of rows returned, {@link #NO_LIMIT} for all rows
+     * @return configured merge phase
+     */
+    MergePhase createMergePhase(final TableIOHandler tableIOHandler, final Deque<Iterable<DataRow>> chunks,
+            final long numRows, final long limit) {
+        return new MergePhase(m_dataTableSpec, tableIOHandler, m_rowComparator, m_maxOpenContainers, chunks, numRows,
+            limit);
     }
 
     /**
@@ -688,10 +742,17 @@ static final class MergePhase implements AutoCloseable {
         private final int m_maxOpenContainers;
         private final Deque<Iterable<DataRow>> m_chunks;
         private final long m_numRows;
+        private final long m_limit;
 
         MergePhase(final DataTableSpec tableSpec, final TableIOHandler dataHandler,
                 final Comparator<DataRow> rowComparator, final int maxOpenContainers,
                 final Deque<Iterable<DataRow>> chunks, final long numRows) {
+            this(tableSpec, dataHandler, rowComparator, maxOpenContainers, chunks, numRows, NO_LIMIT);
+        }
+
+        MergePhase(final DataTableSpec tableSpec, final TableIOHandler dataHandler,
+                final Comparator<DataRow> rowComparator, final int maxOpenContainers,
+                final Deque<Iterable<DataRow>> chunks, final long numRows, final long limit) {
             m_numberFormat = newProgressNumberFormat();
             m_tableSpec = tableSpec;
             m_dataHandler = dataHandler;
@@ -699,6 +760,7 @@ static final class MergePhase implements AutoCloseable {
             m_maxOpenContainers = maxOpenContainers;
             m_chunks = chunks;
             m_numRows = numRows;
+            m_limit = limit;
         }
 
         public long getNumRows() {
@@ -749,7 +811,8 @@ private CloseableRowIterator mergeChunks(final ExecutionMonitor mergePhaseExec,
                     final var chunksToMerge = new ArrayList<>(m_chunks);
                     m_chunks.clear();
                     mergePhaseExec.setProgress(1.0, (String)null);
-                    return createMergeIterator(chunksToMerge);
+                    final var mergeIterator = createMergeIterator(chunksToMerge);
+                    return m_limit == NO_LIMIT ? mergeIterator : new LimitingIterator(mergeIterator, m_limit);
                 }
 
                 // `numChunks` > 1, `numRounds` > 0.0
@@ -789,10 +852,10 @@ private void performMergeRound(final ExecutionMonitor exec, final Supplier<Strin
                         chunksToMerge.add(m_chunks.poll());
                     }
 
-                    // merge the `k` chunks together and add the combined chunk to the chunks writer
+                    // merge the `k` chunks together and add the combined chunk (up to the limit) to the chunks writer
                     try (final var mergeIterator = createMergeIterator(chunksToMerge);
                             final var chunk = chunksWriter.openChunk(true)) {
-                        while (mergeIterator.hasNext()) { // NOSONAR
+                        for (var n = 0L; n < m_limit && mergeIterator.hasNext(); n++) { // NOSONAR
                             exec.checkCanceled();
                             chunk.addRow(mergeIterator.next());
                             final var numRowsProcessed = rowsTicker.incrementAndGet();
@@ -894,6 +957,96 @@ private static NumberFormatter newProgressNumberFormat() {
         }
     }
 
+    /**
+     * Buffer of rows used to sort a table when only the first rows of the output are needed. Whenever the buffer holds
+     * twice as many rows as needed, it's sorted and truncated; the last row that remains is used to drop subsequent
+     * rows comparing greater or equal right away (they come later in the input and a stable sort puts them after that
+     * row). Without a limit it's a plain list of rows.
+     */
+    private static final class LimitedBuffer {
+
+        private final Comparator<DataRow> m_comparator;
+
+        private final long m_limit;
+
+        private final ArrayList<DataRow> m_rows = new ArrayList<>();
+
+        /** Row preceded by at least limit - 1 rows in the sorted output (seen so far), null if unknown. */
+        private DataRow m_threshold;
+
+        LimitedBuffer(final Comparator<DataRow> comparator, final long limit) {
+            m_comparator = comparator;
+            m_limit = limit;
+        }
+
+        /**
+         * Adds a row unless it can't be among the first rows of the output.
+         *
+         * @param row the next row of the input table
+         */
+        void add(final DataRow row) {
+            if (m_threshold != null && m_comparator.compare(row, m_threshold) >= 0) {
+                return;
+            }
+            m_rows.add(row);
+            if (m_limit <= Integer.MAX_VALUE / 2 && m_rows.size() >= 2 * m_limit) {
+                sortAndTruncate();
+            }
+        }
+
+        /** Sorts the buffered rows (stable) and drops those beyond the limit. */
+        void sortAndTruncate() {
+            Collections.sort(m_rows, m_comparator);
+            if (m_rows.size() >= m_limit) {
+                final var limit = (int)m_limit;
+                m_rows.subList(limit, m_rows.size()).clear();
+                final var last = m_rows.get(limit - 1);
+                if (m_threshold == null || m_comparator.compare(last, m_threshold) < 0) {
+                    m_threshold = last;
+                }
+            }
+        }
+
+        /** @return the buffered rows, modifiable (emptied when written to a chunk) */
+        ArrayList<DataRow> getRows() {
+            return m_rows;
+        }
+    }
+
+    /**
+     * Closeable row iterator that returns at most a given number of rows of the underlying iterator.
+     */
+    private static final class LimitingIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator m_iterator;
+
+        private long m_remaining;
+
+        LimitingIterator(final CloseableRowIterator iterator, final long limit) {
+            m_iterator = iterator;
+            m_remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_remaining > 0 && m_iterator.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            m_remaining--;
+            return m_iterator.next();
+        }
+
+        @Override
+        public void close() {
+            m_iterator.close();
+        }
+    }
+
     /**
      * Closeable row iterator that disposes the underlying iterable when it is closed.
      */
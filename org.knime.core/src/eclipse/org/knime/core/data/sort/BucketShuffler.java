@@ -0,0 +1,365 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.sort;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Shuffles a table in linear time without sorting it. The rows are scattered into random buckets in one pass over the
+ * table, then each bucket is shuffled in memory (Fisher-Yates) and the buckets are concatenated. Since each bucket
+ * receives a uniformly random subset of the rows and is itself uniformly shuffled, all permutations are equally
+ * likely. Buckets that turn out too large to be shuffled in memory are shuffled recursively, which also makes it
+ * possible to shuffle tables with more than {@link Integer#MAX_VALUE} rows.
+ *
+ * <p>
+ * Tables that fit into a single bucket are shuffled directly in memory (one read, one write); larger tables are read
+ * and written twice. The buckets are loaded and shuffled in parallel while the result is written.
+ *
+ * <p>
+ * The result is reproducible for a given seed, but differs from the result of {@link ClosableShuffler} for the same
+ * seed.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class BucketShuffler implements Closeable {
+
+    /** The maximum number of rows that are shuffled in memory. */
+    static final int DEFAULT_MAX_BUCKET_SIZE = 100_000;
+
+    /** The maximum number of buckets (i.e. of open containers) of one scatter pass. */
+    static final int MAX_BUCKETS = 256;
+
+    /**
+     * The expected bucket size is this fraction of the maximum bucket size, so that the random variation of the
+     * bucket sizes hardly ever requires recursion.
+     */
+    private static final double BUCKET_FILL_FACTOR = 0.8;
+
+    private final BufferedDataTable m_table;
+
+    private final ExecutionContext m_exec;
+
+    private final long m_seed;
+
+    private final int m_maxBucketSize;
+
+    private final ThreadPool m_pool;
+
+    private BufferedDataTable m_shuffled;
+
+    /** Number of rows appended to the result so far, the progress is based on this count only. */
+    private long m_rowsWritten;
+
+    /**
+     * Create a {@link BucketShuffler} to shuffle the input table with the given seed (for reproducibility). Call
+     * {@link #getShuffled()} to execute the shuffling and get the shuffled table and call {@link #close()} to clear the
+     * shuffled table.
+     *
+     * @param table the table to shuffle
+     * @param exec execution context use for creating tables and reporting progress
+     * @param seed random seed for permutation generation
+     */
+    public BucketShuffler(final BufferedDataTable table, final ExecutionContext exec, final long seed) {
+        this(table, exec, seed, DEFAULT_MAX_BUCKET_SIZE);
+    }
+
+    BucketShuffler(final BufferedDataTable table, final ExecutionContext exec, final long seed,
+        final int maxBucketSize) {
+        if (maxBucketSize < 1) {
+            throw new IllegalArgumentException("Maximum bucket size must be positive: " + maxBucketSize);
+        }
+        m_table = table;
+        m_exec = exec;
+        m_seed = seed;
+        m_maxBucketSize = maxBucketSize;
+        final var currentPool = ThreadPool.currentPool();
+        m_pool = currentPool != null ? currentPool : KNIMEConstants.GLOBAL_THREAD_POOL;
+    }
+
+    /**
+     * Run the shuffling (only on the first call) and get the shuffled table.
+     *
+     * @return the shuffled table
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    public BufferedDataTable getShuffled() throws CanceledExecutionException {
+        if (m_shuffled == null) {
+            final BufferedDataContainer result =
+                m_exec.createDataContainer(m_table.getDataTableSpec(), containerSettings(false));
+            try {
+                m_rowsWritten = 0;
+                shuffle(m_table, m_seed, result);
+            } finally {
+                result.close();
+            }
+            m_shuffled = result.getTable();
+        }
+        return m_shuffled;
+    }
+
+    /** Clears the shuffled table. */
+    @Override
+    public void close() {
+        if (m_shuffled != null) {
+            m_exec.clearTable(m_shuffled);
+            m_shuffled = null;
+        }
+    }
+
+    /** The rows are only reordered, neither the domain nor the row keys need to be checked. */
+    private static DataContainerSettings containerSettings(final boolean isBucket) {
+        return DataContainerSettings.internalBuilder() //
+            .withInitializedDomain(true) // copy domain
+            .withDomainUpdate(false) // no new values are added
+            .withCheckDuplicateRowKeys(false) // no new row keys are added
+            // buckets are never read before they are complete, no need to keep any of their rows in memory
+            .withMaxCellsInMemory(isBucket ? 0 : -1) //
+            .build();
+    }
+
+    /**
+     * Shuffles the table and appends its rows to the result container. Progress is only reported when rows are
+     * appended to the result so that each row is counted once, no matter how often it's scattered.
+     */
+    private void shuffle(final BufferedDataTable table, final long seed, final BufferedDataContainer result)
+        throws CanceledExecutionException {
+        final long size = table.size();
+        if (size <= m_maxBucketSize) {
+            writeRows(readAndShuffle(table, new Random(seed)), result);
+            return;
+        }
+        final int nrBuckets = (int)Math.min(MAX_BUCKETS, Math.max(2,
+            (long)Math.ceil(size / (BUCKET_FILL_FACTOR * m_maxBucketSize))));
+        final BufferedDataTable[] buckets = scatter(table, new Random(seed), nrBuckets);
+        try {
+            writeBuckets(buckets, seed, result);
+        } finally {
+            for (BufferedDataTable bucket : buckets) {
+                if (bucket != null) {
+                    m_exec.clearTable(bucket);
+                }
+            }
+        }
+    }
+
+    /** Distributes the rows of the table uniformly at random across the given number of buckets. */
+    private BufferedDataTable[] scatter(final BufferedDataTable table, final Random random, final int nrBuckets)
+        throws CanceledExecutionException {
+        final DataTableSpec spec = table.getDataTableSpec();
+        final BufferedDataContainer[] containers = new BufferedDataContainer[nrBuckets];
+        final BufferedDataTable[] buckets = new BufferedDataTable[nrBuckets];
+        try {
+            for (int i = 0; i < nrBuckets; i++) {
+                containers[i] = m_exec.createDataContainer(spec, containerSettings(true));
+            }
+            m_exec.setMessage(() -> "Distributing " + table.size() + " rows into " + nrBuckets + " buckets");
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    m_exec.checkCanceled();
+                    containers[random.nextInt(nrBuckets)].addRowToTable(it.next());
+                }
+            }
+            for (int i = 0; i < nrBuckets; i++) {
+                containers[i].close();
+                buckets[i] = containers[i].getTable();
+            }
+            return buckets;
+        } catch (CanceledExecutionException | RuntimeException e) {
+            for (int i = 0; i < nrBuckets; i++) {
+                if (buckets[i] != null) {
+                    m_exec.clearTable(buckets[i]);
+                } else if (containers[i] != null) {
+                    containers[i].close();
+                    m_exec.clearTable(containers[i].getTable());
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Shuffles the buckets and appends them to the result in order. Buckets that fit into memory are loaded and
+     * shuffled by the thread pool ahead of time; larger buckets are shuffled recursively.
+     */
+    private void writeBuckets(final BufferedDataTable[] buckets, final long seed, final BufferedDataContainer result)
+        throws CanceledExecutionException {
+        final int maxInFlight = Math.max(1, Math.min(m_pool.getMaxThreads(), 4));
+        final Deque<PendingBucket> pending = new ArrayDeque<>();
+        int nextToSubmit = 0;
+        try {
+            for (int i = 0; i < buckets.length; i++) {
+                while (nextToSubmit < buckets.length && pending.size() < maxInFlight) {
+                    pending.add(submit(buckets[nextToSubmit], bucketSeed(seed, nextToSubmit)));
+                    nextToSubmit++;
+                }
+                final PendingBucket next = pending.poll();
+                if (next.m_future == null) {
+                    shuffle(buckets[i], bucketSeed(seed, i), result);
+                } else {
+                    writeRows(next.get(), result);
+                }
+                m_exec.clearTable(buckets[i]);
+                buckets[i] = null;
+            }
+        } finally {
+            // don't interrupt, the pool's worker threads terminate when interrupted
+            pending.forEach(PendingBucket::cancel);
+        }
+    }
+
+    private PendingBucket submit(final BufferedDataTable bucket, final long seed) {
+        if (bucket.size() > m_maxBucketSize) {
+            // shuffled recursively by the caller
+            return new PendingBucket(null, null);
+        }
+        final Callable<List<DataRow>> task = () -> readAndShuffle(bucket, new Random(seed));
+        return new PendingBucket(task, m_pool.enqueue(task));
+    }
+
+    /** Derives the seed of a bucket from the seed of its parent. */
+    private static long bucketSeed(final long seed, final int bucketIndex) {
+        // SplitMix64 finalizer, decorrelates the seeds of neighboring buckets
+        long z = seed + (bucketIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static List<DataRow> readAndShuffle(final BufferedDataTable table, final Random random) {
+        final List<DataRow> rows = new ArrayList<>((int)table.size());
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                rows.add(it.next());
+            }
+        }
+        Collections.shuffle(rows, random);
+        return rows;
+    }
+
+    private void writeRows(final List<DataRow> rows, final BufferedDataContainer result)
+        throws CanceledExecutionException {
+        final double totalRows = m_table.size();
+        for (DataRow row : rows) {
+            m_exec.checkCanceled();
+            result.addRowToTable(row);
+            m_rowsWritten++;
+            final long rowsWritten = m_rowsWritten;
+            m_exec.setProgress(rowsWritten / totalRows,
+                () -> "Writing row " + rowsWritten + " of " + (long)totalRows);
+        }
+    }
+
+    /** A bucket that's being loaded and shuffled by the thread pool, or a placeholder for a too large bucket. */
+    private static final class PendingBucket {
+
+        private final Callable<List<DataRow>> m_task;
+
+        private final Future<List<DataRow>> m_future;
+
+        PendingBucket(final Callable<List<DataRow>> task, final Future<List<DataRow>> future) {
+            m_task = task;
+            m_future = future;
+        }
+
+        /**
+         * Waits for the shuffled rows. If the task hasn't been started yet (e.g. because all threads of the pool are
+         * busy) it's run in the calling thread instead.
+         */
+        List<DataRow> get() throws CanceledExecutionException {
+            try {
+                if (m_future.cancel(false)) {
+                    return m_task.call();
+                }
+                return m_future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while waiting for shuffled bucket");
+            } catch (ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                } else if (cause instanceof Error e) {
+                    throw e;
+                }
+                throw new IllegalStateException(cause.getMessage(), cause);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) { // NOSONAR Callable#call declares Exception, readAndShuffle doesn't throw any
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        void cancel() {
+            if (m_future != null) {
+                m_future.cancel(false);
+            }
+        }
+    }
+}
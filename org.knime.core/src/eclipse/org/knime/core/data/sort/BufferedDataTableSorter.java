@@ -197,6 +197,24 @@ public BufferedDataTable sort(final ExecutionContext ctx) throws CanceledExecuti
         return (BufferedDataTable)super.sortInternal(ctx, createTableIOHandler(ctx));
     }
 
+    /**
+     * Sorts the table passed in the constructor according to the settings and returns the first <code>limit</code>
+     * rows of the sorted output table. The result is the same as sorting the whole table and keeping its first
+     * <code>limit</code> rows (also for rows comparing equal), but only about twice the limit of rows are held at a
+     * time and temporary tables are only written if these rows don't fit into memory.
+     *
+     * @param ctx To report progress &amp; create temporary and final output tables.
+     * @param limit The maximum number of rows in the output, must not be negative
+     * @return The first <code>limit</code> rows of the sorted output.
+     * @throws CanceledExecutionException If canceled.
+     * @since 5.4
+     */
+    public BufferedDataTable sort(final ExecutionContext ctx, final long limit) throws CanceledExecutionException {
+        CheckUtils.checkArgumentNotNull(ctx);
+        CheckUtils.checkArgument(limit >= 0, "Limit must not be negative: %d", limit);
+        return (BufferedDataTable)super.sortInternal(ctx, createTableIOHandler(ctx), limit);
+    }
+
     /**
      * Sorts the table passed in the constructor according to the settings and returns a resource iterator over the
      * resulting table.
@@ -210,6 +228,22 @@ public CloseableRowIterator sortedIterator(final ExecutionContext ctx) throws Ca
         return super.sortedIteratorInternal(CheckUtils.checkArgumentNotNull(ctx), createTableIOHandler(ctx));
     }
 
+    /**
+     * Sorts the table passed in the constructor according to the settings and returns a resource iterator over the
+     * first <code>limit</code> rows of the resulting table, see {@link #sort(ExecutionContext, long)}.
+     *
+     * @param ctx To report progress &amp; create temporary output tables
+     * @param limit The maximum number of rows returned by the iterator, must not be negative
+     * @return The first <code>limit</code> rows of the sorted output as an iterator
+     * @throws CanceledExecutionException If canceled
+     * @since 5.4
+     */
+    public CloseableRowIterator sortedIterator(final ExecutionContext ctx, final long limit)
+            throws CanceledExecutionException {
+        CheckUtils.checkArgument(limit >= 0, "Limit must not be negative: %d", limit);
+        return super.sortedIteratorInternal(CheckUtils.checkArgumentNotNull(ctx), createTableIOHandler(ctx), limit);
+    }
+
     static TableIOHandler createTableIOHandler(final ExecutionContext ctx) {
         return new BufferedDataTableSorterTableIOHandler(ctx);
     }
@@ -71,6 +71,10 @@
  * likely. The shuffling procedure requires only linear runtime. For further details see "Fisher-Yates shuffle", from
  * Dictionary of Algorithms and Data Structures, Paul E. Black, ed., NIST.
  *
+ * <p>
+ * Tables with {@link Integer#MAX_VALUE} or more rows are shuffled with a {@link BucketShuffler}, which is also
+ * preferable for large tables in general as it doesn't need to sort the table.
+ *
  * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
  * @author Benjamin Wilhelm, KNIME GmbH, Konstanz, Germany
  * @since 4.3
@@ -101,9 +105,6 @@ public final class ClosableShuffler implements Closeable {
      * @since 4.3
      */
     public ClosableShuffler(final BufferedDataTable table, final ExecutionContext exec, final long seed) {
-        CheckUtils.checkArgument(table.size() <= Integer.MAX_VALUE,
-            "It's currently not possible to shuffle tables with more than Integer.MAX_VALUE rows.");
-
         m_table = table;
         m_exec = exec;
         m_seed = seed;
@@ -125,12 +126,24 @@ public BufferedDataTable getShuffled() throws CanceledExecutionException {
 
     @Override
     public void close() {
-        m_exec.clearTable(m_sorted);
-        m_exec.clearTable(m_shuffled);
-        m_exec.clearTable(m_intermediate);
+        clearTable(m_sorted);
+        clearTable(m_shuffled);
+        clearTable(m_intermediate);
+    }
+
+    private void clearTable(final BufferedDataTable table) {
+        // the intermediate tables don't exist if the table was shuffled by a BucketShuffler
+        if (table != null) {
+            m_exec.clearTable(table);
+        }
     }
 
     private void shuffle() throws CanceledExecutionException {
+        if (m_table.size() >= Integer.MAX_VALUE) {
+            // too large for the permutation array, BucketShuffler has no such limit (but produces a different order)
+            m_shuffled = new BucketShuffler(m_table, m_exec, m_seed).getShuffled();
+            return;
+        }
         try {
             final RandomNumberAppendFactory randomnumfac = RandomNumberAppendFactory.create(m_seed, m_table);
             ColumnRearranger colre = new ColumnRearranger(m_table.getDataTableSpec());
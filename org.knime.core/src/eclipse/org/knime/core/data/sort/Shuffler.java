@@ -97,8 +97,9 @@ private Shuffler() {
      */
     @Deprecated
     public static BufferedDataTable shuffle(final BufferedDataTable table, final ExecutionContext exec, final long seed) throws CanceledExecutionException {
-        CheckUtils.checkArgument(table.size() <= Integer.MAX_VALUE,
-                "It's currently not possible to shuffle tables with more than Integer.MAX_VALUE rows.");
+        if (table.size() >= Integer.MAX_VALUE) {
+            return new BucketShuffler(table, exec, seed).getShuffled();
+        }
 
         RandomNumberAppendFactory randomnumfac =
                 RandomNumberAppendFactory.create(seed, table);
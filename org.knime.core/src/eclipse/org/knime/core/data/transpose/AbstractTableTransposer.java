@@ -116,12 +116,25 @@ class Buffer {
          * @param upperBound chunk end
          */
         void storeRowInColumns(final DataRow row, final int lowerBound, final int upperBound) {
+            storeRowInColumns(row, lowerBound, upperBound, 0);
+        }
+
+        /**
+         * Same as {@link #storeRowInColumns(DataRow, int, int)} but for a row that only contains a subset of the input
+         * columns, e.g. a row of a column tile. The cell of input column c is at index c - cellOffset in the row.
+         *
+         * @param row current row
+         * @param lowerBound chunk start (index in input table)
+         * @param upperBound chunk end (index in input table)
+         * @param cellOffset index of the row's first cell in the input table
+         */
+        void storeRowInColumns(final DataRow row, final int lowerBound, final int upperBound, final int cellOffset) {
             for (int c = lowerBound; c < upperBound; c++) {
                 // get the corresponding column and fill the list of DataCells
                 var newRowKey = m_dataTableSpec.getColumnSpec(c).getName();
                 List<DataCell> cellList = m_map.computeIfAbsent(newRowKey, k -> new ArrayList<>());
                 // no rowId has to be specified here, cells are appended in correct row order
-                cellList.add(row.getCell(c));
+                cellList.add(row.getCell(c - cellOffset));
             }
         }
 
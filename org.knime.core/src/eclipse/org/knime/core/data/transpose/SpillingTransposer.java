@@ -0,0 +1,297 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.transpose;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Class to transpose a table with a single pass over the input table. The input is split into column tiles, i.e.
+ * narrow tables of adjacent columns, which are written to temporary (spilled) tables while the input is read once.
+ * Each tile is then read back and converted into output rows. In contrast to the {@link FixedChunksTransposer} and
+ * the {@link MemoryAwareTransposer}, which re-read the (wide) input table once per chunk of columns, repeated reads
+ * only happen on the (narrow) tile tables and only if a tile does not fit into memory.
+ *
+ * <p>
+ * The number of tiles is bounded (see {@link #DEFAULT_MAX_TILE_COUNT}) as each tile holds an open file while the input
+ * is read.
+ *
+ * @author agent
+ */
+public class SpillingTransposer extends AbstractTableTransposer {
+
+    /** Maximum number of tiles (= spill files written concurrently) if no tile width is specified. */
+    public static final int DEFAULT_MAX_TILE_COUNT = 256;
+
+    /** Settings of the tile containers: no domain, no key check, written straight to disk. */
+    private static final DataContainerSettings TILE_CONTAINER_SETTINGS = DataContainerSettings.internalBuilder() //
+        .withInitializedDomain(false) //
+        .withDomainUpdate(false) //
+        .withCheckDuplicateRowKeys(false) //
+        .withMaxCellsInMemory(0) //
+        .withForceSequentialRowHandling(true) //
+        .build();
+
+    private final NodeLogger m_logger = NodeLogger.getLogger(SpillingTransposer.class);
+
+    private final BooleanSupplier m_isMemoryLow;
+
+    private final int m_tileWidth;
+
+    /** Total number of cells to be processed (input pass plus tile pass), used for progress. */
+    private final double m_totalWork;
+
+    /** Number of cells processed so far, used for progress. */
+    private long m_workDone;
+
+    /**
+     * Creates a transposer with at most {@link #DEFAULT_MAX_TILE_COUNT} tiles.
+     *
+     * @param inputTable table to transpose
+     * @param exec for reporting progress and checking cancellation
+     * @throws CanceledExecutionException
+     */
+    public SpillingTransposer(final BufferedDataTable inputTable, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        this(inputTable, exec, defaultTileWidth(inputTable.getDataTableSpec().getNumColumns()));
+    }
+
+    /**
+     * @param inputTable table to transpose
+     * @param exec for reporting progress and checking cancellation
+     * @param tileWidth the number of input columns per tile
+     * @throws CanceledExecutionException
+     */
+    public SpillingTransposer(final BufferedDataTable inputTable, final ExecutionContext exec, final int tileWidth)
+        throws CanceledExecutionException {
+        this(inputTable, exec, tileWidth, MemoryAlertSystem.getInstance()::isMemoryLow);
+    }
+
+    /**
+     * Constructor for testing. Allows setting a memory alert system that will alert for testing purposes.
+     *
+     * @param inputTable table to transpose
+     * @param exec for reporting progress and checking cancellation
+     * @param tileWidth the number of input columns per tile
+     * @param testMemoryLow for testing purposes
+     * @throws CanceledExecutionException
+     */
+    SpillingTransposer(final BufferedDataTable inputTable, final ExecutionContext exec, final int tileWidth,
+        final BooleanSupplier testMemoryLow) throws CanceledExecutionException {
+        super(inputTable, exec);
+        CheckUtils.checkArgument(tileWidth > 0, "Tile width must be at least 1.");
+        m_tileWidth = tileWidth;
+        m_isMemoryLow = testMemoryLow;
+        m_totalWork = Math.max(1.0, 2.0 * m_colsInOutTable * m_rowsInOutTable);
+    }
+
+    private static int defaultTileWidth(final int nrColumns) {
+        return Math.max(1, (int)Math.ceil(nrColumns / (double)DEFAULT_MAX_TILE_COUNT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void transpose() throws CanceledExecutionException {
+        final int nrTiles = (int)Math.ceil(m_rowsInOutTable / (double)m_tileWidth);
+        final BufferedDataTable[] tiles = writeTiles(nrTiles);
+        try {
+            for (var t = 0; t < nrTiles; t++) {
+                final int tileStart = t * m_tileWidth;
+                transposeTile(tiles[t], tileStart, Math.min(m_tileWidth, m_rowsInOutTable - tileStart));
+                m_exec.clearTable(tiles[t]);
+                tiles[t] = null;
+            }
+        } finally {
+            Arrays.stream(tiles).filter(t -> t != null).forEach(m_exec::clearTable);
+        }
+        m_exec.setProgress(1.0, "Finished, closing buffer...");
+        m_container.close();
+    }
+
+    /**
+     * Reads the input table once and splits each row into the tile tables. If anything fails (including cancelation)
+     * the tile containers created so far are closed and their tables cleared.
+     */
+    private BufferedDataTable[] writeTiles(final int nrTiles) throws CanceledExecutionException {
+        final var containers = new BufferedDataContainer[nrTiles];
+        var success = false;
+        try {
+            final var tiles = writeTiles(containers);
+            success = true;
+            return tiles;
+        } finally {
+            if (!success) {
+                discard(containers);
+            }
+        }
+    }
+
+    private BufferedDataTable[] writeTiles(final BufferedDataContainer[] containers)
+        throws CanceledExecutionException {
+        final int nrTiles = containers.length;
+        for (var t = 0; t < nrTiles; t++) {
+            final int tileStart = t * m_tileWidth;
+            final int tileEnd = Math.min(tileStart + m_tileWidth, m_rowsInOutTable);
+            final DataColumnSpec[] tileColumns = IntStream.range(tileStart, tileEnd)
+                .mapToObj(m_dataTableSpec::getColumnSpec).toArray(DataColumnSpec[]::new);
+            containers[t] = m_exec.createDataContainer(new DataTableSpec(tileColumns), TILE_CONTAINER_SETTINGS);
+        }
+        try (CloseableRowIterator iterator = m_inputTable.iterator()) {
+            final var cells = new DataCell[m_rowsInOutTable];
+            while (iterator.hasNext()) {
+                final DataRow row = iterator.next();
+                for (var c = 0; c < cells.length; c++) {
+                    cells[c] = row.getCell(c);
+                }
+                for (var t = 0; t < nrTiles; t++) {
+                    final int tileStart = t * m_tileWidth;
+                    final int tileEnd = Math.min(tileStart + m_tileWidth, m_rowsInOutTable);
+                    containers[t].addRowToTable(
+                        new DefaultRow(row.getKey(), Arrays.copyOfRange(cells, tileStart, tileEnd)));
+                }
+                m_workDone += m_rowsInOutTable;
+                m_exec.setProgress(m_workDone / m_totalWork,
+                    () -> String.format("Splitting row \"%s\" into %d column tiles.", row.getKey(), nrTiles));
+                handleIfCanceled();
+            }
+        }
+        final var tiles = new BufferedDataTable[nrTiles];
+        for (var t = 0; t < nrTiles; t++) {
+            containers[t].close();
+            tiles[t] = containers[t].getTable();
+        }
+        return tiles;
+    }
+
+    /**
+     * Converts the columns of a tile into output rows. Attempts to convert all columns of the tile at once, if memory
+     * gets low the number of columns converted at once is reduced (see {@link MemoryAwareTransposer}) and the
+     * remaining part of the tile is read again.
+     *
+     * @param tile the tile table
+     * @param tileStart the index of the tile's first column in the input table
+     * @param tileWidth the number of columns in the tile
+     */
+    private void transposeTile(final BufferedDataTable tile, final int tileStart, final int tileWidth)
+        throws CanceledExecutionException {
+        final int tileEnd = tileStart + tileWidth;
+        var chunkStart = tileStart;
+        var chunkSize = tileWidth;
+        long nextRow = 0;
+        while (chunkStart < tileEnd) {
+            final int colsInChunk = Math.min(tileEnd - chunkStart, chunkSize);
+            final int[] indices =
+                IntStream.range(chunkStart - tileStart, chunkStart - tileStart + colsInChunk).toArray();
+            final var tableFilter =
+                new TableFilter.Builder().withMaterializeColumnIndices(indices).withFromRowIndex(nextRow).build();
+            var isChunkComplete = true;
+            try (CloseableRowIterator iterator = tile.filter(tableFilter).iterator()) {
+                while (iterator.hasNext()) {
+                    final DataRow row = iterator.next();
+                    m_buffer.storeRowInColumns(row, chunkStart, chunkStart + colsInChunk, tileStart);
+                    nextRow++;
+                    m_workDone += colsInChunk;
+                    m_exec.setProgress(Math.min(1.0, m_workDone / m_totalWork), () -> String
+                        .format("Transposing row \"%s\", %d columns at once.", row.getKey(), colsInChunk));
+                    handleIfCanceled();
+                    if (colsInChunk > 1 && m_isMemoryLow.getAsBoolean()) {
+                        chunkSize = (int)Math.ceil(colsInChunk / 2.0);
+                        m_logger.debug("Memory condition: reduced number of columns transposed at once to "
+                            + chunkSize + ", rows completed: " + nextRow);
+                        m_buffer.truncateRows(chunkSize);
+                        isChunkComplete = false;
+                        break;
+                    }
+                }
+            }
+            if (isChunkComplete) {
+                for (DataRow row : m_buffer.getRows()) {
+                    m_container.addRowToTable(row);
+                    handleIfCanceled();
+                }
+                m_buffer.clear();
+                chunkStart += colsInChunk;
+                nextRow = 0;
+            }
+        }
+    }
+
+    /** Closes the (non-null) tile containers and clears their tables, used if writing the tiles fails. */
+    private void discard(final BufferedDataContainer[] containers) {
+        for (BufferedDataContainer container : containers) {
+            if (container == null) {
+                continue;
+            }
+            try {
+                container.close();
+                m_exec.clearTable(container.getTable());
+            } catch (RuntimeException e) { // NOSONAR don't hide the original exception
+                m_logger.debug("Unable to discard tile container: " + e.getMessage(), e);
+            }
+        }
+    }
+}
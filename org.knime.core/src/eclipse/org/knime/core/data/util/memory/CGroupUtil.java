@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.util.memory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * Utility class for reading the memory limit and usage of the cgroup (v2) the KNIME process runs in. In containers
+ * (e.g. Kubernetes pods) the OOM killer acts on the memory charged to this cgroup, which includes the Java heap,
+ * native/off-heap memory and all child processes.
+ *
+ * @author agent
+ * @see <a href="https://docs.kernel.org/admin-guide/cgroup-v2.html#memory-interface-files">cgroup v2 memory
+ *      interface files</a>
+ */
+final class CGroupUtil {
+
+    private CGroupUtil() {
+    }
+
+    /** The default mount point of the unified (v2) cgroup hierarchy. */
+    static final Path CGROUP_MOUNT = Path.of("/sys/fs/cgroup");
+
+    /** The file listing the cgroups of the current process. */
+    static final Path PROC_SELF_CGROUP = Path.of("/proc/self/cgroup");
+
+    /** Value of memory.max if no limit is set. */
+    private static final String NO_LIMIT = "max";
+
+    /**
+     * Determines the cgroup directory whose memory limit applies to the current process. That is the cgroup of the
+     * process itself or its nearest ancestor (up to the mount point) that has a memory limit set.
+     *
+     * @param mount the mount point of the cgroup v2 hierarchy, usually {@link #CGROUP_MOUNT}
+     * @param procSelfCgroup the cgroup membership file, usually {@link #PROC_SELF_CGROUP}
+     * @return the directory of the limiting cgroup or an empty optional if there is no limit or cgroups (v2) are not
+     *         available
+     */
+    static Optional<Path> findLimitingCGroup(final Path mount, final Path procSelfCgroup) {
+        if (!Files.isRegularFile(mount.resolve("cgroup.controllers"))) {
+            return Optional.empty(); // not a cgroup v2 (unified) hierarchy
+        }
+        var dir = readOwnCGroup(mount, procSelfCgroup).orElse(mount);
+        while (dir != null && dir.startsWith(mount)) {
+            try {
+                if (readLimit(dir) >= 0) {
+                    return Optional.of(dir);
+                }
+            } catch (IOException ex) { // NOSONAR the root cgroup has no memory.max, just continue
+            }
+            dir = dir.getParent();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Convenience method for {@link #findLimitingCGroup(Path, Path)} using the default locations. Always returns an
+     * empty optional on systems other than Linux.
+     *
+     * @return the directory of the limiting cgroup, if any
+     */
+    static Optional<Path> findLimitingCGroup() {
+        return SystemUtils.IS_OS_LINUX ? findLimitingCGroup(CGROUP_MOUNT, PROC_SELF_CGROUP) : Optional.empty();
+    }
+
+    /** Parses the "0::/path" line of /proc/self/cgroup and resolves it against the mount point. */
+    private static Optional<Path> readOwnCGroup(final Path mount, final Path procSelfCgroup) {
+        try {
+            for (var line : Files.readAllLines(procSelfCgroup, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("0::")) {
+                    var relative = line.substring(3).trim();
+                    while (relative.startsWith("/")) {
+                        relative = relative.substring(1);
+                    }
+                    var dir = mount.resolve(relative).normalize();
+                    // with cgroup namespaces (containers) the path may not be visible, the mount is the own cgroup then
+                    return Files.isDirectory(dir) ? Optional.of(dir) : Optional.empty();
+                }
+            }
+        } catch (IOException ex) { // NOSONAR fall back to the mount point
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the hard memory limit (memory.max) of the given cgroup.
+     *
+     * @param cgroupDir the cgroup directory
+     * @return the limit in bytes or -1 if no limit is set
+     * @throws IOException if the file could not be read or parsed
+     */
+    static long readLimit(final Path cgroupDir) throws IOException {
+        var value = readSingleValue(cgroupDir.resolve("memory.max"));
+        return NO_LIMIT.equals(value) ? -1 : parse(value, "memory.max");
+    }
+
+    /**
+     * Reads the working set of the given cgroup, that is the charged memory (memory.current) minus the inactive file
+     * cache (inactive_file in memory.stat), which the kernel can reclaim before invoking the OOM killer. This is the
+     * same metric the kubelet uses for eviction decisions.
+     *
+     * @param cgroupDir the cgroup directory
+     * @return the working set in bytes
+     * @throws IOException if memory.current could not be read or parsed
+     */
+    static long readWorkingSet(final Path cgroupDir) throws IOException {
+        var current = parse(readSingleValue(cgroupDir.resolve("memory.current")), "memory.current");
+        var inactiveFile = 0L;
+        try (var lines = Files.lines(cgroupDir.resolve("memory.stat"), StandardCharsets.US_ASCII)) {
+            inactiveFile = lines.filter(l -> l.startsWith("inactive_file ")) //
+                .mapToLong(l -> parseOrZero(l.substring("inactive_file ".length()).trim())) //
+                .findFirst().orElse(0);
+        } catch (IOException ex) { // NOSONAR memory.stat is optional, use the charged memory only
+        }
+        return Math.max(0, current - inactiveFile);
+    }
+
+    private static String readSingleValue(final Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.US_ASCII).trim();
+    }
+
+    private static long parse(final String value, final String fileName) throws IOException {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IOException("Could not parse content of " + fileName + " ('" + value + "')", ex);
+        }
+    }
+
+    private static long parseOrZero(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) { // NOSONAR
+            return 0;
+        }
+    }
+}
@@ -53,6 +53,8 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
@@ -63,6 +65,9 @@
 import org.knime.core.data.TableBackend;
 import org.knime.core.data.TableBackendRegistry;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeID;
 
 import gnu.trove.map.hash.TObjectLongHashMap;
 import gnu.trove.set.hash.TLongHashSet;
@@ -205,7 +210,9 @@ public static ExternalProcessMemoryWatchdog getInstance() {
      * the process that uses most memory gets killed forcibly ({@link ProcessHandle#destroyForcibly()}). The
      * <code>killCallback</code> is called for this process.
      * <P>
-     * Note that the memory usage of the process and all subprocesses is tracked.
+     * Note that the memory usage of the process and all subprocesses is tracked. The process is attributed to the
+     * node of the current {@link NodeContext} (if any), which is used by the {@link MemoryLedger} to report the memory
+     * usage per node.
      *
      * @param process a handle for the process
      * @param killCallback a callback that gets called before a process is killed by the watchdog. The argument of the
@@ -214,22 +221,77 @@ public static ExternalProcessMemoryWatchdog getInstance() {
      *            record the reason why the process was killed.
      */
     public void trackProcess(final ProcessHandle process, final LongConsumer killCallback) {
-        if (m_watchdogRunning) {
-            var existingkillCallback = m_processesToKillCallbacks.putIfAbsent(process, killCallback);
-            if (existingkillCallback != null) {
+        if (m_trackingEnabled) {
+            var nodeID = NodeContext.getContextOptional().map(NodeContext::getNodeContainer) //
+                .map(NodeContainer::getID).orElse(null);
+            var existing = m_trackedProcesses.putIfAbsent(process, new TrackedProcess(killCallback, nodeID));
+            if (existing != null) {
                 throw new IllegalArgumentException("The process " + process + " is already being tracked.");
             }
         }
     }
 
+    /**
+     * Collects the current memory usage of all tracked external processes (including their subprocesses). Processes
+     * that are not alive anymore are removed from the tracking.
+     *
+     * @return the memory usage of all tracked processes that are still alive
+     */
+    List<ProcessMemoryUsage> getProcessMemoryUsage() {
+        var memoryState = collectMemoryUsageState();
+        var result = new ArrayList<ProcessMemoryUsage>();
+        memoryState.m_processToMemoryUsage.forEachEntry((process, kBytes) -> {
+            var tracked = m_trackedProcesses.get(process);
+            result.add(new ProcessMemoryUsage(process, tracked == null ? null : tracked.nodeID(), kBytes));
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Kills the tracked external process that currently uses the most memory, as if the external process memory limit
+     * was exceeded. Used by the {@link MemoryLedger} if the container is about to run out of memory.
+     *
+     * @return <code>true</code> if a process was killed, <code>false</code> if no process is tracked
+     */
+    boolean killProcessWithHighestMemoryUsage() {
+        var memoryState = collectMemoryUsageState();
+        if (memoryState.getProcessWithMaxMemoryUsage() == null) {
+            return false;
+        }
+        killProcessWithHighestMemoryUsage(memoryState);
+        return true;
+    }
+
+    /**
+     * Memory usage of a tracked external process.
+     *
+     * @param process the process
+     * @param nodeID the id of the node that started the process or <code>null</code> if it was started outside of a
+     *            node context
+     * @param kBytes the proportional set size of the process and all its subprocesses in kilo-bytes
+     */
+    record ProcessMemoryUsage(ProcessHandle process, NodeID nodeID, long kBytes) {
+    }
+
     //#endregion
 
     //#region INSTANCE
 
-    private ConcurrentMap<ProcessHandle, LongConsumer> m_processesToKillCallbacks = new ConcurrentHashMap<>();
+    /** The kill callback of a tracked process and the node it is attributed to (may be null). */
+    private record TrackedProcess(LongConsumer killCallback, NodeID nodeID) {
+    }
+
+    private ConcurrentMap<ProcessHandle, TrackedProcess> m_trackedProcesses = new ConcurrentHashMap<>();
 
     private final boolean m_watchdogRunning;
 
+    /**
+     * Whether processes are tracked at all, which is the case if the watchdog is running or the {@link MemoryLedger}
+     * reports their memory usage.
+     */
+    private final boolean m_trackingEnabled;
+
     private int m_knimeProcessMemCheckingThrottleCounter = 0;
 
     private ExternalProcessMemoryWatchdog() {
@@ -254,6 +316,7 @@ public void run() {
         } else {
             m_watchdogRunning = false;
         }
+        m_trackingEnabled = m_watchdogRunning || (PSSUtil.supportsPSS() && MemoryLedger.isEnabled());
     }
 
     private void updateMemoryUsage() {
@@ -294,7 +357,7 @@ private void warnIfKnimeMemoryCloseToContainerLimit() {
     private ExternalProcessMemoryState collectMemoryUsageState() {
         var memoryState = new ExternalProcessMemoryState();
 
-        var iterator = m_processesToKillCallbacks.entrySet().iterator();
+        var iterator = m_trackedProcesses.entrySet().iterator();
         while (iterator.hasNext()) {
             var entry = iterator.next();
             var process = entry.getKey();
@@ -317,10 +380,10 @@ private void killProcessWithHighestMemoryUsage(final ExternalProcessMemoryState
         var processToKill = memoryState.getProcessWithMaxMemoryUsage();
 
         // Call the kill callback
-        var killCallback = m_processesToKillCallbacks.remove(processToKill);
-        if (killCallback != null) {
+        var tracked = m_trackedProcesses.remove(processToKill);
+        if (tracked != null) {
             try {
-                killCallback.accept(memoryState.getMemoryUsage(processToKill));
+                tracked.killCallback().accept(memoryState.getMemoryUsage(processToKill));
             } catch (Throwable ex) { // NOSONAR: We want to make sure the callback cannot crash the watchdog
                 LOGGER.error("Error in kill callback for process " + processToKill + ".", ex);
             }
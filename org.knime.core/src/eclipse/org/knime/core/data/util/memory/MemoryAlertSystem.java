@@ -288,6 +288,20 @@ public void sendMemoryAlert() {
         }
     }
 
+    /**
+     * Raises a low memory condition that was detected outside the Java heap, e.g. by the {@link MemoryLedger} when the
+     * container memory limit is about to be reached. {@link #isMemoryLow()} returns <code>true</code> until the next
+     * check of the heap usage (at least a few seconds later) and all registered listeners get notified.
+     *
+     * @noreference This method is not intended to be referenced by clients.
+     * @since 5.4
+     */
+    public void signalLowMemory() {
+        m_timeOfLastCheck = System.currentTimeMillis();
+        m_lowMemory.set(true);
+        sendMemoryAlert();
+    }
+
     /**
      * Registers a new listener.
      *
@@ -0,0 +1,381 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.util.memory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.knime.core.data.TableBackend;
+import org.knime.core.data.TableBackendRegistry;
+import org.knime.core.data.util.memory.ExternalProcessMemoryWatchdog.ProcessMemoryUsage;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Combined account of the memory used by the KNIME process, checked against the memory limit of the (cgroup v2)
+ * container it runs in. The {@link MemoryAlertSystem} only watches the Java heap, table backends reserve off-heap
+ * memory ({@link TableBackend#getReservedOffHeapBytes()}), other off-heap allocations are reported via
+ * {@link #reportOffHeapAllocation(long)} and the {@link ExternalProcessMemoryWatchdog} tracks the
+ * proportional set size of external processes -- but the OOM killer acts on the total memory charged to the cgroup,
+ * which none of them see individually.
+ * <p>
+ * The ledger polls the working set of the limiting cgroup and reacts in stages before the container is killed. The
+ * stages are based on the working set without the free part of the committed Java heap, which the JVM can reuse
+ * without requesting more memory from the system:
+ * <ol>
+ * <li>{@link Stage#FLUSH_CACHES}: listeners of {@link MemoryAlertSystem#getInstance()} (mostly caches) get
+ * notified,</li>
+ * <li>{@link Stage#SPILL_BUFFERS}: a low memory condition is raised on
+ * {@link MemoryAlertSystem#getInstanceUncollected()}, which makes table buffers and sorters write to disk,</li>
+ * <li>{@link Stage#KILL_EXTERNAL_PROCESS}: the tracked external process with the highest memory usage is killed. This
+ * stage needs to be enabled with the system property {@link KNIMEConstants#PROPERTY_MEMORY_LEDGER_KILL_PROCESSES},
+ * otherwise the ledger does not go beyond {@link Stage#SPILL_BUFFERS}.</li>
+ * </ol>
+ * The memory of external processes is attributed to the node that started them (see
+ * {@link MemorySnapshot#externalProcessBytesByNode()}); heap and off-heap memory are shared by all nodes and are not
+ * attributed.
+ * <p>
+ * The ledger is only active on Linux systems with a cgroup v2 memory limit. It can be disabled with the system property
+ * <code>knime.memoryledger.disabled</code>.
+ *
+ * @author agent
+ * @since 5.4
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class MemoryLedger {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(MemoryLedger.class);
+
+    /** The polling interval of the ledger in milliseconds. */
+    private static final long POLLING_INTERVAL_MS = Long.getLong("knime.memoryledger.pollinginterval", 1000);
+
+    /** The fraction of the container limit above which caches are flushed. */
+    static final double FLUSH_CACHES_THRESHOLD = 0.80;
+
+    /** The fraction of the container limit above which buffers are spilled to disk. */
+    static final double SPILL_BUFFERS_THRESHOLD = 0.90;
+
+    /**
+     * The fraction of the container limit above which the biggest external process gets killed (if enabled, see
+     * {@link KNIMEConstants#PROPERTY_MEMORY_LEDGER_KILL_PROCESSES}).
+     */
+    static final double KILL_EXTERNAL_PROCESS_THRESHOLD = 0.95;
+
+    /**
+     * The number of polls after killing a process during which no further process is killed, giving the kernel time to
+     * release the memory of the killed process.
+     */
+    static final int KILL_GRACE_POLLS = 2;
+
+    /** The cgroup whose limit applies, empty if there is no limit or the ledger is disabled. */
+    private static final Optional<Path> LIMITING_CGROUP =
+        Boolean.getBoolean("knime.memoryledger.disabled") ? Optional.empty() : CGroupUtil.findLimitingCGroup();
+
+    /** Off-heap memory allocated outside of the table backends, see {@link #reportOffHeapAllocation(long)}. */
+    private static final AtomicLong REPORTED_OFF_HEAP_BYTES = new AtomicLong();
+
+    /** Stages of reactions, ordered by severity. Each stage includes the reactions of all previous stages. */
+    public enum Stage {
+            /** Memory usage is below all thresholds. */
+            NORMAL,
+            /** Caches are flushed. */
+            FLUSH_CACHES,
+            /** In-memory tables are spilled to disk. */
+            SPILL_BUFFERS,
+            /** The external process with the highest memory usage is killed. */
+            KILL_EXTERNAL_PROCESS;
+    }
+
+    /**
+     * Memory usage at one point in time. All values are in bytes.
+     *
+     * @param limitBytes the memory limit of the container
+     * @param workingSetBytes the memory charged to the container, without reclaimable file cache
+     * @param heapBytes the committed Java heap
+     * @param freeHeapBytes the part of the committed Java heap that is not used
+     * @param offHeapReservedBytes the off-heap memory reserved by the table backends and reported via
+     *            {@link MemoryLedger#reportOffHeapAllocation(long)}
+     * @param externalProcessBytes the proportional set size of all tracked external processes
+     * @param externalProcessBytesByNode the external process memory per node that started the processes
+     * @param stage the stage the memory usage falls into
+     */
+    public record MemorySnapshot(long limitBytes, long workingSetBytes, long heapBytes, long freeHeapBytes,
+        long offHeapReservedBytes, long externalProcessBytes, Map<NodeID, Long> externalProcessBytesByNode,
+        Stage stage) {
+
+        /**
+         * @return the fraction of the limit that is used, not counting the free part of the committed heap; between 0
+         *         and (in rare cases slightly above) 1
+         */
+        public double getUsage() {
+            return Math.max(0, workingSetBytes - freeHeapBytes) / (double)limitBytes;
+        }
+
+        /**
+         * @return the memory charged to the container that is not accounted for by the heap, off-heap reservations and
+         *         external processes (e.g. metaspace, thread stacks, native libraries, untracked processes)
+         */
+        public long getUnaccountedBytes() {
+            return Math.max(0, workingSetBytes - heapBytes - offHeapReservedBytes - externalProcessBytes);
+        }
+    }
+
+    /** Lazily started so that the static initialization does not depend on the watchdog and vice versa. */
+    private static final class InstanceHolder {
+        private static final MemoryLedger INSTANCE = createInstance();
+
+        private static MemoryLedger createInstance() {
+            var watchdog = ExternalProcessMemoryWatchdog.getInstance();
+            var ledger = new MemoryLedger(LIMITING_CGROUP.orElse(null), () -> Runtime.getRuntime().totalMemory(),
+                () -> Runtime.getRuntime().freeMemory(), MemoryLedger::getReservedOffHeapBytes,
+                watchdog::getProcessMemoryUsage,
+                Boolean.getBoolean(KNIMEConstants.PROPERTY_MEMORY_LEDGER_KILL_PROCESSES),
+                stage -> react(stage, watchdog));
+            if (LIMITING_CGROUP.isPresent()) {
+                LOGGER.info("Memory ledger monitors cgroup " + LIMITING_CGROUP.get());
+                var timer = new Timer("KNIME Memory Ledger", true); // Daemon thread
+                timer.scheduleAtFixedRate(new TimerTask() {
+                    @Override
+                    public void run() {
+                        ledger.update();
+                    }
+                }, 0, POLLING_INTERVAL_MS);
+            }
+            return ledger;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the process runs in a cgroup with a memory limit and the ledger is not disabled
+     */
+    public static boolean isEnabled() {
+        return LIMITING_CGROUP.isPresent();
+    }
+
+    /**
+     * Reports off-heap memory allocated (or released) outside of the table backends, e.g. the direct buffers of tables
+     * kept in memory. The memory is included in {@link MemorySnapshot#offHeapReservedBytes()}. This does not start
+     * the ledger.
+     *
+     * @param bytes the number of allocated bytes, negative if memory is released
+     */
+    public static void reportOffHeapAllocation(final long bytes) {
+        REPORTED_OFF_HEAP_BYTES.addAndGet(bytes);
+    }
+
+    /**
+     * @return the off-heap memory currently reported via {@link #reportOffHeapAllocation(long)}
+     */
+    public static long getReportedOffHeapBytes() {
+        return REPORTED_OFF_HEAP_BYTES.get();
+    }
+
+    /**
+     * @return the singleton instance of the ledger
+     */
+    public static MemoryLedger getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private final Path m_cgroupDir;
+
+    private final LongSupplier m_heapBytes;
+
+    private final LongSupplier m_freeHeapBytes;
+
+    private final LongSupplier m_offHeapReservedBytes;
+
+    private final Supplier<List<ProcessMemoryUsage>> m_externalProcesses;
+
+    private final boolean m_killExternalProcesses;
+
+    private final Consumer<Stage> m_reaction;
+
+    private volatile MemorySnapshot m_lastSnapshot;
+
+    private int m_pollsSinceKill = KILL_GRACE_POLLS;
+
+    /**
+     * @param cgroupDir the directory of the limiting cgroup, <code>null</code> if there is none
+     * @param heapBytes supplies the committed heap
+     * @param freeHeapBytes supplies the free part of the committed heap
+     * @param offHeapReservedBytes supplies the reserved off-heap memory
+     * @param externalProcesses supplies the memory usage of tracked external processes
+     * @param killExternalProcesses whether the ledger may escalate to {@link Stage#KILL_EXTERNAL_PROCESS}
+     * @param reaction performs the reactions for a stage other than {@link Stage#NORMAL}
+     */
+    MemoryLedger(final Path cgroupDir, final LongSupplier heapBytes, final LongSupplier freeHeapBytes,
+        final LongSupplier offHeapReservedBytes, final Supplier<List<ProcessMemoryUsage>> externalProcesses,
+        final boolean killExternalProcesses, final Consumer<Stage> reaction) {
+        m_cgroupDir = cgroupDir;
+        m_heapBytes = heapBytes;
+        m_freeHeapBytes = freeHeapBytes;
+        m_offHeapReservedBytes = offHeapReservedBytes;
+        m_externalProcesses = externalProcesses;
+        m_killExternalProcesses = killExternalProcesses;
+        m_reaction = reaction;
+    }
+
+    /**
+     * @return the snapshot taken at the last poll, empty if the ledger is not enabled or has not polled yet
+     */
+    public Optional<MemorySnapshot> getLastSnapshot() {
+        return Optional.ofNullable(m_lastSnapshot);
+    }
+
+    /**
+     * Takes a new snapshot and triggers the reactions for its stage. Called periodically by the polling thread.
+     *
+     * @return the new snapshot, empty if there is no cgroup or it could not be read
+     */
+    synchronized Optional<MemorySnapshot> update() {
+        if (m_cgroupDir == null) {
+            return Optional.empty();
+        }
+        final long limit;
+        final long workingSet;
+        try {
+            limit = CGroupUtil.readLimit(m_cgroupDir);
+            workingSet = CGroupUtil.readWorkingSet(m_cgroupDir);
+        } catch (IOException ex) {
+            LOGGER.debug("Could not read memory usage of cgroup " + m_cgroupDir, ex);
+            return Optional.empty();
+        }
+        if (limit <= 0) {
+            return Optional.empty(); // limit was removed
+        }
+
+        var byNode = new HashMap<NodeID, Long>();
+        var externalBytes = 0L;
+        for (var usage : m_externalProcesses.get()) {
+            var bytes = usage.kBytes() << 10;
+            externalBytes += bytes;
+            if (usage.nodeID() != null) {
+                byNode.merge(usage.nodeID(), bytes, Long::sum);
+            }
+        }
+        // committed but free heap is charged to the cgroup, but it's available to the JVM without further allocation
+        var heapBytes = m_heapBytes.getAsLong();
+        var freeHeapBytes = Math.min(m_freeHeapBytes.getAsLong(), heapBytes);
+        var stage = getStage(Math.max(0, workingSet - freeHeapBytes) / (double)limit);
+        if (stage == Stage.KILL_EXTERNAL_PROCESS && !m_killExternalProcesses) {
+            stage = Stage.SPILL_BUFFERS;
+        }
+        var snapshot = new MemorySnapshot(limit, workingSet, heapBytes, freeHeapBytes,
+            m_offHeapReservedBytes.getAsLong(), externalBytes, Collections.unmodifiableMap(byNode), stage);
+        m_lastSnapshot = snapshot;
+
+        m_pollsSinceKill++;
+        if (stage == Stage.KILL_EXTERNAL_PROCESS && m_pollsSinceKill <= KILL_GRACE_POLLS) {
+            stage = Stage.SPILL_BUFFERS; // a process was killed recently, its memory might not be released yet
+        }
+        if (stage != Stage.NORMAL) {
+            LOGGER.debugWithFormat("Container memory usage at %.0f%% (%s), reacting with %s", snapshot.getUsage() * 100,
+                snapshot, stage);
+            if (stage == Stage.KILL_EXTERNAL_PROCESS) {
+                m_pollsSinceKill = 0;
+            }
+            try {
+                m_reaction.accept(stage);
+            } catch (Throwable ex) { // NOSONAR make sure the polling thread survives
+                LOGGER.error("Error while reacting to high container memory usage: " + ex.getMessage(), ex);
+            }
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * @param usage the fraction of the container limit that is used
+     * @return the corresponding stage
+     */
+    static Stage getStage(final double usage) {
+        if (usage >= KILL_EXTERNAL_PROCESS_THRESHOLD) {
+            return Stage.KILL_EXTERNAL_PROCESS;
+        } else if (usage >= SPILL_BUFFERS_THRESHOLD) {
+            return Stage.SPILL_BUFFERS;
+        } else if (usage >= FLUSH_CACHES_THRESHOLD) {
+            return Stage.FLUSH_CACHES;
+        } else {
+            return Stage.NORMAL;
+        }
+    }
+
+    private static void react(final Stage stage, final ExternalProcessMemoryWatchdog watchdog) {
+        MemoryAlertSystem.getInstance().sendMemoryAlert();
+        if (stage.compareTo(Stage.SPILL_BUFFERS) >= 0) {
+            MemoryAlertSystem.getInstanceUncollected().signalLowMemory();
+        }
+        if (stage == Stage.KILL_EXTERNAL_PROCESS) {
+            if (watchdog.killProcessWithHighestMemoryUsage()) {
+                LOGGER.warn("Killed the external process with the highest memory usage because the container is "
+                    + "about to run out of memory.");
+            } else {
+                LOGGER.warn("The container is about to run out of memory and there is no external process to kill.");
+            }
+        }
+    }
+
+    private static long getReservedOffHeapBytes() {
+        return TableBackendRegistry.getInstance().getTableBackends().stream() //
+            .mapToLong(TableBackend::getReservedOffHeapBytes) //
+            .sum() + getReportedOffHeapBytes();
+    }
+}
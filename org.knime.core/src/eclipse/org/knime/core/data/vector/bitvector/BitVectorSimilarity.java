@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+/**
+ * Similarity measures on bit vectors (fingerprints) that only depend on the cardinalities of the two vectors and of
+ * their intersection. None of the methods allocates an intermediate vector; the word level kernels are
+ * {@link BitVectorUtil#cardinality(long[], int, int)} and
+ * {@link BitVectorUtil#cardinalityOfIntersection(long[], int, long[], int, int)}.
+ * <p>
+ * Each measure also defines an upper bound of the similarity given only the two cardinalities, which the
+ * {@link BitVectorSimilarityIndex} uses to skip candidates. All measures are 0 if one of the vectors is empty.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public enum BitVectorSimilarity {
+
+    /** Tanimoto (Jaccard) coefficient: |a &amp; b| / |a | b|. */
+    TANIMOTO {
+        @Override
+        public double similarity(final long cardinalityOfIntersection, final long cardinality1,
+            final long cardinality2) {
+            long union = cardinality1 + cardinality2 - cardinalityOfIntersection;
+            return union == 0 ? 0.0 : (double)cardinalityOfIntersection / union;
+        }
+
+        @Override
+        public double upperBound(final long cardinality1, final long cardinality2) {
+            long max = Math.max(cardinality1, cardinality2);
+            return max == 0 ? 0.0 : (double)Math.min(cardinality1, cardinality2) / max;
+        }
+    },
+
+    /** Dice coefficient: 2 |a &amp; b| / (|a| + |b|). */
+    DICE {
+        @Override
+        public double similarity(final long cardinalityOfIntersection, final long cardinality1,
+            final long cardinality2) {
+            long sum = cardinality1 + cardinality2;
+            return sum == 0 ? 0.0 : 2.0 * cardinalityOfIntersection / sum;
+        }
+
+        @Override
+        public double upperBound(final long cardinality1, final long cardinality2) {
+            return similarity(Math.min(cardinality1, cardinality2), cardinality1, cardinality2);
+        }
+    },
+
+    /** Cosine similarity: |a &amp; b| / sqrt(|a| |b|). */
+    COSINE {
+        @Override
+        public double similarity(final long cardinalityOfIntersection, final long cardinality1,
+            final long cardinality2) {
+            if (cardinality1 == 0 || cardinality2 == 0) {
+                return 0.0;
+            }
+            return cardinalityOfIntersection / Math.sqrt((double)cardinality1 * cardinality2);
+        }
+
+        @Override
+        public double upperBound(final long cardinality1, final long cardinality2) {
+            return similarity(Math.min(cardinality1, cardinality2), cardinality1, cardinality2);
+        }
+    };
+
+    /**
+     * Computes the similarity from the cardinalities.
+     *
+     * @param cardinalityOfIntersection number of bits set in both vectors
+     * @param cardinality1 number of bits set in the first vector
+     * @param cardinality2 number of bits set in the second vector
+     * @return the similarity in [0, 1]
+     */
+    public abstract double similarity(long cardinalityOfIntersection, long cardinality1, long cardinality2);
+
+    /**
+     * Upper bound of the similarity of any two vectors with the given cardinalities, reached if the smaller vector is
+     * a subset of the larger one.
+     *
+     * @param cardinality1 number of bits set in the first vector
+     * @param cardinality2 number of bits set in the second vector
+     * @return the maximum possible similarity
+     */
+    public abstract double upperBound(long cardinality1, long cardinality2);
+
+    /**
+     * Computes the similarity of the two vectors.
+     *
+     * @param bv1 the first vector
+     * @param bv2 the second vector
+     * @return the similarity in [0, 1]
+     * @throws NullPointerException if any argument is <code>null</code>
+     */
+    public double similarity(final BitVectorValue bv1, final BitVectorValue bv2) {
+        return similarity(BitVectorUtil.cardinalityOfIntersection(bv1, bv2), bv1.cardinality(), bv2.cardinality());
+    }
+
+    /**
+     * Computes the similarity of two vectors given as ranges of 64 bit words (see {@link DenseBitVector#getAllBits()}
+     * for the layout) whose cardinalities are known.
+     *
+     * @param words1 the words of the first vector
+     * @param offset1 index of the first word of the first vector
+     * @param cardinality1 number of bits set in the first vector
+     * @param words2 the words of the second vector
+     * @param offset2 index of the first word of the second vector
+     * @param cardinality2 number of bits set in the second vector
+     * @param wordCount number of words to compare, words beyond that must not contain set bits in one of the vectors
+     * @return the similarity in [0, 1]
+     */
+    public double similarity(final long[] words1, final int offset1, final long cardinality1, final long[] words2,
+        final int offset2, final long cardinality2, final int wordCount) {
+        long intersection = BitVectorUtil.cardinalityOfIntersection(words1, offset1, words2, offset2, wordCount);
+        return similarity(intersection, cardinality1, cardinality2);
+    }
+}
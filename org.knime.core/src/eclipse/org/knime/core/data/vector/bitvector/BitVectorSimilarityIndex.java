@@ -0,0 +1,455 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.LongPredicate;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * An in-memory index over a column of bit vectors (e.g. chemical fingerprints) answering similarity queries, i.e.
+ * finding all vectors whose {@link BitVectorSimilarity similarity} to a query vector is above a threshold, or the
+ * <i>k</i> most similar vectors.
+ * <p>
+ * The vectors are packed into one contiguous <code>long[]</code>, each using the same number of 64 bit words, and
+ * sorted by their cardinality. A query only computes the intersection with vectors whose cardinality can yield a
+ * similarity above the threshold (or the <i>k</i>-th best similarity found so far), all others are skipped based on
+ * {@link BitVectorSimilarity#upperBound(long, long)}. The remaining candidates are compared in parallel in the thread
+ * pool of the calling thread (or the global KNIME thread pool).
+ * <p>
+ * Vectors are identified by the order in which they were added to the {@link Builder}, including missing values. An
+ * index is immutable and can be queried from multiple threads concurrently.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class BitVectorSimilarityIndex {
+
+    /** Minimum number of candidates compared by one task. */
+    private static final int MIN_CANDIDATES_PER_TASK = 1 << 13;
+
+    /** Best hits first, ties broken by the index. */
+    private static final Comparator<Hit> BEST_FIRST =
+        Comparator.comparingDouble(Hit::getSimilarity).reversed().thenComparingInt(Hit::getIndex);
+
+    private final int m_wordsPerVector;
+
+    /** The words of all vectors, ordered by cardinality. */
+    private final long[] m_words;
+
+    /** The cardinality of the vectors, ascending. */
+    private final long[] m_cardinalities;
+
+    /** The index (position in the builder) of the vectors. */
+    private final int[] m_indices;
+
+    private final int m_vectorCount;
+
+    private final int m_indexedCount;
+
+    private BitVectorSimilarityIndex(final Builder builder) {
+        m_wordsPerVector = builder.m_wordsPerVector;
+        m_words = builder.m_words;
+        m_cardinalities = builder.m_cardinalities;
+        m_indices = builder.m_indices;
+        m_vectorCount = builder.m_vectorCount;
+        m_indexedCount = builder.m_indexedCount;
+    }
+
+    /**
+     * @return a new builder for an index
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of vectors added to the builder, including missing values
+     */
+    public int size() {
+        return m_vectorCount;
+    }
+
+    /**
+     * Finds all vectors whose similarity to the query is at least the given threshold.
+     *
+     * @param query the query vector
+     * @param measure the similarity measure
+     * @param threshold the minimum similarity, should be greater than 0 to benefit from the index
+     * @return the hits, most similar first
+     */
+    public List<Hit> findAbove(final BitVectorValue query, final BitVectorSimilarity measure,
+        final double threshold) {
+        return search(query, measure, threshold, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the <code>k</code> vectors most similar to the query. Ties are broken by preferring the vector added
+     * first.
+     *
+     * @param query the query vector
+     * @param measure the similarity measure
+     * @param k the maximum number of hits
+     * @return the hits, most similar first
+     */
+    public List<Hit> findNearest(final BitVectorValue query, final BitVectorSimilarity measure, final int k) {
+        return search(query, measure, 0.0, k);
+    }
+
+    /**
+     * Finds the (at most) <code>maxHits</code> vectors most similar to the query with a similarity of at least the
+     * given threshold.
+     *
+     * @param query the query vector
+     * @param measure the similarity measure
+     * @param threshold the minimum similarity
+     * @param maxHits the maximum number of hits
+     * @return the hits, most similar first
+     */
+    public List<Hit> search(final BitVectorValue query, final BitVectorSimilarity measure, final double threshold,
+        final int maxHits) {
+        if (maxHits <= 0 || m_indexedCount == 0) {
+            return List.of();
+        }
+        final long queryCardinality = query.cardinality();
+        final long[] queryWords = new long[m_wordsPerVector];
+        BitVectorUtil.copyWords(query, queryWords, 0, m_wordsPerVector);
+
+        // the bounds increase up to the query's cardinality and decrease afterwards
+        final int from =
+            firstPosition(c -> c >= queryCardinality || measure.upperBound(queryCardinality, c) >= threshold);
+        final int to =
+            firstPosition(c -> c > queryCardinality && measure.upperBound(queryCardinality, c) < threshold);
+        final int candidateCount = to - from;
+        if (candidateCount <= 0) {
+            return List.of();
+        }
+
+        final ThreadPool pool = ThreadPool.currentPool() != null ? ThreadPool.currentPool()
+            : KNIMEConstants.GLOBAL_THREAD_POOL;
+        final int taskCount = (int)Math.min(pool.getMaxThreads(),
+            Math.max(1, candidateCount / MIN_CANDIDATES_PER_TASK));
+        if (taskCount == 1) {
+            return toSortedList(searchRange(queryWords, queryCardinality, measure, threshold, maxHits, from, to));
+        }
+        final int[] sliceBounds = new int[taskCount + 1];
+        for (int t = 0; t <= taskCount; t++) {
+            sliceBounds[t] = from + (int)((long)candidateCount * t / taskCount);
+        }
+        // the first slice is searched by the calling thread, the others in the pool
+        final List<Future<PriorityQueue<Hit>>> futures = new ArrayList<>(taskCount - 1);
+        for (int t = 1; t < taskCount; t++) {
+            final int sliceFrom = sliceBounds[t];
+            final int sliceTo = sliceBounds[t + 1];
+            futures.add(pool.enqueue(
+                () -> searchRange(queryWords, queryCardinality, measure, threshold, maxHits, sliceFrom, sliceTo)));
+        }
+        PriorityQueue<Hit> result =
+            searchRange(queryWords, queryCardinality, measure, threshold, maxHits, sliceBounds[0], sliceBounds[1]);
+        try {
+            for (int t = 1; t < taskCount; t++) {
+                final Future<PriorityQueue<Hit>> f = futures.get(t - 1);
+                // slices not yet picked up by a worker are searched here rather than waiting idly for them
+                final PriorityQueue<Hit> hits = f.cancel(false) ? searchRange(queryWords, queryCardinality, measure,
+                    threshold, maxHits, sliceBounds[t], sliceBounds[t + 1]) : f.get();
+                for (Hit hit : hits) {
+                    offer(result, hit, maxHits);
+                }
+            }
+        } catch (InterruptedException ie) {
+            futures.forEach(f -> f.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching similar bit vectors", ie);
+        } catch (ExecutionException ee) {
+            futures.forEach(f -> f.cancel(false));
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error e) {
+                throw e;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+        return toSortedList(result);
+    }
+
+    /** Compares the query with the vectors in the given range of sorted positions. */
+    private PriorityQueue<Hit> searchRange(final long[] queryWords, final long queryCardinality,
+        final BitVectorSimilarity measure, final double threshold, final int maxHits, final int from, final int to) {
+        final PriorityQueue<Hit> heap = newHeap(maxHits);
+        long lastCardinality = -1;
+        double bound = 0.0;
+        for (int i = from; i < to; i++) {
+            final long cardinality = m_cardinalities[i];
+            if (cardinality != lastCardinality) {
+                lastCardinality = cardinality;
+                bound = measure.upperBound(queryCardinality, cardinality);
+            }
+            // the hit of equal similarity may still win because of its smaller index
+            if (bound < threshold || (heap.size() == maxHits && bound < heap.peek().getSimilarity())) {
+                continue;
+            }
+            double similarity = measure.similarity(queryWords, 0, queryCardinality, m_words,
+                i * m_wordsPerVector, cardinality, m_wordsPerVector);
+            if (similarity >= threshold) {
+                offer(heap, new Hit(m_indices[i], similarity), maxHits);
+            }
+        }
+        return heap;
+    }
+
+    /** Binary search for the first position whose cardinality satisfies the predicate (which must be monotone). */
+    private int firstPosition(final LongPredicate predicate) {
+        int low = 0;
+        int high = m_indexedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(m_cardinalities[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /** Heap with the worst hit on top. */
+    private static PriorityQueue<Hit> newHeap(final int maxHits) {
+        return new PriorityQueue<>(Math.min(maxHits, 1024) + 1, BEST_FIRST.reversed());
+    }
+
+    private static void offer(final PriorityQueue<Hit> heap, final Hit hit, final int maxHits) {
+        if (heap.size() < maxHits) {
+            heap.add(hit);
+        } else if (BEST_FIRST.compare(hit, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(hit);
+        }
+    }
+
+    private static List<Hit> toSortedList(final PriorityQueue<Hit> heap) {
+        Hit[] hits = heap.toArray(new Hit[0]);
+        Arrays.sort(hits, BEST_FIRST);
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * A vector found by a query.
+     */
+    public static final class Hit {
+
+        private final int m_index;
+
+        private final double m_similarity;
+
+        Hit(final int index, final double similarity) {
+            m_index = index;
+            m_similarity = similarity;
+        }
+
+        /**
+         * @return the index of the vector, i.e. the number of vectors (including missing values) added to the
+         *         builder before it
+         */
+        public int getIndex() {
+            return m_index;
+        }
+
+        /**
+         * @return the similarity to the query vector
+         */
+        public double getSimilarity() {
+            return m_similarity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return m_index + ": " + m_similarity;
+        }
+    }
+
+    /**
+     * Collects the vectors of the index, usually while iterating a column.
+     */
+    public static final class Builder {
+
+        private int m_wordsPerVector;
+
+        private long[] m_words = new long[0];
+
+        private long[] m_cardinalities = new long[16];
+
+        private int[] m_indices = new int[16];
+
+        private int m_vectorCount;
+
+        private int m_indexedCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the next vector. Dense bit vector cells are copied word by word, other implementations bit by bit.
+         *
+         * @param vector the vector or <code>null</code> for a missing value, which is never returned by a query but
+         *            counts for the index of the subsequent vectors
+         * @return this
+         * @throws IllegalStateException if the index would exceed the maximum array size
+         */
+        public Builder add(final BitVectorValue vector) {
+            final int index = m_vectorCount++;
+            if (vector == null) {
+                return this;
+            }
+            long wordsNeeded = (vector.length() + 63) >>> 6;
+            if (wordsNeeded > m_wordsPerVector) {
+                repack(wordsNeeded);
+            }
+            final int position = m_indexedCount;
+            final long requiredLength = (long)(position + 1) * m_wordsPerVector;
+            if (requiredLength > m_words.length) {
+                m_words = Arrays.copyOf(m_words, checkedLength(Math.max(requiredLength, 2L * m_words.length)));
+            }
+            if (position == m_indices.length) {
+                m_indices = Arrays.copyOf(m_indices, 2 * position);
+                m_cardinalities = Arrays.copyOf(m_cardinalities, 2 * position);
+            }
+            final int offset = position * m_wordsPerVector;
+            BitVectorUtil.copyWords(vector, m_words, offset, m_wordsPerVector);
+            m_cardinalities[position] = BitVectorUtil.cardinality(m_words, offset, m_wordsPerVector);
+            m_indices[position] = index;
+            m_indexedCount++;
+            return this;
+        }
+
+        /** Widens all vectors added so far to the given number of words. */
+        private void repack(final long wordsPerVector) {
+            int newWords = (int)Math.min(wordsPerVector, Integer.MAX_VALUE);
+            long[] words = new long[checkedLength(Math.max((long)newWords * m_indices.length, newWords))];
+            for (int i = 0; i < m_indexedCount; i++) {
+                System.arraycopy(m_words, i * m_wordsPerVector, words, i * newWords, m_wordsPerVector);
+            }
+            m_words = words;
+            m_wordsPerVector = newWords;
+        }
+
+        private static int checkedLength(final long length) {
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Bit vectors exceed the maximum size of the index");
+            }
+            return (int)length;
+        }
+
+        /**
+         * Sorts the vectors by cardinality and creates the index. The builder must not be used afterwards.
+         *
+         * @return the new index
+         */
+        public BitVectorSimilarityIndex build() {
+            final int n = m_indexedCount;
+            // sort positions by cardinality (ties in insertion order) by sorting (cardinality, position) pairs
+            final long[] cards = m_cardinalities;
+            final long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                if (cards[i] > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Cardinality of bit vector too large for the index");
+                }
+                keys[i] = (cards[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            final int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (int)keys[i];
+            }
+            // apply the permutation in place, cycle by cycle, to not double the memory for the words
+            final long[] sortedCards = new long[n];
+            final int[] sortedIndices = new int[n];
+            final long[] tmp = new long[m_wordsPerVector];
+            final BitSet done = new BitSet(n);
+            for (int start = 0; start < n; start++) {
+                sortedCards[start] = cards[order[start]];
+                sortedIndices[start] = m_indices[order[start]];
+                if (done.get(start)) {
+                    continue;
+                }
+                System.arraycopy(m_words, start * m_wordsPerVector, tmp, 0, m_wordsPerVector);
+                int j = start;
+                while (true) {
+                    done.set(j);
+                    int k = order[j];
+                    if (k == start) {
+                        System.arraycopy(tmp, 0, m_words, j * m_wordsPerVector, m_wordsPerVector);
+                        break;
+                    }
+                    System.arraycopy(m_words, k * m_wordsPerVector, m_words, j * m_wordsPerVector, m_wordsPerVector);
+                    j = k;
+                }
+            }
+            m_cardinalities = sortedCards;
+            m_indices = sortedIndices;
+            final int length = n * m_wordsPerVector;
+            if (m_words.length - length > length / 8) {
+                m_words = Arrays.copyOf(m_words, length);
+            }
+            return new BitVectorSimilarityIndex(this);
+        }
+    }
+}
@@ -218,6 +218,87 @@ public static long cardinalityOfRelativeComplement(final BitVectorValue bv1, fin
         return toReturn;
     }
 
+    /**
+     * Computes the number of set bits in a range of 64 bit words, e.g. of the array returned by
+     * {@link DenseBitVector#getAllBits()}. The loop is unrolled so that the JIT can keep several popcount instructions
+     * in flight.
+     *
+     * @param words the words
+     * @param offset index of the first word
+     * @param wordCount number of words to count
+     * @return the number of ones in the range
+     * @since 5.4
+     */
+    public static long cardinality(final long[] words, final int offset, final int wordCount) {
+        long c0 = 0;
+        long c1 = 0;
+        long c2 = 0;
+        long c3 = 0;
+        int i = offset;
+        final int end = offset + wordCount;
+        for (; i + 3 < end; i += 4) {
+            c0 += Long.bitCount(words[i]);
+            c1 += Long.bitCount(words[i + 1]);
+            c2 += Long.bitCount(words[i + 2]);
+            c3 += Long.bitCount(words[i + 3]);
+        }
+        for (; i < end; i++) {
+            c0 += Long.bitCount(words[i]);
+        }
+        return c0 + c1 + c2 + c3;
+    }
+
+    /**
+     * Computes the cardinality of the bitwise AND of two ranges of 64 bit words without creating any intermediate
+     * vector. This is the kernel for similarity measures such as {@link BitVectorSimilarity#TANIMOTO}.
+     *
+     * @param words1 the words of the first vector
+     * @param offset1 index of the first word of the first vector
+     * @param words2 the words of the second vector
+     * @param offset2 index of the first word of the second vector
+     * @param wordCount number of words to intersect
+     * @return the number of positions set in both ranges
+     * @since 5.4
+     */
+    public static long cardinalityOfIntersection(final long[] words1, final int offset1, final long[] words2,
+        final int offset2, final int wordCount) {
+        long c0 = 0;
+        long c1 = 0;
+        long c2 = 0;
+        long c3 = 0;
+        int i = 0;
+        for (; i + 3 < wordCount; i += 4) {
+            c0 += Long.bitCount(words1[offset1 + i] & words2[offset2 + i]);
+            c1 += Long.bitCount(words1[offset1 + i + 1] & words2[offset2 + i + 1]);
+            c2 += Long.bitCount(words1[offset1 + i + 2] & words2[offset2 + i + 2]);
+            c3 += Long.bitCount(words1[offset1 + i + 3] & words2[offset2 + i + 3]);
+        }
+        for (; i < wordCount; i++) {
+            c0 += Long.bitCount(words1[offset1 + i] & words2[offset2 + i]);
+        }
+        return c0 + c1 + c2 + c3;
+    }
+
+    /**
+     * Copies the bits of the given vector into 64 bit words, using the layout of {@link DenseBitVector#getAllBits()}.
+     * Bits beyond <code>wordCount * 64</code> are ignored.
+     *
+     * @param bv the vector
+     * @param dest the destination array, the range to fill must be cleared
+     * @param offset index of the first word to fill
+     * @param wordCount the number of words available in the destination
+     */
+    static void copyWords(final BitVectorValue bv, final long[] dest, final int offset, final int wordCount) {
+        if (bv instanceof DenseBitVectorCell dense) {
+            dense.copyWords(dest, offset, wordCount);
+            return;
+        }
+        final long limit = (long)wordCount << 6;
+        for (long i = bv.nextSetBit(0); i >= 0 && i < limit; i = bv.nextSetBit(i + 1)) {
+            dest[offset + (int)(i >>> 6)] |= 1L << i;
+        }
+    }
+
     private static int sparseBitVectorCellCount(final BitVectorValue bv1, final BitVectorValue bv2) {
         int count = 0;
         if (bv1 instanceof SparseBitVectorCell) {
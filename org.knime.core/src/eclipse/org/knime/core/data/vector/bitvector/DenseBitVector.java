@@ -485,16 +485,12 @@ public void clear(final long startIdx, final long endIdx) {
     @Override
     public long cardinality() {
         assert (checkConsistency() == null);
-        long result = 0;
         // because we make sure no bits are set beyond the length of the vector
         // we can just count all ones
         if (m_firstAddr == -1) {
             return 0;
         }
-        for (int i = m_firstAddr; i <= m_lastAddr; i++) {
-            result += Long.bitCount(m_storage[i]);
-        }
-        return result;
+        return BitVectorUtil.cardinality(m_storage, m_firstAddr, m_lastAddr - m_firstAddr + 1);
     }
 
     /**
@@ -1266,12 +1262,11 @@ long cardinalityOfIntersection(final DenseBitVector bitVector) {
         int startAddr = Math.max(m_firstAddr, bitVector.m_firstAddr);
         int endAddr = Math.min(m_lastAddr, bitVector.m_lastAddr);
 
-        long result = 0;
-        long[] otherStorage = bitVector.m_storage;
-        for (int i = startAddr; i <= endAddr; i++) {
-                result += Long.bitCount(m_storage[i] & otherStorage[i]);
+        if (startAddr > endAddr) {
+            return 0;
         }
-        return result;
+        return BitVectorUtil.cardinalityOfIntersection(m_storage, startAddr, bitVector.m_storage, startAddr,
+            endAddr - startAddr + 1);
     }
 
     /**
@@ -1296,4 +1291,15 @@ long cardinalityOfRelativeComplement(final DenseBitVector bitVector) {
         }
         return result;
     }
+
+    /**
+     * Copies the internal storage into the given array (without the intermediate copy of {@link #getAllBits()}).
+     *
+     * @param dest the destination
+     * @param offset the index in the destination to copy the first word to
+     * @param wordCount the maximum number of words to copy
+     */
+    void copyWords(final long[] dest, final int offset, final int wordCount) {
+        System.arraycopy(m_storage, 0, dest, offset, Math.min(m_storage.length, wordCount));
+    }
 }
@@ -224,6 +224,13 @@ long cardinalityOfRelativeComplement(final DenseBitVectorCell bitVectorCell) {
         return m_bitVector.cardinalityOfRelativeComplement(bitVectorCell.m_bitVector);
     }
 
+    /**
+     * @see BitVectorUtil#copyWords(BitVectorValue, long[], int, int)
+     */
+    void copyWords(final long[] dest, final int offset, final int wordCount) {
+        m_bitVector.copyWords(dest, offset, wordCount);
+    }
+
     /**
      * Factory for {@link DenseBitVectorCell}s.
      *
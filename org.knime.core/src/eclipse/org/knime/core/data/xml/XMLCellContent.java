@@ -57,9 +57,12 @@
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.knime.core.data.util.LockedSupplier;
+import org.knime.core.data.xml.io.CompactXMLDocument;
 import org.knime.core.data.xml.io.XMLCellReaderFactory;
 import org.knime.core.data.xml.io.XMLCellWriter;
 import org.knime.core.data.xml.io.XMLCellWriterFactory;
@@ -73,6 +76,13 @@
  * This class encapsulates a {@link Document}. It is the common content of a
  * {@link XMLCell} and a {@link XMLBlobCell}.
  *
+ * <p>
+ * Once a document has been parsed it is also kept in its pre-parsed {@link CompactXMLDocument compact form}, from
+ * which the document is restored without parsing the XML text again when the garbage collector has cleared it. The XML
+ * string remains the canonical form of the content; it is always kept and never regenerated from the compact form.
+ * Like the document, the compact form is only softly referenced so that a cell doesn't hold its content twice when
+ * memory gets low; it is re-created from the XML string when needed again.
+ *
  * @author Heiko Hofer
  */
 public class XMLCellContent implements XMLValue<Document>, XMLCellContentProvider {
@@ -81,6 +91,12 @@ public class XMLCellContent implements XMLValue<Document>, XMLCellContentProvide
 
     private final String m_xmlString;
 
+    /** The pre-parsed document; <code>null</code> if the XML string hasn't been parsed yet. */
+    private volatile SoftReference<CompactXMLDocument> m_compactDocument;
+
+    /** Whether the document has no compact form, e.g. because of a document type declaration. */
+    private volatile boolean m_isNotCompactable;
+
     private SoftReference<Document> m_content;
 
     private final ReentrantLock m_lock = new ReentrantLock();
@@ -105,6 +121,7 @@ public class XMLCellContent implements XMLValue<Document>, XMLCellContentProvide
                 Document doc = parse(xmlString);
                 // store the normalized string as cell content
                 m_xmlString = serialize(doc);
+                setCompactDocument(doc);
                 m_content = new SoftReference<Document>(doc);
             } catch (IOException ex) {
                 Throwable cause = ex;
@@ -139,6 +156,7 @@ public class XMLCellContent implements XMLValue<Document>, XMLCellContentProvide
             Document doc = parse(is);
             m_content = new SoftReference<Document>(doc);
             m_xmlString = serialize(doc);
+            setCompactDocument(doc);
         } catch (IOException ex) {
             Throwable cause = ex;
             while ((cause.getCause() != cause) && (cause.getCause() != null)) {
@@ -173,6 +191,7 @@ public class XMLCellContent implements XMLValue<Document>, XMLCellContentProvide
             // should not happen
         }
         m_xmlString = s;
+        setCompactDocument(doc);
     }
 
     /**
@@ -196,13 +215,31 @@ public XMLCellContent(final LockedSupplier<Document> documentSupplier) {
             doc.normalizeDocument();
 
             s = serialize(doc);
+            // the compact form is a copy, too
+            setCompactDocument(doc);
             m_content = new SoftReference<>(null);
         } catch (IOException ex) {
             // should not happen
         }
 
         m_xmlString = s;
+    }
 
+    /**
+     * Returns the content of the passed value. For the cells of this package, this is the content they encapsulate,
+     * for other values it is a new instance holding a copy of their document.
+     *
+     * @param value an XML value
+     * @return the content of the value
+     * @since 5.4
+     */
+    public static XMLCellContent of(final XMLValue<Document> value) {
+        if (value instanceof XMLCellContentProvider provider) {
+            return provider.getXMLCellContent();
+        }
+        try (LockedSupplier<Document> supplier = value.getDocumentSupplier()) {
+            return new XMLCellContent(supplier);
+        }
     }
 
     /**
@@ -218,8 +255,15 @@ public XMLCellContent(final LockedSupplier<Document> documentSupplier) {
     public Document getDocument() {
         Document doc = m_content.get();
         if (doc == null) {
+            CompactXMLDocument compactDocument = getCompactDocument();
+            if (compactDocument != null) {
+                doc = compactDocument.createDocument();
+                m_content = new SoftReference<Document>(doc);
+                return doc;
+            }
             try {
                 doc = parse(m_xmlString);
+                setCompactDocument(doc);
                 m_content = new SoftReference<Document>(doc);
             } catch (Exception ex) {
                 var detail = "";
@@ -233,6 +277,24 @@ public Document getDocument() {
         return doc;
     }
 
+    private CompactXMLDocument getCompactDocument() {
+        SoftReference<CompactXMLDocument> compactDocument = m_compactDocument;
+        return compactDocument == null ? null : compactDocument.get();
+    }
+
+    /** Keeps the compact form of the argument document, which must not be accessible by other threads yet. */
+    private void setCompactDocument(final Document doc) {
+        if (m_isNotCompactable) {
+            return;
+        }
+        CompactXMLDocument compactDocument = CompactXMLDocument.encode(doc).orElse(null);
+        if (compactDocument == null) {
+            m_isNotCompactable = true;
+        } else {
+            m_compactDocument = new SoftReference<>(compactDocument);
+        }
+    }
+
     /**
      * Returns the XML Document as a string.
      *
@@ -242,6 +304,38 @@ String getStringValue() {
         return m_xmlString;
     }
 
+    /**
+     * Creates a reader that streams over the document. Once the document has been parsed, the reader streams over its
+     * pre-parsed form, i.e. no XML text is parsed and no DOM is built. Only documents with a document type declaration
+     * are streamed from their XML string.
+     *
+     * @return a new reader positioned at the start of the document
+     * @throws XMLStreamException if the reader can't be created
+     * @since 5.4
+     */
+    public XMLStreamReader createXMLStreamReader() throws XMLStreamException {
+        CompactXMLDocument compactDocument = getCompactDocument();
+        if (compactDocument == null && !m_isNotCompactable) {
+            // not parsed yet or cleared by the garbage collector; parses the XML string into a document of its own
+            // (the cached one may be in use) and creates the compact form from it
+            try {
+                Document doc = parse(getStringValue());
+                setCompactDocument(doc);
+                m_content = new SoftReference<Document>(doc);
+            } catch (IOException | ParserConfigurationException ex) {
+                // reported by the stream reader on the XML string
+            }
+            compactDocument = getCompactDocument();
+        }
+        if (compactDocument != null) {
+            return compactDocument.createStreamReader();
+        }
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory.createXMLStreamReader(new StringReader(getStringValue()));
+    }
+
     @Override
     public XMLCellContent getXMLCellContent() {
         return this;
@@ -0,0 +1,360 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.xml.io;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * A pre-parsed, compact representation of an XML {@link Document}. The document is stored as a flat sequence of
+ * tokens (start and end of elements, text, comments, ...) that reference a table of distinct strings, so that element
+ * and attribute names are stored only once. Restoring a {@link Document} from this form or streaming over it with an
+ * {@link XMLStreamReader} does not involve any text parsing.
+ *
+ * <p>
+ * Instances are immutable and can be shared between threads; {@link #createDocument()} and
+ * {@link #createStreamReader()} return new, independent objects on each invocation.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class CompactXMLDocument {
+
+    static final byte ELEMENT = 1;
+
+    static final byte END_ELEMENT = 2;
+
+    static final byte TEXT = 3;
+
+    static final byte CDATA = 4;
+
+    static final byte COMMENT = 5;
+
+    static final byte PROCESSING_INSTRUCTION = 6;
+
+    static final byte ENTITY_REFERENCE = 7;
+
+    private static final DOMImplementation DOM_IMPLEMENTATION;
+
+    static {
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        try {
+            DOM_IMPLEMENTATION = domFactory.newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /** The token stream, see {@link Encoder} for the layout. */
+    private final byte[] m_tokens;
+
+    /** Distinct strings referenced from the tokens; index 0 represents <code>null</code>. */
+    private final String[] m_strings;
+
+    private CompactXMLDocument(final byte[] tokens, final String[] strings) {
+        m_tokens = tokens;
+        m_strings = strings;
+    }
+
+    /**
+     * Creates the compact form of the passed document. Documents that contain a document type declaration can't be
+     * represented and result in an empty optional. Children of entity references are not retained, as they are
+     * restored from the entity declarations (which are part of the document type).
+     *
+     * @param doc the document, not modified
+     * @return the compact form of the document or an empty optional if the document can't be represented
+     */
+    public static Optional<CompactXMLDocument> encode(final Document doc) {
+        Encoder encoder = new Encoder();
+        for (Node child = doc.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!encoder.encode(child)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(encoder.finish());
+    }
+
+    /**
+     * Restores the document. The returned document is a new instance that can be modified freely.
+     *
+     * @return a new document with the content of this compact form
+     */
+    public Document createDocument() {
+        Document doc = DOM_IMPLEMENTATION.createDocument(null, null, null);
+        // the names have all been checked when the original document was built
+        doc.setStrictErrorChecking(false);
+        Node parent = doc;
+        int[] pos = new int[1];
+        while (pos[0] < m_tokens.length) {
+            switch (m_tokens[pos[0]++]) {
+                case ELEMENT:
+                    Element element = createElement(doc, pos);
+                    parent.appendChild(element);
+                    parent = element;
+                    break;
+                case END_ELEMENT:
+                    parent = parent.getParentNode();
+                    break;
+                case TEXT:
+                    parent.appendChild(doc.createTextNode(nextString(pos)));
+                    break;
+                case CDATA:
+                    parent.appendChild(doc.createCDATASection(nextString(pos)));
+                    break;
+                case COMMENT:
+                    parent.appendChild(doc.createComment(nextString(pos)));
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    String target = nextString(pos);
+                    parent.appendChild(doc.createProcessingInstruction(target, nextString(pos)));
+                    break;
+                case ENTITY_REFERENCE:
+                    parent.appendChild(doc.createEntityReference(nextString(pos)));
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid token at position " + (pos[0] - 1));
+            }
+        }
+        doc.setStrictErrorChecking(true);
+        return doc;
+    }
+
+    private Element createElement(final Document doc, final int[] pos) {
+        String namespaceURI = nextString(pos);
+        String qualifiedName = nextString(pos);
+        Element element = nextString(pos) != null ? doc.createElementNS(namespaceURI, qualifiedName)
+            : doc.createElement(qualifiedName);
+        for (int i = nextInt(pos); i > 0; i--) {
+            String attrNamespaceURI = nextString(pos);
+            String attrQualifiedName = nextString(pos);
+            boolean hasLocalName = nextString(pos) != null;
+            String value = nextString(pos);
+            if (hasLocalName) {
+                element.setAttributeNS(attrNamespaceURI, attrQualifiedName, value);
+            } else {
+                element.setAttribute(attrQualifiedName, value);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Creates a reader that streams over the content of this document. The reader reports the nodes of the document
+     * as a coalescing reader would, i.e. CDATA sections are reported as characters; the indentation added when
+     * serializing the document is not reported. Attributes and namespace declarations are reported in the order of
+     * the document's attribute maps.
+     *
+     * @return a new reader positioned at the start of the document
+     */
+    public XMLStreamReader createStreamReader() {
+        return new CompactXMLStreamReader(this);
+    }
+
+    /**
+     * @return the number of bytes used by the token stream (not counting the strings it references)
+     */
+    public int getTokenSize() {
+        return m_tokens.length;
+    }
+
+    byte[] getTokens() {
+        return m_tokens;
+    }
+
+    String getString(final int index) {
+        return m_strings[index];
+    }
+
+    String nextString(final int[] pos) {
+        return m_strings[nextInt(pos)];
+    }
+
+    int nextInt(final int[] pos) {
+        return readVarInt(m_tokens, pos);
+    }
+
+    static int readVarInt(final byte[] buf, final int[] pos) {
+        int p = pos[0];
+        int b = buf[p++];
+        int result = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = buf[p++];
+            result |= (b & 0x7F) << shift;
+        }
+        pos[0] = p;
+        return result;
+    }
+
+    /**
+     * Writes the tokens. Each token is a single byte followed by its arguments, each a variable length encoded int,
+     * mostly indices into the string table:
+     * <ul>
+     * <li>{@link #ELEMENT}: namespace URI, qualified name, local name (<code>null</code> for DOM level 1 nodes),
+     * number of attributes followed by namespace URI, qualified name, local name and value of each attribute
+     * (including namespace declarations)</li>
+     * <li>{@link #END_ELEMENT}: no arguments</li>
+     * <li>{@link #TEXT}, {@link #CDATA}, {@link #COMMENT}: the text</li>
+     * <li>{@link #PROCESSING_INSTRUCTION}: target and data</li>
+     * <li>{@link #ENTITY_REFERENCE}: the name of the entity</li>
+     * </ul>
+     */
+    private static final class Encoder {
+
+        private final Map<String, Integer> m_stringIndices = new HashMap<>();
+
+        private String[] m_strings = new String[64];
+
+        private int m_stringCount = 1;
+
+        private byte[] m_buf = new byte[1024];
+
+        private int m_length;
+
+        boolean encode(final Node node) {
+            switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    writeByte(ELEMENT);
+                    writeNames(node);
+                    NamedNodeMap attrs = node.getAttributes();
+                    int attrCount = attrs.getLength();
+                    writeInt(attrCount);
+                    for (int i = 0; i < attrCount; i++) {
+                        Attr attr = (Attr)attrs.item(i);
+                        writeNames(attr);
+                        writeString(attr.getValue());
+                    }
+                    for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                        if (!encode(child)) {
+                            return false;
+                        }
+                    }
+                    writeByte(END_ELEMENT);
+                    return true;
+                case Node.TEXT_NODE:
+                    return writeToken(TEXT, node.getNodeValue());
+                case Node.CDATA_SECTION_NODE:
+                    return writeToken(CDATA, node.getNodeValue());
+                case Node.COMMENT_NODE:
+                    return writeToken(COMMENT, node.getNodeValue());
+                case Node.PROCESSING_INSTRUCTION_NODE:
+                    writeToken(PROCESSING_INSTRUCTION, node.getNodeName());
+                    writeString(node.getNodeValue());
+                    return true;
+                case Node.ENTITY_REFERENCE_NODE:
+                    return writeToken(ENTITY_REFERENCE, node.getNodeName());
+                default:
+                    // document type declarations, which need to be passed when creating the document
+                    return false;
+            }
+        }
+
+        private void writeNames(final Node node) {
+            writeString(node.getNamespaceURI());
+            writeString(node.getNodeName());
+            writeString(node.getLocalName());
+        }
+
+        private boolean writeToken(final byte token, final String value) {
+            writeByte(token);
+            writeString(value);
+            return true;
+        }
+
+        private void writeString(final String s) {
+            if (s == null) {
+                writeInt(0);
+                return;
+            }
+            Integer index = m_stringIndices.get(s);
+            if (index == null) {
+                index = m_stringCount;
+                m_stringIndices.put(s, index);
+                if (m_stringCount == m_strings.length) {
+                    m_strings = Arrays.copyOf(m_strings, m_strings.length * 2);
+                }
+                m_strings[m_stringCount++] = s;
+            }
+            writeInt(index);
+        }
+
+        private void writeInt(final int value) {
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                writeByte((byte)((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            writeByte((byte)v);
+        }
+
+        private void writeByte(final byte b) {
+            if (m_length == m_buf.length) {
+                m_buf = Arrays.copyOf(m_buf, m_buf.length * 2);
+            }
+            m_buf[m_length++] = b;
+        }
+
+        CompactXMLDocument finish() {
+            return new CompactXMLDocument(Arrays.copyOf(m_buf, m_length), Arrays.copyOf(m_strings, m_stringCount));
+        }
+    }
+}
@@ -0,0 +1,673 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.data.xml.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * An {@link XMLStreamReader} on a {@link CompactXMLDocument}. Events are decoded straight from the token stream, no
+ * text is parsed and no DOM is built.
+ *
+ * @author agent
+ */
+final class CompactXMLStreamReader implements XMLStreamReader {
+
+    private static final String XMLNS_PREFIX = XMLConstants.XMLNS_ATTRIBUTE + ":";
+
+    private static final Location UNKNOWN_LOCATION = new Location() {
+        @Override
+        public int getLineNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+    };
+
+    private final CompactXMLDocument m_doc;
+
+    private final byte[] m_tokens;
+
+    private final int[] m_pos = new int[1];
+
+    private int m_event = START_DOCUMENT;
+
+    /** Positions of the names of the open elements in the token stream. */
+    private int[] m_elementStack = new int[16];
+
+    private int m_depth;
+
+    private String m_namespaceURI;
+
+    private String m_qualifiedName;
+
+    private String m_localName;
+
+    /** Namespace URI, qualified name, local name and value of each attribute, as indices into the string table. */
+    private int[] m_attributes = new int[16];
+
+    private int m_attributeCount;
+
+    /** Qualified name and namespace URI of each namespace declaration, as indices into the string table. */
+    private int[] m_namespaces = new int[8];
+
+    private int m_namespaceCount;
+
+    private String m_text;
+
+    private String m_piData;
+
+    private char[] m_textChars;
+
+    CompactXMLStreamReader(final CompactXMLDocument doc) {
+        m_doc = doc;
+        m_tokens = doc.getTokens();
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (m_event == END_ELEMENT) {
+            m_depth--;
+        }
+        m_text = null;
+        m_textChars = null;
+        if (m_pos[0] >= m_tokens.length) {
+            if (m_event == END_DOCUMENT) {
+                throw new NoSuchElementException("End of document reached");
+            }
+            m_event = END_DOCUMENT;
+            return m_event;
+        }
+        switch (m_tokens[m_pos[0]++]) {
+            case CompactXMLDocument.ELEMENT:
+                if (m_depth == m_elementStack.length) {
+                    m_elementStack = Arrays.copyOf(m_elementStack, 2 * m_depth);
+                }
+                m_elementStack[m_depth++] = m_pos[0];
+                readElement(m_pos);
+                m_event = START_ELEMENT;
+                break;
+            case CompactXMLDocument.END_ELEMENT:
+                readElement(new int[]{m_elementStack[m_depth - 1]});
+                m_event = END_ELEMENT;
+                break;
+            case CompactXMLDocument.TEXT:
+            case CompactXMLDocument.CDATA:
+                m_text = readCharacters();
+                m_event = CHARACTERS;
+                break;
+            case CompactXMLDocument.COMMENT:
+                m_text = m_doc.nextString(m_pos);
+                m_event = XMLStreamConstants.COMMENT;
+                break;
+            case CompactXMLDocument.PROCESSING_INSTRUCTION:
+                m_localName = m_doc.nextString(m_pos);
+                m_piData = m_doc.nextString(m_pos);
+                m_event = XMLStreamConstants.PROCESSING_INSTRUCTION;
+                break;
+            case CompactXMLDocument.ENTITY_REFERENCE:
+                m_localName = m_doc.nextString(m_pos);
+                m_text = "";
+                m_event = XMLStreamConstants.ENTITY_REFERENCE;
+                break;
+            default:
+                throw new XMLStreamException("Invalid token at position " + (m_pos[0] - 1));
+        }
+        return m_event;
+    }
+
+    /**
+     * Reads the current and all directly following text and CDATA tokens into a single string, as a coalescing
+     * reader would do.
+     */
+    private String readCharacters() {
+        String text = m_doc.nextString(m_pos);
+        if (m_pos[0] < m_tokens.length && isCharacters(m_tokens[m_pos[0]])) {
+            StringBuilder b = new StringBuilder(text);
+            while (m_pos[0] < m_tokens.length && isCharacters(m_tokens[m_pos[0]])) {
+                m_pos[0]++;
+                b.append(m_doc.nextString(m_pos));
+            }
+            text = b.toString();
+        }
+        return text;
+    }
+
+    private static boolean isCharacters(final byte token) {
+        return token == CompactXMLDocument.TEXT || token == CompactXMLDocument.CDATA;
+    }
+
+    /** Reads the names and attributes of the element whose names start at the given position. */
+    private void readElement(final int[] pos) {
+        m_namespaceURI = m_doc.nextString(pos);
+        m_qualifiedName = m_doc.nextString(pos);
+        m_localName = m_doc.nextString(pos);
+        int count = m_doc.nextInt(pos);
+        if (4 * count > m_attributes.length) {
+            m_attributes = new int[4 * count];
+        }
+        if (2 * count > m_namespaces.length) {
+            m_namespaces = new int[2 * count];
+        }
+        m_attributeCount = 0;
+        m_namespaceCount = 0;
+        for (int i = 0; i < count; i++) {
+            int namespaceURI = m_doc.nextInt(pos);
+            int qualifiedName = m_doc.nextInt(pos);
+            int localName = m_doc.nextInt(pos);
+            int value = m_doc.nextInt(pos);
+            String qName = m_doc.getString(qualifiedName);
+            if (qName.equals(XMLConstants.XMLNS_ATTRIBUTE) || qName.startsWith(XMLNS_PREFIX)) {
+                m_namespaces[2 * m_namespaceCount] = qualifiedName;
+                m_namespaces[2 * m_namespaceCount + 1] = value;
+                m_namespaceCount++;
+            } else {
+                int offset = 4 * m_attributeCount;
+                m_attributes[offset] = namespaceURI;
+                m_attributes[offset + 1] = qualifiedName;
+                m_attributes[offset + 2] = localName;
+                m_attributes[offset + 3] = value;
+                m_attributeCount++;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws XMLStreamException {
+        return m_event != END_DOCUMENT;
+    }
+
+    @Override
+    public int getEventType() {
+        return m_event;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Property name must not be null");
+        }
+        return null;
+    }
+
+    @Override
+    public void require(final int type, final String namespaceURI, final String localName)
+        throws XMLStreamException {
+        if (type != m_event) {
+            throw new XMLStreamException("Expected event " + type + " but current event is " + m_event);
+        }
+        if (namespaceURI != null && !namespaceURI.equals(nullToEmpty(getNamespaceURI()))) {
+            throw new XMLStreamException("Expected namespace '" + namespaceURI + "' but current namespace is '"
+                + getNamespaceURI() + "'");
+        }
+        if (localName != null && !localName.equals(getLocalName())) {
+            throw new XMLStreamException("Expected local name '" + localName + "' but current local name is '"
+                + getLocalName() + "'");
+        }
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (m_event != START_ELEMENT) {
+            throw new XMLStreamException("Current event is not a start element");
+        }
+        StringBuilder content = new StringBuilder();
+        for (int event = next(); event != END_ELEMENT; event = next()) {
+            switch (event) {
+                case CHARACTERS:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    content.append(getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                case XMLStreamConstants.COMMENT:
+                    break;
+                case END_DOCUMENT:
+                    throw new XMLStreamException("Unexpected end of document while reading element text");
+                case START_ELEMENT:
+                    throw new XMLStreamException("Element text must not contain child elements");
+                default:
+                    throw new XMLStreamException("Unexpected event " + event + " while reading element text");
+            }
+        }
+        return content.toString();
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while ((event == CHARACTERS && isWhiteSpace()) || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+            || event == XMLStreamConstants.COMMENT) {
+            event = next();
+        }
+        if (event != START_ELEMENT && event != END_ELEMENT) {
+            throw new XMLStreamException("Expected start or end tag but found event " + event);
+        }
+        return event;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        // nothing to release
+    }
+
+    @Override
+    public String getNamespaceURI(final String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix must not be null");
+        }
+        if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+            return XMLConstants.XML_NS_URI;
+        }
+        if (XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+            return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+        }
+        for (int d = m_depth - 1; d >= 0; d--) {
+            int[] pos = new int[]{m_elementStack[d]};
+            for (int i = 0; i < 3; i++) {
+                m_doc.nextInt(pos);
+            }
+            for (int i = m_doc.nextInt(pos); i > 0; i--) {
+                m_doc.nextInt(pos);
+                String qName = m_doc.nextString(pos);
+                m_doc.nextInt(pos);
+                String value = m_doc.nextString(pos);
+                if (declaredPrefix(qName).equals(prefix)) {
+                    return value.isEmpty() ? null : value;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return m_event == START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return m_event == END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return m_event == CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        if (m_event != CHARACTERS) {
+            return false;
+        }
+        for (int i = 0; i < m_text.length(); i++) {
+            char c = m_text.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getAttributeValue(final String namespaceURI, final String localName) {
+        checkStartElement();
+        for (int i = 0; i < m_attributeCount; i++) {
+            if (getAttributeLocalName(i).equals(localName)
+                && (namespaceURI == null || namespaceURI.equals(nullToEmpty(getAttributeNamespace(i))))) {
+                return getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        checkStartElement();
+        return m_attributeCount;
+    }
+
+    @Override
+    public QName getAttributeName(final int index) {
+        return new QName(nullToEmpty(getAttributeNamespace(index)), getAttributeLocalName(index),
+            getAttributePrefix(index));
+    }
+
+    @Override
+    public String getAttributeNamespace(final int index) {
+        return m_doc.getString(attribute(index, 0));
+    }
+
+    @Override
+    public String getAttributeLocalName(final int index) {
+        String localName = m_doc.getString(attribute(index, 2));
+        return localName != null ? localName : m_doc.getString(attribute(index, 1));
+    }
+
+    @Override
+    public String getAttributePrefix(final int index) {
+        return m_doc.getString(attribute(index, 2)) != null ? prefix(m_doc.getString(attribute(index, 1))) : "";
+    }
+
+    @Override
+    public String getAttributeType(final int index) {
+        attribute(index, 0);
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(final int index) {
+        return m_doc.getString(attribute(index, 3));
+    }
+
+    @Override
+    public boolean isAttributeSpecified(final int index) {
+        attribute(index, 0);
+        return true;
+    }
+
+    private int attribute(final int index, final int field) {
+        checkStartElement();
+        if (index < 0 || index >= m_attributeCount) {
+            throw new IndexOutOfBoundsException("Invalid attribute index " + index);
+        }
+        return m_attributes[4 * index + field];
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        checkElement();
+        return m_namespaceCount;
+    }
+
+    @Override
+    public String getNamespacePrefix(final int index) {
+        String prefix = declaredPrefix(m_doc.getString(namespace(index, 0)));
+        return prefix.isEmpty() ? null : prefix;
+    }
+
+    @Override
+    public String getNamespaceURI(final int index) {
+        String namespaceURI = m_doc.getString(namespace(index, 1));
+        // an undeclaration of the default namespace
+        return namespaceURI.isEmpty() ? null : namespaceURI;
+    }
+
+    private int namespace(final int index, final int field) {
+        checkElement();
+        if (index < 0 || index >= m_namespaceCount) {
+            throw new IndexOutOfBoundsException("Invalid namespace index " + index);
+        }
+        return m_namespaces[2 * index + field];
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(final String prefix) {
+                String uri = CompactXMLStreamReader.this.getNamespaceURI(prefix);
+                return uri != null ? uri : XMLConstants.NULL_NS_URI;
+            }
+
+            @Override
+            public String getPrefix(final String namespaceURI) {
+                Iterator<String> prefixes = getPrefixes(namespaceURI);
+                return prefixes.hasNext() ? prefixes.next() : null;
+            }
+
+            @Override
+            public Iterator<String> getPrefixes(final String namespaceURI) {
+                if (namespaceURI == null) {
+                    throw new IllegalArgumentException("Namespace URI must not be null");
+                }
+                List<String> prefixes = new ArrayList<>();
+                for (String prefix : declaredPrefixes()) {
+                    if (namespaceURI.equals(getNamespaceURI(prefix)) && !prefixes.contains(prefix)) {
+                        prefixes.add(prefix);
+                    }
+                }
+                return prefixes.iterator();
+            }
+        };
+    }
+
+    private List<String> declaredPrefixes() {
+        List<String> prefixes = new ArrayList<>();
+        prefixes.add(XMLConstants.XML_NS_PREFIX);
+        prefixes.add(XMLConstants.XMLNS_ATTRIBUTE);
+        for (int d = m_depth - 1; d >= 0; d--) {
+            int[] pos = new int[]{m_elementStack[d]};
+            for (int i = 0; i < 3; i++) {
+                m_doc.nextInt(pos);
+            }
+            for (int i = m_doc.nextInt(pos); i > 0; i--) {
+                m_doc.nextInt(pos);
+                String qName = m_doc.nextString(pos);
+                m_doc.nextInt(pos);
+                m_doc.nextInt(pos);
+                prefixes.add(declaredPrefix(qName));
+            }
+        }
+        return prefixes;
+    }
+
+    @Override
+    public String getText() {
+        if (!hasText()) {
+            throw new IllegalStateException("Current event " + m_event + " has no text");
+        }
+        return m_text;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        if (m_textChars == null) {
+            m_textChars = getText().toCharArray();
+        }
+        return m_textChars;
+    }
+
+    @Override
+    public int getTextCharacters(final int sourceStart, final char[] target, final int targetStart,
+        final int length) throws XMLStreamException {
+        String text = getText();
+        if (sourceStart < 0 || sourceStart > text.length()) {
+            throw new IndexOutOfBoundsException("Invalid source start " + sourceStart);
+        }
+        int count = Math.min(length, text.length() - sourceStart);
+        text.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextStart() {
+        getText();
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean hasText() {
+        return m_event == CHARACTERS || m_event == XMLStreamConstants.COMMENT
+            || m_event == XMLStreamConstants.ENTITY_REFERENCE;
+    }
+
+    @Override
+    public Location getLocation() {
+        return UNKNOWN_LOCATION;
+    }
+
+    @Override
+    public QName getName() {
+        checkElement();
+        return new QName(nullToEmpty(m_namespaceURI), getLocalName(), getPrefix());
+    }
+
+    @Override
+    public String getLocalName() {
+        if (m_event == XMLStreamConstants.ENTITY_REFERENCE) {
+            return m_localName;
+        }
+        checkElement();
+        return m_localName != null ? m_localName : m_qualifiedName;
+    }
+
+    @Override
+    public boolean hasName() {
+        return m_event == START_ELEMENT || m_event == END_ELEMENT;
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return hasName() ? m_namespaceURI : null;
+    }
+
+    @Override
+    public String getPrefix() {
+        if (!hasName()) {
+            return null;
+        }
+        return m_localName != null ? prefix(m_qualifiedName) : XMLConstants.DEFAULT_NS_PREFIX;
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return m_event == XMLStreamConstants.PROCESSING_INSTRUCTION ? m_localName : null;
+    }
+
+    @Override
+    public String getPIData() {
+        return m_event == XMLStreamConstants.PROCESSING_INSTRUCTION ? m_piData : null;
+    }
+
+    private void checkStartElement() {
+        if (m_event != START_ELEMENT) {
+            throw new IllegalStateException("Current event " + m_event + " is not a start element");
+        }
+    }
+
+    private void checkElement() {
+        if (!hasName()) {
+            throw new IllegalStateException("Current event " + m_event + " is neither a start nor an end element");
+        }
+    }
+
+    private static String prefix(final String qualifiedName) {
+        int colon = qualifiedName.indexOf(':');
+        return colon < 0 ? XMLConstants.DEFAULT_NS_PREFIX : qualifiedName.substring(0, colon);
+    }
+
+    /** @return the prefix declared by a namespace declaration, the empty string for the default namespace */
+    private static String declaredPrefix(final String qualifiedName) {
+        return qualifiedName.length() > XMLNS_PREFIX.length() ? qualifiedName.substring(XMLNS_PREFIX.length())
+            : XMLConstants.DEFAULT_NS_PREFIX;
+    }
+
+    private static String nullToEmpty(final String s) {
+        return s == null ? "" : s;
+    }
+}
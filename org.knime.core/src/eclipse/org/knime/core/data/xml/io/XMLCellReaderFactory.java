@@ -53,7 +53,10 @@
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLStreamException;
 
+import org.knime.core.data.xml.XMLCellContent;
+import org.knime.core.data.xml.XMLValue;
 import org.knime.core.node.KNIMEConstants;
+import org.w3c.dom.Document;
 
 /**
  * Factory class for {@link XMLCellReader}.
@@ -135,4 +138,26 @@ public static XMLCellReader createXPathXMLCellReader2(final InputStream is,
             throws ParserConfigurationException, XMLStreamException {
         return new XMLXpathCellReader(is, xpathMatcher,true);
     }
+
+    /**
+     * Creates a {@link XMLCellReader} to read nodes of an XML value matching the given limited XPath. Every node is
+     * read in a single DataCell whereas namespaces, xml:base, xml:space and xml:lang definitions are retained. Unlike
+     * the readers on an {@link InputStream}, this reader streams over the pre-parsed form of the value (see
+     * {@link XMLCellContent#createXMLStreamReader()}), i.e. the XML text is not parsed again and only the matching
+     * nodes are built as DOM.
+     *
+     * @param value the xml value
+     * @param xpathMatcher Only nodes that match are read
+     * @return {@link XMLCellReader} to read nodes matching the given limited
+     * XPath. Every node is read in a single DataCell.
+     * @throws ParserConfigurationException when the factory object for
+     * DOMs could not be created.
+     * @throws XMLStreamException when the reader could not be created
+     * @since 5.4
+     */
+    public static XMLCellReader createXPathXMLCellReader(final XMLValue<Document> value,
+            final LimitedXPathMatcher xpathMatcher)
+            throws ParserConfigurationException, XMLStreamException {
+        return new XMLXpathCellReader(XMLCellContent.of(value).createXMLStreamReader(), xpathMatcher);
+    }
 }
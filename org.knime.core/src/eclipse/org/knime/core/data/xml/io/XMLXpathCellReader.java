@@ -86,7 +86,7 @@
  */
 public class XMLXpathCellReader implements XMLCellReader {
 	private final InputStream m_in;
-	private XMLStreamReader m_parser;
+	private final XMLStreamReader m_parser;
 	private final DocumentBuilder m_builder;
 	private final LimitedXPathMatcher m_xpathMatcher;
 	private final List<Document> m_docs;
@@ -126,7 +126,26 @@ public XMLXpathCellReader(final InputStream is,
     public XMLXpathCellReader(final InputStream is,
             final LimitedXPathMatcher xpathMatcher, final boolean disableExternalEntities)
             throws ParserConfigurationException, XMLStreamException {
+        this(is, createStreamParser(is, disableExternalEntities), xpathMatcher);
+    }
+
+    /**
+     * Create a new instance that reads from an already created stream reader, for instance one that streams over a
+     * {@link CompactXMLDocument}.
+     *
+     * @param parser the reader positioned at the start of the document
+     * @param xpathMatcher nodes of the input that match will be read, only
+     * @throws ParserConfigurationException
+     */
+    XMLXpathCellReader(final XMLStreamReader parser, final LimitedXPathMatcher xpathMatcher)
+            throws ParserConfigurationException {
+        this(null, parser, xpathMatcher);
+    }
+
+    private XMLXpathCellReader(final InputStream is, final XMLStreamReader parser,
+            final LimitedXPathMatcher xpathMatcher) throws ParserConfigurationException {
         m_in = is;
+        m_parser = parser;
 
         DocumentBuilderFactory domFactory = DocumentBuilderFactory
                 .newInstance();
@@ -144,11 +163,11 @@ public XMLXpathCellReader(final InputStream is,
         m_base = new LinkedList<>();
         m_space = new LinkedList<>();
         m_lang = new LinkedList<>();
-        initStreamParser(disableExternalEntities);
     }
 
-    /** Initialize the stream parser object. */
-    private void initStreamParser(final boolean disableExternalEntities) throws XMLStreamException {
+    /** Create the stream parser object. */
+    private static XMLStreamReader createStreamParser(final InputStream is, final boolean disableExternalEntities)
+            throws XMLStreamException {
         XMLInputFactory factory = XMLInputFactory.newInstance();
         factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
         if (!disableExternalEntities) {
@@ -161,7 +180,7 @@ private void initStreamParser(final boolean disableExternalEntities) throws XMLS
             factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
             factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
         }
-        m_parser = factory.createXMLStreamReader(m_in);
+        return factory.createXMLStreamReader(is);
     }
 
 	private void pushNamespaceContext() {
@@ -416,7 +435,9 @@ public void close() throws IOException {
 		} catch (XMLStreamException e) {
 			throw new IOException(e);
 		}
-		m_in.close();
+		if (m_in != null) {
+		    m_in.close();
+		}
 	}
 
 }
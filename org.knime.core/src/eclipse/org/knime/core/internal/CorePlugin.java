@@ -61,6 +61,7 @@
 import org.eclipse.core.runtime.Platform;
 import org.knime.core.customization.APCustomizationProviderService;
 import org.knime.core.customization.APCustomizationProviderServiceImpl;
+import org.knime.core.data.util.memory.MemoryLedger;
 import org.knime.core.eclipseUtil.EclipseProxyServiceInitializer;
 import org.knime.core.node.port.report.IReportService;
 import org.knime.core.util.IEarlyStartup;
@@ -173,6 +174,10 @@ public void start(final BundleContext context)
         /* Listening on the proxy service initialization, we can install multiple proxy-supporting services.
          * Needs to happen early to avoid interference with org.apache.cxf.transport.http.ReferencingAuthenticator. */
         EclipseProxyServiceInitializer.startListening(context);
+
+        if (MemoryLedger.isEnabled()) {
+            MemoryLedger.getInstance(); // starts polling the memory usage of the container
+        }
     }
 
     private static void readMimeTypes() throws IOException {
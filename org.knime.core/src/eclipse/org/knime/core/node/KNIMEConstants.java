@@ -135,6 +135,25 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TEMP_DIR = "knime.tmpdir";
 
+    /**
+     * Java property to specify additional directories, separated by the platform's path separator, that spill files
+     * (table files, sorter runs, blobs and file stores) are distributed to in addition to the temp directory of the
+     * workflow. Use directories on different local volumes to spread the IO load. By default no additional
+     * directories are used.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TEMP_DIR_STRIPES = "knime.tmpdir.stripes";
+
+    /**
+     * Java property to specify how new spill files are distributed to the directories given by
+     * {@link #PROPERTY_TEMP_DIR_STRIPES}. Possible options are {@code ROUND_ROBIN} and {@code FREE_SPACE} (the
+     * directory with the most usable space). The default is {@code ROUND_ROBIN}.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TEMP_DIR_STRIPES_POLICY = "knime.tmpdir.stripes.policy";
+
     /**
      * Java property to disable the nonsequential handling of rows for KNIME tables. By default, each table container
      * processes its rows asynchronously in a number of (potentially re-used) threads. Setting this field to true will
@@ -215,6 +234,18 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TABLE_CACHE = "knime.table.cache";
 
+    /**
+     * Java property to specify how tables that are kept in memory are represented. Possible options are
+     * {@code OBJECTS}, {@code COMPACT}, and {@code COMPACT_OFFHEAP}. {@code OBJECTS} keeps the materialized data cells
+     * of all rows. {@code COMPACT} keeps rows in their serialized form in byte pages on the heap and decodes them when
+     * they are accessed, which reduces the memory footprint and the number of objects the garbage collector has to
+     * trace at the cost of some read throughput. {@code COMPACT_OFFHEAP} does the same using direct (off-heap) memory.
+     * The default is {@code OBJECTS}.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TABLE_IN_MEMORY_FORMAT = "knime.table.inmemory.format";
+
     /**
      * Java property to discourage KNIME from triggering a full stop-the-world garbage collection. Note that (a)
      * individual nodes are allowed to disregard this setting and (b) the garbage collector may independently decide
@@ -241,6 +272,61 @@ public final class KNIMEConstants {
     @Deprecated
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION = PROPERTY_TABLE_COMPRESSION;
 
+    /**
+     * Java property to enable dictionary encoding of string columns in tables written to disk. Each block of rows
+     * stores the distinct values of a low-cardinality string column only once and refers to them by small integer
+     * codes, which reduces the file size and decoding time; rows read back share one cell instance per value. The
+     * default is {@code false}.
+     * <p>
+     * <strong>Warning:</strong> Tables written with this property enabled can't be read by versions of KNIME that
+     * don't support dictionary encoding.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TABLE_DICTIONARY_ENCODING = "knime.table.dictionaryencoding";
+
+    /**
+     * Java property to enable the compact encoding of row keys in tables written to disk. Keys of the form
+     * &quot;Row&quot; + index are stored as number and not at all if they continue the sequence of the previous row,
+     * and they are read back without creating their strings. The default is {@code false}.
+     * <p>
+     * <strong>Warning:</strong> Tables written with this property enabled can't be read by versions of KNIME that
+     * don't support the compact row key encoding.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TABLE_COMPACT_ROW_KEYS = "knime.table.compactrowkeys";
+
+    /**
+     * Java property to enable the deduplication of blob files by their content. Blob files written with the same
+     * content as a blob file of another table of the workflow are replaced by hard links to that file, which requires
+     * computing a digest of each blob written. The default is {@code false}; blobs copied from one table into another
+     * are linked regardless of this setting.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TABLE_BLOB_DEDUPLICATION = "knime.table.blobdeduplication";
+
+    /**
+     * Java property to enable per-block statistics (minimum, maximum and number of missing values per column) of
+     * tables written to disk, which allow filtered iterations to skip blocks of rows that can't match. The statistics
+     * are stored in the meta information of the table and are dropped for very large tables. The default is
+     * {@code false}.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_TABLE_ZONE_MAPS = "knime.table.zonemaps";
+
+    /**
+     * Java property to allow the memory ledger, which watches the memory usage of a KNIME process running in a
+     * container with a memory limit, to kill the external process (e.g. Python or R) with the highest memory usage
+     * when the container is about to run out of memory. Without this property the ledger only flushes caches and
+     * spills tables to disk. The default is {@code false}.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_MEMORY_LEDGER_KILL_PROCESSES = "knime.memoryledger.killprocesses";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
@@ -371,6 +457,41 @@ public final class KNIMEConstants {
     public static final String PROPERTY_MAX_LOGFILESIZE =
         "knime.logfile.maxsize";
 
+    /**
+     * Java property to enable asynchronous writing of the KNIME log file. If set to <code>true</code> log events are
+     * put into a bounded buffer and written to the log file by a background thread. When the buffer is full, debug and
+     * info messages are discarded while warnings and errors block the logging thread. Default is <code>false</code>.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_ASYNC_LOGFILE = "knime.logfile.async";
+
+    /**
+     * Java property to set the number of log events buffered if {@link #PROPERTY_ASYNC_LOGFILE} is enabled. Default
+     * is 8192.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_ASYNC_LOGFILE_BUFFER_SIZE = "knime.logfile.async.buffersize";
+
+    /**
+     * Java property to set the number of iterations that loops with independent iterations (see
+     * {@link org.knime.core.node.workflow.IndependentIterationsLoopStartNode}) run at the same time. Values smaller
+     * or equal to 1 disable the concurrent execution. Default is 1.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_LOOP_CONCURRENT_ITERATIONS = "knime.loop.concurrentiterations";
+
+    /**
+     * Java property to verify the incrementally maintained node state counts of a workflow against the states of all
+     * its nodes whenever the workflow state is derived. This is expensive in large workflows and only meant for
+     * debugging; it also requires assertions to be enabled. Default is <code>false</code>.
+     *
+     * @since 5.4
+     */
+    public static final String PROPERTY_WORKFLOW_CHECK_STATE_COUNTS = "knime.workflow.checkstatecounts";
+
     /** Java property that allows to disable the live update in the node
          repository search. */
    public static final String PROPERTY_REPOSITORY_NON_INSTANT_SEARCH =
@@ -159,6 +159,18 @@ public static enum NodeType {
         PARSER = p;
     }
 
+    /**
+     * The node descriptions of factory classes that read their description from the default XML file, i.e. don't
+     * override {@link #createNodeDescription()}. These descriptions only depend on the factory class, hence they are
+     * parsed once, by the first instance that is initialized, and then shared by all instances of that class.
+     */
+    private static final ClassValue<SharedNodeDescription> SHARED_DESCRIPTIONS = new ClassValue<>() {
+        @Override
+        protected SharedNodeDescription computeValue(final Class<?> type) {
+            return new SharedNodeDescription(!overridesCreateNodeDescription(type));
+        }
+    };
+
     private NodeDescription m_nodeDescription;
 
     private URL m_icon;
@@ -244,6 +256,26 @@ public synchronized void init() {
             m_logger.debug("Factory is already initialized. Nothing to do.");
             return;
         }
+        SharedNodeDescription shared = SHARED_DESCRIPTIONS.get(getClass());
+        if (shared.m_isShareable) {
+            synchronized (shared) {
+                if (shared.m_description == null) {
+                    readNodeDescription();
+                    shared.m_description = m_nodeDescription;
+                    shared.m_icon = m_icon;
+                } else {
+                    m_nodeDescription = shared.m_description;
+                    m_icon = shared.m_icon;
+                }
+            }
+        } else {
+            readNodeDescription();
+        }
+        m_initialized = true;
+    }
+
+    /** Creates the node description, resolves the icon and adds the bundle information to the description. */
+    private void readNodeDescription() {
         try {
             m_nodeDescription = createNodeDescription();
         } catch (SAXException ex) {
@@ -268,7 +300,38 @@ public synchronized void init() {
         // not been initialized
 
         addBundleInformation();
-        m_initialized = true;
+    }
+
+    /**
+     * @return whether the given factory class or one of its superclasses below {@link NodeFactory} overrides
+     *         {@link #createNodeDescription()}; <code>true</code> if that can't be determined
+     */
+    private static boolean overridesCreateNodeDescription(final Class<?> factoryClass) {
+        for (Class<?> c = factoryClass; c != null && c != NodeFactory.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("createNodeDescription");
+                return true;
+            } catch (NoSuchMethodException ex) { // NOSONAR not declared in this class, check superclass
+            } catch (LinkageError | SecurityException ex) { // NOSONAR
+                // signatures of other methods can't be resolved, don't share the description to be safe
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Holds the node description of a factory class that is shared by all its instances, see init(). */
+    private static final class SharedNodeDescription {
+
+        private final boolean m_isShareable;
+
+        private NodeDescription m_description;
+
+        private URL m_icon;
+
+        SharedNodeDescription(final boolean isShareable) {
+            m_isShareable = isShareable;
+        }
     }
 
     /**
@@ -774,7 +837,8 @@ public String getInteractiveViewName() {
 
     /**
      * Sets if this node is deprecated. This method should not be called by clients, it's only called during
-     * construction of the node repository.
+     * construction of the node repository. Factories that read their description from the default XML file share the
+     * description with all other instances of their class, so that the flag applies to all of them.
      *
      * @param b <code>true</code> if the node is deprecated, <code>false</code> otherwise
      * @since 3.0
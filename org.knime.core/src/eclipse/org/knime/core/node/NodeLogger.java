@@ -199,7 +199,9 @@ public void debug(final Object o) {
      * @since 5.4
      */
     public void debug(final Throwable thrw) {
-        log(Level.DEBUG, thrw != null ? thrw.getMessage() : null, thrw);
+        if (m_logger.isLoggable(Level.DEBUG)) {
+            log(Level.DEBUG, thrw != null ? thrw.getMessage() : null, thrw);
+        }
     }
 
     /**
@@ -301,7 +303,9 @@ public void info(final Object o) {
      * @since 5.4
      */
     public void info(final Throwable thrw) {
-        log(Level.INFO, thrw != null ? thrw.getMessage() : null, thrw);
+        if (m_logger.isLoggable(Level.INFO)) {
+            log(Level.INFO, thrw != null ? thrw.getMessage() : null, thrw);
+        }
     }
 
     /**
@@ -585,7 +589,9 @@ public void fatal(final Supplier<Object> supplier, final Throwable t) {
      * @since 2.10
      */
     public void warnWithFormat(final String format, final Object... args) {
-        log(Level.WARN, (Supplier<Object>)() -> String.format(format, args), null);
+        if (m_logger.isLoggable(Level.WARN)) {
+            log(Level.WARN, (Supplier<Object>)() -> String.format(format, args), null);
+        }
     }
 
     /**
@@ -598,7 +604,9 @@ public void warnWithFormat(final String format, final Object... args) {
      * @since 2.10
      */
     public void debugWithFormat(final String format, final Object... args) {
-        log(Level.DEBUG, (Supplier<Object>)() -> String.format(format, args), null);
+        if (m_logger.isLoggable(Level.DEBUG)) {
+            log(Level.DEBUG, (Supplier<Object>)() -> String.format(format, args), null);
+        }
     }
 
     /**
@@ -611,7 +619,9 @@ public void debugWithFormat(final String format, final Object... args) {
      * @since 2.10
      */
     public void infoWithFormat(final String format, final Object... args) {
-        log(Level.INFO, (Supplier<Object>)() -> String.format(format, args), null);
+        if (m_logger.isLoggable(Level.INFO)) {
+            log(Level.INFO, (Supplier<Object>)() -> String.format(format, args), null);
+        }
     }
 
     /**
@@ -624,7 +634,9 @@ public void infoWithFormat(final String format, final Object... args) {
      * @since 2.10
      */
     public void errorWithFormat(final String format, final Object... args) {
-        log(Level.ERROR, (Supplier<Object>)() -> String.format(format, args), null);
+        if (m_logger.isLoggable(Level.ERROR)) {
+            log(Level.ERROR, (Supplier<Object>)() -> String.format(format, args), null);
+        }
     }
 
     /**
@@ -637,7 +649,9 @@ public void errorWithFormat(final String format, final Object... args) {
      * @since 2.10
      */
     public void fatalWithFormat(final String format, final Object... args) {
-        log(Level.FATAL, (Supplier<Object>)() -> String.format(format, args), null);
+        if (m_logger.isLoggable(Level.FATAL)) {
+            log(Level.FATAL, (Supplier<Object>)() -> String.format(format, args), null);
+        }
     }
 
     /**
@@ -650,7 +664,9 @@ public void fatalWithFormat(final String format, final Object... args) {
      * @since 2.10
      */
     public void codingWithFormat(final String format, final Object... args) {
-        logCoding((Supplier<Object>)() -> String.format(format, args), null, true);
+        if (m_logger.isLoggable(Level.ERROR)) {
+            logCoding((Supplier<Object>)() -> String.format(format, args), null, true);
+        }
     }
 
     /**
@@ -0,0 +1,340 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Layout;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.ErrorHandler;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * Appender that decouples the calling thread from a (slow, file based) target appender. Events are put into a bounded
+ * ring buffer and a single daemon thread hands them over to the wrapped appender in batches. The name, filters and
+ * layout are those of the wrapped appender so that the level range configuration (see
+ * {@link KNIMELogger#modifyAppenderLevelRange(String, java.util.function.BiFunction)}) continues to work on the
+ * wrapper.
+ *
+ * <p>
+ * If the buffer is full, events below {@link Level#WARN} are discarded (and their number is reported once the
+ * dispatcher catches up) whereas warnings and errors block the caller until space becomes available, i.e. important
+ * messages are never lost but slow down the producer.
+ *
+ * @author agent
+ */
+final class AsyncLogAppender implements Appender {
+
+    /** Default number of events that can be buffered before the overflow policy kicks in. */
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private final Appender m_delegate;
+
+    private final LoggingEvent[] m_ring;
+
+    private final ReentrantLock m_lock = new ReentrantLock();
+
+    private final Condition m_notEmpty = m_lock.newCondition();
+
+    private final Condition m_notFull = m_lock.newCondition();
+
+    private final Thread m_dispatcher;
+
+    /** Index of the next event to be read by the dispatcher, guarded by m_lock. */
+    private int m_head;
+
+    /** Number of events in the ring, guarded by m_lock. */
+    private int m_size;
+
+    /** Number of events discarded since the last summary, guarded by m_lock. */
+    private long m_discardedCount;
+
+    /** Whether the dispatcher is currently appending a batch, guarded by m_lock. */
+    private boolean m_isDispatching;
+
+    private volatile boolean m_isClosed;
+
+    /**
+     * Wraps the argument appender and starts the dispatcher thread.
+     *
+     * @param delegate the appender doing the actual work (usually the log file appender)
+     * @param capacity maximum number of events kept in the buffer, at least 1
+     */
+    AsyncLogAppender(final Appender delegate, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        m_delegate = delegate;
+        m_ring = new LoggingEvent[capacity];
+        m_dispatcher = new Thread(this::dispatchLoop, "KNIME-Log-Dispatcher-" + delegate.getName());
+        m_dispatcher.setDaemon(true);
+        m_dispatcher.start();
+    }
+
+    /** @return the appender doing the actual work, not null */
+    Appender getDelegate() {
+        return m_delegate;
+    }
+
+    @Override
+    public void doAppend(final LoggingEvent event) {
+        if (m_isClosed || !isAccepted(event)) {
+            return;
+        }
+        if (Thread.currentThread() == m_dispatcher) {
+            // the target appender itself is logging -- don't wait on ourselves
+            m_delegate.doAppend(event);
+            return;
+        }
+        // capture the caller's thread bound state and render the message, which may be a mutable object (e.g. a
+        // StringBuilder) the caller continues to change; the event caches all of them
+        event.getThreadName();
+        event.getNDC();
+        event.getMDCCopy();
+        event.getRenderedMessage();
+        final var isImportant = event.getLevel().isGreaterOrEqual(Level.WARN);
+        m_lock.lock();
+        try {
+            while (m_size == m_ring.length) {
+                if (!isImportant || m_isClosed) {
+                    m_discardedCount += 1;
+                    return;
+                }
+                m_notFull.awaitUninterruptibly();
+            }
+            m_ring[(m_head + m_size) % m_ring.length] = event;
+            m_size += 1;
+            if (m_size == 1) {
+                m_notEmpty.signal();
+            }
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** Mirrors the threshold and filter checks of the target so rejected events don't occupy buffer space. */
+    private boolean isAccepted(final LoggingEvent event) {
+        if (m_delegate instanceof AppenderSkeleton skeleton && !skeleton.isAsSevereAsThreshold(event.getLevel())) {
+            return false;
+        }
+        for (var f = m_delegate.getFilter(); f != null; f = f.getNext()) {
+            switch (f.decide(event)) {
+                case Filter.DENY:
+                    return false;
+                case Filter.ACCEPT:
+                    return true;
+                default:
+            }
+        }
+        return true;
+    }
+
+    private void dispatchLoop() {
+        final var batch = new LoggingEvent[m_ring.length];
+        while (true) {
+            final int count;
+            final long discarded;
+            m_lock.lock();
+            try {
+                m_isDispatching = false;
+                m_notFull.signalAll();
+                while (m_size == 0) {
+                    if (m_isClosed) {
+                        return;
+                    }
+                    m_notEmpty.awaitUninterruptibly();
+                }
+                count = drainTo(batch);
+                discarded = m_discardedCount;
+                m_discardedCount = 0;
+                m_isDispatching = true;
+                m_notFull.signalAll();
+            } finally {
+                m_lock.unlock();
+            }
+            for (var i = 0; i < count; i++) {
+                appendSafely(batch[i]);
+                batch[i] = null;
+            }
+            if (discarded > 0) {
+                final var logger = Logger.getLogger(AsyncLogAppender.class);
+                appendSafely(new LoggingEvent(logger.getName(), logger, Level.WARN,
+                    "Discarded " + discarded + " log message(s) since the log buffer was full", null));
+            }
+        }
+    }
+
+    /** Moves all buffered events into the argument array; caller must hold the lock. */
+    private int drainTo(final LoggingEvent[] batch) {
+        final var count = m_size;
+        for (var i = 0; i < count; i++) {
+            final var index = (m_head + i) % m_ring.length;
+            batch[i] = m_ring[index];
+            m_ring[index] = null;
+        }
+        m_head = (m_head + count) % m_ring.length;
+        m_size = 0;
+        return count;
+    }
+
+    private void appendSafely(final LoggingEvent event) {
+        try {
+            m_delegate.doAppend(event);
+        } catch (RuntimeException e) { // NOSONAR the dispatcher must not die
+            m_delegate.getErrorHandler().error("Failed to append log event: " + e.getMessage(), e, 0, event);
+        }
+    }
+
+    /**
+     * Blocks until all events that were buffered at the time of the call have been passed on to the wrapped appender,
+     * or the timeout elapsed.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return whether the buffer was flushed within the timeout
+     */
+    boolean flush(final long timeout, final TimeUnit unit) {
+        var nanos = unit.toNanos(timeout);
+        m_lock.lock();
+        try {
+            while (m_size > 0 || m_isDispatching) {
+                if (nanos <= 0 || !m_dispatcher.isAlive()) {
+                    return false;
+                }
+                nanos = m_notFull.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) { // NOSONAR we restore the flag
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** Writes out all pending events and closes the wrapped appender. */
+    @Override
+    public void close() {
+        if (m_isClosed) {
+            return;
+        }
+        m_lock.lock();
+        try {
+            m_isClosed = true;
+            m_notEmpty.signalAll();
+            m_notFull.signalAll();
+        } finally {
+            m_lock.unlock();
+        }
+        if (Thread.currentThread() != m_dispatcher) {
+            try {
+                m_dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) { // NOSONAR we restore the flag
+                Thread.currentThread().interrupt();
+            }
+        }
+        m_delegate.close();
+    }
+
+    @Override
+    public void addFilter(final Filter newFilter) {
+        m_delegate.addFilter(newFilter);
+    }
+
+    @Override
+    public Filter getFilter() {
+        return m_delegate.getFilter();
+    }
+
+    @Override
+    public void clearFilters() {
+        m_delegate.clearFilters();
+    }
+
+    @Override
+    public String getName() {
+        return m_delegate.getName();
+    }
+
+    @Override
+    public void setName(final String name) {
+        m_delegate.setName(name);
+    }
+
+    @Override
+    public void setErrorHandler(final ErrorHandler errorHandler) {
+        m_delegate.setErrorHandler(errorHandler);
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return m_delegate.getErrorHandler();
+    }
+
+    @Override
+    public void setLayout(final Layout layout) {
+        m_delegate.setLayout(layout);
+    }
+
+    @Override
+    public Layout getLayout() {
+        return m_delegate.getLayout();
+    }
+
+    @Override
+    public boolean requiresLayout() {
+        return m_delegate.requiresLayout();
+    }
+
+}
@@ -159,14 +159,18 @@ void log(final BufferedLogMessage bufMsg) {
 
     public void log(final Level level, final Supplier<Object> supplier, final Throwable cause,
         final boolean considerWFDirAppenders) {
-        final var internalLogger = getLoggerInternal(considerWFDirAppenders);
-        if (internalLogger.isEnabledFor(level)) {
+        // check first, avoids workflow dir appender lookup and message wrapping for disabled levels
+        if (m_logger.isEnabledFor(level)) {
+            final var internalLogger = getLoggerInternal(considerWFDirAppenders);
             internalLogger.log(level, toKNIMELogMessage(internalLogger, supplier.get(),
                 considerWFDirAppenders), cause);
         }
     }
 
     public void log(final Level level, final Object o, final Throwable cause, final boolean considerWFDirAppenders) {
+        if (!m_logger.isEnabledFor(level)) {
+            return;
+        }
         final var internalLogger = getLoggerInternal(considerWFDirAppenders);
         internalLogger.log(level, toKNIMELogMessage(internalLogger, o, considerWFDirAppenders), cause);
     }
@@ -423,7 +427,9 @@ static void startMessage() {
         copyrightMessage();
         l.info("#                                                                                       #");
         l.info("#########################################################################################");
-        if (logFileAppender instanceof LogfileAppender lA) {
+        final var fileAppender =
+            logFileAppender instanceof AsyncLogAppender async ? async.getDelegate() : logFileAppender;
+        if (fileAppender instanceof LogfileAppender lA) {
             l.info("# For more details see the KNIME log file:                                              #");
             l.info("# " + lA.getFile());
             l.info("#---------------------------------------------------------------------------------------#");
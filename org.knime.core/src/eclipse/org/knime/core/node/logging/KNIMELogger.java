@@ -68,6 +68,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -250,7 +251,7 @@ private static void initLogging() {
             final var root = Logger.getRootLogger();
             final var appender = root.getAppender(NodeLogger.LOGFILE_APPENDER);
             if (appender != null) {
-                DelegatingLogger.setLogFileAppender(appender);
+                DelegatingLogger.setLogFileAppender(installAsyncLogfileAppender(root, appender));
                 final var layout = appender.getLayout();
                 DelegatingLogger.setWorkflowDirLogfileLayout(layout);
             } else {
@@ -262,6 +263,31 @@ private static void initLogging() {
         }
     }
 
+    /**
+     * Replaces the log file appender by an {@link AsyncLogAppender} if enabled via
+     * {@link KNIMEConstants#PROPERTY_ASYNC_LOGFILE}.
+     *
+     * @return the appender now registered under {@link NodeLogger#LOGFILE_APPENDER}
+     */
+    private static Appender installAsyncLogfileAppender(final Logger root, final Appender appender) {
+        if (!Boolean.getBoolean(KNIMEConstants.PROPERTY_ASYNC_LOGFILE)) {
+            return appender;
+        }
+        final int capacity = Integer.getInteger(KNIMEConstants.PROPERTY_ASYNC_LOGFILE_BUFFER_SIZE,
+            AsyncLogAppender.DEFAULT_CAPACITY);
+        if (capacity < 1) {
+            LogLog.warn("Invalid log buffer size " + capacity + ", logging synchronously");
+            return appender;
+        }
+        final var async = new AsyncLogAppender(appender, capacity);
+        root.removeAppender(appender);
+        root.addAppender(async);
+        // daemon dispatcher -- write out what is still pending when the VM goes down
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(() -> async.flush(5, TimeUnit.SECONDS), "KNIME-Log-Flush"));
+        return async;
+    }
+
     private static void initLog4J() {
         final String file = System.getProperty("log4j.configuration");
         if (file == null) {
@@ -698,6 +724,20 @@ public static void setLevel(final LEVEL level) {
         }
     }
 
+    /**
+     * Checks whether a message at the given level would be processed by this logger. Unlike
+     * {@link #isEnabledFor(Level)} this can be called in any state: before initialization all messages are buffered and
+     * this method returns {@code true}. Used to skip building (formatting) messages that are discarded anyway.
+     *
+     * @param level level to check
+     * @return {@code false} only if a message at the given level is known to be discarded
+     * @since 5.4
+     */
+    public boolean isLoggable(final Level level) {
+        final var logger = m_logger;
+        return logger == null || logger.isEnabledFor(level);
+    }
+
     /**
      * Checks whether the logger is enabled for the given level.
      *
@@ -929,7 +969,7 @@ public void log(final Level level, final Object message, final Throwable cause,
      */
     public void logCoding(final Supplier<Object> messageSupplier, final Throwable cause,
         final boolean considerWFDirAppenders) {
-        if (isToLogCodingMessages()) {
+        if (isToLogCodingMessages() && isLoggable(Level.ERROR)) {
             log(Level.ERROR, () -> CODING_PROBLEM_PREFIX + messageSupplier.get(), cause, considerWFDirAppenders);
         }
     }
@@ -944,7 +984,7 @@ public void logCoding(final Supplier<Object> messageSupplier, final Throwable ca
      */
     public void logCoding(final Object message, final Throwable cause,
         final boolean considerWFDirAppenders) {
-        if (isToLogCodingMessages()) {
+        if (isToLogCodingMessages() && isLoggable(Level.ERROR)) {
             log(Level.ERROR, CODING_PROBLEM_PREFIX + message, cause, considerWFDirAppenders);
         }
     }
@@ -50,12 +50,15 @@
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -88,6 +91,7 @@
 import org.knime.core.util.EncryptionKeySupplier;
 import org.knime.core.util.FileUtil;
 import org.knime.core.util.FileUtil.ZipFileFilter;
+import org.knime.core.util.JsonUtil;
 import org.knime.core.util.KNIMETimer;
 import org.knime.core.util.KnimeEncryption;
 import org.knime.core.util.LockFailedException;
@@ -95,6 +99,12 @@
 import org.knime.core.util.VMFileLocker;
 import org.knime.core.util.tokenizer.Tokenizer;
 import org.knime.core.util.tokenizer.TokenizerSettings;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.JsonWriter;
+import jakarta.json.stream.JsonGenerator;
+
 /**
  * Simple utility class that takes a workflow, either in a directory or zipped into a single file, executes it and saves
  * the results in the end. If the input was a ZIP file the workflow is zipped back into a file.
@@ -392,6 +402,13 @@ protected static class WorkflowConfiguration {
         /** A collection of node options. */
         public final Collection<Option> nodeOptions = new ArrayList<BatchExecutor.Option>();
 
+        /**
+         * File the per-node resource usage is written to after execution (JSON), may be null.
+         *
+         * @since 5.4
+         */
+        public File resourceUsageFile;
+
         /** The (temporary) workflow location which should be used to load the workflow. */
         File workflowLocation;
     }
@@ -560,6 +577,11 @@ protected void handleCommandlineArgument(final String[] parts, final String s, f
                 throw new IllegalOptionException("Couldn't parse -destDir argument: " + s);
             }
             config.outputDir = new File(parts[1]);
+        } else if ("-resourceUsageFile".equals(parts[0])) {
+            if (parts.length != 2) {
+                throw new IllegalOptionException("Couldn't parse -resourceUsageFile argument: " + s);
+            }
+            config.resourceUsageFile = new File(parts[1]);
         } else if ("-workflow.variable".equals(parts[0])) {
             if (parts.length != 2) {
                 throw new IllegalOptionException("Couldn't parse -workflow.variable argument: " + s);
@@ -626,6 +648,8 @@ public static String getOptionsString() {
                 + "                      if omitted the workflow is only saved in place\n"
                 + " -destDir=...      => directory where the executed workflow is saved to\n"
                 + "                      if omitted the workflow is only saved in place\n"
+                + " -resourceUsageFile=... => JSON file the CPU time, memory allocation and table I/O\n"
+                + "                      of each executed node is written to\n"
                 + " -workflow.variable=name,value,type => define or overwrite workflow variable\n"
                 + "                      'name' with value 'value' (possibly enclosed by quotes). The\n"
                 + "                      'type' must be one of \"String\", \"int\" or \"double\".";
@@ -953,6 +977,9 @@ private int runOne(final WorkflowConfiguration config) {
                 LOGGER.debug("------------------------------------");
                 dumpWorkflowToDebugLog(wfm);
                 LOGGER.debug("------------------------------------");
+                if (config.resourceUsageFile != null) {
+                    writeResourceUsage(wfm, config.resourceUsageFile);
+                }
             }
 
             try {
@@ -1229,6 +1256,53 @@ private static void applyWorkflowVariables(final WorkflowManager wfm, final bool
         wfm.addWorkflowVariables(!reset, wkfVars.toArray(new FlowVariable[wkfVars.size()]));
     }
 
+    /**
+     * Writes the resources used by all nodes (since their last reset) as JSON to the given file. Failures are only
+     * logged as they should not affect the outcome of the batch run.
+     */
+    private static void writeResourceUsage(final WorkflowManager wfm, final File file) {
+        final var nodes = JsonUtil.getProvider().createArrayBuilder();
+        addResourceUsage(wfm, nodes);
+        final var json = JsonUtil.getProvider().createObjectBuilder() //
+            .add("workflow", wfm.getName()) //
+            .add("nodes", nodes) //
+            .build();
+        final Map<String, Boolean> cfg = Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, Boolean.TRUE);
+        try (OutputStream out = new FileOutputStream(file);
+                JsonWriter writer = JsonUtil.getProvider().createWriterFactory(cfg).createWriter(out)) {
+            writer.write(json);
+            LOGGER.debug("Wrote node resource usage to " + file.getAbsolutePath());
+        } catch (IOException | JsonException ex) {
+            LOGGER.error("Could not write node resource usage to " + file.getAbsolutePath() + ": "
+                + ex.getMessage(), ex);
+        }
+    }
+
+    private static void addResourceUsage(final WorkflowManager wfm, final JsonArrayBuilder nodes) {
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            final NodeTimer timer = nc.getNodeTimer();
+            if (timer.getNrExecsSinceReset() > 0) {
+                final NodeResourceUsage usage = timer.getResourceUsageSinceReset();
+                nodes.add(JsonUtil.getProvider().createObjectBuilder() //
+                    .add("id", nc.getID().toString()) //
+                    .add("name", nc.getName()) //
+                    .add("executions", timer.getNrExecsSinceReset()) //
+                    .add("wallTimeMillis", usage.wallTimeMillis()) //
+                    .add("cpuTimeNanos", usage.cpuTimeNanos()) //
+                    .add("allocatedBytes", usage.allocatedBytes()) //
+                    .add("rowsWritten", usage.rowsWritten()) //
+                    .add("rowsSpilled", usage.rowsSpilled()) //
+                    .add("bytesSpilled", usage.bytesSpilled()) //
+                    .add("bytesRead", usage.bytesRead()));
+            }
+            if (nc instanceof WorkflowManager metanode) {
+                addResourceUsage(metanode, nodes);
+            } else if (nc instanceof SubNodeContainer component) {
+                addResourceUsage(component.getWorkflowManager(), nodes);
+            }
+        }
+    }
+
     private static void dumpWorkflowToDebugLog(final WorkflowManager wfm) {
         String str = wfm.printNodeSummary(wfm.getID(), 0);
         BufferedReader reader = new BufferedReader(new StringReader(str));
@@ -0,0 +1,449 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Delivers node state, message, and progress events in coalesced batches at a bounded rate. It is meant for
+ * consumers such as user interfaces, remote clients, or job managers that are only interested in the latest state of
+ * a node and would otherwise be flooded with events, e.g. when a loop runs thousands of fast iterations.
+ *
+ * <p>
+ * The dispatcher is registered as listener on the {@link #observe(NodeContainer) observed} node containers (or
+ * receives events from any other source via the listener methods it implements). Node containers use it for
+ * listeners registered with coalesced delivery, see
+ * {@link NodeContainer#addNodeStateChangeListener(NodeStateChangeListener, boolean)}. Events are collected per node and
+ * per event type, whereby a newer event replaces the pending one (latest state wins). Pending events are delivered
+ * on a shared background thread at most once per the minimum delivery interval, first as a {@link NodeEventBatch}
+ * to the {@link #addBatchListener(Consumer) batch listeners}, then one by one, in the order in which the nodes first
+ * changed, to the listeners registered with the existing listener interfaces.
+ *
+ * <p>
+ * The next delivery is only scheduled once the previous one has completed, so slow listeners lower the delivery rate
+ * rather than accumulating a backlog; as events are coalesced per node, the number of pending events is bounded by the
+ * number of observed nodes and producers (the executing nodes) are never blocked. Listeners must not rely on seeing
+ * every intermediate state and should be quick as the delivery thread is shared by all dispatchers.
+ *
+ * <p>
+ * Internal listeners that derive state (e.g. the workflow's own state computation) must remain registered on the
+ * node containers directly; this class is only for (external) observers.
+ *
+ * @author agent
+ * @since 5.4
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class CoalescingNodeEventDispatcher
+    implements NodeStateChangeListener, NodeMessageListener, NodeProgressListener, AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CoalescingNodeEventDispatcher.class);
+
+    /** The default minimum interval between two deliveries in milliseconds. */
+    public static final long DEFAULT_MIN_DELIVERY_INTERVAL = KNIMEConstants.MIN_GUI_REFRESH_INTERVAL;
+
+    /** How long the delivery thread stays alive without events to deliver, in seconds. */
+    private static final long DELIVERY_THREAD_KEEP_ALIVE_SECONDS = 10;
+
+    /**
+     * Executor delivering the events of all dispatchers. Its single thread terminates when idle (i.e. when no
+     * dispatcher has pending events) and is restarted on demand, hence the executor never needs to be shut down.
+     */
+    private static final ScheduledExecutorService DELIVERY_SERVICE = createDeliveryService();
+
+    private static ScheduledThreadPoolExecutor createDeliveryService() {
+        final var service = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread t = new Thread(r, "KNIME-Node-Event-Dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        service.setKeepAliveTime(DELIVERY_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        service.allowCoreThreadTimeOut(true);
+        // canceled deliveries (closed dispatchers) must not keep the thread alive
+        service.setRemoveOnCancelPolicy(true);
+        return service;
+    }
+
+    /**
+     * The events delivered in one batch, at most one of each type per node.
+     *
+     * @param stateEvents the latest state event of each node whose state changed since the previous batch
+     * @param messageEvents the latest message event of each node whose message changed since the previous batch
+     * @param progressEvents the latest progress event of each node whose progress changed since the previous batch
+     * @param nrReceivedEvents the number of events received since the previous batch, including the ones that were
+     *            replaced by newer events
+     */
+    public record NodeEventBatch(List<NodeStateEvent> stateEvents, List<NodeMessageEvent> messageEvents,
+        List<NodeProgressEvent> progressEvents, long nrReceivedEvents) {
+
+        /**
+         * @return the number of events in this batch
+         */
+        public int size() {
+            return stateEvents.size() + messageEvents.size() + progressEvents.size();
+        }
+    }
+
+    private final long m_minIntervalNanos;
+
+    private final CopyOnWriteArraySet<Consumer<NodeEventBatch>> m_batchListeners = new CopyOnWriteArraySet<>();
+
+    private final CopyOnWriteArraySet<NodeStateChangeListener> m_stateChangeListeners = new CopyOnWriteArraySet<>();
+
+    private final CopyOnWriteArraySet<NodeMessageListener> m_messageListeners = new CopyOnWriteArraySet<>();
+
+    private final CopyOnWriteArraySet<NodeProgressListener> m_progressListeners = new CopyOnWriteArraySet<>();
+
+    /** The node containers this dispatcher is registered on. */
+    private final Set<NodeContainer> m_observedNodes = ConcurrentHashMap.newKeySet();
+
+    /** Guards the fields below. */
+    private final Object m_lock = new Object();
+
+    private Map<NodeID, NodeStateEvent> m_pendingStateEvents = new LinkedHashMap<>();
+
+    private Map<NodeID, NodeMessageEvent> m_pendingMessageEvents = new LinkedHashMap<>();
+
+    private Map<NodeID, NodeProgressEvent> m_pendingProgressEvents = new LinkedHashMap<>();
+
+    /** Number of events received since the last delivery. */
+    private long m_nrPendingEvents;
+
+    /** Total number of events received and delivered, for statistics. */
+    private long m_nrReceivedEvents;
+
+    private long m_nrDeliveredEvents;
+
+    /** Whether a delivery is scheduled or running; no other delivery is scheduled meanwhile. */
+    private boolean m_isDeliveryScheduled;
+
+    private ScheduledFuture<?> m_deliveryFuture;
+
+    /** {@link System#nanoTime()} when the last delivery completed. */
+    private long m_lastDeliveryNanos;
+
+    private boolean m_isClosed;
+
+    /** Creates a dispatcher delivering at most every {@link #DEFAULT_MIN_DELIVERY_INTERVAL} milliseconds. */
+    public CoalescingNodeEventDispatcher() {
+        this(DEFAULT_MIN_DELIVERY_INTERVAL);
+    }
+
+    /**
+     * Creates a dispatcher with a custom delivery interval.
+     *
+     * @param minIntervalMillis the minimum interval between two deliveries in milliseconds, not negative
+     */
+    public CoalescingNodeEventDispatcher(final long minIntervalMillis) {
+        if (minIntervalMillis < 0) {
+            throw new IllegalArgumentException("Interval must not be negative: " + minIntervalMillis);
+        }
+        m_minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        m_lastDeliveryNanos = System.nanoTime() - m_minIntervalNanos;
+    }
+
+    /**
+     * Registers this dispatcher as state, message, and progress listener on the given node container.
+     *
+     * @param nc the node container to observe
+     */
+    public void observe(final NodeContainer nc) {
+        if (m_observedNodes.add(nc)) {
+            nc.addNodeStateChangeListener(this);
+            nc.addNodeMessageListener(this);
+            nc.addProgressListener(this);
+        }
+    }
+
+    /**
+     * Unregisters this dispatcher from the given node container. Events already received are still delivered.
+     *
+     * @param nc the node container to no longer observe
+     */
+    public void unobserve(final NodeContainer nc) {
+        if (m_observedNodes.remove(nc)) {
+            nc.removeNodeStateChangeListener(this);
+            nc.removeNodeMessageListener(this);
+            nc.removeNodeProgressListener(this);
+        }
+    }
+
+    /**
+     * @param listener receives each batch of coalesced events
+     * @return true if the listener was not already registered
+     */
+    public boolean addBatchListener(final Consumer<NodeEventBatch> listener) {
+        return m_batchListeners.add(checkNotNull(listener));
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean removeBatchListener(final Consumer<NodeEventBatch> listener) {
+        return m_batchListeners.remove(listener);
+    }
+
+    /**
+     * @param listener receives the latest state event of each node in each batch
+     * @return true if the listener was not already registered
+     */
+    public boolean addNodeStateChangeListener(final NodeStateChangeListener listener) {
+        return m_stateChangeListeners.add(checkNotNull(listener));
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean removeNodeStateChangeListener(final NodeStateChangeListener listener) {
+        return m_stateChangeListeners.remove(listener);
+    }
+
+    /**
+     * @param listener receives the latest message event of each node in each batch
+     * @return true if the listener was not already registered
+     */
+    public boolean addNodeMessageListener(final NodeMessageListener listener) {
+        return m_messageListeners.add(checkNotNull(listener));
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean removeNodeMessageListener(final NodeMessageListener listener) {
+        return m_messageListeners.remove(listener);
+    }
+
+    /**
+     * @param listener receives the latest progress event of each node in each batch
+     * @return true if the listener was not already registered
+     */
+    public boolean addProgressListener(final NodeProgressListener listener) {
+        return m_progressListeners.add(checkNotNull(listener));
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean removeNodeProgressListener(final NodeProgressListener listener) {
+        return m_progressListeners.remove(listener);
+    }
+
+    private static <T> T checkNotNull(final T listener) {
+        if (listener == null) {
+            throw new NullPointerException("Listener must not be null");
+        }
+        return listener;
+    }
+
+    @Override
+    public void stateChanged(final NodeStateEvent state) {
+        synchronized (m_lock) {
+            if (enqueue()) {
+                m_pendingStateEvents.put(state.getSource(), state);
+            }
+        }
+    }
+
+    @Override
+    public void messageChanged(final NodeMessageEvent messageEvent) {
+        synchronized (m_lock) {
+            if (enqueue()) {
+                m_pendingMessageEvents.put(messageEvent.getSource(), messageEvent);
+            }
+        }
+    }
+
+    @Override
+    public void progressChanged(final NodeProgressEvent pe) {
+        synchronized (m_lock) {
+            if (enqueue()) {
+                m_pendingProgressEvents.put(pe.getSource(), pe);
+            }
+        }
+    }
+
+    /**
+     * Counts a received event and schedules a delivery unless one is pending already. Called while holding
+     * {@link #m_lock}.
+     *
+     * @return false if this dispatcher is closed and the event is to be discarded
+     */
+    private boolean enqueue() {
+        if (m_isClosed) {
+            return false;
+        }
+        m_nrPendingEvents += 1;
+        m_nrReceivedEvents += 1;
+        if (!m_isDeliveryScheduled) {
+            scheduleDelivery();
+        }
+        return true;
+    }
+
+    /** Schedules the next delivery no earlier than the minimum interval after the last one. Holds {@link #m_lock}. */
+    private void scheduleDelivery() {
+        final long delay = Math.max(0, m_lastDeliveryNanos + m_minIntervalNanos - System.nanoTime());
+        m_isDeliveryScheduled = true;
+        m_deliveryFuture = DELIVERY_SERVICE.schedule(this::deliver, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void deliver() {
+        final NodeEventBatch batch;
+        synchronized (m_lock) {
+            if (m_isClosed) {
+                return;
+            }
+            batch = new NodeEventBatch(new ArrayList<>(m_pendingStateEvents.values()),
+                new ArrayList<>(m_pendingMessageEvents.values()), new ArrayList<>(m_pendingProgressEvents.values()),
+                m_nrPendingEvents);
+            m_pendingStateEvents = new LinkedHashMap<>();
+            m_pendingMessageEvents = new LinkedHashMap<>();
+            m_pendingProgressEvents = new LinkedHashMap<>();
+            m_nrPendingEvents = 0;
+        }
+        try {
+            dispatch(batch);
+        } finally {
+            synchronized (m_lock) {
+                m_nrDeliveredEvents += batch.size();
+                m_lastDeliveryNanos = System.nanoTime();
+                m_isDeliveryScheduled = false;
+                // events received during the delivery
+                if (!m_isClosed && m_nrPendingEvents > 0) {
+                    scheduleDelivery();
+                }
+            }
+        }
+    }
+
+    private void dispatch(final NodeEventBatch batch) {
+        for (Consumer<NodeEventBatch> l : m_batchListeners) {
+            notifySafely(l, batch);
+        }
+        for (NodeStateEvent e : batch.stateEvents()) {
+            for (NodeStateChangeListener l : m_stateChangeListeners) {
+                notifySafely(l::stateChanged, e);
+            }
+        }
+        for (NodeMessageEvent e : batch.messageEvents()) {
+            for (NodeMessageListener l : m_messageListeners) {
+                notifySafely(l::messageChanged, e);
+            }
+        }
+        for (NodeProgressEvent e : batch.progressEvents()) {
+            for (NodeProgressListener l : m_progressListeners) {
+                notifySafely(l::progressChanged, e);
+            }
+        }
+    }
+
+    /** A failing listener must neither stop the delivery to other listeners nor kill the delivery thread. */
+    private static <E> void notifySafely(final Consumer<E> listener, final E event) {
+        try {
+            listener.accept(event);
+        } catch (Exception e) { // NOSONAR
+            LOGGER.warn("Exception (\"" + e.getClass().getSimpleName() + "\") during event notification.", e);
+        }
+    }
+
+    /**
+     * @return the number of events received since this dispatcher was created
+     */
+    public long getNrReceivedEvents() {
+        synchronized (m_lock) {
+            return m_nrReceivedEvents;
+        }
+    }
+
+    /**
+     * @return the number of events delivered since this dispatcher was created, which is the number of received
+     *         events minus the ones that were replaced by newer events (and minus the ones still pending)
+     */
+    public long getNrDeliveredEvents() {
+        synchronized (m_lock) {
+            return m_nrDeliveredEvents;
+        }
+    }
+
+    /**
+     * Unregisters this dispatcher from all observed node containers and discards pending events. A delivery that is
+     * currently running is completed.
+     */
+    @Override
+    public void close() {
+        m_observedNodes.forEach(this::unobserve);
+        synchronized (m_lock) {
+            m_isClosed = true;
+            if (m_deliveryFuture != null) {
+                m_deliveryFuture.cancel(false);
+            }
+            m_pendingStateEvents.clear();
+            m_pendingMessageEvents.clear();
+            m_pendingProgressEvents.clear();
+            m_nrPendingEvents = 0;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkContent;
+import org.knime.core.util.Pair;
+
+/**
+ * State of a loop whose iterations are run concurrently in virtual copies of the loop body, see
+ * {@link IndependentIterationsLoopStartNode}. At most {@link #getConcurrency()} iterations are run at the same time
+ * (including the one currently awaited by the loop end node); the next iteration is started when the loop end node
+ * consumed a previous one. All methods are to be called while holding the lock of the workflow containing the loop.
+ *
+ * <p>
+ * Iteration 0 is processed by the original loop body; iterations 1, 2, ... by copies placed in a temporary metanode
+ * that is hidden in the UI and not connected to the loop; the data from outside the loop body is passed to the copies
+ * along with the iteration's input. There are at most {@link #getConcurrency()} copies, iteration <code>i</code> is
+ * run in copy <code>i % concurrency</code>. A copy is created when first needed and reset and reused for later iterations, so
+ * that the workflow structure (and with it the cached loop body) does not change while the loop runs.
+ *
+ * <p>
+ * Instances are also registered as listener on the loop end node; the copies are discarded as soon as the loop end
+ * is no longer marked for execution, e.g. when it is canceled while waiting for an iteration.
+ *
+ * @author agent
+ */
+final class ConcurrentLoopIterations implements NodeStateChangeListener {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ConcurrentLoopIterations.class);
+
+    private final WorkflowManager m_parent;
+
+    private final NodeID m_headID;
+
+    private final NodeID m_tailID;
+
+    private final NodeID[] m_loopNodes;
+
+    private final WorkflowManager m_container;
+
+    private final HashMap<Pair<NodeID, Integer>, Integer> m_extInConnections;
+
+    private final int m_nrIterations;
+
+    private final int m_concurrency;
+
+    /** Copies of the loop body, index is the iteration modulo concurrency, null if not yet created. */
+    private final ParallelizedChunkContent[] m_copies;
+
+    /** Copies assigned to an iteration that is not yet consumed, by iteration. */
+    private final TreeMap<Integer, ParallelizedChunkContent> m_iterations = new TreeMap<>();
+
+    /** Iterations whose copy could not be executed. */
+    private final Set<Integer> m_failedIterations = new HashSet<>();
+
+    private int m_nextIterationToSchedule = 1;
+
+    private int m_currentIteration;
+
+    private boolean m_isDisposed;
+
+    private boolean m_isOriginalBodyReset;
+
+    ConcurrentLoopIterations(final WorkflowManager parent, final NodeID headID, final NodeID tailID,
+        final NodeID[] loopNodes, final WorkflowManager container,
+        final HashMap<Pair<NodeID, Integer>, Integer> extInConnections, final int nrIterations,
+        final int concurrency) {
+        m_parent = parent;
+        m_headID = headID;
+        m_tailID = tailID;
+        m_loopNodes = loopNodes;
+        m_container = container;
+        m_extInConnections = extInConnections;
+        m_nrIterations = nrIterations;
+        m_concurrency = concurrency;
+        m_copies = new ParallelizedChunkContent[concurrency];
+    }
+
+    /**
+     * @return the value of {@link KNIMEConstants#PROPERTY_LOOP_CONCURRENT_ITERATIONS}, 1 if not set or invalid
+     */
+    static int getConcurrencyLevel() {
+        String value = System.getProperty(KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS);
+        if (value == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException nfe) {
+            LOGGER.warnWithFormat("Invalid value for property \"%s\": %s",
+                KNIMEConstants.PROPERTY_LOOP_CONCURRENT_ITERATIONS, value);
+            return 1;
+        }
+    }
+
+    NodeID getHeadID() {
+        return m_headID;
+    }
+
+    NodeID getTailID() {
+        return m_tailID;
+    }
+
+    NodeID[] getLoopNodes() {
+        return m_loopNodes;
+    }
+
+    WorkflowManager getContainer() {
+        return m_container;
+    }
+
+    HashMap<Pair<NodeID, Integer>, Integer> getExtInConnections() {
+        return m_extInConnections;
+    }
+
+    int getConcurrency() {
+        return m_concurrency;
+    }
+
+    /** @return iteration currently processed by the loop (0 is run in the original loop body) */
+    int getCurrentIteration() {
+        return m_currentIteration;
+    }
+
+    /**
+     * Called when the loop is restarted. Releases the copy of the previous iteration so that it can be reused.
+     *
+     * @param iteration the new iteration
+     */
+    void setCurrentIteration(final int iteration) {
+        m_iterations.remove(m_currentIteration);
+        m_currentIteration = iteration;
+    }
+
+    /** @return whether the original loop body was reset, see {@link #setOriginalBodyReset()} */
+    boolean isOriginalBodyReset() {
+        return m_isOriginalBodyReset;
+    }
+
+    /** Called once the original loop body, which only processes iteration 0, has been reset. */
+    void setOriginalBodyReset() {
+        m_isOriginalBodyReset = true;
+    }
+
+    /**
+     * @param iteration the iteration, &gt; 0
+     * @return whether a copy was already started for the iteration
+     */
+    boolean isScheduled(final int iteration) {
+        return iteration < m_nextIterationToSchedule;
+    }
+
+    /**
+     * @param iteration the iteration, &gt; 0
+     * @return the index of the copy used for the iteration, also used as chunk index to lay out the copies
+     */
+    int getCopyIndex(final int iteration) {
+        return iteration % m_concurrency;
+    }
+
+    /**
+     * @param iteration an iteration as returned by {@link #nextIterationToSchedule()}
+     * @return the (executed, idle) copy that was used for a previous iteration and that is to be reset and reused for
+     *         the argument iteration, or null if no copy was created yet
+     */
+    ParallelizedChunkContent getReusableCopy(final int iteration) {
+        final ParallelizedChunkContent copy = m_copies[getCopyIndex(iteration)];
+        assert copy == null || !m_iterations.containsValue(copy) : "Copy still in use by a pending iteration";
+        return copy;
+    }
+
+    /** @return the next iteration for which a copy is to be created, or -1 if no more copies are needed now. */
+    int nextIterationToSchedule() {
+        if (m_isDisposed || m_nextIterationToSchedule >= m_nrIterations
+            || m_nextIterationToSchedule - m_currentIteration >= m_concurrency) {
+            return -1;
+        }
+        return m_nextIterationToSchedule;
+    }
+
+    /**
+     * Adds the (already started) copy for the given iteration, either newly created or as returned by
+     * {@link #getReusableCopy(int)}.
+     *
+     * @param iteration the iteration
+     * @param pcc its copy of the loop body
+     */
+    void addIteration(final int iteration, final ParallelizedChunkContent pcc) {
+        CheckUtils.checkState(iteration == m_nextIterationToSchedule, "Unexpected iteration %d, expected %d",
+            iteration, m_nextIterationToSchedule);
+        final int copyIndex = getCopyIndex(iteration);
+        if (m_copies[copyIndex] == null) {
+            m_copies[copyIndex] = pcc;
+            m_container.getNodeContainer(pcc.getVirtualOutputID()).addNodeStateChangeListener(this);
+        }
+        CheckUtils.checkState(m_copies[copyIndex] == pcc, "Iteration %d not run in copy %d", iteration, copyIndex);
+        m_nextIterationToSchedule += 1;
+        m_iterations.put(iteration, pcc);
+        if (!pcc.executionInProgress() && !pcc.isExecuted()) {
+            m_failedIterations.add(iteration);
+        }
+    }
+
+    /**
+     * @return the copy of the current iteration if it is completely executed, otherwise null
+     */
+    ParallelizedChunkContent getExecutedCurrentIteration() {
+        ParallelizedChunkContent pcc = m_iterations.get(m_currentIteration);
+        return pcc != null && pcc.isExecuted() ? pcc : null;
+    }
+
+    /** @return whether the copy of the current iteration failed to execute */
+    boolean hasCurrentIterationFailed() {
+        return m_failedIterations.contains(m_currentIteration);
+    }
+
+    /**
+     * Cancels all copies and removes them (and their container) from the workflow if possible; copies that are still
+     * executing are removed once they finished.
+     */
+    void dispose() {
+        m_isDisposed = true;
+        final NodeContainer tail = m_parent.getNodeContainer(m_tailID, NodeContainer.class, false);
+        if (tail != null) {
+            tail.removeNodeStateChangeListener(this);
+        }
+        if (m_container.getNodeContainerState().isExecutionInProgress()) {
+            m_parent.cancelExecution(m_container);
+        }
+        removeContainerIfPossible();
+    }
+
+    private void removeContainerIfPossible() {
+        if (m_parent.removeTemporarySubWorkflow(m_container)) {
+            for (ParallelizedChunkContent pcc : m_copies) {
+                if (pcc != null) {
+                    m_container.getNodeContainer(pcc.getVirtualOutputID()).removeNodeStateChangeListener(this);
+                }
+            }
+            Arrays.fill(m_copies, null);
+            m_iterations.clear();
+        }
+    }
+
+    @Override
+    public void stateChanged(final NodeStateEvent state) {
+        try (WorkflowLock lock = m_parent.lock()) {
+            if (m_isDisposed) {
+                if (!m_container.getNodeContainerState().isExecutionInProgress()) {
+                    removeContainerIfPossible();
+                }
+                return;
+            }
+            if (state.getSource().equals(m_tailID)) {
+                // loop end no longer to be executed (canceled while waiting for a copy) - copies are not needed
+                final InternalNodeContainerState tailState = m_parent.getNodeContainer(m_tailID).getInternalState();
+                if (tailState.equals(InternalNodeContainerState.CONFIGURED)
+                    || tailState.equals(InternalNodeContainerState.IDLE)) {
+                    m_parent.onConcurrentLoopAborted(this);
+                }
+                return;
+            }
+            final Map.Entry<Integer, ParallelizedChunkContent> entry = findIteration(state.getSource());
+            if (entry == null || entry.getValue().executionInProgress()) {
+                return;
+            }
+            if (!entry.getValue().isExecuted()) {
+                m_failedIterations.add(entry.getKey());
+            }
+            if (entry.getKey() == m_currentIteration) {
+                m_parent.onConcurrentIterationDone(this);
+            }
+        }
+    }
+
+    private Map.Entry<Integer, ParallelizedChunkContent> findIteration(final NodeID virtualOutputID) {
+        for (Map.Entry<Integer, ParallelizedChunkContent> e : m_iterations.entrySet()) {
+            if (e.getValue().getVirtualOutputID().equals(virtualOutputID)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+}
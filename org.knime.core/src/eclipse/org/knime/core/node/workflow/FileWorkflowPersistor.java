@@ -2043,7 +2043,9 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
             }
 
             NodeSettingsWO nodesSettings = saveSettingsForNodes(preFilledSettings);
-            Collection<NodeContainer> nodes = wm.getNodeContainers();
+            // hidden metanodes are temporary, e.g. holding the copies of a loop body whose iterations run concurrently
+            Collection<NodeContainer> nodes = wm.getNodeContainers().stream()
+                .filter(nc -> !(nc instanceof WorkflowManager metanode && metanode.isHiddenInUI())).toList();
             double progRatio = 1.0 / (nodes.size() + 1);
 
             for (NodeContainer nextNode : nodes) {
@@ -0,0 +1,96 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+
+/**
+ * A {@link LoopStartNode} whose iterations are independent of each other, i.e. the loop body of one iteration does not
+ * depend on the result of a previous iteration and has no side effects. The framework may then run iterations
+ * concurrently in virtual copies of the loop body (see {@link org.knime.core.node.KNIMEConstants#PROPERTY_LOOP_CONCURRENT_ITERATIONS});
+ * the results are passed to the unmodified {@link LoopEndNode} in iteration order.
+ *
+ * <p>
+ * The start node itself is still executed once per iteration as in a regular loop (so that it can keep track of the
+ * iteration and answer {@link LoopStartNodeTerminator#terminateLoop()}); only the loop body is replaced by the result
+ * of its copy. Loops whose end node {@linkplain LoopEndNode#shouldPropagateModifiedVariables() propagates modified
+ * variables} are always run sequentially.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public interface IndependentIterationsLoopStartNode extends LoopStartNode {
+
+    /**
+     * Whether the iterations of the current configuration are independent. Implementations will usually make this
+     * a user setting as only the user knows whether the loop body has side effects (e.g. writes to a file or
+     * database).
+     *
+     * @return that property
+     */
+    boolean hasIndependentIterations();
+
+    /**
+     * The total number of iterations. Called after the first iteration was executed. A value smaller than 2 will
+     * run the loop sequentially.
+     *
+     * @return total number of iterations
+     */
+    int getNrIterations();
+
+    /**
+     * The data and flow variables that the node would provide at its outputs (excluding the flow variable port) in
+     * the given iteration. Called after the first iteration was executed, not necessarily in order.
+     *
+     * @param iteration the iteration, 1 &lt;= iteration &lt; {@link #getNrIterations()}
+     * @return input for the virtual copy of the loop body processing the iteration
+     */
+    VirtualNodeInput getIterationInput(int iteration);
+
+}
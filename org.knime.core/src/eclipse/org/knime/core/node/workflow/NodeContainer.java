@@ -169,6 +169,15 @@ public boolean executionInProgress() {
 
     private NodeMessage m_nodeMessage = NodeMessage.NONE;
 
+    /** Guards the node message, a leaf lock, never acquire any other lock while holding it. */
+    private final Object m_messageMutex = new Object();
+
+    /**
+     * Counter of the workflow this node is part of, updated on state and message changes; written while holding both
+     * m_nodeMutex and m_messageMutex.
+     */
+    private NodeStateCounter m_stateCounter;
+
     /**
      * Object that represents locks set on the node, i.e.
      * whether the node is allowed to be deleted, reset or configured.
@@ -215,6 +224,11 @@ public boolean executionInProgress() {
     private final CopyOnWriteArraySet<NodeUIInformationListener> m_uiListeners =
         new CopyOnWriteArraySet<NodeUIInformationListener>();
 
+    private final Object m_coalescingDispatcherLock = new Object();
+
+    /** Delivers events to listeners registered for coalesced delivery, created on first use. */
+    private CoalescingNodeEventDispatcher m_coalescingDispatcher;
+
     private final CopyOnWriteArraySet<NodePropertyChangedListener> m_nodePropertyChangedListeners =
             new CopyOnWriteArraySet<NodePropertyChangedListener>();
 
@@ -609,6 +623,7 @@ void continueExecutionOnLoad(final PortObject[] inData, final NodeSettingsRO set
      * if it is still running. If this node is being executed remotely (cluster
      * execution) and has been saved, it will just disconnect it. */
     void performShutdown() {
+        closeCoalescingDispatcher();
         m_stateChangeListeners.clear();
         m_messageListeners.clear();
         m_progressListeners.clear();
@@ -831,7 +846,9 @@ public boolean addProgressListener(final NodeProgressListener listener) {
     *         not registered
     */
    public boolean removeNodeProgressListener(final NodeProgressListener listener) {
-       return m_progressListeners.remove(listener);
+       final CoalescingNodeEventDispatcher dispatcher = getCoalescingDispatcher(false);
+       final boolean removedCoalesced = dispatcher != null && dispatcher.removeNodeProgressListener(listener);
+       return m_progressListeners.remove(listener) || removedCoalesced;
    }
 
    /**
@@ -868,7 +885,9 @@ public boolean addNodeMessageListener(final NodeMessageListener listener) {
     *         registered
     */
    public boolean removeNodeMessageListener(final NodeMessageListener listener) {
-       return m_messageListeners.remove(listener);
+       final CoalescingNodeEventDispatcher dispatcher = getCoalescingDispatcher(false);
+       final boolean removedCoalesced = dispatcher != null && dispatcher.removeNodeMessageListener(listener);
+       return m_messageListeners.remove(listener) || removedCoalesced;
    }
 
    /** Get the message to be displayed to the user.
@@ -881,10 +900,17 @@ public final NodeMessage getNodeMessage() {
     * @param newMessage the nodeMessage to set
     */
    public final void setNodeMessage(final NodeMessage newMessage) {
-       NodeMessage oldMessage = m_nodeMessage;
-       m_nodeMessage = newMessage == null ? NodeMessage.NONE : newMessage;
-       if (!m_nodeMessage.equals(oldMessage)) {
-           notifyMessageListeners(new NodeMessageEvent(getID(), m_nodeMessage));
+       NodeMessage oldMessage;
+       NodeMessage message = newMessage == null ? NodeMessage.NONE : newMessage;
+       synchronized (m_messageMutex) {
+           oldMessage = m_nodeMessage;
+           m_nodeMessage = message;
+           if (m_stateCounter != null) {
+               m_stateCounter.messageChanged(oldMessage, message);
+           }
+       }
+       if (!message.equals(oldMessage)) {
+           notifyMessageListeners(new NodeMessageEvent(getID(), message));
        }
    }
 
@@ -972,7 +998,73 @@ public boolean addNodeStateChangeListener(final NodeStateChangeListener listener
     /** {@inheritDoc} */
     @Override
     public boolean removeNodeStateChangeListener(final NodeStateChangeListener listener) {
-        return m_stateChangeListeners.remove(listener);
+        final CoalescingNodeEventDispatcher dispatcher = getCoalescingDispatcher(false);
+        final boolean removedCoalesced = dispatcher != null && dispatcher.removeNodeStateChangeListener(listener);
+        return m_stateChangeListeners.remove(listener) || removedCoalesced;
+    }
+
+    /* ------------- coalesced listeners ---------*/
+
+    /**
+     * Registers a state listener that either receives every event (same as
+     * {@link #addNodeStateChangeListener(NodeStateChangeListener)}) or, if <code>coalesced</code>, only the latest
+     * state in batches delivered at a bounded rate on a background thread (see
+     * {@link CoalescingNodeEventDispatcher}). Coalesced delivery is meant for observers such as user interfaces that
+     * would otherwise be flooded with events, e.g. by a loop running many fast iterations. The listener is removed
+     * with {@link #removeNodeStateChangeListener(NodeStateChangeListener)}.
+     *
+     * @param listener the listener
+     * @param coalesced whether events are coalesced and delivered asynchronously
+     * @return true if the listener was not already registered
+     * @since 5.4
+     */
+    public boolean addNodeStateChangeListener(final NodeStateChangeListener listener, final boolean coalesced) {
+        return coalesced ? getCoalescingDispatcher(true).addNodeStateChangeListener(listener)
+            : addNodeStateChangeListener(listener);
+    }
+
+    /**
+     * Registers a message listener, see {@link #addNodeStateChangeListener(NodeStateChangeListener, boolean)}.
+     *
+     * @param listener the listener
+     * @param coalesced whether events are coalesced and delivered asynchronously
+     * @return true if the listener was not already registered
+     * @since 5.4
+     */
+    public boolean addNodeMessageListener(final NodeMessageListener listener, final boolean coalesced) {
+        return coalesced ? getCoalescingDispatcher(true).addNodeMessageListener(listener)
+            : addNodeMessageListener(listener);
+    }
+
+    /**
+     * Registers a progress listener, see {@link #addNodeStateChangeListener(NodeStateChangeListener, boolean)}.
+     *
+     * @param listener the listener
+     * @param coalesced whether events are coalesced and delivered asynchronously
+     * @return true if the listener was not already registered
+     * @since 5.4
+     */
+    public boolean addProgressListener(final NodeProgressListener listener, final boolean coalesced) {
+        return coalesced ? getCoalescingDispatcher(true).addProgressListener(listener) : addProgressListener(listener);
+    }
+
+    private CoalescingNodeEventDispatcher getCoalescingDispatcher(final boolean create) {
+        synchronized (m_coalescingDispatcherLock) {
+            if (m_coalescingDispatcher == null && create) {
+                m_coalescingDispatcher = new CoalescingNodeEventDispatcher();
+                m_coalescingDispatcher.observe(this);
+            }
+            return m_coalescingDispatcher;
+        }
+    }
+
+    private void closeCoalescingDispatcher() {
+        synchronized (m_coalescingDispatcherLock) {
+            if (m_coalescingDispatcher != null) {
+                m_coalescingDispatcher.close();
+                m_coalescingDispatcher = null;
+            }
+        }
     }
 
     /** {@inheritDoc}
@@ -1016,6 +1108,9 @@ boolean setInternalState(final InternalNodeContainerState state, final boolean s
         boolean changesMade = false;
         synchronized (m_nodeMutex) {
             if (!m_state.equals(state)) {
+                if (m_stateCounter != null && !isInternalStateDerived()) {
+                    m_stateCounter.stateChanged(m_state, state);
+                }
                 m_state = state;
                 changesMade = true;
             }
@@ -1033,6 +1128,46 @@ boolean setInternalState(final InternalNodeContainerState state, final boolean s
         return changesMade;
     }
 
+    /**
+     * Whether {@link #getInternalState()} is derived from the contained nodes on access, in which case the state is
+     * not tracked by the {@link NodeStateCounter} of the parent workflow.
+     *
+     * @return false, overridden in {@link WorkflowManager}
+     */
+    boolean isInternalStateDerived() {
+        return false;
+    }
+
+    /**
+     * Called when this node is added to the workflow of its parent, makes this node report its state and message
+     * changes to the workflow's counter.
+     *
+     * @param counter the counter of the workflow
+     */
+    void attachStateCounter(final NodeStateCounter counter) {
+        synchronized (m_nodeMutex) {
+            synchronized (m_messageMutex) {
+                assert m_stateCounter == null : "Node " + getNameWithID() + " is already part of a workflow";
+                m_stateCounter = counter;
+                counter.nodeAdded(isInternalStateDerived() ? null : m_state, m_nodeMessage);
+            }
+        }
+    }
+
+    /**
+     * Called when this node is removed from the workflow of its parent.
+     */
+    void detachStateCounter() {
+        synchronized (m_nodeMutex) {
+            synchronized (m_messageMutex) {
+                if (m_stateCounter != null) {
+                    m_stateCounter.nodeRemoved(isInternalStateDerived() ? null : m_state, m_nodeMessage);
+                    m_stateCounter = null;
+                }
+            }
+        }
+    }
+
     /** Throws a new IllegalStateException with a meaningful error message
      * containing node name, current state and method name. This method is used
      * from the different state transition methods in
@@ -1547,6 +1682,7 @@ public boolean isDeletable() {
      * node (deletes temp files).
      */
     void cleanup() {
+        closeCoalescingDispatcher();
         if (m_annotation != null) {
             removeUIInformationListener(m_annotation);
         }
@@ -0,0 +1,233 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the resources consumed by a node while it executes. Each {@link NodeContainer} has one instance (owned by
+ * its {@link NodeTimer}); the framework code that creates tables and reads table files finds it via the
+ * {@link NodeContext} ({@link #current()}). The result of an execution is summarized in a {@link NodeResourceUsage}.
+ *
+ * @author agent
+ * @since 5.4
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class NodeResourceTracker {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final LongAdder m_rowsWritten = new LongAdder();
+
+    private final LongAdder m_rowsSpilled = new LongAdder();
+
+    private final LongAdder m_bytesSpilled = new LongAdder();
+
+    private final LongAdder m_bytesRead = new LongAdder();
+
+    /** Counter values and thread measures at the start of the current execution; null if not executing. */
+    private Snapshot m_start;
+
+    NodeResourceTracker() {
+    }
+
+    /**
+     * The tracker of the node whose context is set on the current thread.
+     *
+     * @return that tracker or null if there is no node context (e.g. in unit tests or workflow loading)
+     */
+    public static NodeResourceTracker current() {
+        final var context = NodeContext.getContext();
+        final var nc = context != null ? context.getNodeContainer() : null;
+        return nc != null ? nc.getNodeTimer().getResourceTracker() : null;
+    }
+
+    /**
+     * Adds to the number of rows written into tables owned by the node.
+     *
+     * @param rows number of rows
+     */
+    public void addRowsWritten(final long rows) {
+        m_rowsWritten.add(rows);
+    }
+
+    /**
+     * Adds to the number of rows and bytes written to temporary files.
+     *
+     * @param rows number of rows
+     * @param bytes file size
+     */
+    public void addSpilled(final long rows, final long bytes) {
+        m_rowsSpilled.add(rows);
+        m_bytesSpilled.add(bytes);
+    }
+
+    /**
+     * Adds to the number of bytes read from table files.
+     *
+     * @param bytes number of bytes read
+     */
+    public void addBytesRead(final long bytes) {
+        m_bytesRead.add(bytes);
+    }
+
+    /**
+     * Wraps the argument stream so that all bytes read from it are accounted to the node whose context is set on the
+     * calling thread. Returns the argument if there is no such node.
+     *
+     * @param in the stream to read from, usually a file stream
+     * @return a counting stream or the argument itself
+     */
+    public static InputStream countBytesRead(final InputStream in) {
+        final var tracker = current();
+        return tracker != null ? new CountingInputStream(in, tracker) : in;
+    }
+
+    /** Called by {@link NodeTimer} when execution starts, on the thread that will execute the node. */
+    synchronized void startExecution() {
+        m_start = snapshot(Thread.currentThread().getId());
+    }
+
+    /**
+     * Called by {@link NodeTimer} after execution.
+     *
+     * @param wallTimeMillis execution duration
+     * @return the resources used since {@link #startExecution()} or {@link NodeResourceUsage#EMPTY} if not started
+     */
+    synchronized NodeResourceUsage endExecution(final long wallTimeMillis) {
+        final var start = m_start;
+        if (start == null) {
+            return NodeResourceUsage.EMPTY;
+        }
+        m_start = null;
+        final var end = snapshot(start.threadID());
+        return new NodeResourceUsage(wallTimeMillis, //
+            diffIfKnown(end.cpuTimeNanos(), start.cpuTimeNanos()), //
+            diffIfKnown(end.allocatedBytes(), start.allocatedBytes()), //
+            end.rowsWritten() - start.rowsWritten(), //
+            end.rowsSpilled() - start.rowsSpilled(), //
+            end.bytesSpilled() - start.bytesSpilled(), //
+            end.bytesRead() - start.bytesRead());
+    }
+
+    private static long diffIfKnown(final long end, final long start) {
+        return end < 0 || start < 0 ? -1 : Math.max(0, end - start);
+    }
+
+    private Snapshot snapshot(final long threadID) {
+        return new Snapshot(threadID, getThreadCpuTime(threadID), getThreadAllocatedBytes(threadID),
+            m_rowsWritten.sum(), m_rowsSpilled.sum(), m_bytesSpilled.sum(), m_bytesRead.sum());
+    }
+
+    private static long getThreadCpuTime(final long threadID) {
+        try {
+            return THREAD_BEAN.isThreadCpuTimeSupported() && THREAD_BEAN.isThreadCpuTimeEnabled()
+                ? THREAD_BEAN.getThreadCpuTime(threadID) : -1;
+        } catch (UnsupportedOperationException e) { // NOSONAR not all JVMs support it
+            return -1;
+        }
+    }
+
+    private static long getThreadAllocatedBytes(final long threadID) {
+        try {
+            return THREAD_BEAN instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()
+                    ? sunBean.getThreadAllocatedBytes(threadID) : -1;
+        } catch (UnsupportedOperationException e) { // NOSONAR not all JVMs support it
+            return -1;
+        }
+    }
+
+    private record Snapshot(long threadID, long cpuTimeNanos, long allocatedBytes, long rowsWritten,
+        long rowsSpilled, long bytesSpilled, long bytesRead) {
+    }
+
+    /** Stream adding the number of bytes read to a tracker. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final NodeResourceTracker m_tracker;
+
+        CountingInputStream(final InputStream in, final NodeResourceTracker tracker) {
+            super(in);
+            m_tracker = tracker;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                m_tracker.addBytesRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int count = super.read(b, off, len);
+            if (count > 0) {
+                m_tracker.addBytesRead(count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long count = super.skip(n);
+            if (count > 0) {
+                m_tracker.addBytesRead(count);
+            }
+            return count;
+        }
+    }
+
+}
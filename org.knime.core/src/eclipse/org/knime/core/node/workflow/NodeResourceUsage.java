@@ -0,0 +1,97 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+/**
+ * Resources consumed by a node during execution, as collected by the {@link NodeResourceTracker} of a node and made
+ * available via {@link NodeTimer#getLastExecutionResourceUsage()}.
+ *
+ * <p>
+ * CPU time and allocated bytes are measured on the thread that ran the node's execution (work delegated to other
+ * threads, e.g. the global thread pool, is not included); they are -1 if not supported by the JVM. Table related
+ * values cover all tables created by the node, rows are counted when the table is closed. Spilled rows and bytes refer
+ * to tables whose content was written to a temporary file, either immediately or later due to memory pressure; bytes
+ * read refer to temporary and saved table files read while the node was executing.
+ *
+ * @param wallTimeMillis elapsed wall-clock time in milliseconds
+ * @param cpuTimeNanos CPU time of the executing thread in nanoseconds or -1
+ * @param allocatedBytes bytes allocated by the executing thread or -1
+ * @param rowsWritten number of rows added to tables created by the node
+ * @param rowsSpilled number of rows written to temporary files
+ * @param bytesSpilled size of the temporary files written, in bytes
+ * @param bytesRead number of (compressed) bytes read from table files
+ * @author agent
+ * @since 5.4
+ */
+public record NodeResourceUsage(long wallTimeMillis, long cpuTimeNanos, long allocatedBytes, long rowsWritten,
+    long rowsSpilled, long bytesSpilled, long bytesRead) {
+
+    /** Usage with all values zero, e.g. for a node that was not executed since the last reset. */
+    public static final NodeResourceUsage EMPTY = new NodeResourceUsage(0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Sums up this and the argument usage. CPU time and allocated bytes are -1 if unknown in either of both.
+     *
+     * @param other to add, not null
+     * @return a new object representing the sum
+     */
+    public NodeResourceUsage plus(final NodeResourceUsage other) {
+        return new NodeResourceUsage(wallTimeMillis + other.wallTimeMillis, //
+            plusIfKnown(cpuTimeNanos, other.cpuTimeNanos), //
+            plusIfKnown(allocatedBytes, other.allocatedBytes), //
+            rowsWritten + other.rowsWritten, //
+            rowsSpilled + other.rowsSpilled, //
+            bytesSpilled + other.bytesSpilled, //
+            bytesRead + other.bytesRead);
+    }
+
+    private static long plusIfKnown(final long a, final long b) {
+        return a < 0 || b < 0 ? -1 : (a + b);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow;
+
+/**
+ * Counts the nodes of a {@link Workflow} per {@link InternalNodeContainerState} and the nodes with an error message.
+ * The counts are updated incrementally by the nodes on each state or message change (see
+ * {@link NodeContainer#setInternalState(InternalNodeContainerState, boolean)} and
+ * {@link NodeContainer#setNodeMessage(NodeMessage)}), so that {@link WorkflowManager#computeNewState()} doesn't need
+ * to inspect all nodes.
+ *
+ * <p>
+ * Nodes whose state is derived on access (i.e. metanodes, see {@link NodeContainer#isInternalStateDerived()}) only
+ * contribute to the error count; their state is queried by the workflow when needed.
+ *
+ * <p>
+ * Updates are done by the nodes while holding their node mutex, the counts are guarded by this object's monitor.
+ *
+ * @author agent
+ */
+final class NodeStateCounter {
+
+    private static final InternalNodeContainerState[] STATES = InternalNodeContainerState.values();
+
+    private final int[] m_nrNodesInState = new int[STATES.length];
+
+    private int m_nrNodesWithError;
+
+    /**
+     * @param state the state of the added node or <code>null</code> if its state is not counted
+     * @param message the message of the added node
+     */
+    synchronized void nodeAdded(final InternalNodeContainerState state, final NodeMessage message) {
+        if (state != null) {
+            m_nrNodesInState[state.ordinal()]++;
+        }
+        if (isError(message)) {
+            m_nrNodesWithError++;
+        }
+    }
+
+    /**
+     * @param state the state of the removed node or <code>null</code> if its state is not counted
+     * @param message the message of the removed node
+     */
+    synchronized void nodeRemoved(final InternalNodeContainerState state, final NodeMessage message) {
+        if (state != null) {
+            m_nrNodesInState[state.ordinal()]--;
+        }
+        if (isError(message)) {
+            m_nrNodesWithError--;
+        }
+    }
+
+    synchronized void stateChanged(final InternalNodeContainerState oldState,
+        final InternalNodeContainerState newState) {
+        m_nrNodesInState[oldState.ordinal()]--;
+        m_nrNodesInState[newState.ordinal()]++;
+    }
+
+    void messageChanged(final NodeMessage oldMessage, final NodeMessage newMessage) {
+        final boolean wasError = isError(oldMessage);
+        final boolean isError = isError(newMessage);
+        if (wasError != isError) {
+            synchronized (this) {
+                m_nrNodesWithError += isError ? 1 : -1;
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the number of nodes per state, indexed by {@link InternalNodeContainerState#ordinal()}
+     */
+    synchronized int[] getNrNodesInState() {
+        return m_nrNodesInState.clone();
+    }
+
+    /**
+     * @return whether any of the nodes has an error message
+     */
+    synchronized boolean hasNodeWithError() {
+        return m_nrNodesWithError > 0;
+    }
+
+    private static boolean isError(final NodeMessage message) {
+        return message != null && message.getMessageType() == NodeMessage.Type.ERROR;
+    }
+}
@@ -138,6 +138,9 @@ public final class NodeTimer {
     private long m_executionDurationOverall;
     private int m_numberOfExecutionsSinceReset;
     private int m_numberOfExecutionsOverall;
+    private final NodeResourceTracker m_resourceTracker = new NodeResourceTracker();
+    private NodeResourceUsage m_lastResourceUsage;
+    private NodeResourceUsage m_resourceUsageSinceReset;
 
     /**
      * Container holding stats for the entire instance and all nodes that have been used/timed.
@@ -1054,6 +1057,28 @@ public int getNrExecsSinceStart() {
         return m_numberOfExecutionsOverall;
     }
 
+    /**
+     * @return resources used by the last execution of the node, {@link NodeResourceUsage#EMPTY} if the node has not
+     *         been executed yet
+     * @since 5.4
+     */
+    public NodeResourceUsage getLastExecutionResourceUsage() {
+        return m_lastResourceUsage;
+    }
+
+    /**
+     * @return resources used by all executions since the last reset of the node (more than one for loop nodes)
+     * @since 5.4
+     */
+    public NodeResourceUsage getResourceUsageSinceReset() {
+        return m_resourceUsageSinceReset;
+    }
+
+    /** @return the tracker collecting the resource usage of the current execution, not null */
+    NodeResourceTracker getResourceTracker() {
+        return m_resourceTracker;
+    }
+
     /**
      * @return time when node has been started the last time (format is the same as returned by
      *         {@link System#currentTimeMillis()}), -1 if node hasn't been started, yet
@@ -1077,15 +1102,19 @@ private void initialize() {
         m_numberOfExecutionsSinceReset = 0;
         m_numberOfExecutionsOverall = 0;
         m_executionDurationOverall = 0;
+        m_lastResourceUsage = NodeResourceUsage.EMPTY;
+        m_resourceUsageSinceReset = NodeResourceUsage.EMPTY;
     }
 
     public void resetNode() {
         m_numberOfExecutionsSinceReset = 0;
         m_executionDurationSinceReset = 0;
+        m_resourceUsageSinceReset = NodeResourceUsage.EMPTY;
     }
 
     public void startExec() {
         m_startTime = System.currentTimeMillis();
+        m_resourceTracker.startExecution();
     }
 
     public void endExec(final boolean success) {
@@ -1097,6 +1126,8 @@ public void endExec(final boolean success) {
             m_executionDurationOverall += m_lastExecutionDuration;
             m_numberOfExecutionsOverall++;
             m_numberOfExecutionsSinceReset++;
+            m_lastResourceUsage = m_resourceTracker.endExecution(m_lastExecutionDuration);
+            m_resourceUsageSinceReset = m_resourceUsageSinceReset.plus(m_lastResourceUsage);
             GLOBAL_TIMER.addExecutionTime(m_parent, success, m_lastExecutionDuration);
         }
         m_lastStartTime = m_startTime;
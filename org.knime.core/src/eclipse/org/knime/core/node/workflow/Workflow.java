@@ -61,6 +61,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -83,6 +84,12 @@ class Workflow {
     /** mapping from NodeID to Nodes. */
     private final TreeMap<NodeID, NodeContainer> m_nodes = new TreeMap<NodeID, NodeContainer>();
 
+    /** Number of nodes per state, maintained by the nodes themselves. */
+    private final NodeStateCounter m_stateCounter = new NodeStateCounter();
+
+    /** The nodes whose state is not tracked by the counter (metanodes), see NodeContainer#isInternalStateDerived. */
+    private final Map<NodeID, NodeContainer> m_nodesWithDerivedState = new LinkedHashMap<>();
+
     // Connections (by node, source and destination). Note that meta
     // connections (in- and outgoing of this workflow) are also part
     // of these maps. They will have our own ID as source/dest ID.
@@ -175,7 +182,17 @@ void putNode(final NodeID id, final NodeContainer nc) {
         m_connectionsBySource.put(id, new LinkedHashSet<ConnectionContainer>());
         m_connectionsByDest.put(id, new LinkedHashSet<ConnectionContainer>());
         // and then add node (avoid inconsistent node - connection setup)
-        m_nodes.put(id, nc);
+        NodeContainer previous = m_nodes.put(id, nc);
+        if (previous != nc) {
+            if (previous != null) {
+                previous.detachStateCounter();
+                m_nodesWithDerivedState.remove(id);
+            }
+            nc.attachStateCounter(m_stateCounter);
+            if (nc.isInternalStateDerived()) {
+                m_nodesWithDerivedState.put(id, nc);
+            }
+        }
         clearGraphAnnotationCache();
     }
 
@@ -187,6 +204,10 @@ void putNode(final NodeID id, final NodeContainer nc) {
     NodeContainer removeNode(final NodeID id) {
         // remove node
         NodeContainer node = m_nodes.remove(id);
+        if (node != null) {
+            node.detachStateCounter();
+            m_nodesWithDerivedState.remove(id);
+        }
         // and then clean up the connection lists  (avoid inconsistent node - connection setup)
         m_connectionsBySource.remove(id);
         m_connectionsByDest.remove(id);
@@ -203,6 +224,22 @@ Collection<NodeContainer> getNodeValues() {
         return Collections.unmodifiableCollection(cnc);
     }
 
+    /**
+     * @return the counter of nodes per state, which doesn't include the {@link #getNodesWithDerivedState() nodes with
+     *         derived state}
+     */
+    NodeStateCounter getStateCounter() {
+        return m_stateCounter;
+    }
+
+    /**
+     * @return unmodifiable collection of the nodes whose state is derived on access (i.e. metanodes) and hence not
+     *         counted by the {@link #getStateCounter() state counter}
+     */
+    Collection<NodeContainer> getNodesWithDerivedState() {
+        return Collections.unmodifiableCollection(m_nodesWithDerivedState.values());
+    }
+
     /**
      * @return unmodifiable collection of all NodeIDs that are part of this workflow.
      */
@@ -797,6 +834,8 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
             final NodeID endID) {
         // prepare the result list
         ArrayList<NodeAndInports> tempOutput = new ArrayList<NodeAndInports>();
+        // same elements as in the list, used for constant time lookup (list is searched only if depth changes)
+        HashMap<NodeID, NodeAndInports> indexByID = new HashMap<NodeID, NodeAndInports>();
         // find everything that is connected to an output port of the
         // "startNode" (which can be the WFM itself or a LoopStartNode or
         // any other "start" node) with a port index contained in the set
@@ -813,18 +852,14 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                         assert cc.getType().equals(ConnectionContainer.ConnectionType.WFMOUT);
                     }
                 } else {
-                    int ix = 0;
-                    for (ix = 0; ix < tempOutput.size(); ix++) {
-                        if (tempOutput.get(ix).m_nodeId.equals(cc.getDest())) {
-                            break;
-                        }
-                    }
-                    if (ix >= tempOutput.size()) {
+                    NodeAndInports nai = indexByID.get(nextID);
+                    if (nai == null) {
                         // ...it's a node not yet in our list: add it
-                        tempOutput.add(new NodeAndInports(cc.getDest(), cc.getDestPort(), /*depth=*/0));
+                        nai = new NodeAndInports(nextID, cc.getDestPort(), /*depth=*/0);
+                        tempOutput.add(nai);
+                        indexByID.put(nextID, nai);
                     } else {
                         // node is already in list. Add port if not already contained:
-                        NodeAndInports nai = tempOutput.get(ix);
                         if (!nai.getInports().contains(cc.getDestPort())) {
                             nai.addInport(cc.getDestPort());
                         } else {
@@ -866,20 +901,15 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                     if ((!destID.equals(this.getID())) && (!destID.equals(endID))) {
                         // only if we have not yet reached an outport or the "end" node
                         // try to find node in existing list:
-                        int ix = 0;
-                        for (ix = 0; ix < tempOutput.size(); ix++) {
-                            if (tempOutput.get(ix).m_nodeId.equals(destID)) {
-                                break;
-                            }
-                        }
-                        if (ix >= tempOutput.size()) {
+                        NodeAndInports nai = indexByID.get(destID);
+                        if (nai == null) {
                             // ...it's a node not yet in our list: add it
-                            tempOutput.add(new NodeAndInports(destID, cc.getDestPort(), currDepth + 1));
+                            nai = new NodeAndInports(destID, cc.getDestPort(), currDepth + 1);
+                            tempOutput.add(nai);
+                            indexByID.put(destID, nai);
                         } else {
-                            assert ix != currIndex;
                             // node is already in list, adjust depth to new
                             // maximum and add port if not already contained:
-                            NodeAndInports nai = tempOutput.get(ix);
                             if (!nai.getInports().contains(cc.getDestPort())) {
                                 nai.addInport(cc.getDestPort());
                             } else {
@@ -888,6 +918,8 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                             if (nai.getDepth() <= currDepth) {
                                 // fix depth if smaller or equal
                                 nai.setDepth(currDepth + 1);
+                                int ix = indexOfIdentical(tempOutput, nai);
+                                assert ix != currIndex;
                                 if (ix < currIndex) {
                                     // move this node to end of list if it was
                                     // already "touched" so that depth of
@@ -1301,6 +1333,7 @@ static class NodeAndInports implements Comparable<NodeAndInports> {
         private NodeID m_nodeId;
         private int m_depth;  // indicates max depth from start node(s)
         private Set<Integer> m_inports;
+        private boolean m_isReadOnly;
         /** Create new wrapper hold node, indices of inports, and depth.
          * @param id of node
          * @param portIx index of inport
@@ -1315,14 +1348,26 @@ public NodeAndInports(final NodeID id, final Integer portIx,
             }
             m_depth = depth;
         }
+        /** @return a read-only copy of this object, used for cached results that are shared between callers. */
+        NodeAndInports createReadOnlyCopy() {
+            NodeAndInports copy = new NodeAndInports(m_nodeId, null, m_depth);
+            copy.m_inports = Collections.unmodifiableSet(new LinkedHashSet<Integer>(m_inports));
+            copy.m_isReadOnly = true;
+            return copy;
+        }
         /** @return id of node. */
         public NodeID getID() { return m_nodeId; }
-        /** @return input port indices. */
+        /** @return input port indices (unmodifiable if this is a read-only copy). */
         public Set<Integer> getInports() { return m_inports; }
         /** @param ip inport index to be added list. */
-        public void addInport(final int ip) { m_inports.add(ip); }
+        public void addInport(final int ip) { checkNotReadOnly(); m_inports.add(ip); }
         /** @param d new depth of node. */
-        public void setDepth(final int d) { m_depth = d; }
+        public void setDepth(final int d) { checkNotReadOnly(); m_depth = d; }
+        private void checkNotReadOnly() {
+            if (m_isReadOnly) {
+                throw new UnsupportedOperationException("Node " + m_nodeId + " is part of a cached loop body");
+            }
+        }
         /** @return depth of node. */
         public int getDepth() { return m_depth; }
         /** {@inheritDoc} */
@@ -1463,6 +1508,16 @@ NodeID getMatchingLoopStart(final NodeID id) throws IllegalLoopException {
         }
     }
 
+    /** Position of the given element in the list, compared by identity (NodeAndInports#equals compares depth). */
+    private static int indexOfIdentical(final List<NodeAndInports> list, final NodeAndInports nai) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) == nai) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Node " + nai.getID() + " not in list");
+    }
+
     /** Create list of nodes (id)s that are part of a loop body. Note that
      * this also includes any dangling branches which leave the loop but
      * do not connect back to the end-node. Used to re-execute all nodes
@@ -1473,14 +1528,32 @@ NodeID getMatchingLoopStart(final NodeID id) throws IllegalLoopException {
      *
      * The list does not contain the start node or end node.
      *
+     * The result only depends on the graph structure and is therefore cached until the next structural change
+     * (see {@link #clearGraphAnnotationCache()}) - loops ask for it once per iteration.
+     *
      * @param startNode id of head of loop
      * @param endNode if of tail of loop
-     * @return list of nodes within loop body &amp; any dangling branches. The list
-     *         also contains the used input ports of each node.
+     * @return unmodifiable list of nodes within loop body &amp; any dangling branches. The list
+     *         also contains the used input ports of each node. The elements are read-only copies.
      * @throws IllegalLoopException If there is a ill-posed loop (dangling branches)
      */
-    ArrayList<NodeAndInports> findAllNodesConnectedToLoopBody(final NodeID startNode, final NodeID endNode)
+    List<NodeAndInports> findAllNodesConnectedToLoopBody(final NodeID startNode, final NodeID endNode)
             throws IllegalLoopException {
+        final Pair<NodeID, NodeID> key = Pair.create(startNode, endNode);
+        // a result computed while the cache is cleared goes to the discarded map, not the new one
+        final Map<Pair<NodeID, NodeID>, List<NodeAndInports>> cache = m_loopBodyCache;
+        List<NodeAndInports> result = cache.get(key);
+        if (result == null) {
+            // failures are not cached, they are rare and the exception should be thrown for each invocation
+            result = findAllNodesConnectedToLoopBodyUncached(startNode, endNode).stream() //
+                .map(NodeAndInports::createReadOnlyCopy).collect(Collectors.toUnmodifiableList());
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private ArrayList<NodeAndInports> findAllNodesConnectedToLoopBodyUncached(final NodeID startNode,
+        final NodeID endNode) throws IllegalLoopException {
         ArrayList<NodeAndInports> tempOutput = findAllNodesInbetween(startNode, null, endNode);
         if (startNode.equals(endNode)) {
             // silly case - start = end node.
@@ -1586,9 +1659,14 @@ public NodeGraphAnnotation getSingleNodeGraphAnnotation(final NodeID id)
     /** hold graph based annotations for all nodes. */
     private ArrayList<NodeGraphAnnotation> m_nodeAnnotationCache = null;
 
+    /** loop bodies as computed by {@link #findAllNodesConnectedToLoopBody(NodeID, NodeID)}, key is (start, end).
+     * Replaced along with the graph annotations, also when a child workflow changes (without holding our lock). */
+    private volatile Map<Pair<NodeID, NodeID>, List<NodeAndInports>> m_loopBodyCache = new ConcurrentHashMap<>();
+
     /** clean cache - called internally whenever the structure (connections/nodes) are altered. */
     private void clearGraphAnnotationCache() {
         m_nodeAnnotationCache = null;
+        m_loopBodyCache = new ConcurrentHashMap<>();
         // also clear cache in parent - changes here may affect the connectivity outside as well.
         if (m_wfm != null && m_wfm.getParent() != null && m_wfm.getParent().getWorkflow() != null) {
             m_wfm.getParent().getWorkflow().clearGraphAnnotationCache();
@@ -117,6 +117,7 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.container.TempStorageManager;
 import org.knime.core.data.util.memory.InstanceCounter;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.AbstractNodeView;
@@ -249,6 +250,10 @@ public final class WorkflowManager extends NodeContainer
     private static final InstanceCounter<WorkflowManager> NO_PROJECT_COUNTER =
             InstanceCounter.register(WorkflowManager.class, "no project");
 
+    /** Whether to verify the node state counts on each state check, see {@link #checkStateCounts}. */
+    private static final boolean CHECK_STATE_COUNTS =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_WORKFLOW_CHECK_STATE_COUNTS);
+
     /**
      * Name of this workflow (usually displayed at top of the node figure). May be null to use name of workflow
      * directory.
@@ -304,7 +309,7 @@ public Thread newThread(final Runnable r) {
 
     /**
      * Flag whether to hide this workflow from UI (only if it's a metanode without any ports). State of the flag will
-     * not be persisted with the workflow - all hidden metanodes are supposed to be temporary
+     * not be persisted with the workflow - all hidden metanodes are supposed to be temporary (and are not saved)
      *
      * @since 4.2
      */
@@ -397,6 +402,9 @@ public Thread newThread(final Runnable r) {
     /** User-supplied metadata of this workflow, non-{@code null} iff this is a project workflow manager. */
     private WorkflowMetadata m_metadata;
 
+    /** Loops in this workflow that run their iterations concurrently, key is the loop start node. Guarded by lock. */
+    private final Map<NodeID, ConcurrentLoopIterations> m_concurrentLoops = new HashMap<>();
+
     /**
      * The root of everything, a workflow with no in- or outputs. This workflow holds the top level projects.
      */
@@ -3374,7 +3382,9 @@ private boolean queueIfQueuable(final NodeContainer nc) {
                     return false;
             }
             PortObject[] inData = new PortObject[nc.getNrInPorts()];
-            boolean allDataAvailable = assembleInputData(nc.getID(), inData);
+            final ConcurrentLoopIterations concurrentIterations = findConcurrentIterationsOfTail(nc.getID());
+            boolean allDataAvailable = concurrentIterations == null ? assembleInputData(nc.getID(), inData)
+                : assembleConcurrentIterationInputData(concurrentIterations, inData);
             if (allDataAvailable) {
                 NodeID[] predecessors = assemblePredecessors(nc.getID());
                 boolean mustHalt = false;
@@ -3618,6 +3628,17 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
                             resetAndConfigureNode(nc.getID());
                         }
                     }
+                    // loops with independent iterations: start copies of the body or feed the next result to the end
+                    if (node.getNodeModel() instanceof IndependentIterationsLoopStartNode && !node.isInactive()) {
+                        try {
+                            handleIndependentIterationsLoopStart(nnc);
+                        } catch (IllegalLoopException e) {
+                            // not fatal - the loop still runs in its original body, one iteration after another
+                            LOGGER.debug(() -> String.format("Iterations of loop started at %s not run concurrently: %s",
+                                nc.getNameWithID(), e.getMessage()), e);
+                            disposeConcurrentIterations(nc.getID());
+                        }
+                    }
                     // process loop context for "real" nodes:
                     if (nnc.isModelCompatibleTo(LoopStartNode.class)) {
                         // if this was BEGIN, it's not anymore (until we do not restart it explicitly!)
@@ -3627,7 +3648,7 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
                         // make sure entire loop body is executed. Trigger execution of rest if not.
                         // (note that we do not worry about waiting for executing dangling branches, for those
                         // we only need to wait when the loop is about to be restarted!)
-                        ArrayList<NodeAndInports> loopBodyNodes = new ArrayList<NodeAndInports>();
+                        List<NodeAndInports> loopBodyNodes = Collections.emptyList();
                         try {
                             NodeID endID = nnc.getID();
                             NodeID startID = m_workflow.getMatchingLoopStart(endID);
@@ -3698,6 +3719,12 @@ void doAfterExecution(final NodeContainer nc, final NodeContainerExecutionStatus
                         disableNodeForExecution(nnc.getID());
                         nnc.getNode().clearLoopContext();
                     }
+                    if ((!success || node.getLoopContext() == null) && nnc.isModelCompatibleTo(LoopEndNode.class)) {
+                        // loop terminated (or failed) - remove copies of loop body if iterations ran concurrently
+                        m_concurrentLoops.values().stream().filter(cli -> cli.getTailID().equals(nc.getID()))
+                            .map(ConcurrentLoopIterations::getHeadID).toList()
+                            .forEach(this::disposeConcurrentIterations);
+                    }
                 }
             }
             // note this is NOT the else of the if above - success can be modified...
@@ -3757,7 +3784,7 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
             throw new IllegalLoopException("Loop Nodes must both be NativeNodeContainers!");
         }
         // (1) find all intermediate node, the loop's "body"
-        ArrayList<NodeAndInports> loopBodyNodes =
+        List<NodeAndInports> loopBodyNodes =
             m_workflow.findAllNodesConnectedToLoopBody(headNode.getID(), tailNode.getID());
         // (2) check if any of those nodes are currently executing (note that since 3.0 we are already
         //     marking/queuing those nodes already in doAfterExecute to fix bug 2292!)
@@ -3770,6 +3797,14 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
                 return;
             }
         }
+        final ConcurrentLoopIterations concurrentIterations = m_concurrentLoops.get(headNode.getID());
+        if (concurrentIterations != null
+            && !concurrentIterations.isScheduled(concurrentIterations.getCurrentIteration() + 1)
+            && getConcurrentIterationExternalInput(concurrentIterations) == null) {
+            // the loop body is done, the data from outside the loop body won't become available anymore
+            throw new IllegalLoopException("Data from outside the loop body is not available to iterations run "
+                + "concurrently");
+        }
         // (3) mark the origin of the loop to be executed again
         //     do this now so that we have an executing node in this WFM
         //     and an intermediate state does not suggest everything is done.
@@ -3787,30 +3822,28 @@ private void restartLoop(final FlowLoopContext slc) throws IllegalLoopException
         assert !flc.isInactiveScope();
         flc.incrementIterationIndex();
         // (4-7) reset/configure loop body - or not...
-        if (headNNC.resetAndConfigureLoopBody()) {
-            // (4a) reset the nodes in the body (only those -
-            //     make sure end of loop is NOT reset). Make sure reset()
-            //     is performed in the correct order (last nodes first!)
-            ListIterator<NodeAndInports> li = loopBodyNodes.listIterator(loopBodyNodes.size());
-            while (li.hasPrevious()) {
-                NodeAndInports nai = li.previous();
-                NodeID id = nai.getID();
-                NodeContainer nc = m_workflow.getNode(id);
-                if (nc == null) {
-                    throw new IllegalLoopException("Node in loop body not in same workflow as head&tail!");
-                } else if (!nc.isResetable()) {
-                    // do not warn - this can actually happen if we (try to) enter a metanode with two inports twice.
-                    continue;
-                }
-                if (nc instanceof SingleNodeContainer) {
-                    invokeResetOnSingleNodeContainer((SingleNodeContainer)nc);
-                } else {
-                    assert nc instanceof WorkflowManager;
-                    // only reset the nodes connected to relevant ports.
-                    // See also bug 2225
-                    ((WorkflowManager)nc).resetNodesInWFMConnectedToInPorts(nai.getInports());
-                }
+        if (concurrentIterations != null) {
+            // (4c-7c) the iteration is processed by a copy of the body (started here, reusing a copy of an earlier
+            //     iteration if possible). The tail is queued with the copy's output once head and copy are done,
+            //     see queueIfQueuable
+            concurrentIterations.setCurrentIteration(flc.getIterationIndex());
+            // schedule first: the copies get the head's flow variables, its outports are cleaned below
+            scheduleConcurrentIterations(concurrentIterations);
+            if (!concurrentIterations.isOriginalBodyReset()) {
+                // (4c) the original body still holds the result of iteration 0 and is not executed again
+                resetLoopBody(loopBodyNodes);
+                concurrentIterations.setOriginalBodyReset();
+                headNNC.cleanOutPorts(true);
+                // (5c) configure only the body, the nodes holding the copies must not be touched
+                configureLoopBody(loopBodyNodes);
+            } else {
+                headNNC.cleanOutPorts(true);
             }
+            assert tailNode.getInternalState().equals(CONFIGURED_MARKEDFOREXEC);
+        } else if (headNNC.resetAndConfigureLoopBody()) {
+            // (4a) reset the nodes in the body (only those -
+            //     make sure end of loop is NOT reset)
+            resetLoopBody(loopBodyNodes);
             // clean outports of start but do not call reset
             headNNC.cleanOutPorts(true);
             // (5a) configure the nodes from start to rest (it's not
@@ -3913,47 +3946,17 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
                 throw new IllegalLoopException("Parallel Chunk Start Node not connected to matching end node!", iae);
             }
 
-            final ArrayList<NodeAndInports> loopBody = m_workflow.findAllNodesConnectedToLoopBody(startID, endID);
+            final List<NodeAndInports> loopBody = m_workflow.findAllNodesConnectedToLoopBody(startID, endID);
             NodeID[] loopNodes = new NodeID[loopBody.size()];
             loopNodes[0] = startID;
             for (int i = 0; i < loopBody.size(); i++) {
                 loopNodes[i] = loopBody.get(i).getID();
             }
             // creating matching sub workflow node holding all chunks
-            Set<Pair<NodeID, Integer>> exposedInports = findNodesWithExternalSources(startID, loopNodes);
             HashMap<Pair<NodeID, Integer>, Integer> extInConnections = new HashMap<Pair<NodeID, Integer>, Integer>();
-            PortType[] exposedInportTypes = new PortType[exposedInports.size() + 1];
-            // the first port is the variable port
-            exposedInportTypes[0] = FlowVariablePortObject.TYPE;
-            // the remaining ports cover the exposed inports of the loop body
-            int index = 1;
-            for (Pair<NodeID, Integer> npi : exposedInports) {
-                NodeContainer nc = getNodeContainer(npi.getFirst());
-                int portIndex = npi.getSecond();
-                exposedInportTypes[index] = nc.getInPort(portIndex).getPortType();
-                extInConnections.put(npi, index);
-                index++;
-            }
             WorkflowManager subwfm = null;
             if (startNode.getNrRemoteChunks() > 0) {
-                subwfm = createAndAddSubWorkflow(exposedInportTypes, new PortType[0], "Parallel Chunks");
-                NodeUIInformation startUIPlain = getNodeContainer(startID).getUIInformation();
-                if (startUIPlain != null) {
-                    NodeUIInformation startUI =
-                        NodeUIInformation.builder(startUIPlain).translate(new int[]{60, -60, 0, 0}).build();
-                    subwfm.setUIInformation(startUI);
-                }
-                // connect outside(!) nodes to new sub metanode
-                for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : extInConnections.entrySet()) {
-                    final Pair<NodeID, Integer> npi = entry.getKey();
-                    int metanodeindex = entry.getValue();
-                    if (metanodeindex >= 0) { // ignore variable port!
-                        // we need to find the source again (since our list
-                        // only holds the destination...)
-                        ConnectionContainer cc = this.getIncomingConnectionFor(npi.getFirst(), npi.getSecond());
-                        this.addConnection(cc.getSource(), cc.getSourcePort(), subwfm.getID(), metanodeindex);
-                    }
-                }
+                subwfm = createSubWorkflowForLoopBodyCopies(startID, loopNodes, extInConnections, "Parallel Chunks");
             }
             ParallelizedChunkContentMaster pccm =
                 new ParallelizedChunkContentMaster(subwfm, endNode, startNode.getNrRemoteChunks());
@@ -3966,8 +3969,8 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
 
             ExecutionContext exec = startNC != null ? startNC.createExecutionContext() : null;
             for (int i = 0; i < startNode.getNrRemoteChunks(); i++) {
-                ParallelizedChunkContent copiedNodes =
-                    duplicateLoopBodyInSubWFMandAttach(subwfm, extInConnections, startID, endID, loopNodes, i);
+                ParallelizedChunkContent copiedNodes = duplicateLoopBodyInSubWFMandAttach(subwfm, extInConnections,
+                    startID, endID, loopNodes, i, startNode.getVirtualNodeInput(i), false);
                 if (startNC != null) {
                     NativeNodeContainer virtualInNode =
                         subwfm.getNodeContainer(copiedNodes.getVirtualInputID(), NativeNodeContainer.class, true);
@@ -3991,6 +3994,323 @@ private void parallelizeLoop(final NodeID startID) throws IllegalLoopException {
         }
     }
 
+    /*
+     * Creates the metanode holding copies of a loop body. Its first inport is the variable port, the others are
+     * connected to the sources outside the loop body feeding into the body.
+     *
+     * @param startID id of loop start
+     * @param loopNodes nodes in the loop body
+     * @param extInConnections empty map, filled with (node in loop body, inport) => metanode inport
+     * @param name name of the metanode
+     * @return the new metanode
+     */
+    private WorkflowManager createSubWorkflowForLoopBodyCopies(final NodeID startID, final NodeID[] loopNodes,
+        final HashMap<Pair<NodeID, Integer>, Integer> extInConnections, final String name) {
+        Set<Pair<NodeID, Integer>> exposedInports = findNodesWithExternalSources(startID, loopNodes);
+        PortType[] exposedInportTypes = new PortType[exposedInports.size() + 1];
+        // the first port is the variable port
+        exposedInportTypes[0] = FlowVariablePortObject.TYPE;
+        // the remaining ports cover the exposed inports of the loop body
+        int index = 1;
+        for (Pair<NodeID, Integer> npi : exposedInports) {
+            NodeContainer nc = getNodeContainer(npi.getFirst());
+            int portIndex = npi.getSecond();
+            exposedInportTypes[index] = nc.getInPort(portIndex).getPortType();
+            extInConnections.put(npi, index);
+            index++;
+        }
+        WorkflowManager subwfm = createAndAddSubWorkflow(exposedInportTypes, new PortType[0], name);
+        NodeUIInformation startUIPlain = getNodeContainer(startID).getUIInformation();
+        if (startUIPlain != null) {
+            NodeUIInformation startUI =
+                NodeUIInformation.builder(startUIPlain).translate(new int[]{60, -60, 0, 0}).build();
+            subwfm.setUIInformation(startUI);
+        }
+        // connect outside(!) nodes to new sub metanode
+        for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : extInConnections.entrySet()) {
+            final Pair<NodeID, Integer> npi = entry.getKey();
+            int metanodeindex = entry.getValue();
+            if (metanodeindex >= 0) { // ignore variable port!
+                // we need to find the source again (since our list
+                // only holds the destination...)
+                ConnectionContainer cc = this.getIncomingConnectionFor(npi.getFirst(), npi.getSecond());
+                this.addConnection(cc.getSource(), cc.getSourcePort(), subwfm.getID(), metanodeindex);
+            }
+        }
+        return subwfm;
+    }
+
+    /* Resets the nodes in a loop body (but not the loop end). Make sure reset() is performed in the correct
+     * order (last nodes first!). */
+    private void resetLoopBody(final List<NodeAndInports> loopBodyNodes) throws IllegalLoopException {
+        ListIterator<NodeAndInports> li = loopBodyNodes.listIterator(loopBodyNodes.size());
+        while (li.hasPrevious()) {
+            NodeAndInports nai = li.previous();
+            NodeID id = nai.getID();
+            NodeContainer nc = m_workflow.getNode(id);
+            if (nc == null) {
+                throw new IllegalLoopException("Node in loop body not in same workflow as head&tail!");
+            } else if (!nc.isResetable()) {
+                // do not warn - this can actually happen if we (try to) enter a metanode with two inports twice.
+                continue;
+            }
+            if (nc instanceof SingleNodeContainer) {
+                invokeResetOnSingleNodeContainer((SingleNodeContainer)nc);
+            } else {
+                assert nc instanceof WorkflowManager;
+                // only reset the nodes connected to relevant ports.
+                // See also bug 2225
+                ((WorkflowManager)nc).resetNodesInWFMConnectedToInPorts(nai.getInports());
+            }
+        }
+    }
+
+    /* Configures the nodes of a loop body (previously reset), predecessors first. Unlike
+     * configureNodeAndPortSuccessors it does not touch other successors of the loop start. */
+    private void configureLoopBody(final List<NodeAndInports> loopBodyNodes) {
+        for (NodeAndInports nai : loopBodyNodes) {
+            NodeContainer nc = m_workflow.getNode(nai.getID());
+            if (nc instanceof SingleNodeContainer snc) {
+                configureSingleNodeContainer(snc, false);
+            } else if (nc instanceof WorkflowManager wfm) {
+                wfm.configureNodesConnectedToPortInWFM(nai.getInports());
+            }
+        }
+    }
+
+    /* Called after a loop start with independent iterations has been executed. In the first iteration it creates
+     * and starts copies of the loop body for the following iterations (if enabled), in later iterations it queues
+     * the loop end as the original body is not executed again.
+     */
+    private void handleIndependentIterationsLoopStart(final NativeNodeContainer headNNC) throws IllegalLoopException {
+        assert m_workflowLock.isHeldByCurrentThread();
+        final NodeID headID = headNNC.getID();
+        final ConcurrentLoopIterations existing = m_concurrentLoops.get(headID);
+        if (existing != null) {
+            // queues the tail (if copy is done) or fails it (if copy failed)
+            onConcurrentIterationDone(existing);
+            return;
+        }
+        FlowLoopContext flc = headNNC.getOutgoingFlowObjectStack().peek(FlowLoopContext.class);
+        final int concurrency = ConcurrentLoopIterations.getConcurrencyLevel();
+        final IndependentIterationsLoopStartNode startModel =
+            (IndependentIterationsLoopStartNode)headNNC.getNodeModel();
+        if (flc == null || flc.getIterationIndex() != 0 || concurrency <= 1
+            || !startModel.hasIndependentIterations()) {
+            return;
+        }
+        final int nrIterations = startModel.getNrIterations();
+        if (nrIterations <= 1) {
+            return;
+        }
+        final NodeID tailID = m_workflow.getMatchingLoopEnd(headID);
+        if (tailID == null) {
+            throw new IllegalLoopException("No matching loop end node");
+        }
+        NodeContainer tailNode = m_workflow.getNode(tailID);
+        if (!(tailNode instanceof NativeNodeContainer tailNNC)
+            || tailNNC.isModelCompatibleTo(LoopEndParallelizeNode.class)) {
+            throw new IllegalLoopException("Loop end node does not support concurrent iterations");
+        }
+        if (((LoopEndNode)tailNNC.getNodeModel()).shouldPropagateModifiedVariables()) {
+            throw new IllegalLoopException("Loop end propagates modified variables");
+        }
+        if (!tailNNC.getInternalState().equals(CONFIGURED_MARKEDFOREXEC) || !canModifyStructure()) {
+            // only the loop start (or part of the body) is executed, later iterations are not run now
+            return;
+        }
+        final NodeID[] loopNodes = m_workflow.findAllNodesConnectedToLoopBody(headID, tailID).stream()
+            .map(NodeAndInports::getID).distinct().toArray(NodeID[]::new);
+        // the data from outside the loop body is passed to the copies via their virtual input node, following the
+        // outputs of the loop start (the hidden metanode holding the copies has no ports)
+        HashMap<Pair<NodeID, Integer>, Integer> extInConnections = new HashMap<Pair<NodeID, Integer>, Integer>();
+        int virtualInPort = headNNC.getNrOutPorts();
+        for (Pair<NodeID, Integer> npi : findNodesWithExternalSources(headID, ArrayUtils.add(loopNodes, tailID))) {
+            extInConnections.put(npi, virtualInPort++);
+        }
+        WorkflowManager container = createAndAddTemporarySubWorkflow("Concurrent Iterations");
+        ConcurrentLoopIterations cli = new ConcurrentLoopIterations(this, headID, tailID, loopNodes, container,
+            extInConnections, nrIterations, concurrency);
+        m_concurrentLoops.put(headID, cli);
+        tailNNC.addNodeStateChangeListener(cli);
+        LOGGER.debugWithFormat("Running %d iterations of loop %s -> %s with up to %d iterations at a time",
+            nrIterations, headID, tailID, concurrency);
+        scheduleConcurrentIterations(cli);
+    }
+
+    /* Starts copies of the loop body for iterations not yet scheduled (up to concurrency level). Copies used by
+     * previous (consumed) iterations are reset and reused, new copies are only created for the first iterations. */
+    private void scheduleConcurrentIterations(final ConcurrentLoopIterations cli) {
+        assert m_workflowLock.isHeldByCurrentThread();
+        final IndependentIterationsLoopStartNode startModel =
+            castNodeModel(cli.getHeadID(), IndependentIterationsLoopStartNode.class);
+        final WorkflowManager container = cli.getContainer();
+        for (int it = cli.nextIterationToSchedule(); it >= 0; it = cli.nextIterationToSchedule()) {
+            final VirtualNodeInput input = createConcurrentIterationInput(cli, startModel.getIterationInput(it));
+            if (input == null) {
+                // data from outside the loop body not available yet, tried again when the loop is restarted
+                return;
+            }
+            ParallelizedChunkContent copiedNodes = cli.getReusableCopy(it);
+            if (copiedNodes == null) {
+                copiedNodes = duplicateLoopBodyInSubWFMandAttach(container, cli.getExtInConnections(),
+                    cli.getHeadID(), cli.getTailID(), cli.getLoopNodes(), cli.getCopyIndex(it), input, true);
+            } else {
+                // resets virtual input node and all copied nodes; the new input is set after the reset
+                container.resetAndConfigureNode(copiedNodes.getVirtualInputID());
+                container.castNodeModel(copiedNodes.getVirtualInputID(),
+                    VirtualParallelizedChunkPortObjectInNodeModel.class).setVirtualNodeInput(input);
+            }
+            copiedNodes.executeChunk();
+            cli.addIteration(it, copiedNodes);
+        }
+    }
+
+    /* Creates the input of the virtual input node of a copy of a loop body run concurrently: the iteration's input
+     * followed by the data of the sources outside the loop body (see extInConnections). As the copies are not
+     * connected to the loop start its flow variables are passed on as well. Returns null if data from outside the
+     * loop body is not available. */
+    private VirtualNodeInput createConcurrentIterationInput(final ConcurrentLoopIterations cli,
+        final VirtualNodeInput iterationInput) {
+        final Map<Integer, PortObject> externalInput = getConcurrentIterationExternalInput(cli);
+        if (externalInput == null) {
+            return null;
+        }
+        final PortObject[] iterationObjects = iterationInput.getInputObjects();
+        final PortObject[] inputObjects =
+            Arrays.copyOf(iterationObjects, iterationObjects.length + externalInput.size());
+        // port 0 of the virtual input node is the variable port
+        externalInput.forEach((port, data) -> inputObjects[port - 1] = data);
+        final NativeNodeContainer head = getNodeContainer(cli.getHeadID(), NativeNodeContainer.class, true);
+        final List<FlowVariable> flowVariables = head.getOutgoingFlowObjectStack().getAllAvailableFlowVariables()
+            .values().stream().filter(fv -> fv.getScope() == FlowVariable.Scope.Flow)
+            .collect(Collectors.toCollection(ArrayList::new));
+        // pushed in order - the variables on top of the stack (and those of the iteration) are pushed last
+        Collections.reverse(flowVariables);
+        flowVariables.addAll(iterationInput.getFlowVariables());
+        return new VirtualNodeInput(inputObjects, flowVariables);
+    }
+
+    /* Returns the data of the sources outside the loop body by outport of the virtual input node of the copies (see
+     * extInConnections), or null if not all of them are executed. */
+    private Map<Integer, PortObject> getConcurrentIterationExternalInput(final ConcurrentLoopIterations cli) {
+        final Map<Integer, PortObject> result = new HashMap<>();
+        for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : cli.getExtInConnections().entrySet()) {
+            final Pair<NodeID, Integer> npi = entry.getKey();
+            final NodeOutPort source = assemblePredecessorOutPorts(npi.getFirst())[npi.getSecond()];
+            final PortObject data = source == null ? null : source.getPortObject();
+            if (data == null) {
+                return null;
+            }
+            result.put(entry.getValue(), data);
+        }
+        return result;
+    }
+
+    /*
+     * Adds a new metanode without ports that is only used while nodes of this workflow are executed, e.g. to hold
+     * copies of a loop body. It is hidden in the UI (and hence not saved, see FileWorkflowPersistor), adding it and
+     * removing it with removeTemporarySubWorkflow does not notify the workflow listeners.
+     */
+    private WorkflowManager createAndAddTemporarySubWorkflow(final String name) {
+        try (WorkflowLock lock = assertLock()) {
+            final NodeID newID = m_workflow.createUniqueID();
+            final WorkflowManager wfm = new WorkflowManager(null, this, newID, new PortType[0], new PortType[0],
+                false, null, name, Optional.of(m_dataRepository), Optional.empty());
+            wfm.hideInUI();
+            m_workflow.putNode(newID, wfm);
+            lock.queueCheckForNodeStateChangeNotification(true);
+            LOGGER.debugWithFormat("Added temporary subworkflow %s", newID);
+            return wfm;
+        }
+    }
+
+    /* Removes a metanode created by createAndAddTemporarySubWorkflow unless it is still executing (or was already
+     * removed). Returns whether it was removed. */
+    boolean removeTemporarySubWorkflow(final WorkflowManager wfm) {
+        try (WorkflowLock lock = lock()) {
+            if (m_workflow.getNode(wfm.getID()) != wfm || !canRemoveNode(wfm.getID())) {
+                return false;
+            }
+            m_workflow.removeNode(wfm.getID());
+            wfm.cleanup();
+            lock.queueCheckForNodeStateChangeNotification(true);
+            return true;
+        }
+    }
+
+    /* Returns the loop run concurrently whose end is the argument node and whose current iteration is run in a copy
+     * of the loop body (iteration > 0), or null. */
+    private ConcurrentLoopIterations findConcurrentIterationsOfTail(final NodeID id) {
+        if (m_concurrentLoops.isEmpty()) {
+            return null;
+        }
+        return m_concurrentLoops.values().stream() //
+            .filter(c -> c.getTailID().equals(id) && c.getCurrentIteration() > 0) //
+            .findFirst().orElse(null);
+    }
+
+    /* Assembles the input of a loop end whose current iteration was run in a copy of the loop body. The data at the
+     * non-variable inports is the output of that copy; the original loop body is reset after iteration 0 and does not
+     * provide any data. Returns false if the node cannot be queued yet (loop start or copy still executing) - it is
+     * then queued by onConcurrentIterationDone or the loop start's doAfterExecution. */
+    private boolean assembleConcurrentIterationInputData(final ConcurrentLoopIterations cli,
+        final PortObject[] inData) {
+        if (!m_workflow.getNode(cli.getHeadID()).getInternalState().equals(EXECUTED)) {
+            return false;
+        }
+        ParallelizedChunkContent copy = cli.getExecutedCurrentIteration();
+        if (copy == null) {
+            return false;
+        }
+        // port 0 is the variable port, not passed through virtual end node (its source may be in the reset body)
+        NodeOutPort variablePort = assemblePredecessorOutPorts(cli.getTailID())[0];
+        if (variablePort != null) {
+            PortObject variableData = variablePort.getPortObject();
+            inData[0] = variableData != null ? variableData : FlowVariablePortObject.INSTANCE;
+        }
+        PortObject[] copyOutput = copy.getOutportContent();
+        System.arraycopy(copyOutput, 0, inData, 1, Math.min(copyOutput.length, inData.length - 1));
+        return true;
+    }
+
+    /* Callback from ConcurrentLoopIterations when the copy of the current iteration finished (or failed). */
+    void onConcurrentIterationDone(final ConcurrentLoopIterations cli) {
+        try (WorkflowLock lock = lock()) {
+            if (m_concurrentLoops.get(cli.getHeadID()) != cli) {
+                return;
+            }
+            final NodeContainer tail = m_workflow.getNode(cli.getTailID());
+            if (cli.hasCurrentIterationFailed()) {
+                disableNodeForExecution(cli.getTailID());
+                ((NativeNodeContainer)tail).getNode().clearLoopContext();
+                tail.setNodeMessage(NodeMessage.newError("Execution of iteration " + cli.getCurrentIteration()
+                    + " failed (run concurrently in a copy of the loop body)"));
+                disposeConcurrentIterations(cli.getHeadID());
+                lock.queueCheckForNodeStateChangeNotification(true);
+            } else if (tail.getInternalState().equals(CONFIGURED_MARKEDFOREXEC)) {
+                queueIfQueuable(tail);
+            }
+        }
+    }
+
+    /* Callback from ConcurrentLoopIterations when the loop end is not marked for execution anymore (canceled). */
+    void onConcurrentLoopAborted(final ConcurrentLoopIterations cli) {
+        try (WorkflowLock lock = lock()) {
+            if (m_concurrentLoops.get(cli.getHeadID()) == cli) {
+                disposeConcurrentIterations(cli.getHeadID());
+            }
+        }
+    }
+
+    /* Removes copies of the loop body created for the loop started at the argument node (if any). */
+    private void disposeConcurrentIterations(final NodeID headID) {
+        ConcurrentLoopIterations cli = m_concurrentLoops.remove(headID);
+        if (cli != null) {
+            cli.dispose();
+        }
+    }
+
     /*
      * Identify all nodes that have incoming connections which are not part
      * of a given set of nodes.
@@ -4042,11 +4362,14 @@ public WorkflowCaptureOperation createCaptureOperationFor(final NodeID endNodeID
      *   added to the same workflow.
      * @param extInConnections map of incoming connections
      *   (NodeID + PortIndex) => WFM-Inport. Can be null if subWFM==this.
+     * @param extInViaVirtualIn if true the sources outside the loop body are not connected to subWFM (which has no
+     *   inports), extInConnections then maps to additional outports of the virtual input node whose data is part
+     *   of the argument data
      * ...
      */
     private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final WorkflowManager subWFM,
         final HashMap<Pair<NodeID, Integer>, Integer> extInConnections, final NodeID startID, final NodeID endID,
-        final NodeID[] oldIDs, final int chunkIndex) {
+        final NodeID[] oldIDs, final int chunkIndex, final VirtualNodeInput data, final boolean extInViaVirtualIn) {
         assert m_workflowLock.isHeldByCurrentThread();
         // compute offset for new nodes (shifted in case of same
         // workflow, otherwise just underneath each other)
@@ -4059,10 +4382,19 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
         // create virtual start node
         NodeContainer startNode = getNodeContainer(startID);
         // find port types (ignore Variable Port "ear")
-        PortType[] outTypes = new PortType[startNode.getNrOutPorts() - 1];
-        for (int i = 0; i < outTypes.length; i++) {
+        final int nrStartOutTypes = startNode.getNrOutPorts() - 1;
+        PortType[] outTypes = new PortType[nrStartOutTypes + (extInViaVirtualIn ? extInConnections.size() : 0)];
+        for (int i = 0; i < nrStartOutTypes; i++) {
             outTypes[i] = startNode.getOutPort(i + 1).getPortType();
         }
+        if (extInViaVirtualIn) {
+            for (Map.Entry<Pair<NodeID, Integer>, Integer> entry : extInConnections.entrySet()) {
+                final Pair<NodeID, Integer> npi = entry.getKey();
+                // port 0 of the virtual input node is the variable port
+                outTypes[entry.getValue() - 1] =
+                    getNodeContainer(npi.getFirst()).getInPort(npi.getSecond()).getPortType();
+            }
+        }
         NodeID virtualStartID = subWFM.createAndAddNode(new VirtualParallelizedChunkPortObjectInNodeFactory(outTypes));
         NodeUIInformation startUIPlain = startNode.getUIInformation();
         if (startUIPlain != null) {
@@ -4114,6 +4446,10 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
                     // source node not part of loop:
                     if (subWFM == this) {
                         addConnection(c.getSource(), c.getSourcePort(), newIDs[i], c.getDestPort());
+                    } else if (extInViaVirtualIn) {
+                        int virtualInPortIndex =
+                            extInConnections.get(new Pair<NodeID, Integer>(c.getDest(), c.getDestPort()));
+                        subWFM.addConnection(virtualStartID, virtualInPortIndex, newIDs[i], c.getDestPort());
                     } else {
                         // find new replacement port
                         int subWFMportIndex =
@@ -4139,6 +4475,9 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
                 // source node not part of loop
                 if (subWFM == this) {
                     addConnection(c.getSource(), c.getSourcePort(), virtualEndID, c.getDestPort());
+                } else if (extInViaVirtualIn) {
+                    int virtualInPortIndex = extInConnections.get(new Pair<NodeID, Integer>(endID, p));
+                    subWFM.addConnection(virtualStartID, virtualInPortIndex, virtualEndID, c.getDestPort());
                 } else {
                     // find new replacement port
                     int subWFMportIndex =
@@ -4150,6 +4489,8 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
         if (subWFM == this) {
             // connect start node var port with virtual start node
             addConnection(startID, 0, virtualStartID, 0);
+        } else if (extInViaVirtualIn) {
+            // variables of the start node are part of the argument data
         } else {
             // add variable connection to port 0 of WFM!
             if (this.canAddConnection(startID, 0, subWFM.getID(), 0)) {
@@ -4159,8 +4500,6 @@ private ParallelizedChunkContent duplicateLoopBodyInSubWFMandAttach(final Workfl
             subWFM.addConnection(subWFM.getID(), 0, virtualStartID, 0);
         }
         // set chunk of table to be processed in new virtual start node
-        LoopStartParallelizeNode startModel = castNodeModel(startID, LoopStartParallelizeNode.class);
-        VirtualNodeInput data = startModel.getVirtualNodeInput(chunkIndex);
         VirtualParallelizedChunkPortObjectInNodeModel virtualInModel =
             subWFM.castNodeModel(virtualStartID, VirtualParallelizedChunkPortObjectInNodeModel.class);
         virtualInModel.setVirtualNodeInput(data);
@@ -5224,6 +5563,7 @@ private void invokeResetOnSingleNodeContainer(final SingleNodeContainer snc) {
         snc.getNodeTimer().resetNode();
         if (snc.isModelCompatibleTo(LoopStartNode.class)) {
             ((NativeNodeContainer)snc).getNode().setLoopEndNode(null);
+            disposeConcurrentIterations(snc.getID());
         }
         if (snc.isModelCompatibleTo(ScopeEndNode.class)) {
             ((NativeNodeContainer)snc).getNode().setScopeStartNode(null);
@@ -5905,7 +6245,8 @@ public void cancelExecution() {
                 // the contained nodes.
                 job.cancel();
             } else {
-                for (NodeContainer nc : m_workflow.getNodeValues()) {
+                // iterate a copy - canceling a loop end discards copies of a concurrently executed loop body
+                for (NodeContainer nc : new ArrayList<>(m_workflow.getNodeValues())) {
                     if (nc.getInternalState().isExecutionInProgress()) {
                         nc.cancelExecution();
                     }
@@ -6371,7 +6712,9 @@ public WorkflowDataRepository getWorkflowDataRepository() {
     }
 
     /**
-     * Derives state of this WFM by inspecting all nodes and computing the corresponding state.
+     * Derives state of this WFM from the state of its nodes. The number of nodes per state and whether any node has an
+     * error are maintained incrementally by the nodes (see {@link NodeStateCounter}), only the state of contained
+     * metanodes is queried, which keeps this method independent of the number of (non-metanode) nodes.
      *
      * @return the state of the wfm derived from the state of its contained nodes.
      */
@@ -6384,17 +6727,14 @@ InternalNodeContainerState computeNewState() {
             .allMatch(nc -> nc instanceof NodeContainerParent && ((NodeContainerParent)nc).isProject())) {
             return IDLE;
         }
-        int[] nrNodesInState = new int[InternalNodeContainerState.values().length];
-        int nrNodes = 0;
-        boolean internalNodeHasError = false;
-        for (NodeContainer ncIt : nodeValues) {
+        final NodeStateCounter stateCounter = m_workflow.getStateCounter();
+        int[] nrNodesInState = stateCounter.getNrNodesInState();
+        for (NodeContainer ncIt : m_workflow.getNodesWithDerivedState()) {
             nrNodesInState[ncIt.getInternalState().ordinal()]++;
-            nrNodes++;
-            if ((ncIt.getNodeMessage() != null)
-                && (ncIt.getNodeMessage().getMessageType().equals(NodeMessage.Type.ERROR))) {
-                internalNodeHasError = true;
-            }
         }
+        final int nrNodes = m_workflow.getNrNodes();
+        boolean internalNodeHasError = stateCounter.hasNodeWithError();
+        assert !CHECK_STATE_COUNTS || checkStateCounts(nrNodesInState, internalNodeHasError, nodeValues);
         // set summarization message if any of the internal nodes has an error
         if (internalNodeHasError) {
             final var nodeMessage = getNodeErrorSummary().map(m -> m.toNodeMessage(Type.ERROR))
@@ -6403,8 +6743,6 @@ InternalNodeContainerState computeNewState() {
         } else {
             setNodeMessage(NodeMessage.NONE);
         }
-        //
-        assert nrNodes == m_workflow.getNrNodes();
         InternalNodeContainerState newState = IDLE;
         // check if all outports are connected
         boolean allOutPortsConnected = getNrOutPorts() == m_workflow.getConnectionsByDest(this.getID()).size();
@@ -6480,6 +6818,30 @@ InternalNodeContainerState computeNewState() {
         return newState;
     }
 
+    /**
+     * Compares the incrementally maintained counts with the counts derived by inspecting all nodes and reports a
+     * coding problem if they differ. Nodes changing their state concurrently (without holding the workflow lock) can
+     * cause a transient difference, hence this is only logged. Only called if enabled via
+     * {@link KNIMEConstants#PROPERTY_WORKFLOW_CHECK_STATE_COUNTS} as it iterates all nodes.
+     *
+     * @return true (to be used in an assert statement)
+     */
+    private static boolean checkStateCounts(final int[] nrNodesInState, final boolean internalNodeHasError,
+        final Collection<NodeContainer> nodeValues) {
+        int[] expectedNrNodesInState = new int[nrNodesInState.length];
+        boolean expectedHasError = false;
+        for (NodeContainer ncIt : nodeValues) {
+            expectedNrNodesInState[ncIt.getInternalState().ordinal()]++;
+            expectedHasError |= ncIt.getNodeMessage().getMessageType() == NodeMessage.Type.ERROR;
+        }
+        if (!Arrays.equals(nrNodesInState, expectedNrNodesInState) || internalNodeHasError != expectedHasError) {
+            LOGGER.coding("Inconsistent node state counts: " + Arrays.toString(nrNodesInState) + " (expected "
+                + Arrays.toString(expectedNrNodesInState) + "), error " + internalNodeHasError + " (expected "
+                + expectedHasError + ")");
+        }
+        return true;
+    }
+
     /**
      * Called by the workflow lock upon releasing the lock by a thread to finally update the internal state.
      *
@@ -9785,6 +10147,12 @@ InternalNodeContainerState getInternalState() {
         }
     }
 
+    /** The state of a workflow is derived from its nodes, see {@link #computeNewState()}. */
+    @Override
+    boolean isInternalStateDerived() {
+        return true;
+    }
+
     /**
      * Calls {@link NodeContainer#getInternalState()} - used by the lock instance to get the originally assigned
      * workflow state as {@link #getInternalState()} is overridden in this class.
@@ -10148,6 +10516,12 @@ public void run() {
                     }
                 });
             }
+            if (m_workflowContext != null) {
+                // spill files of this workflow in additional temp directories (if configured)
+                final File tempFolder = m_workflowContext.getExecutorInfo().getTempFolder().toFile();
+                KNIMEConstants.GLOBAL_THREAD_POOL
+                    .enqueue(() -> TempStorageManager.getInstance().deleteWorkflowDirectories(tempFolder));
+            }
             m_dataRepository = null;
         }
     }
@@ -130,6 +130,22 @@ public final class WorkflowSegmentExecutor {
      */
     public WorkflowSegmentExecutor(final WorkflowSegment ws, final String workflowName, final NodeContainer hostNode,
         final boolean debug, final Consumer<String> warningConsumer) throws KNIMEException {
+        this(ws, BuildWorkflowsUtil.loadWorkflow(ws, warningConsumer), workflowName, hostNode, debug);
+        ws.disposeWorkflow();
+    }
+
+    /**
+     * Creates an executor from the already loaded workflow of the segment. The segment's workflow is copied, it's
+     * neither modified nor disposed.
+     *
+     * @param ws the workflow segment to execute
+     * @param segmentWorkflow the workflow loaded from the segment, see {@link BuildWorkflowsUtil#loadWorkflow}
+     * @param workflowName the name of the metanode to be created
+     * @param hostNode the node which is responsible for the execution of the workflow segment
+     * @param debug if <code>true</code> the metanode the workflow segment is executed in, will be visible
+     */
+    WorkflowSegmentExecutor(final WorkflowSegment ws, final WorkflowManager segmentWorkflow,
+        final String workflowName, final NodeContainer hostNode, final boolean debug) {
         m_hostNode = (NativeNodeContainer)hostNode;
         m_wfm = hostNode.getParent().createAndAddSubWorkflow(new PortType[0], new PortType[0],
             (debug ? "Debug: " : "") + workflowName);
@@ -148,10 +164,8 @@ public WorkflowSegmentExecutor(final WorkflowSegment ws, final String workflowNa
         }
 
         // copy workflow segment into metanode
-        WorkflowManager segmentWorkflow = BuildWorkflowsUtil.loadWorkflow(ws, warningConsumer);
         NodeID[] ids = segmentWorkflow.getNodeContainers().stream().map(NodeContainer::getID).toArray(NodeID[]::new);
         m_wfm.copyFromAndPasteHere(segmentWorkflow, WorkflowCopyContent.builder().setNodeIDs(ids).build());
-        ws.disposeWorkflow();
 
         addVirtualIONodes(ws);
     }
@@ -396,6 +410,19 @@ public void dispose() {
         m_wfm = null;
     }
 
+    /**
+     * Resets the nodes that depend on the input of the workflow segment, i.e. the virtual input node and all its
+     * successors, such that the segment can be executed again with new input. Nodes that don't depend on the input
+     * keep their results and are not executed again.
+     *
+     * @throws IllegalStateException if the underlying workflow has been disposed already
+     * @since 5.4
+     */
+    public void reset() {
+        cancel();
+        m_wfm.resetAndConfigureNode(m_virtualStartID);
+    }
+
     /**
      * Cancels the execution of the workflow segment.
      * @throws IllegalStateException if the underlying workflow has been disposed already
@@ -0,0 +1,444 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.node.workflow.capture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.capture.WorkflowSegmentExecutor.WorkflowSegmentExecutionResult;
+
+/**
+ * A pool of {@link WorkflowSegmentExecutor}s for the same {@link WorkflowSegment}, meant for clients that execute a
+ * segment many times (e.g. once per row or per request). The segment is unzipped and loaded only once; the pool then
+ * keeps up to <i>size</i> executors (i.e. copies of the segment) alive and reuses them across invocations. Between two
+ * invocations only the nodes depending on the segment's input are reset (see {@link WorkflowSegmentExecutor#reset()}),
+ * and up to <i>size</i> invocations run concurrently.
+ *
+ * <p>
+ * The first executor is created eagerly, further executors are only created once concurrent invocations need them.
+ * The pool also records the latency of each invocation, see {@link #getLatencyStatistics()}.
+ *
+ * <p>
+ * The pool must be {@linkplain #close() closed} if not needed anymore, which disposes all executors.
+ *
+ * @author agent
+ * @since 5.4
+ * @noreference This class is not intended to be referenced by clients.
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public final class WorkflowSegmentExecutorPool implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowSegmentExecutorPool.class);
+
+    /** How long to wait for an idle executor before checking for cancellation again. */
+    static final long POLL_INTERVAL_MS = 100;
+
+    private final WorkflowSegment m_segment;
+
+    private final String m_workflowName;
+
+    private final NodeContainer m_hostNode;
+
+    private final boolean m_debug;
+
+    private final Consumer<String> m_warningConsumer;
+
+    private final Pool<WorkflowSegmentExecutor> m_pool;
+
+    private final LatencyRecorder m_latencyRecorder = new LatencyRecorder();
+
+    /** The workflow loaded from the segment, kept until all executors are created; guarded by 'm_pool'. */
+    private WorkflowManager m_segmentWorkflow;
+
+    /**
+     * Creates a new pool and its first executor.
+     *
+     * @param ws the workflow segment to execute
+     * @param workflowName the name of the metanodes to be created
+     * @param hostNode the node which is responsible for the execution of the workflow segment
+     * @param debug if <code>true</code> the metanodes the workflow segment is executed in, will be visible
+     * @param warningConsumer callback for warning if there have while loading the workflow from the workflow segment
+     * @param size the maximum number of executors, i.e. of concurrent invocations, must be at least 1
+     * @throws KNIMEException if the workflow segment couldn't be loaded
+     */
+    public WorkflowSegmentExecutorPool(final WorkflowSegment ws, final String workflowName,
+        final NodeContainer hostNode, final boolean debug, final Consumer<String> warningConsumer, final int size)
+        throws KNIMEException {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + size);
+        }
+        m_segment = ws;
+        m_workflowName = workflowName;
+        m_hostNode = hostNode;
+        m_debug = debug;
+        m_warningConsumer = warningConsumer;
+        m_pool = new Pool<>(size, this::createExecutor, WorkflowSegmentExecutor::reset,
+            WorkflowSegmentExecutorPool::disposeQuietly);
+        synchronized (m_pool) {
+            m_segmentWorkflow = BuildWorkflowsUtil.loadWorkflow(ws, warningConsumer);
+            m_pool.addIdle();
+        }
+    }
+
+    /**
+     * Executes the workflow segment with one of the pooled executors, blocking until an executor becomes available.
+     * The executor is reset and returned to the pool afterwards.
+     *
+     * @param inputData the input data to be used for execution
+     * @param exec for cancellation
+     * @return the resulting port objects, flow variables and a hierarchical list of node error and warning messages
+     * @throws CanceledExecutionException if canceled while waiting for an executor
+     * @throws Exception if workflow execution fails
+     * @throws IllegalStateException if the pool has been closed already
+     * @see WorkflowSegmentExecutor#executeWorkflowAndCollectNodeMessages(PortObject[], ExecutionContext)
+     */
+    public WorkflowSegmentExecutionResult execute(final PortObject[] inputData, final ExecutionContext exec)
+        throws Exception { // NOSONAR
+        final long start = System.nanoTime();
+        final WorkflowSegmentExecutor executor = m_pool.borrow(exec);
+        try {
+            return executor.executeWorkflowAndCollectNodeMessages(inputData, exec);
+        } finally {
+            m_pool.giveBack(executor);
+            m_latencyRecorder.record(System.nanoTime() - start);
+        }
+    }
+
+    /** Called by the pool while holding its lock. */
+    private WorkflowSegmentExecutor createExecutor() throws KNIMEException {
+        if (m_segmentWorkflow == null) {
+            // an executor got discarded after the segment workflow was released
+            m_segmentWorkflow = BuildWorkflowsUtil.loadWorkflow(m_segment, m_warningConsumer);
+        }
+        final var executor =
+            new WorkflowSegmentExecutor(m_segment, m_segmentWorkflow, m_workflowName, m_hostNode, m_debug);
+        if (m_pool.getNrCreated() + 1 >= m_pool.getSize()) {
+            // the argument executor is the last one, the segment workflow isn't needed anymore
+            releaseSegmentWorkflow();
+        }
+        return executor;
+    }
+
+    /** Must hold lock on 'm_pool'. */
+    private void releaseSegmentWorkflow() {
+        if (m_segmentWorkflow != null) {
+            m_segment.disposeWorkflow();
+            m_segmentWorkflow = null;
+        }
+    }
+
+    /**
+     * @return the maximum number of executors in this pool
+     */
+    public int getSize() {
+        return m_pool.getSize();
+    }
+
+    /**
+     * @return statistics on the latency of all invocations of {@link #execute(PortObject[], ExecutionContext)} so
+     *         far, including the time spent waiting for an executor; percentiles are computed from the most recent
+     *         invocations only
+     */
+    public LatencyStatistics getLatencyStatistics() {
+        return m_latencyRecorder.getStatistics();
+    }
+
+    /**
+     * Cancels all running invocations.
+     */
+    public void cancel() {
+        m_pool.forEachCreated(WorkflowSegmentExecutor::cancel);
+    }
+
+    /**
+     * Cancels all running invocations and disposes all executors. Subsequent calls have no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (m_pool) {
+            if (m_pool.close()) {
+                releaseSegmentWorkflow();
+            }
+        }
+    }
+
+    private static void disposeQuietly(final WorkflowSegmentExecutor executor) {
+        try {
+            executor.dispose();
+        } catch (RuntimeException e) { // NOSONAR
+            LOGGER.debug("Unable to dispose workflow segment executor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keeps up to <i>size</i> objects (executors), which are created on demand, handed out to one borrower at a time
+     * and reset when given back. Objects whose reset fails are discarded.
+     *
+     * @param <T> the type of pooled objects
+     */
+    static final class Pool<T> {
+
+        /** Creates a new object, called while holding the lock on the pool. */
+        @FunctionalInterface
+        interface Factory<T> {
+            T create() throws KNIMEException;
+        }
+
+        private final int m_size;
+
+        private final Factory<T> m_factory;
+
+        private final Consumer<T> m_resetter;
+
+        private final Consumer<T> m_disposer;
+
+        private final BlockingQueue<T> m_idle;
+
+        private final List<T> m_all = new ArrayList<>();
+
+        private boolean m_isClosed;
+
+        Pool(final int size, final Factory<T> factory, final Consumer<T> resetter, final Consumer<T> disposer) {
+            m_size = size;
+            m_factory = factory;
+            m_resetter = resetter;
+            m_disposer = disposer;
+            m_idle = new LinkedBlockingQueue<>(size);
+        }
+
+        /** Creates a new object (if the pool isn't full yet) and adds it to the idle objects. */
+        synchronized void addIdle() throws KNIMEException {
+            checkNotClosed();
+            if (m_all.size() < m_size) {
+                m_idle.add(create());
+            }
+        }
+
+        /**
+         * Returns an idle object, creates a new one if there is none and the pool isn't full, otherwise blocks until
+         * one is given back or discarded (then a replacement is created).
+         */
+        T borrow(final ExecutionMonitor exec) throws CanceledExecutionException, KNIMEException {
+            T t = m_idle.poll();
+            if (t != null) {
+                return t;
+            }
+            synchronized (this) {
+                checkNotClosed();
+                if (m_all.size() < m_size) {
+                    return create();
+                }
+            }
+            try {
+                while ((t = m_idle.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) == null) {
+                    exec.checkCanceled();
+                    synchronized (this) {
+                        checkNotClosed();
+                        // an object whose reset failed has been discarded, create a replacement
+                        if (m_all.size() < m_size) {
+                            return create();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException("Interrupted while waiting for a workflow segment executor");
+            }
+            return t;
+        }
+
+        /** Resets the argument object and makes it available again; discards it if the reset fails. */
+        void giveBack(final T t) {
+            try {
+                m_resetter.accept(t);
+            } catch (RuntimeException e) { // NOSONAR an unusable object must not stay in the pool
+                synchronized (this) {
+                    if (!m_isClosed) {
+                        LOGGER.debug("Discarding workflow segment executor that couldn't be reset: " + e.getMessage(),
+                            e);
+                        m_all.remove(t);
+                        m_disposer.accept(t);
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                if (!m_isClosed) {
+                    m_idle.add(t);
+                }
+            }
+        }
+
+        /** Must hold lock on 'this'. */
+        private T create() throws KNIMEException {
+            final T t = m_factory.create();
+            m_all.add(t);
+            return t;
+        }
+
+        private void checkNotClosed() {
+            if (m_isClosed) {
+                throw new IllegalStateException("Workflow segment executor pool has been closed already.");
+            }
+        }
+
+        int getSize() {
+            return m_size;
+        }
+
+        /** @return the number of objects currently in the pool, idle or borrowed */
+        synchronized int getNrCreated() {
+            return m_all.size();
+        }
+
+        synchronized void forEachCreated(final Consumer<T> action) {
+            m_all.forEach(action);
+        }
+
+        /**
+         * Disposes all objects, further borrowing fails.
+         *
+         * @return false if the pool was closed already
+         */
+        synchronized boolean close() {
+            if (m_isClosed) {
+                return false;
+            }
+            m_isClosed = true;
+            m_all.forEach(m_disposer);
+            m_all.clear();
+            m_idle.clear();
+            return true;
+        }
+    }
+
+    /**
+     * Latency statistics of the invocations of a {@link WorkflowSegmentExecutorPool}. All durations are in
+     * nanoseconds.
+     *
+     * @param count the total number of invocations
+     * @param p50 the median latency
+     * @param p90 the 90th percentile of the latency
+     * @param p99 the 99th percentile of the latency
+     * @param max the maximum latency of all invocations
+     */
+    public record LatencyStatistics(long count, long p50, long p90, long p99, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("%d invocations, p50=%.3fms, p90=%.3fms, p99=%.3fms, max=%.3fms", count,
+                p50 / 1e6, p90 / 1e6, p99 / 1e6, max / 1e6);
+        }
+    }
+
+    /**
+     * Records latencies in a ring buffer of fixed size; percentiles are computed from the buffered (i.e. most recent)
+     * samples, count and maximum from all samples.
+     */
+    static final class LatencyRecorder {
+
+        static final int DEFAULT_CAPACITY = 4096;
+
+        private final long[] m_samples;
+
+        private long m_count;
+
+        private long m_max;
+
+        LatencyRecorder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        LatencyRecorder(final int capacity) {
+            m_samples = new long[capacity];
+        }
+
+        synchronized void record(final long nanos) {
+            m_samples[(int)(m_count % m_samples.length)] = nanos;
+            m_count++;
+            m_max = Math.max(m_max, nanos);
+        }
+
+        LatencyStatistics getStatistics() {
+            final long[] sorted;
+            final long count;
+            final long max;
+            synchronized (this) {
+                count = m_count;
+                max = m_max;
+                sorted = Arrays.copyOf(m_samples, (int)Math.min(count, m_samples.length));
+            }
+            Arrays.sort(sorted);
+            return new LatencyStatistics(count, percentile(sorted, 50), percentile(sorted, 90),
+                percentile(sorted, 99), max);
+        }
+
+        /** Nearest-rank percentile, 0 if there are no samples. */
+        private static long percentile(final long[] sorted, final int p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            final int rank = (int)Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
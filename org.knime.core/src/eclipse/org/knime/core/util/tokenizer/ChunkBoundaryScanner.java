@@ -0,0 +1,515 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.util.tokenizer;
+
+import java.util.List;
+
+/**
+ * Finds positions in a UTF-8 encoded byte buffer at which a {@link Tokenizer} can be restarted without changing the
+ * sequence of tokens it returns. Such a position directly follows a line feed that the tokenizer treats as a row
+ * delimiter, i.e. it is not part of a quoted string or a comment, not escaped by the line continuation character and
+ * not swallowed together with consecutive delimiters or a preceding comment.
+ * <p>
+ * The scanner replicates the precedence of the tokenizer's state machine (line continuation, comment, delimiter,
+ * quote) on bytes. It can only do so if all patterns are ASCII and a line feed is the only pattern that contains one,
+ * see {@link #supports(TokenizerSettings)}. The scanner keeps its state between calls to
+ * {@link #scan(byte[], int, boolean)}, so data can be appended to the buffer while scanning.
+ *
+ * @author agent
+ */
+final class ChunkBoundaryScanner {
+
+    private static final byte LF = '\n';
+
+    private static final byte CR = '\r';
+
+    private static final String LF_STR = "\n";
+
+    private static final int NORMAL = 0;
+
+    private static final int IN_QUOTE = 1;
+
+    private static final int IN_COMMENT = 2;
+
+    private static final int COMMENT = 1;
+
+    private static final int DELIM = 2;
+
+    private static final int QUOTE = 4;
+
+    /** Never equal to a byte, used if there is no escape or line continuation character. */
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final byte[][] m_commentBegins;
+
+    private final byte[][] m_commentEnds;
+
+    private final byte[][] m_delimiters;
+
+    private final byte[][] m_quoteBegins;
+
+    private final byte[][] m_quoteEnds;
+
+    private final int[] m_quoteEscapes;
+
+    /** The type of pattern(s) each ASCII character can start. */
+    private final int[] m_charType;
+
+    private final boolean[] m_isWhiteSpace;
+
+    private final int m_lineContChar;
+
+    private final boolean m_combineMultipleDelimiters;
+
+    private final boolean m_allowLFinQuotes;
+
+    private int m_state = NORMAL;
+
+    private int m_patternIndex;
+
+    /** Position of the comment begin pattern, the comment end pattern may overlap it. */
+    private int m_commentStart;
+
+    /** Number of trailing bytes of a quoted string that can be part of its end pattern. */
+    private int m_quoteEligible;
+
+    /** Set after a comment until the next character that is not a line break (they are swallowed). */
+    private boolean m_afterComment;
+
+    private int m_pos;
+
+    private long m_lines;
+
+    private int m_lastSplit = -1;
+
+    private long m_linesAtLastSplit;
+
+    /**
+     * @param settings the settings of the tokenizer, must be {@linkplain #supports(TokenizerSettings) supported}
+     */
+    ChunkBoundaryScanner(final TokenizerSettings settings) {
+        assert supports(settings);
+        m_charType = new int[128];
+        List<Comment> comments = settings.getAllComments();
+        m_commentBegins = new byte[comments.size()][];
+        m_commentEnds = new byte[comments.size()][];
+        for (int i = 0; i < comments.size(); i++) {
+            m_commentBegins[i] = toBytes(comments.get(i).getBegin());
+            m_commentEnds[i] = toBytes(comments.get(i).getEnd());
+            m_charType[m_commentBegins[i][0]] |= COMMENT;
+        }
+        List<Delimiter> delims = settings.getAllDelimiters();
+        m_delimiters = new byte[delims.size()][];
+        for (int i = 0; i < delims.size(); i++) {
+            m_delimiters[i] = toBytes(delims.get(i).getDelimiter());
+            m_charType[m_delimiters[i][0]] |= DELIM;
+        }
+        List<Quote> quotes = settings.getAllQuotes();
+        m_quoteBegins = new byte[quotes.size()][];
+        m_quoteEnds = new byte[quotes.size()][];
+        m_quoteEscapes = new int[quotes.size()];
+        for (int i = 0; i < quotes.size(); i++) {
+            Quote q = quotes.get(i);
+            m_quoteBegins[i] = toBytes(q.getLeft());
+            m_quoteEnds[i] = toBytes(q.getRight());
+            m_quoteEscapes[i] = q.hasEscapeChar() ? q.getEscape() : NONE;
+            m_charType[m_quoteBegins[i][0]] |= QUOTE;
+        }
+        m_isWhiteSpace = new boolean[128];
+        for (String ws : settings.getAllWhiteSpaces()) {
+            m_isWhiteSpace[ws.charAt(0)] = true;
+        }
+        String lcc = settings.getLineContinuationCharacter();
+        m_lineContChar = lcc == null ? NONE : lcc.charAt(0);
+        m_combineMultipleDelimiters = settings.getCombineMultipleDelimiters();
+        m_allowLFinQuotes = settings.allowLFinQuotes();
+    }
+
+    /**
+     * Whether the tokenizer configured by the given settings can be restarted at line boundaries that are determined
+     * on byte level. That requires a line feed delimiter that is returned as separate token (i.e. rows can be told
+     * apart), all patterns to be ASCII and a line feed to appear only as complete delimiter or comment end pattern.
+     *
+     * @param settings the settings to test
+     * @return true if the input can be split into chunks
+     */
+    static boolean supports(final TokenizerSettings settings) {
+        boolean hasRowDelimiter = false;
+        for (Delimiter d : settings.getAllDelimiters()) {
+            String pattern = d.getDelimiter();
+            if (LF_STR.equals(pattern)) {
+                hasRowDelimiter = d.returnAsToken();
+            } else if (!isPlainAscii(pattern)) {
+                return false;
+            }
+        }
+        for (Comment c : settings.getAllComments()) {
+            if (!isPlainAscii(c.getBegin()) || !(LF_STR.equals(c.getEnd()) || isPlainAscii(c.getEnd()))) {
+                return false;
+            }
+        }
+        for (Quote q : settings.getAllQuotes()) {
+            if (!isPlainAscii(q.getLeft()) || !isPlainAscii(q.getRight())
+                || (q.hasEscapeChar() && !isPlainAscii(Character.toString(q.getEscape())))) {
+                return false;
+            }
+        }
+        for (String ws : settings.getAllWhiteSpaces()) {
+            if (!isPlainAscii(ws)) {
+                return false;
+            }
+        }
+        String lcc = settings.getLineContinuationCharacter();
+        if (lcc != null && !isPlainAscii(lcc)) {
+            return false;
+        }
+        if (settings.getCombineMultipleDelimiters()) {
+            // after a delimiter the tokenizer only looks for further delimiters, not for comments or quotes
+            for (Delimiter d : settings.getAllDelimiters()) {
+                char first = d.getFirstChar();
+                if (settings.getAllComments().stream().anyMatch(c -> c.getFirstCharOfBegin() == first)
+                    || settings.getAllQuotes().stream().anyMatch(q -> q.getFirstCharOfLeft() == first)) {
+                    return false;
+                }
+            }
+        }
+        return hasRowDelimiter;
+    }
+
+    /** Non-empty, only printable ASCII or tab, in particular no line breaks. */
+    private static boolean isPlainAscii(final String pattern) {
+        if (pattern.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c >= 0x80 || (c < 0x20 && c != '\t')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(final String asciiPattern) {
+        byte[] result = new byte[asciiPattern.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte)asciiPattern.charAt(i);
+        }
+        return result;
+    }
+
+    /**
+     * Scans the buffer from the position where the last call stopped. Returns when all bytes are scanned or when more
+     * data is needed to decide on the next pattern (unless <code>eof</code> is set).
+     *
+     * @param buf the buffer
+     * @param length the number of valid bytes in the buffer
+     * @param eof whether the buffer contains all remaining data of the input
+     */
+    void scan(final byte[] buf, final int length, final boolean eof) {
+        int pos = m_pos;
+        scanning: while (pos < length) {
+            final int b = buf[pos];
+            if (b == CR) {
+                // the tokenizer ignores a CR immediately followed by a LF
+                if (pos + 1 == length && !eof) {
+                    break;
+                }
+                if (pos + 1 < length && buf[pos + 1] == LF) {
+                    pos++;
+                    continue;
+                }
+            }
+            switch (m_state) {
+                case IN_QUOTE:
+                    if (b == m_lineContChar) {
+                        int next = skipCR(buf, pos + 1, length, eof);
+                        if (next == length && !eof) {
+                            break scanning;
+                        }
+                        if (next < length && buf[next] == LF) {
+                            // line continuation, swallows leading white spaces of the next line
+                            int ws = next + 1;
+                            while (ws < length && buf[ws] >= 0 && m_isWhiteSpace[buf[ws]]) {
+                                ws++;
+                            }
+                            if (ws == length && !eof) {
+                                break scanning;
+                            }
+                            m_lines++;
+                            m_quoteEligible = 0;
+                            pos = ws;
+                            continue;
+                        }
+                    }
+                    if (b == LF && !m_allowLFinQuotes) {
+                        // the tokenizer fails here, the chunk containing this line will report it
+                        m_lines++;
+                        m_state = NORMAL;
+                        pos++;
+                        continue;
+                    }
+                    if (b == m_quoteEscapes[m_patternIndex]) {
+                        int next = skipCR(buf, pos + 1, length, eof);
+                        if (next == length && !eof) {
+                            break scanning;
+                        }
+                        if (next < length && buf[next] == LF) {
+                            m_lines++;
+                        }
+                        m_quoteEligible = 0;
+                        pos = Math.min(next + 1, length);
+                        continue;
+                    }
+                    if (b == LF) {
+                        m_lines++;
+                    }
+                    pos++;
+                    m_quoteEligible++;
+                    if (endsWith(buf, pos, m_quoteEnds[m_patternIndex], pos - m_quoteEligible)) {
+                        m_state = NORMAL;
+                    }
+                    continue;
+                case IN_COMMENT:
+                    byte[] end = m_commentEnds[m_patternIndex];
+                    if (b == LF) {
+                        if (end.length == 1 && end[0] == LF) {
+                            // the line break ending a line comment stays in the stream
+                            m_state = NORMAL;
+                            m_afterComment = true;
+                            continue;
+                        }
+                        m_lines++;
+                    }
+                    pos++;
+                    // like the tokenizer, the first character after the begin pattern also checks for an end
+                    // pattern that is a suffix of the begin pattern
+                    if (endsWith(buf, pos, end, m_commentStart) || (pos == m_commentStart
+                        + m_commentBegins[m_patternIndex].length + 1 && endsWith(buf, pos - 1, end, m_commentStart))) {
+                        m_state = NORMAL;
+                        m_afterComment = true;
+                    }
+                    continue;
+                default:
+                    break;
+            }
+            // NORMAL state, same precedence as in Tokenizer#nextToken
+            if (b == m_lineContChar) {
+                int next = skipCR(buf, pos + 1, length, eof);
+                if (next == length && !eof) {
+                    break;
+                }
+                if (next < length && buf[next] == LF) {
+                    m_lines++;
+                    m_afterComment = false;
+                    pos = next + 1;
+                    continue;
+                }
+            }
+            final int type = b < 0 ? 0 : m_charType[b];
+            int match = (type & COMMENT) != 0 ? matchPattern(buf, pos, length, eof, m_commentBegins) : -1;
+            if (match == -2) {
+                break;
+            } else if (match >= 0) {
+                m_state = IN_COMMENT;
+                m_patternIndex = match;
+                m_commentStart = pos;
+                pos += m_commentBegins[match].length;
+                continue;
+            }
+            match = (type & DELIM) != 0 ? matchPattern(buf, pos, length, eof, m_delimiters) : -1;
+            if (match == -2) {
+                break;
+            } else if (match >= 0) {
+                if (b == LF && m_delimiters[match].length == 1) {
+                    if (pos + 1 == length && !eof) {
+                        break;
+                    }
+                    m_lines++;
+                    pos++;
+                    if (pos < length && !m_afterComment && isRowStart(buf[pos])) {
+                        m_lastSplit = pos;
+                        m_linesAtLastSplit = m_lines;
+                    }
+                } else {
+                    m_afterComment = false;
+                    pos += m_delimiters[match].length;
+                }
+                continue;
+            }
+            match = (type & QUOTE) != 0 ? matchPattern(buf, pos, length, eof, m_quoteBegins) : -1;
+            if (match == -2) {
+                break;
+            } else if (match >= 0) {
+                m_state = IN_QUOTE;
+                m_patternIndex = match;
+                m_quoteEligible = 0;
+                m_afterComment = false;
+                pos += m_quoteBegins[match].length;
+                continue;
+            }
+            if (b == LF) {
+                m_lines++;
+            } else {
+                m_afterComment = false;
+            }
+            pos++;
+        }
+        m_pos = pos;
+    }
+
+    /**
+     * Whether a row following a line feed can start with the given byte without the tokenizer combining it with the
+     * line feed delimiter.
+     */
+    private boolean isRowStart(final byte b) {
+        if (b == LF || b == CR) {
+            return false;
+        }
+        return !(m_combineMultipleDelimiters && b >= 0 && (m_charType[b] & DELIM) != 0);
+    }
+
+    /**
+     * @return the position after a CR that is followed by a LF, pos if there is no such CR, or length if that can't be
+     *         decided without more data
+     */
+    private static int skipCR(final byte[] buf, final int pos, final int length, final boolean eof) {
+        if (pos < length && buf[pos] == CR) {
+            if (pos + 1 < length) {
+                return buf[pos + 1] == LF ? pos + 1 : pos;
+            }
+            return eof ? pos : length;
+        }
+        return pos;
+    }
+
+    /** Whether buf[0..end) ends with the pattern, which must not start before <code>lowerBound</code>. */
+    private static boolean endsWith(final byte[] buf, final int end, final byte[] pattern, final int lowerBound) {
+        int start = end - pattern.length;
+        if (start < lowerBound) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (buf[start + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Byte level equivalent of Tokenizer#matchPattern: the first pattern (in order) that is completely matched after
+     * the fewest characters wins.
+     *
+     * @return the index of the matching pattern, -1 if none matches, -2 if more data is needed to decide
+     */
+    private static int matchPattern(final byte[] buf, final int pos, final int length, final boolean eof,
+        final byte[][] patterns) {
+        if (patterns.length == 0) {
+            return -1;
+        }
+        boolean[] dead = null;
+        int alive = patterns.length;
+        for (int charPos = 0; alive > 0; charPos++) {
+            if (pos + charPos == length) {
+                return eof ? -1 : -2;
+            }
+            byte b = buf[pos + charPos];
+            for (int i = 0; i < patterns.length; i++) {
+                if (dead != null && dead[i]) {
+                    continue;
+                }
+                if (patterns[i][charPos] == b) {
+                    if (patterns[i].length == charPos + 1) {
+                        return i;
+                    }
+                } else {
+                    if (dead == null) {
+                        dead = new boolean[patterns.length];
+                    }
+                    dead[i] = true;
+                    alive--;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the position after the last line feed at which the tokenizer can be restarted, or -1 if none was found
+     *         since the last call to {@link #shiftToLastSplit()}
+     */
+    int getLastSplit() {
+        return m_lastSplit;
+    }
+
+    /** @return the number of line feeds before {@link #getLastSplit()} */
+    long getLinesAtLastSplit() {
+        return m_linesAtLastSplit;
+    }
+
+    /** @return whether all bytes passed to the last {@link #scan(byte[], int, boolean)} call have been processed */
+    boolean isScanned(final int length) {
+        return m_pos == length;
+    }
+
+    /**
+     * Notifies the scanner that the bytes up to the last split position have been removed from the start of the
+     * buffer.
+     */
+    void shiftToLastSplit() {
+        int offset = m_lastSplit;
+        assert offset >= 0;
+        m_pos -= offset;
+        m_commentStart -= offset;
+        m_lines -= m_linesAtLastSplit;
+        m_lastSplit = -1;
+        m_linesAtLastSplit = 0;
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.util.tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tokenizes UTF-8 encoded delimited text (CSV, TSV, ...) into rows, using multiple threads.
+ * <p>
+ * The input is read as bytes and cut into chunks of a few megabytes. The cut positions are determined on byte level
+ * by tracking quotes, comments and line continuations such that a chunk always ends with a line feed delimiter after
+ * which the {@link Tokenizer} would start a new token anyway. The chunks are then decoded and tokenized concurrently
+ * in a {@link ThreadPool}, each by its own {@link Tokenizer} instance with the same {@link TokenizerSettings}; a chunk
+ * that is needed before a worker picked it up is tokenized in the calling thread instead. The rows are returned in
+ * input order and carry their line number in the original input, exceptions raised by the tokenizer also report
+ * absolute line numbers.
+ * <p>
+ * A row is the sequence of tokens between two line feed delimiters. If the settings don't define a line feed
+ * delimiter that is returned as token or contain non-ASCII patterns, the input cannot be split and it is tokenized
+ * sequentially in the calling thread, with the same result.
+ * <p>
+ * Instances are not thread-safe, {@link #nextRow()} must be called from one thread only.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class ParallelTokenizer implements AutoCloseable {
+
+    /** Default number of bytes per chunk. */
+    static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final String LF_STR = "\n";
+
+    private static final int READ_BLOCK_SIZE = 1 << 16;
+
+    private final InputStream m_source;
+
+    private final ThreadPool m_pool;
+
+    /** The settings used for each chunk (without lines to skip). */
+    private final TokenizerSettings m_chunkSettings;
+
+    /** Non-null if the input can't be split, tokenizes sequentially then. */
+    private final Tokenizer m_sequentialTokenizer;
+
+    /** Null if the input can't be split. */
+    private final ChunkBoundaryScanner m_scanner;
+
+    private final int m_chunkSize;
+
+    private final int m_maxChunksInFlight;
+
+    private final ArrayDeque<PendingChunk> m_pendingChunks = new ArrayDeque<>();
+
+    private TokenizedChunk m_currentChunk = new TokenizedChunk(List.of(), null);
+
+    private int m_currentRowIndex;
+
+    private byte[] m_buffer;
+
+    private int m_bufferLength;
+
+    private boolean m_sourceExhausted;
+
+    private boolean m_allChunksSubmitted;
+
+    private long m_linesToSkip;
+
+    /** Whether the sequential tokenizer returned a row already; before that it may still skip lines. */
+    private boolean m_sequentialStarted;
+
+    /** The line number of the first byte in the buffer. */
+    private long m_bufferStartLine = 1;
+
+    /**
+     * Creates a new tokenizer reading from the given stream. The chunks are tokenized in the thread pool of the
+     * current thread, or in the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool} if the calling thread
+     * isn't part of a pool.
+     *
+     * @param source the UTF-8 encoded input, closed when all rows were read or when this tokenizer is closed
+     * @param settings the settings of the tokenizer
+     */
+    public ParallelTokenizer(final InputStream source, final TokenizerSettings settings) {
+        this(source, settings, ThreadPool.currentPool() != null ? ThreadPool.currentPool()
+            : KNIMEConstants.GLOBAL_THREAD_POOL);
+    }
+
+    /**
+     * Creates a new tokenizer reading from the given stream.
+     *
+     * @param source the UTF-8 encoded input, closed when all rows were read or when this tokenizer is closed
+     * @param settings the settings of the tokenizer
+     * @param pool the pool the chunks are tokenized in
+     */
+    public ParallelTokenizer(final InputStream source, final TokenizerSettings settings, final ThreadPool pool) {
+        this(source, settings, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    ParallelTokenizer(final InputStream source, final TokenizerSettings settings, final ThreadPool pool,
+        final int chunkSize) {
+        m_source = source;
+        m_pool = pool;
+        m_chunkSize = chunkSize;
+        m_maxChunksInFlight = Math.max(2, pool.getMaxThreads() + 1);
+        if (ChunkBoundaryScanner.supports(settings)) {
+            m_scanner = new ChunkBoundaryScanner(settings);
+            m_sequentialTokenizer = null;
+            m_chunkSettings = new TokenizerSettings(settings);
+            m_chunkSettings.setSkipFirstLines(0);
+            m_linesToSkip = settings.getSkipFirstLines();
+            m_buffer = new byte[chunkSize + READ_BLOCK_SIZE];
+        } else {
+            m_scanner = null;
+            m_chunkSettings = null;
+            m_sequentialTokenizer =
+                new Tokenizer(new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8)));
+            m_sequentialTokenizer.setSettings(settings);
+            m_linesToSkip = settings.getSkipFirstLines();
+        }
+    }
+
+    /**
+     * Returns the next row of tokens, blocking until its chunk is tokenized.
+     *
+     * @return the next row or <code>null</code> if the end of the input is reached
+     * @throws TokenizerException if the tokenizer fails on the input, for instance because of a line break in a
+     *             quoted string that is not allowed
+     * @throws IOException if reading the input fails
+     */
+    public TokenizedRow nextRow() throws TokenizerException, IOException {
+        if (m_sequentialTokenizer != null) {
+            if (!m_sequentialStarted) {
+                // the tokenizer skips the first lines with the first token, i.e. after the line number is taken
+                m_sequentialStarted = true;
+                return readRow(m_sequentialTokenizer, 1 + m_linesToSkip, 1);
+            }
+            return readRow(m_sequentialTokenizer, 1, 1);
+        }
+        while (m_currentRowIndex == m_currentChunk.m_rows.size()) {
+            if (m_currentChunk.m_failure != null) {
+                // all rows before the failure have been returned
+                throw m_currentChunk.m_failure;
+            }
+            fillPipeline();
+            PendingChunk next = m_pendingChunks.poll();
+            if (next == null) {
+                return null;
+            }
+            m_currentChunk = waitForChunk(next);
+            m_currentRowIndex = 0;
+        }
+        return m_currentChunk.m_rows.get(m_currentRowIndex++);
+    }
+
+    /**
+     * Returns the tokenized chunk. A chunk not yet picked up by a worker is tokenized in the calling thread rather than
+     * waiting idly for it; otherwise the caller waits, which a future of a {@link ThreadPool} does invisibly to the
+     * pool of a calling worker thread.
+     */
+    private TokenizedChunk waitForChunk(final PendingChunk chunk) throws IOException {
+        if (chunk.m_future.cancel(false)) {
+            return tokenizeChunk(chunk.m_bytes, m_chunkSettings, chunk.m_firstLine);
+        }
+        try {
+            return chunk.m_future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for tokenized chunk", ie);
+        } catch (CancellationException ce) {
+            throw new IOException("Tokenizer was closed", ce);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error e) {
+                throw e;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /** Reads and splits the input until enough chunks are in the pool (or all are). */
+    private void fillPipeline() throws IOException {
+        while (!m_allChunksSubmitted && m_pendingChunks.size() < m_maxChunksInFlight) {
+            skipLines();
+            fillBuffer(m_bufferLength < m_chunkSize ? m_chunkSize
+                : (m_bufferLength + Math.min(m_chunkSize, READ_BLOCK_SIZE)));
+            m_scanner.scan(m_buffer, m_bufferLength, m_sourceExhausted);
+            if (m_sourceExhausted && m_scanner.isScanned(m_bufferLength)) {
+                submitChunk(m_bufferLength, m_bufferStartLine);
+                m_allChunksSubmitted = true;
+                m_buffer = null;
+                m_source.close();
+            } else if (m_scanner.getLastSplit() > 0 && m_bufferLength >= m_chunkSize) {
+                int split = m_scanner.getLastSplit();
+                long lines = m_scanner.getLinesAtLastSplit();
+                submitChunk(split, m_bufferStartLine);
+                System.arraycopy(m_buffer, split, m_buffer, 0, m_bufferLength - split);
+                m_bufferLength -= split;
+                m_bufferStartLine += lines;
+                m_scanner.shiftToLastSplit();
+            }
+            // otherwise there is no split position in the buffer yet (e.g. a very long quoted string), read more
+        }
+    }
+
+    /** Reads until the buffer holds the given number of bytes or the input is exhausted, grows the buffer if needed. */
+    private void fillBuffer(final int target) throws IOException {
+        if (target > m_buffer.length) {
+            m_buffer = Arrays.copyOf(m_buffer, Math.max(target, 2 * m_buffer.length));
+        }
+        while (!m_sourceExhausted && m_bufferLength < target) {
+            int read = m_source.read(m_buffer, m_bufferLength, target - m_bufferLength);
+            if (read < 0) {
+                m_sourceExhausted = true;
+            } else {
+                m_bufferLength += read;
+            }
+        }
+    }
+
+    /** Discards the first lines of the input, in disregard of any delimiters, quotes, etc. (like the tokenizer). */
+    private void skipLines() throws IOException {
+        while (m_linesToSkip > 0) {
+            fillBuffer(m_buffer.length);
+            int pos = 0;
+            while (pos < m_bufferLength && m_linesToSkip > 0) {
+                if (m_buffer[pos++] == '\n') {
+                    m_linesToSkip--;
+                    m_bufferStartLine++;
+                }
+            }
+            System.arraycopy(m_buffer, pos, m_buffer, 0, m_bufferLength - pos);
+            m_bufferLength -= pos;
+            if (m_sourceExhausted && m_bufferLength == 0) {
+                m_linesToSkip = 0;
+            }
+        }
+    }
+
+    private void submitChunk(final int length, final long firstLine) {
+        final byte[] chunk = Arrays.copyOf(m_buffer, length);
+        final TokenizerSettings settings = m_chunkSettings;
+        m_pendingChunks.add(new PendingChunk(chunk, firstLine,
+            m_pool.enqueue(() -> tokenizeChunk(chunk, settings, firstLine))));
+    }
+
+    private static TokenizedChunk tokenizeChunk(final byte[] chunk, final TokenizerSettings settings,
+        final long firstLine) {
+        String text = new String(chunk, StandardCharsets.UTF_8);
+        // int line numbers in the tokenizer may overflow for huge inputs, differences are still correct
+        int tokenizerFirstLine = (int)firstLine;
+        Tokenizer tokenizer = new Tokenizer(new StringSource(text), tokenizerFirstLine);
+        tokenizer.setSettings(settings);
+        List<TokenizedRow> rows = new ArrayList<>();
+        try {
+            TokenizedRow row;
+            while ((row = readRow(tokenizer, firstLine, tokenizerFirstLine)) != null) {
+                rows.add(row);
+            }
+        } catch (TokenizerException te) {
+            return new TokenizedChunk(rows, te);
+        }
+        return new TokenizedChunk(rows, null);
+    }
+
+    /**
+     * Reads the tokens up to (excluding) the next line feed delimiter.
+     *
+     * @return the row or null if the tokenizer is at the end of its input
+     */
+    private static TokenizedRow readRow(final Tokenizer tokenizer, final long firstLine,
+        final int tokenizerFirstLine) throws TokenizerException {
+        long lineNumber = firstLine + (tokenizer.getLineNumber() - tokenizerFirstLine);
+        String[] tokens = new String[16];
+        byte[] flags = new byte[16];
+        int count = 0;
+        String token;
+        while ((token = tokenizer.nextToken()) != null) {
+            boolean isDelimiter = tokenizer.lastTokenWasDelimiter();
+            if (isDelimiter && LF_STR.equals(token)) {
+                return new TokenizedRow(Arrays.copyOf(tokens, count), Arrays.copyOf(flags, count), lineNumber);
+            }
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, 2 * count);
+                flags = Arrays.copyOf(flags, 2 * count);
+            }
+            tokens[count] = token;
+            flags[count] = (byte)((tokenizer.lastTokenWasQuoted() ? TokenizedRow.QUOTED : 0)
+                | (isDelimiter ? TokenizedRow.DELIMITER : 0));
+            count++;
+        }
+        return count == 0 ? null
+            : new TokenizedRow(Arrays.copyOf(tokens, count), Arrays.copyOf(flags, count), lineNumber);
+    }
+
+    /**
+     * Cancels the tokenization of pending chunks and closes the input stream.
+     *
+     * @throws IOException if closing the stream fails
+     */
+    @Override
+    public void close() throws IOException {
+        for (PendingChunk chunk : m_pendingChunks) {
+            // don't interrupt, the pool's worker threads terminate when interrupted
+            chunk.m_future.cancel(false);
+        }
+        m_pendingChunks.clear();
+        m_allChunksSubmitted = true;
+        m_buffer = null;
+        m_source.close();
+    }
+
+    /** A chunk queued to the pool, along with its input for the case that it is tokenized by the caller. */
+    private static final class PendingChunk {
+
+        private final byte[] m_bytes;
+
+        private final long m_firstLine;
+
+        private final Future<TokenizedChunk> m_future;
+
+        PendingChunk(final byte[] bytes, final long firstLine, final Future<TokenizedChunk> future) {
+            m_bytes = bytes;
+            m_firstLine = firstLine;
+            m_future = future;
+        }
+    }
+
+    /** The rows of a chunk and the exception that stopped the tokenizer early, if any. */
+    private static final class TokenizedChunk {
+
+        private final List<TokenizedRow> m_rows;
+
+        private final TokenizerException m_failure;
+
+        TokenizedChunk(final List<TokenizedRow> rows, final TokenizerException failure) {
+            m_rows = rows;
+            m_failure = failure;
+        }
+    }
+
+    /**
+     * Unsynchronized reader on a string; the tokenizer reads one character at a time and the locking in
+     * {@link java.io.StringReader} would dominate.
+     */
+    private static final class StringSource extends Reader {
+
+        private final String m_text;
+
+        private int m_pos;
+
+        StringSource(final String text) {
+            m_text = text;
+        }
+
+        @Override
+        public int read() {
+            return m_pos < m_text.length() ? m_text.charAt(m_pos++) : -1;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) {
+            if (m_pos >= m_text.length()) {
+                return -1;
+            }
+            int n = Math.min(len, m_text.length() - m_pos);
+            m_text.getChars(m_pos, m_pos + n, cbuf, off);
+            m_pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            m_pos = m_text.length();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.core.util.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * A row of tokens as returned by the {@link ParallelTokenizer}, i.e. all tokens between two line feed delimiters
+ * (which are not part of the row). Next to the tokens it holds the information that the {@link Tokenizer} provides
+ * after each token, and the line number the row starts in.
+ *
+ * @author agent
+ * @since 5.4
+ */
+public final class TokenizedRow {
+
+    static final byte QUOTED = 1;
+
+    static final byte DELIMITER = 2;
+
+    private final String[] m_tokens;
+
+    private final byte[] m_flags;
+
+    private final long m_lineNumber;
+
+    TokenizedRow(final String[] tokens, final byte[] flags, final long lineNumber) {
+        m_tokens = tokens;
+        m_flags = flags;
+        m_lineNumber = lineNumber;
+    }
+
+    /**
+     * @return the number of tokens in this row, 0 for an empty line
+     */
+    public int getNumberOfTokens() {
+        return m_tokens.length;
+    }
+
+    /**
+     * @param index the index of the token
+     * @return the token at the given index
+     */
+    public String getToken(final int index) {
+        return m_tokens[index];
+    }
+
+    /**
+     * @param index the index of the token
+     * @return true if the token had quotes which were removed by the tokenizer
+     * @see Tokenizer#lastTokenWasQuoted()
+     */
+    public boolean wasQuoted(final int index) {
+        return (m_flags[index] & QUOTED) != 0;
+    }
+
+    /**
+     * @param index the index of the token
+     * @return true if the token is a delimiter that is returned as separate token
+     * @see Tokenizer#lastTokenWasDelimiter()
+     */
+    public boolean isDelimiter(final int index) {
+        return (m_flags[index] & DELIMITER) != 0;
+    }
+
+    /**
+     * @return the line number (starting at 1) in the source the tokenizer started reading this row in
+     */
+    public long getLineNumber() {
+        return m_lineNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Line " + m_lineNumber + ": " + Arrays.toString(m_tokens);
+    }
+}
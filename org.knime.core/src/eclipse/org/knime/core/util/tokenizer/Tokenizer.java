@@ -214,13 +214,24 @@ public class Tokenizer {
      * @see #resetToDefault() for what's the default behaviour.
      */
     public Tokenizer(final Reader source) {
+        this(source, 1);
+    }
+
+    /**
+     * Creates a new tokenizer with the default behaviour whose line numbers start at the given value. Used by the
+     * {@link ParallelTokenizer} for sources that are a fragment of a larger file.
+     *
+     * @param source A reader the tokens are read from.
+     * @param firstLineNumber the line number of the first line in the source
+     */
+    Tokenizer(final Reader source, final int firstLineNumber) {
 
         m_source = source;
         m_readBuffer = new int[BUFFER_LENGTH];
         m_currIdx = 0;
         m_eobIdx = 0;
 
-        m_lineNo = 1;
+        m_lineNo = firstLineNumber;
         m_readBytes = 0;
 
         m_charType = new int[MAX_CHAR + 1];
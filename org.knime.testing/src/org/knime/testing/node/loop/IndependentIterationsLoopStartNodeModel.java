@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.testing.node.loop;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTableHolder;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelInteger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.IndependentIterationsLoopStartNode;
+import org.knime.core.node.workflow.LoopStartNodeTerminator;
+import org.knime.core.node.workflow.virtual.VirtualNodeInput;
+
+/**
+ * Loop start with independent iterations. Each iteration outputs a small table with columns "Iteration" and "Row"
+ * (row keys "Iteration&lt;i&gt;_Row&lt;j&gt;") and pushes the iteration as flow variable
+ * {@value #VAR_CURRENT_ITERATION}. The tables of all iterations are created in the first iteration so that they can
+ * be passed to concurrently executed copies of the loop body.
+ *
+ * @author agent
+ */
+public final class IndependentIterationsLoopStartNodeModel extends NodeModel
+    implements IndependentIterationsLoopStartNode, LoopStartNodeTerminator, BufferedDataTableHolder {
+
+    /** Name of the flow variable holding the current iteration. */
+    public static final String VAR_CURRENT_ITERATION = "currentIteration";
+
+    /** Settings key for the number of iterations. */
+    public static final String CFG_NR_ITERATIONS = "nr_iterations";
+
+    /** Settings key for the number of rows in each iteration. */
+    public static final String CFG_ROWS_PER_ITERATION = "rows_per_iteration";
+
+    /** Spec of the output table. */
+    public static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("Iteration", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("Row", IntCell.TYPE).createSpec());
+
+    private final SettingsModelInteger m_nrIterationsModel = new SettingsModelInteger(CFG_NR_ITERATIONS, 5);
+
+    private final SettingsModelInteger m_rowsPerIterationModel = new SettingsModelInteger(CFG_ROWS_PER_ITERATION, 3);
+
+    /** Tables of all iterations, created in the first iteration, null if not executed. */
+    private BufferedDataTable[] m_iterationTables;
+
+    /** Iteration to be executed next. */
+    private int m_iteration;
+
+    /** No input, one data output. */
+    IndependentIterationsLoopStartNodeModel() {
+        super(0, 1);
+    }
+
+    @Override
+    protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+        CheckUtils.checkSetting(m_nrIterationsModel.getIntValue() > 0, "Number of iterations must be positive");
+        return new DataTableSpec[]{SPEC};
+    }
+
+    @Override
+    protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+        throws Exception {
+        if (m_iterationTables == null) {
+            final int nrIterations = m_nrIterationsModel.getIntValue();
+            m_iterationTables = new BufferedDataTable[nrIterations];
+            for (int i = 0; i < nrIterations; i++) {
+                m_iterationTables[i] = createIterationTable(exec, i);
+            }
+            m_iteration = 0;
+        }
+        pushFlowVariableInt(VAR_CURRENT_ITERATION, m_iteration);
+        final BufferedDataTable result = exec.createWrappedTable(m_iterationTables[m_iteration]);
+        m_iteration += 1;
+        return new BufferedDataTable[]{result};
+    }
+
+    private BufferedDataTable createIterationTable(final ExecutionContext exec, final int iteration) {
+        final BufferedDataContainer container = exec.createDataContainer(SPEC);
+        for (int r = 0; r < m_rowsPerIterationModel.getIntValue(); r++) {
+            container.addRowToTable(new DefaultRow(new RowKey("Iteration" + iteration + "_Row" + r),
+                new IntCell(iteration), new IntCell(r)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    @Override
+    public boolean terminateLoop() {
+        return m_iterationTables == null || m_iteration >= m_iterationTables.length;
+    }
+
+    @Override
+    public boolean hasIndependentIterations() {
+        return true;
+    }
+
+    @Override
+    public int getNrIterations() {
+        return m_iterationTables == null ? 0 : m_iterationTables.length;
+    }
+
+    @Override
+    public VirtualNodeInput getIterationInput(final int iteration) {
+        CheckUtils.checkState(m_iterationTables != null, "Not executed");
+        return new VirtualNodeInput(new PortObject[]{m_iterationTables[iteration]},
+            List.of(new FlowVariable(VAR_CURRENT_ITERATION, iteration)));
+    }
+
+    @Override
+    public BufferedDataTable[] getInternalTables() {
+        return m_iterationTables;
+    }
+
+    @Override
+    public void setInternalTables(final BufferedDataTable[] tables) {
+        m_iterationTables = tables;
+    }
+
+    @Override
+    protected void reset() {
+        m_iterationTables = null;
+        m_iteration = 0;
+    }
+
+    @Override
+    protected void saveSettingsTo(final NodeSettingsWO settings) {
+        m_nrIterationsModel.saveSettingsTo(settings);
+        m_rowsPerIterationModel.saveSettingsTo(settings);
+    }
+
+    @Override
+    protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_nrIterationsModel.validateSettings(settings);
+        m_rowsPerIterationModel.validateSettings(settings);
+    }
+
+    @Override
+    protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_nrIterationsModel.loadSettingsFrom(settings);
+        m_rowsPerIterationModel.loadSettingsFrom(settings);
+    }
+
+    @Override
+    protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals
+    }
+
+    @Override
+    protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals
+    }
+
+}